@@ -18,7 +18,9 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.metadata.DataType.OBJECT;
 import static org.mule.runtime.api.metadata.DataType.STRING;
@@ -174,6 +176,29 @@ public class DataWeaveExpressionLanguageTestCase extends AbstractMuleTestCase {
     assertThat(resultVar2.getDataType(), is(STRING));
   }
 
+  @Test
+  public void onlyReferencedVariablesAreResolved() throws Exception {
+    Event event = getEventWithError(empty());
+    String var1 = "var1";
+    String var2 = "var2";
+    when(event.getVariableNames()).thenReturn(Sets.newHashSet(var1, var2));
+    TypedValue var = new TypedValue("mangoose", STRING);
+    when(event.getVariable(var1)).thenReturn(var);
+    when(event.getVariable(var2)).thenReturn(var);
+
+    TypedValue result = expressionLanguage.evaluate("#[" + var1 + " ++ '!']", event, BindingContext.builder().build());
+    assertThat(result.getValue(), is("mangoose!"));
+    verify(event, never()).getVariable(var2);
+  }
+
+  @Test
+  public void contextBindingsAreAvailable() throws Exception {
+    BindingContext context = BindingContext.builder().addBinding("custom", new TypedValue("value", STRING)).build();
+
+    TypedValue result = expressionLanguage.evaluate("custom", testEvent(), context);
+    assertThat(result.getValue(), is("value"));
+  }
+
   @Test
   public void variablesCannotOverrideEventBindings() throws MuleException {
     Event event = spy(testEvent());
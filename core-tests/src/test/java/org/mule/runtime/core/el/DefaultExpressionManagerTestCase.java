@@ -12,7 +12,9 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -22,6 +24,9 @@ import static org.mule.runtime.api.metadata.DataType.OBJECT;
 import static org.mule.runtime.api.metadata.DataType.STRING;
 import static org.mule.runtime.api.metadata.DataType.fromFunction;
 import static org.mule.runtime.api.metadata.DataType.fromType;
+import static org.mule.runtime.core.api.el.ExpressionClassification.CONSTANT;
+import static org.mule.runtime.core.api.el.ExpressionClassification.EVENT;
+import static org.mule.runtime.core.api.el.ExpressionClassification.GLOBAL;
 
 import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.el.ExpressionFunction;
@@ -220,4 +225,47 @@ public class DefaultExpressionManagerTestCase extends AbstractMuleContextTestCas
     assertThat(expressionManager.isExpression("${var}"), is(false));
   }
 
+  @Test
+  @Description("Verifies that expressions are classified according to the bindings they reference.")
+  public void classification() {
+    expressionManager.addGlobalContext(builder().addBinding("aNum", new TypedValue(4, fromType(Integer.class))).build());
+
+    assertThat(expressionManager.classify("#['payload']"), is(CONSTANT));
+    assertThat(expressionManager.classify("#[2 * 2]"), is(CONSTANT));
+    assertThat(expressionManager.classify("#[aNum * 2]"), is(GLOBAL));
+    assertThat(expressionManager.classify("#[payload]"), is(EVENT));
+    assertThat(expressionManager.classify("#['$(payload)']"), is(EVENT));
+    assertThat(expressionManager.classify("#[mel:'wow']"), is(EVENT));
+  }
+
+  @Test
+  @Description("Verifies that the result of a constant expression is reused.")
+  public void constantResultIsReused() throws MuleException {
+    DefaultExpressionManager defaultExpressionManager = (DefaultExpressionManager) expressionManager;
+
+    assertThat(expressionManager.evaluate("#['wow']").getValue(), is("wow"));
+    assertThat(expressionManager.evaluate("#['wow']", testEvent()).getValue(), is("wow"));
+    assertThat(defaultExpressionManager.getAvoidedEvaluations(), is(1L));
+
+    expressionManager.evaluate("payload", testEvent());
+    assertThat(defaultExpressionManager.getAvoidedEvaluations(), is(1L));
+  }
+
+  @Test
+  @Description("Verifies that mutable results of constant expressions are not shared.")
+  public void mutableConstantResultIsNotReused() {
+    Object result = expressionManager.evaluate("#[[1, 2]]").getValue();
+    assertThat(expressionManager.evaluate("#[[1, 2]]").getValue(), is(not(sameInstance(result))));
+    assertThat(((DefaultExpressionManager) expressionManager).getAvoidedEvaluations(), is(0L));
+  }
+
+  @Test
+  @Description("Verifies that only constant expressions with immutable results are reported as immutable constants.")
+  public void immutableConstant() {
+    assertThat(expressionManager.isImmutableConstant("#['wow']"), is(true));
+    assertThat(expressionManager.isImmutableConstant("#[2 * 2]"), is(true));
+    assertThat(expressionManager.isImmutableConstant("#[[1, 2]]"), is(false));
+    assertThat(expressionManager.isImmutableConstant("#[payload]"), is(false));
+  }
+
 }
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ONE;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.core.api.connector.ConnectionPoolStatistics;
+import org.mule.runtime.core.api.connector.PoolingStatisticsListener;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.commons.pool.PoolableObjectFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+@SmallTest
+public class ConcurrentConnectionPoolTestCase extends AbstractMuleTestCase {
+
+  private static final long VALIDATION_INTERVAL = 60000;
+  private static final int TESTS_PER_EVICTION_RUN = 3;
+
+  private PoolableObjectFactory<Object> factory = mock(PoolableObjectFactory.class);
+
+  @Before
+  public void before() throws Exception {
+    when(factory.makeObject()).thenAnswer(invocation -> new Object());
+    when(factory.validateObject(any())).thenReturn(true);
+  }
+
+  @Test
+  public void returnedConnectionIsReused() throws Exception {
+    ConcurrentConnectionPool<Object> pool = createPool(new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT,
+                                                                          INITIALISE_NONE));
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+
+    assertThat(pool.borrowObject(), is(sameInstance(connection)));
+    verify(factory).makeObject();
+    assertThat(pool.getNumActive(), is(1));
+    assertThat(pool.getNumIdle(), is(0));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void exhaustedPoolFails() throws Exception {
+    ConcurrentConnectionPool<Object> pool = createPool(new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL,
+                                                                          INITIALISE_NONE));
+    pool.borrowObject();
+    pool.borrowObject();
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void exhaustedPoolTimesOut() throws Exception {
+    ConcurrentConnectionPool<Object> pool = createPool(new PoolingProfile(1, 1, 10, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE));
+    pool.borrowObject();
+    pool.borrowObject();
+  }
+
+  @Test
+  public void exhaustedPoolGrows() throws Exception {
+    ConcurrentConnectionPool<Object> pool = createPool(new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_GROW,
+                                                                          INITIALISE_NONE));
+    assertThat(pool.borrowObject(), is(not(sameInstance(pool.borrowObject()))));
+  }
+
+  @Test
+  public void returnedConnectionFreesPermit() throws Exception {
+    ConcurrentConnectionPool<Object> pool = createPool(new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL,
+                                                                          INITIALISE_NONE));
+    Object connection = pool.borrowObject();
+    pool.invalidateObject(connection);
+
+    assertThat(pool.borrowObject(), is(not(sameInstance(connection))));
+    verify(factory).destroyObject(connection);
+  }
+
+  @Test
+  public void connectionsAboveMaxIdleAreDestroyed() throws Exception {
+    ConcurrentConnectionPool<Object> pool = createPool(new PoolingProfile(2, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT,
+                                                                          INITIALISE_NONE));
+    Object connection1 = pool.borrowObject();
+    Object connection2 = pool.borrowObject();
+    pool.returnObject(connection1);
+    pool.returnObject(connection2);
+
+    verify(factory).destroyObject(connection2);
+    assertThat(pool.getNumIdle(), is(1));
+  }
+
+  @Test
+  public void onlyNewOrStaleConnectionsRequireValidation() throws Exception {
+    ConcurrentConnectionPool<Object> pool = createPool(new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT,
+                                                                          INITIALISE_NONE));
+    Object connection = pool.borrowObject();
+    assertThat(pool.requiresValidation(connection), is(true));
+    pool.validated(connection);
+    pool.returnObject(connection);
+
+    connection = pool.borrowObject();
+    assertThat(pool.requiresValidation(connection), is(false));
+  }
+
+  @Test
+  public void zeroValidationIntervalAlwaysRequiresValidation() throws Exception {
+    ConcurrentConnectionPool<Object> pool =
+        new ConcurrentConnectionPool<>(factory, new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT,
+                                                                   INITIALISE_NONE),
+                                       0, TESTS_PER_EVICTION_RUN, null, null);
+    Object connection = pool.borrowObject();
+    pool.validated(connection);
+    assertThat(pool.requiresValidation(connection), is(true));
+  }
+
+  @Test
+  public void statisticsListenerIsNotified() throws Exception {
+    PoolingStatisticsListener<Object> listener = mock(PoolingStatisticsListener.class);
+    ConcurrentConnectionPool<Object> pool =
+        new ConcurrentConnectionPool<>(factory, new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT,
+                                                                   INITIALISE_NONE),
+                                       VALIDATION_INTERVAL, TESTS_PER_EVICTION_RUN, null, listener);
+    Object connection = pool.borrowObject();
+
+    ArgumentCaptor<ConnectionPoolStatistics> statisticsCaptor = ArgumentCaptor.forClass(ConnectionPoolStatistics.class);
+    verify(listener).onBorrowed(eq(connection), eq(0L), statisticsCaptor.capture());
+    ConnectionPoolStatistics statistics = statisticsCaptor.getValue();
+    assertThat(statistics.getBorrowCount(), is(1L));
+    assertThat(statistics.getNumActive(), is(1));
+    assertThat(statistics.getMaxActive(), is(2));
+    assertThat(statistics.getUtilization(), is(0.5));
+  }
+
+  @Test
+  public void evictionValidatesAndWarmsUp() throws Exception {
+    PoolingProfile poolingProfile = new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_ONE);
+    poolingProfile.setEvictionCheckIntervalMillis(1000);
+    ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    ConcurrentConnectionPool<Object> pool =
+        new ConcurrentConnectionPool<>(factory, poolingProfile, VALIDATION_INTERVAL, TESTS_PER_EVICTION_RUN, executor, null);
+    Runnable eviction = captureEviction(executor);
+
+    eviction.run();
+    assertThat(pool.getNumIdle(), is(1));
+
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+    when(factory.validateObject(connection)).thenReturn(false);
+    eviction.run();
+
+    verify(factory).destroyObject(connection);
+    assertThat(pool.getNumIdle(), is(1));
+    verify(factory, times(2)).makeObject();
+  }
+
+  @Test
+  public void evictionTestsLimitedConnectionsPerRun() throws Exception {
+    PoolingProfile poolingProfile = new PoolingProfile(4, 4, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    poolingProfile.setEvictionCheckIntervalMillis(1000);
+    ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    ConcurrentConnectionPool<Object> pool = new ConcurrentConnectionPool<>(factory, poolingProfile, VALIDATION_INTERVAL, 2,
+                                                                           executor, null);
+    Runnable eviction = captureEviction(executor);
+    for (int i = 0; i < 4; i++) {
+      pool.addObject();
+    }
+
+    eviction.run();
+    verify(factory, times(2)).validateObject(any());
+
+    eviction.run();
+    verify(factory, times(4)).validateObject(any());
+  }
+
+  @Test
+  public void negativeTestsPerEvictionRunTestsFractionOfIdleConnections() throws Exception {
+    PoolingProfile poolingProfile = new PoolingProfile(4, 4, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    poolingProfile.setEvictionCheckIntervalMillis(1000);
+    ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    ConcurrentConnectionPool<Object> pool = new ConcurrentConnectionPool<>(factory, poolingProfile, VALIDATION_INTERVAL, -3,
+                                                                           executor, null);
+    Runnable eviction = captureEviction(executor);
+    for (int i = 0; i < 4; i++) {
+      pool.addObject();
+    }
+
+    eviction.run();
+    verify(factory, times(2)).validateObject(any());
+  }
+
+  @Test
+  public void setFactoryDestroysIdleConnectionsWithPreviousFactory() throws Exception {
+    ConcurrentConnectionPool<Object> pool = createPool(new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT,
+                                                                          INITIALISE_NONE));
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+
+    PoolableObjectFactory<Object> newFactory = mock(PoolableObjectFactory.class);
+    Object newConnection = new Object();
+    when(newFactory.makeObject()).thenReturn(newConnection);
+    pool.setFactory(newFactory);
+
+    verify(factory).destroyObject(connection);
+    assertThat(pool.getNumIdle(), is(0));
+    assertThat(pool.borrowObject(), is(sameInstance(newConnection)));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void setFactoryFailsWithBorrowedConnections() throws Exception {
+    ConcurrentConnectionPool<Object> pool = createPool(new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT,
+                                                                          INITIALISE_NONE));
+    pool.borrowObject();
+    pool.setFactory(mock(PoolableObjectFactory.class));
+  }
+
+  @Test
+  public void closeDestroysIdleAndReturnedConnections() throws Exception {
+    ConcurrentConnectionPool<Object> pool = createPool(new PoolingProfile(2, 2, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT,
+                                                                          INITIALISE_NONE));
+    Object idle = pool.borrowObject();
+    Object borrowed = pool.borrowObject();
+    pool.returnObject(idle);
+
+    pool.close();
+    verify(factory).destroyObject(idle);
+    verify(factory, never()).destroyObject(borrowed);
+
+    pool.returnObject(borrowed);
+    verify(factory).destroyObject(borrowed);
+  }
+
+  private ConcurrentConnectionPool<Object> createPool(PoolingProfile poolingProfile) {
+    return new ConcurrentConnectionPool<>(factory, poolingProfile, VALIDATION_INTERVAL, TESTS_PER_EVICTION_RUN, null, null);
+  }
+
+  private Runnable captureEviction(ScheduledExecutorService executor) {
+    ArgumentCaptor<Runnable> evictionCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(executor).scheduleWithFixedDelay(evictionCaptor.capture(), eq(0L), eq(1000L), eq(MILLISECONDS));
+    return evictionCaptor.getValue();
+  }
+}
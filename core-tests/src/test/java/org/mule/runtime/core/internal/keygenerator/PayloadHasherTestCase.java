@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.keygenerator;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.core.internal.keygenerator.PayloadHasher.MURMUR3_128;
+import org.mule.runtime.api.streaming.CursorStream;
+import org.mule.runtime.api.streaming.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.internal.streaming.bytes.InMemoryCursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager;
+import org.mule.runtime.core.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.util.StringUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+
+import org.junit.Test;
+
+@SmallTest
+public class PayloadHasherTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_INPUT = "TEST";
+  private static final String TEST_HASH = "94ee059335e587e501cc4bf90613e0814f00a7b08bc7c648fd865a2af6a22cc2";
+
+  @Test
+  public void hashesResolvedByteArray() throws Exception {
+    byte[] hash = new PayloadHasher("SHA-256").hash(new byte[] {0}, payload -> TEST_INPUT.getBytes(UTF_8));
+    assertThat(StringUtils.toHexString(hash), is(TEST_HASH));
+  }
+
+  @Test
+  public void digestIsResetAfterFailedStream() throws Exception {
+    PayloadHasher hasher = new PayloadHasher("SHA-256");
+    try {
+      hasher.hash(failingStream(), null);
+      fail("Stream should have failed");
+    } catch (IOException e) {
+      // expected
+    }
+    byte[] hash = hasher.hash(TEST_INPUT, payload -> ((String) payload).getBytes(UTF_8));
+    assertThat(StringUtils.toHexString(hash), is(TEST_HASH));
+  }
+
+  @Test
+  public void hashesResolvedBytes() throws Exception {
+    byte[] hash = new PayloadHasher("SHA-256").hash(TEST_INPUT, payload -> ((String) payload).getBytes(UTF_8));
+    assertThat(StringUtils.toHexString(hash), is(TEST_HASH));
+  }
+
+  @Test
+  public void hashesStreamIncrementally() throws Exception {
+    byte[] hash = new PayloadHasher("SHA-256").hash(streamOf(TEST_INPUT), payload -> {
+      fail("Streams should not be resolved");
+      return null;
+    });
+    assertThat(StringUtils.toHexString(hash), is(TEST_HASH));
+  }
+
+  @Test
+  public void hashesLargeStreamLikeBytes() throws Exception {
+    String data = StringUtils.repeat("0123456789", 10000);
+    PayloadHasher hasher = new PayloadHasher("SHA-256");
+
+    assertThat(hasher.hash(streamOf(data), null), equalTo(hasher.hash(data, payload -> ((String) payload).getBytes(UTF_8))));
+  }
+
+  @Test
+  public void murmurHashesStreamLikeBytes() throws Exception {
+    String data = StringUtils.repeat("0123456789", 10000);
+    PayloadHasher hasher = new PayloadHasher(MURMUR3_128);
+
+    byte[] hash = hasher.hash(data, payload -> ((String) payload).getBytes(UTF_8));
+    assertThat(hash.length, is(16));
+    assertThat(hasher.hash(streamOf(data), null), equalTo(hash));
+    assertThat(hasher.hash(TEST_INPUT, payload -> ((String) payload).getBytes(UTF_8)), not(equalTo(hash)));
+  }
+
+  @Test(expected = NoSuchAlgorithmException.class)
+  public void unknownAlgorithm() throws Exception {
+    new PayloadHasher("UNKNOWN");
+  }
+
+  private CursorStreamProvider failingStream() throws IOException {
+    CursorStream cursor = mock(CursorStream.class);
+    when(cursor.read(any(byte[].class))).thenReturn(1).thenThrow(new IOException("expected failure"));
+    CursorStreamProvider provider = mock(CursorStreamProvider.class);
+    when(provider.openCursor()).thenReturn(cursor);
+    return provider;
+  }
+
+  private CursorStreamProvider streamOf(String data) {
+    DataSize bufferSize = new DataSize(1024, BYTE);
+    return new InMemoryCursorStreamProvider(new ByteArrayInputStream(data.getBytes(UTF_8)),
+                                            new InMemoryCursorStreamConfig(bufferSize, bufferSize, null),
+                                            new PoolingByteBufferManager(), mock(Event.class));
+  }
+}
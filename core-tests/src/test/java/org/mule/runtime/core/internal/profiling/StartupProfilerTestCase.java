@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.internal.profiling.StartupProfiler.BEAN_CREATION_PHASE;
+import static org.mule.runtime.core.internal.profiling.StartupProfiler.INITIALISE_PHASE;
+import static org.mule.runtime.core.internal.profiling.StartupProfiler.PARSE_PHASE;
+import static org.mule.runtime.core.internal.profiling.StartupProfiler.START_PHASE;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class StartupProfilerTestCase extends AbstractMuleTestCase {
+
+  private final StartupProfiler profiler = new StartupProfiler();
+
+  @Test
+  public void accumulatesPhaseTimes() {
+    profiler.recordPhase(PARSE_PHASE, 10);
+    profiler.recordPhase(PARSE_PHASE, 5);
+
+    assertThat(profiler.getPhaseTime(PARSE_PHASE), is(15L));
+    assertThat(profiler.getPhaseTime(START_PHASE), is(0L));
+  }
+
+  @Test
+  public void accumulatesComponentTimes() {
+    profiler.recordComponent(INITIALISE_PHASE, "flow", 10);
+    profiler.recordComponent(INITIALISE_PHASE, "flow", 5);
+    profiler.recordComponent(START_PHASE, "flow", 1);
+
+    assertThat(profiler.getComponentTime(INITIALISE_PHASE, "flow"), is(15L));
+    assertThat(profiler.getComponentTime(START_PHASE, "flow"), is(1L));
+    assertThat(profiler.getComponentTime(START_PHASE, "other"), is(0L));
+  }
+
+  @Test
+  public void slowestComponentsFirst() {
+    profiler.recordComponent(BEAN_CREATION_PHASE, "fast", 1);
+    profiler.recordComponent(BEAN_CREATION_PHASE, "slow", 100);
+    profiler.recordComponent(BEAN_CREATION_PHASE, "medium", 10);
+
+    assertThat(profiler.getSlowestComponents(BEAN_CREATION_PHASE, 2), is(asList("slow", "medium")));
+    assertThat(profiler.getSlowestComponents(START_PHASE, 2).isEmpty(), is(true));
+  }
+
+  @Test
+  public void reportContainsRecordedPhasesAndComponents() {
+    profiler.recordPhase(BEAN_CREATION_PHASE, MILLISECONDS.toNanos(20));
+    profiler.recordComponent(BEAN_CREATION_PHASE, "slowFlow", MILLISECONDS.toNanos(15));
+    profiler.recordComponent(BEAN_CREATION_PHASE, "fastFlow", MILLISECONDS.toNanos(1));
+
+    String report = profiler.getReport(1);
+    assertThat(report, containsString(BEAN_CREATION_PHASE));
+    assertThat(report, containsString("slowFlow"));
+    assertThat(report, not(containsString("fastFlow")));
+    assertThat(report, not(containsString(START_PHASE)));
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.serialization.SerializationException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CompactSerializationProtocolTestCase extends AbstractSerializerProtocolContractTestCase {
+
+  private JavaExternalSerializerProtocol javaSerializationProtocol;
+
+  @Override
+  protected void doSetUp() throws Exception {
+    CompactSerializationProtocol compactSerializationProtocol = new CompactSerializationProtocol();
+    compactSerializationProtocol.setMuleContext(muleContext);
+    serializationProtocol = compactSerializationProtocol;
+
+    javaSerializationProtocol = new JavaExternalSerializerProtocol();
+    javaSerializationProtocol.setMuleContext(muleContext);
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializationProtocol.serialize(new Object());
+  }
+
+  @Test
+  public void typedValue() throws Exception {
+    DataType dataType = DataType.builder().type(String.class).mediaType(APPLICATION_JSON).charset("UTF-8").build();
+    TypedValue<String> typedValue = new TypedValue<>("{\"key\": \"value\"}", dataType);
+
+    TypedValue<String> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(typedValue));
+
+    assertThat(deserialized.getValue(), equalTo(typedValue.getValue()));
+    assertThat(deserialized.getDataType(), equalTo(dataType));
+  }
+
+  @Test
+  public void collectionsWithJavaSerializedValues() throws Exception {
+    List<Object> list = new ArrayList<>();
+    list.add("value");
+    list.add(1L);
+    list.add(new StringBuilder("java serialized"));
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("list", list);
+    map.put("bytes", "bytes".getBytes());
+    map.put("null", null);
+
+    Map<String, Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(map));
+
+    assertThat(deserialized.keySet(), equalTo(map.keySet()));
+    List<Object> deserializedList = (List<Object>) deserialized.get("list");
+    assertThat(deserializedList.get(0), equalTo("value"));
+    assertThat(deserializedList.get(1), equalTo(1L));
+    assertThat(deserializedList.get(2).toString(), equalTo("java serialized"));
+    assertThat(new String((byte[]) deserialized.get("bytes")), equalTo("bytes"));
+  }
+
+  @Test
+  public void selfContainingList() throws Exception {
+    List<Object> list = new ArrayList<>();
+    list.add("value");
+    list.add(list);
+
+    List<Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(list));
+
+    assertThat(deserialized.get(0), equalTo("value"));
+    assertThat(deserialized.get(1), sameInstance(deserialized));
+  }
+
+  @Test
+  public void sharedElementsKeepTheirIdentity() throws Exception {
+    List<Object> shared = new ArrayList<>();
+    shared.add("value");
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("first", shared);
+    map.put("second", shared);
+
+    Map<String, Object> deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(map));
+
+    assertThat(deserialized.get("first"), equalTo(shared));
+    assertThat(deserialized.get("second"), sameInstance(deserialized.get("first")));
+  }
+
+  @Test
+  public void smallerThanJavaSerialization() throws Exception {
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < 10; i++) {
+      map.put("key" + i, i);
+    }
+
+    assertThat(serializationProtocol.serialize(map).length, lessThan(javaSerializationProtocol.serialize(map).length));
+  }
+
+  @Test
+  public void deserializesJavaSerializedMessage() throws Exception {
+    InternalMessage message = InternalMessage.of("Hello World");
+
+    InternalMessage deserialized = serializationProtocol.deserialize(javaSerializationProtocol.serialize(message));
+
+    assertThat(deserialized.getPayload().getValue(), equalTo("Hello World"));
+  }
+}
@@ -6,9 +6,14 @@
  */
 package org.mule.runtime.core.routing;
 
+import static java.util.Collections.singletonList;
+import static java.util.Collections.synchronizedList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mule.tck.MuleTestUtils.getTestFlow;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.processor.Processor;
@@ -18,6 +23,7 @@ import org.mule.tck.testmodels.mule.TestMessageProcessor;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -191,6 +197,42 @@ public class ForeachTestCase extends AbstractMuleContextTestCase {
     assertNestedProcessedMessages();
   }
 
+  @Test
+  public void concurrentProcessing() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(2);
+    final List<Event> concurrentEvents = synchronizedList(new ArrayList<>());
+    Foreach concurrentForeach = new Foreach();
+    concurrentForeach.setMessageProcessors(singletonList(event -> {
+      latch.countDown();
+      try {
+        // Only completes if both elements are being processed at the same time
+        assertTrue(latch.await(RECEIVE_TIMEOUT, MILLISECONDS));
+      } catch (InterruptedException e) {
+        throw new DefaultMuleException(e);
+      }
+      concurrentEvents.add(event);
+      return event;
+    }));
+    concurrentForeach.setMaxConcurrency(2);
+    concurrentForeach.setMuleContext(muleContext);
+    concurrentForeach.setFlowConstruct(getTestFlow(muleContext));
+    concurrentForeach.initialise();
+    concurrentForeach.start();
+    try {
+      List<String> payload = new ArrayList<>();
+      payload.add("bar");
+      payload.add("zip");
+      InternalMessage message = InternalMessage.of(payload);
+      Event result = concurrentForeach.process(eventBuilder().message(message).build());
+
+      assertEquals(ERR_NUMBER_MESSAGES, 2, concurrentEvents.size());
+      assertEquals(ERR_OUTPUT, message, result.getMessage());
+    } finally {
+      concurrentForeach.stop();
+      concurrentForeach.dispose();
+    }
+  }
+
   private void assertSimpleProcessedMessages() {
     assertEquals(ERR_NUMBER_MESSAGES, 2, processedEvents.size());
     assertTrue(ERR_PAYLOAD_TYPE, processedEvents.get(0).getMessage().getPayload().getValue() instanceof String);
@@ -6,8 +6,10 @@
  */
 package org.mule.runtime.core.routing;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mule.tck.MuleTestUtils.getTestFlow;
 
@@ -17,6 +19,7 @@ import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.construct.Flow;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.MuleSession;
+import org.mule.runtime.core.util.store.BloomFilteredObjectStore;
 import org.mule.runtime.core.util.store.InMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
@@ -53,4 +56,31 @@ public class IdempotentMessageFilterTestCase extends AbstractMuleContextTestCase
     processedEvent = ir.process(event);
     assertNull(processedEvent);
   }
+
+  @Test
+  public void defaultStoreIsFilteredAndSharded() throws Exception {
+    Flow flow = getTestFlow(muleContext);
+
+    IdempotentMessageFilter ir = new IdempotentMessageFilter();
+    ir.setIdExpression("#[mel:message.outboundProperties.id]");
+    ir.setFlowConstruct(flow);
+    ir.setMuleContext(muleContext);
+    ir.setThrowOnUnaccepted(false);
+    ir.setShards(4);
+    ir.initialise();
+
+    assertThat(ir.getStore(), instanceOf(BloomFilteredObjectStore.class));
+
+    final EventContext context = DefaultEventContext.create(flow, TEST_CONNECTOR);
+    assertNotNull(ir.process(eventWithId(context, flow, "1")));
+    assertNull(ir.process(eventWithId(context, flow, "1")));
+    assertNotNull(ir.process(eventWithId(context, flow, "2")));
+
+    ir.dispose();
+  }
+
+  private Event eventWithId(EventContext context, Flow flow, String id) {
+    InternalMessage message = InternalMessage.builder().payload("OK").addOutboundProperty("id", id).build();
+    return Event.builder(context).message(message).flow(flow).session(mock(MuleSession.class)).build();
+  }
 }
@@ -6,8 +6,10 @@
  */
 package org.mule.runtime.core.routing;
 
+import static org.hamcrest.Matchers.equalToIgnoringCase;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mule.tck.MuleTestUtils.getTestFlow;
 
@@ -17,9 +19,12 @@ import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.construct.Flow;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.MuleSession;
+import org.mule.runtime.core.util.StringUtils;
 import org.mule.runtime.core.util.store.InMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
+import java.security.MessageDigest;
+
 import org.junit.Test;
 
 public class IdempotentSecureHashMessageFilterTestCase extends AbstractMuleContextTestCase {
@@ -62,4 +67,18 @@ public class IdempotentSecureHashMessageFilterTestCase extends AbstractMuleConte
     processedEvent = ir.process(event);
     assertNotNull(processedEvent);
   }
+
+  @Test
+  public void byteArrayIdIsHashOfSerializedPayload() throws Exception {
+    IdempotentSecureHashMessageFilter filter = new IdempotentSecureHashMessageFilter();
+    filter.setMuleContext(muleContext);
+
+    byte[] payload = "OK".getBytes();
+    Event event = Event.builder(DefaultEventContext.create(getTestFlow(muleContext), TEST_CONNECTOR))
+        .message(InternalMessage.builder().payload(payload).build()).flow(getTestFlow(muleContext)).build();
+
+    byte[] serialized = muleContext.getObjectSerializer().getExternalProtocol().serialize(payload);
+    String expectedId = StringUtils.toHexString(MessageDigest.getInstance("SHA-256").digest(serialized));
+    assertThat(filter.getIdForEvent(event), equalToIgnoringCase(expectedId));
+  }
 }
@@ -6,7 +6,12 @@
  */
 package org.mule.runtime.core.routing;
 
+import static java.lang.Thread.currentThread;
+import static org.hamcrest.CoreMatchers.both;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
@@ -31,8 +36,14 @@ import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.routing.RoutingException;
 import org.mule.runtime.core.api.store.ListableObjectStore;
+import org.mule.runtime.core.api.transaction.Transaction;
 import org.mule.runtime.core.routing.filters.ExpressionFilter;
+import org.mule.runtime.core.transaction.TransactionCoordination;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.testmodels.mule.TestTransaction;
+
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -155,6 +166,86 @@ public class SynchronousUntilSuccessfulProcessingStrategyTestCase extends Abstra
     assertThat(processingStrategy.route(testEvent(), getTestFlow(muleContext)), is(nullValue()));
   }
 
+  @Test
+  public void exponentialBackoffIsBounded() throws Exception {
+    when(mockUntilSuccessfulConfiguration.getMillisBetweenRetries()).thenReturn(100L);
+    when(mockUntilSuccessfulConfiguration.getBackoffMultiplier()).thenReturn(2d);
+    when(mockUntilSuccessfulConfiguration.getMaxMillisBetweenRetries()).thenReturn(500L);
+    SynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
+    assertThat(processingStrategy.getMillisBeforeRetry(1), is(100L));
+    assertThat(processingStrategy.getMillisBeforeRetry(2), is(200L));
+    assertThat(processingStrategy.getMillisBeforeRetry(3), is(400L));
+    assertThat(processingStrategy.getMillisBeforeRetry(4), is(500L));
+  }
+
+  @Test
+  public void jitterReducesWaitTime() throws Exception {
+    when(mockUntilSuccessfulConfiguration.getMillisBetweenRetries()).thenReturn(1000L);
+    when(mockUntilSuccessfulConfiguration.getJitterFactor()).thenReturn(0.5);
+    SynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
+    for (int i = 0; i < 100; i++) {
+      assertThat(processingStrategy.getMillisBeforeRetry(1), both(greaterThanOrEqualTo(500L)).and(lessThanOrEqualTo(1000L)));
+    }
+  }
+
+  @Test
+  public void noRetriesWhenInFlightRetriesExhausted() throws Exception {
+    when(mockUntilSuccessfulConfiguration.getMaxInFlightRetries()).thenReturn(1);
+    when(mockRoute.process(any(Event.class))).thenThrow(new RuntimeException("expected failure"));
+    SynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
+    assertThat(processingStrategy.tryAcquireRetry(), is(true));
+    try {
+      processingStrategy.route(testEvent(), getTestFlow(muleContext));
+      fail("processing should throw exception");
+    } catch (RoutingException e) {
+      verify(mockRoute, times(1)).process(any(Event.class));
+    }
+  }
+
+  @Test
+  public void nonBlockingRetries() throws Exception {
+    when(mockUntilSuccessfulConfiguration.getMillisBetweenRetries()).thenReturn(10L);
+    when(mockRoute.process(any(Event.class))).thenThrow(new RuntimeException("expected failure"))
+        .thenThrow(new RuntimeException("expected failure")).thenAnswer(invocation -> (Event) invocation.getArguments()[0]);
+    SynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
+    processingStrategy.setMuleContext(muleContext);
+    processingStrategy.start();
+    try {
+      Event response = processingStrategy.routeNonBlocking(testEvent(), getTestFlow(muleContext)).block();
+      assertThat(response.getMessage().getPayload().getValue(), equalTo(testEvent().getMessage().getPayload().getValue()));
+      verify(mockRoute, times(3)).process(any(Event.class));
+    } finally {
+      processingStrategy.stop();
+    }
+  }
+
+  @Test
+  public void retriesWithinCallingThreadWhenTransactionIsActive() throws Exception {
+    Set<Thread> routeThreads = new HashSet<>();
+    when(mockUntilSuccessfulConfiguration.getMillisBetweenRetries()).thenReturn(10L);
+    when(mockRoute.process(any(Event.class))).thenAnswer(invocation -> {
+      routeThreads.add(currentThread());
+      throw new RuntimeException("expected failure");
+    }).thenAnswer(invocation -> {
+      routeThreads.add(currentThread());
+      return (Event) invocation.getArguments()[0];
+    });
+    SynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
+    processingStrategy.setMuleContext(muleContext);
+    processingStrategy.start();
+    Transaction transaction = new TestTransaction(muleContext);
+    TransactionCoordination.getInstance().bindTransaction(transaction);
+    try {
+      Event response = processingStrategy.routeNonBlocking(testEvent(), getTestFlow(muleContext)).block();
+      assertThat(response.getMessage().getPayload().getValue(), equalTo(testEvent().getMessage().getPayload().getValue()));
+      verify(mockRoute, times(2)).process(any(Event.class));
+      assertThat(routeThreads, contains(currentThread()));
+    } finally {
+      TransactionCoordination.getInstance().unbindTransaction(transaction);
+      processingStrategy.stop();
+    }
+  }
+
   private SynchronousUntilSuccessfulProcessingStrategy createProcessingStrategy() throws InitialisationException {
     SynchronousUntilSuccessfulProcessingStrategy processingStrategy = new SynchronousUntilSuccessfulProcessingStrategy();
     processingStrategy.setUntilSuccessfulConfiguration(mockUntilSuccessfulConfiguration);
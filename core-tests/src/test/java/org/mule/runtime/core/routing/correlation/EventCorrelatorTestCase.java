@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.core.routing.correlation;
 
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -26,6 +30,7 @@ import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.runtime.core.api.store.ObjectStoreManager;
 import org.mule.runtime.core.api.store.PartitionableObjectStore;
+import org.mule.runtime.core.api.time.TimeSupplier;
 import org.mule.runtime.core.routing.EventGroup;
 import org.mule.runtime.core.util.store.PartitionedInMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleTestCase;
@@ -33,6 +38,7 @@ import org.mule.tck.probe.PollingProber;
 import org.mule.tck.probe.Probe;
 import org.mule.tck.probe.Prober;
 import org.mule.tck.size.SmallTest;
+import org.mule.tck.util.TestTimeSupplier;
 
 import org.junit.Before;
 import org.junit.Ignore;
@@ -52,6 +58,9 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
   public static final String TEST_GROUP_ID = "groupId";
   public static final boolean USE_PERSISTENT_STORE = false;
 
+  private static final String EVENT_GROUPS_PARTITION = "prefix.eventGroups";
+  private static final long GROUP_TIMEOUT = 1000;
+
   private static final Logger logger = LoggerFactory.getLogger(EventCorrelatorTestCase.class);
 
   @Mock(answer = Answers.RETURNS_DEEP_STUBS)
@@ -110,6 +119,17 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
     verify(mockEventGroup, times(1)).initAfterDeserialisation(mockMuleContext);
   }
 
+  @Test
+  public void activeGroupIsNotRetrievedOnEachEvent() throws Exception {
+    when(mockEventCorrelatorCallback.shouldAggregateEvents(mockEventGroup)).thenReturn(false);
+    when(mockMuleEvent.getCorrelationId()).thenReturn(TEST_GROUP_ID);
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    eventCorrelator.process(mockMuleEvent);
+    eventCorrelator.process(mockMuleEvent);
+    verify(mockEventGroup, times(1)).initAfterDeserialisation(mockMuleContext);
+    verify(mockEventGroup, times(2)).addEvent(mockMuleEvent);
+  }
+
   @Test
   @Ignore("MULE-7311")
   public void processesExpiredGroupInPrimaryNode() throws Exception {
@@ -160,6 +180,82 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
     }
   }
 
+  @Test
+  public void expiresGroupOnceTimeoutElapses() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(true);
+    TestTimeSupplier timeSupplier = new TestTimeSupplier(currentTimeMillis());
+    when(mockEventGroup.getCreated()).thenReturn(timeSupplier.get());
+    EventCorrelator eventCorrelator = createEventCorrelator(timeSupplier);
+    eventCorrelator.setTimeout(GROUP_TIMEOUT);
+
+    eventCorrelator.expireGroups();
+    assertThat(memoryObjectStore.contains(TEST_GROUP_ID, EVENT_GROUPS_PARTITION), is(true));
+    assertThat(eventCorrelator.getExpiringGroupsCount(), is(1));
+
+    timeSupplier.move(GROUP_TIMEOUT - 1, MILLISECONDS);
+    eventCorrelator.expireGroups();
+    assertThat(memoryObjectStore.contains(TEST_GROUP_ID, EVENT_GROUPS_PARTITION), is(true));
+
+    timeSupplier.move(2, MILLISECONDS);
+    eventCorrelator.expireGroups();
+    assertThat(memoryObjectStore.contains(TEST_GROUP_ID, EVENT_GROUPS_PARTITION), is(false));
+    assertThat(eventCorrelator.getExpiringGroupsCount(), is(0));
+    verify(mockProcessedGroups).store(TEST_GROUP_ID, timeSupplier.get());
+  }
+
+  @Test
+  public void secondaryNodeDoesNotIndexExpiringGroups() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(false);
+    when(mockEventCorrelatorCallback.shouldAggregateEvents(mockEventGroup)).thenReturn(false);
+    when(mockMuleEvent.getCorrelationId()).thenReturn(TEST_GROUP_ID);
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    eventCorrelator.setTimeout(GROUP_TIMEOUT);
+
+    eventCorrelator.process(mockMuleEvent);
+    eventCorrelator.expireGroups();
+
+    assertThat(eventCorrelator.getExpiringGroupsCount(), is(0));
+    assertThat(memoryObjectStore.contains(TEST_GROUP_ID, EVENT_GROUPS_PARTITION), is(true));
+  }
+
+  @Test
+  public void expiringGroupsAreDiscardedWhenNodeStopsBeingPrimary() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(true);
+    when(mockEventCorrelatorCallback.shouldAggregateEvents(mockEventGroup)).thenReturn(false);
+    when(mockMuleEvent.getCorrelationId()).thenReturn(TEST_GROUP_ID);
+    TestTimeSupplier timeSupplier = new TestTimeSupplier(currentTimeMillis());
+    when(mockEventGroup.getCreated()).thenReturn(timeSupplier.get());
+    EventCorrelator eventCorrelator = createEventCorrelator(timeSupplier);
+    eventCorrelator.setTimeout(GROUP_TIMEOUT);
+
+    eventCorrelator.process(mockMuleEvent);
+    assertThat(eventCorrelator.getExpiringGroupsCount(), is(1));
+
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(false);
+    eventCorrelator.expireGroups();
+    assertThat(eventCorrelator.getExpiringGroupsCount(), is(0));
+
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(true);
+    eventCorrelator.expireGroups();
+    assertThat(eventCorrelator.getExpiringGroupsCount(), is(1));
+  }
+
+  @Test
+  public void aggregatedGroupIsRemovedFromExpiringGroups() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(true);
+    when(mockEventCorrelatorCallback.shouldAggregateEvents(mockEventGroup)).thenReturn(false);
+    when(mockMuleEvent.getCorrelationId()).thenReturn(TEST_GROUP_ID);
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    eventCorrelator.setTimeout(GROUP_TIMEOUT);
+
+    eventCorrelator.process(mockMuleEvent);
+    assertThat(eventCorrelator.getExpiringGroupsCount(), is(1));
+
+    when(mockEventCorrelatorCallback.shouldAggregateEvents(mockEventGroup)).thenReturn(true);
+    eventCorrelator.process(mockMuleEvent);
+    assertThat(eventCorrelator.getExpiringGroupsCount(), is(0));
+  }
+
   @Test
   public void avoidCreateMessageEventToGetExceptionListener() throws Exception {
     doExpiredGroupMonitoringTest(true);
@@ -169,13 +265,17 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
   }
 
   private EventCorrelator createEventCorrelator() throws Exception {
+    return createEventCorrelator(new TimeSupplier());
+  }
+
+  private EventCorrelator createEventCorrelator(TimeSupplier timeSupplier) throws Exception {
     when(mockMuleContext.getRegistry().get(MuleProperties.OBJECT_STORE_MANAGER)).thenReturn(mockObjectStoreManager);
-    memoryObjectStore.store(TEST_GROUP_ID, mockEventGroup, "prefix.eventGroups");
+    memoryObjectStore.store(TEST_GROUP_ID, mockEventGroup, EVENT_GROUPS_PARTITION);
     when(mockEventGroup.getGroupId()).thenReturn(TEST_GROUP_ID);
     when(mockEventGroup.getMessageCollectionEvent()).thenReturn(mock(Event.class));
     when(mockFlowConstruct.getName()).thenReturn("flowName");
     return new EventCorrelator(mockEventCorrelatorCallback, mockTimeoutMessageProcessor, mockMuleContext, mockFlowConstruct,
-                               memoryObjectStore, "prefix", mockProcessedGroups);
+                               memoryObjectStore, "prefix", mockProcessedGroups, timeSupplier);
   }
 
   public interface DisposableListableObjectStore extends ListableObjectStore, Disposable {
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.source.polling;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.junit.Assert.assertThat;
@@ -14,20 +15,35 @@ import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
+import static org.mule.runtime.core.api.construct.Flow.builder;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.tck.MuleTestUtils.getTestFlow;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.Reference;
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.context.notification.ConnectorMessageNotificationListener;
+import org.mule.runtime.core.api.exception.MessagingExceptionHandler;
+import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.context.notification.ConnectorMessageNotification;
+import org.mule.runtime.core.processor.strategy.SynchronousProcessingStrategyFactory;
 import org.mule.runtime.core.source.scheduler.SchedulerMessageSource;
 import org.mule.runtime.core.source.scheduler.schedule.FixedFrequencyScheduler;
+import org.mule.runtime.core.source.scheduler.watermark.MaxValueWatermark;
+import org.mule.runtime.core.source.scheduler.watermark.ProcessedIdsWatermark;
+import org.mule.runtime.core.source.scheduler.watermark.ProcessedIdsWatermark.ProcessedIds;
+import org.mule.runtime.core.source.scheduler.watermark.Watermark;
+import org.mule.runtime.core.util.store.SimpleMemoryObjectStore;
 import org.mule.tck.SensingNullMessageProcessor;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
 import org.junit.Test;
@@ -98,6 +114,150 @@ public class SchedulerMessageSourceTestCase extends AbstractMuleContextTestCase
     assertThat(notificationClassloader.get(), is(executionClassLoader));
   }
 
+  @Test
+  public void maxValueWatermark() throws Exception {
+    MaxValueWatermark watermark = new MaxValueWatermark();
+    watermark.setDefaultValue("#[mel:0]");
+    schedulerMessageSource = createMessageSource(watermark);
+    List<Object> watermarks = new ArrayList<>();
+    schedulerMessageSource.setListener(event -> {
+      watermarks.add(event.getVariable("watermark").getValue());
+      return withPayload(event, asList(3, 7, 5));
+    });
+
+    schedulerMessageSource.poll();
+    schedulerMessageSource.poll();
+
+    assertThat(watermarks, is(asList(0, 7)));
+  }
+
+  @Test
+  public void watermarkIsNotUpdatedWhenPollFails() throws Exception {
+    MaxValueWatermark watermark = new MaxValueWatermark();
+    schedulerMessageSource = createMessageSource(watermark);
+    List<Object> watermarks = new ArrayList<>();
+    schedulerMessageSource.setListener(event -> {
+      watermarks.add(event.getVariable("watermark").getValue());
+      if (watermarks.size() == 1) {
+        throw new DefaultMuleException("Poll failed");
+      }
+      return withPayload(event, 10);
+    });
+
+    schedulerMessageSource.poll();
+    schedulerMessageSource.poll();
+    schedulerMessageSource.poll();
+
+    assertThat(watermarks, is(asList(null, null, 10)));
+  }
+
+  @Test
+  public void watermarkIsNotUpdatedWhenErrorIsContinued() throws Exception {
+    MessagingExceptionHandler continueHandler = (exception, event) -> {
+      exception.setHandled(true);
+      return event;
+    };
+    MaxValueWatermark watermark = new MaxValueWatermark();
+    schedulerMessageSource = createMessageSource(watermark, builder("continueFlow", muleContext)
+        .processingStrategyFactory(new SynchronousProcessingStrategyFactory()).messagingExceptionHandler(continueHandler)
+        .build());
+    List<Object> watermarks = new ArrayList<>();
+    schedulerMessageSource.setListener(event -> {
+      watermarks.add(event.getVariable("watermark").getValue());
+      if (watermarks.size() == 1) {
+        throw new DefaultMuleException("Poll failed");
+      }
+      return withPayload(event, 10);
+    });
+
+    schedulerMessageSource.poll();
+    schedulerMessageSource.poll();
+    schedulerMessageSource.poll();
+
+    assertThat(watermarks, is(asList(null, null, 10)));
+  }
+
+  @Test
+  public void pendingWatermarkValueIsRecovered() throws Exception {
+    SimpleMemoryObjectStore<Serializable> objectStore = new SimpleMemoryObjectStore<>();
+    MaxValueWatermark watermark = new MaxValueWatermark();
+    watermark.setObjectStore(objectStore);
+    schedulerMessageSource = createMessageSource(watermark);
+    List<Object> watermarks = new ArrayList<>();
+    schedulerMessageSource.setListener(event -> {
+      watermarks.add(event.getVariable("watermark").getValue());
+      return withPayload(event, watermarks.size() == 1 ? 5 : 10);
+    });
+    schedulerMessageSource.poll();
+
+    // an update interrupted right after storing the new value under the intermediate key
+    String storeKey = objectStore.allKeys().get(0).toString();
+    objectStore.store(storeKey + "-pending", 8);
+    schedulerMessageSource.poll();
+
+    assertThat(watermarks, is(asList(null, 8)));
+    assertThat(objectStore.contains(storeKey + "-pending"), is(false));
+    assertThat(objectStore.retrieve(storeKey), is((Serializable) 10));
+  }
+
+  @Test
+  public void processedIdsWatermark() throws Exception {
+    ProcessedIdsWatermark watermark = new ProcessedIdsWatermark();
+    watermark.setVariableName("processed");
+    schedulerMessageSource = createMessageSource(watermark);
+    List<ProcessedIds> watermarks = new ArrayList<>();
+    schedulerMessageSource.setListener(event -> {
+      watermarks.add((ProcessedIds) event.getVariable("processed").getValue());
+      return withPayload(event, asList("a", "b"));
+    });
+
+    schedulerMessageSource.poll();
+    schedulerMessageSource.poll();
+
+    assertThat(watermarks.get(0).contains("a"), is(false));
+    assertThat(watermarks.get(1).contains("a"), is(true));
+    assertThat(watermarks.get(1).contains("b"), is(true));
+    assertThat(watermarks.get(1).contains("c"), is(false));
+  }
+
+  @Test
+  public void overlappingPollIsSkipped() throws Exception {
+    schedulerMessageSource = createMessageSource(new MaxValueWatermark());
+    AtomicInteger polls = new AtomicInteger();
+    schedulerMessageSource.setListener(event -> {
+      if (polls.incrementAndGet() == 1) {
+        schedulerMessageSource.poll();
+      }
+      return event;
+    });
+
+    schedulerMessageSource.poll();
+    assertThat(polls.get(), is(1));
+
+    schedulerMessageSource.poll();
+    assertThat(polls.get(), is(2));
+  }
+
+  private Event withPayload(Event event, Object payload) {
+    return Event.builder(event).message(InternalMessage.builder().payload(payload).build()).build();
+  }
+
+  private SchedulerMessageSource createMessageSource(Watermark watermark) throws Exception {
+    return createMessageSource(watermark, getTestFlow(muleContext));
+  }
+
+  private SchedulerMessageSource createMessageSource(Watermark watermark, FlowConstruct flowConstruct) throws Exception {
+    watermark.setSelector("#[mel:payload]");
+    if (watermark.getObjectStore() == null) {
+      watermark.setObjectStore(new SimpleMemoryObjectStore<>());
+    }
+    schedulerMessageSource = new SchedulerMessageSource(muleContext, scheduler());
+    schedulerMessageSource.setWatermark(watermark);
+    schedulerMessageSource.setFlowConstruct(flowConstruct);
+    schedulerMessageSource.initialise();
+    return schedulerMessageSource;
+  }
+
   private SchedulerMessageSource createMessageSource() throws Exception {
     schedulerMessageSource =
         new SchedulerMessageSource(muleContext, scheduler());
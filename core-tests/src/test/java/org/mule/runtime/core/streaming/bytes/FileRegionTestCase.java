@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.streaming.bytes;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import org.mule.runtime.api.streaming.CursorStream;
+import org.mule.runtime.api.streaming.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.internal.streaming.bytes.InMemoryCursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class FileRegionTestCase extends AbstractMuleTestCase {
+
+  private static final String CONTENT = "Hello file region";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path path;
+
+  @Before
+  public void before() throws Exception {
+    path = temporaryFolder.newFile().toPath();
+    Files.write(path, CONTENT.getBytes(UTF_8));
+  }
+
+  @Test
+  public void unreadFileStreamSpansWholeFile() throws Exception {
+    try (TestFileContentStream stream = new TestFileContentStream(path)) {
+      FileRegion region = FileRegion.from(stream).get();
+
+      assertThat(region.getPath(), is(path));
+      assertThat(region.getPosition(), is(0L));
+      assertThat(region.getLength(), is((long) CONTENT.length()));
+      assertThat(transfer(region), is(CONTENT));
+    }
+  }
+
+  @Test
+  public void readFileStreamHasNoRegion() throws Exception {
+    try (TestFileContentStream stream = new TestFileContentStream(path)) {
+      stream.read();
+      assertThat(FileRegion.from(stream).isPresent(), is(false));
+    }
+  }
+
+  @Test
+  public void cursorRegionStartsAtItsPosition() throws Exception {
+    CursorStreamProvider provider = repeatable(new TestFileContentStream(path));
+    assertThat(FileRegion.from(provider).get().getLength(), is((long) CONTENT.length()));
+
+    try (CursorStream cursor = provider.openCursor()) {
+      cursor.seek(6);
+      FileRegion region = FileRegion.from(cursor).get();
+
+      assertThat(region.getPosition(), is(6L));
+      assertThat(transfer(region), is(CONTENT.substring(6)));
+    }
+  }
+
+  @Test
+  public void streamsNotReadingFilesHaveNoRegion() throws Exception {
+    InputStream stream = new ByteArrayInputStream(CONTENT.getBytes(UTF_8));
+
+    assertThat(FileRegion.from(stream), equalTo(Optional.empty()));
+    assertThat(FileRegion.from(repeatable(stream)), equalTo(Optional.empty()));
+    assertThat(FileRegion.from(CONTENT), equalTo(Optional.empty()));
+  }
+
+  private CursorStreamProvider repeatable(InputStream stream) {
+    DataSize bufferSize = new DataSize(1024, BYTE);
+    return new InMemoryCursorStreamProvider(stream, new InMemoryCursorStreamConfig(bufferSize, bufferSize, null),
+                                            new PoolingByteBufferManager(), mock(Event.class));
+  }
+
+  private String transfer(FileRegion region) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThat(region.transferTo(Channels.newChannel(out)), is(region.getLength()));
+    return new String(out.toByteArray(), UTF_8);
+  }
+
+  private static class TestFileContentStream extends FileInputStream implements FileContentStream {
+
+    private final Path path;
+    private boolean read;
+
+    private TestFileContentStream(Path path) throws IOException {
+      super(path.toFile());
+      this.path = path;
+    }
+
+    @Override
+    public int read() throws IOException {
+      read = true;
+      return super.read();
+    }
+
+    @Override
+    public Path getPath() {
+      return path;
+    }
+
+    @Override
+    public boolean hasBeenRead() {
+      return read;
+    }
+  }
+}
@@ -81,6 +81,24 @@ public class GraphTransformerResolverTestCase extends AbstractMuleTestCase {
     assertSame(transformer1, transformer2);
   }
 
+  @Test
+  public void cachesResolvedTransformerOnceLookupTableIsFull() throws ResolverException {
+    Converter xmlToJson = new MockConverterBuilder().from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
+    Converter inputStreamToXml = new MockConverterBuilder().from(INPUT_STREAM_DATA_TYPE).to(XML_DATA_TYPE).build();
+
+    graphResolver.transformerChange(inputStreamToXml, TransformerResolver.RegistryAction.ADDED);
+    graphResolver.transformerChange(xmlToJson, TransformerResolver.RegistryAction.ADDED);
+
+    for (int i = 0; i < 2000; i++) {
+      graphResolver.resolve(DataType.builder().type(String.class).mediaType("text/x-" + i).build(), JSON_DATA_TYPE);
+    }
+
+    Transformer transformer1 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
+    Transformer transformer2 = graphResolver.resolve(INPUT_STREAM_DATA_TYPE, JSON_DATA_TYPE);
+
+    assertSame(transformer1, transformer2);
+  }
+
   @Test
   public void clearsCacheWhenAddsConverter() throws ResolverException {
     Converter xmlToJson = new MockConverterBuilder().named("xmlToJson").from(XML_DATA_TYPE).to(JSON_DATA_TYPE).build();
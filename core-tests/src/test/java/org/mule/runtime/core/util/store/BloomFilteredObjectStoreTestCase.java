@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectStore;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class BloomFilteredObjectStoreTestCase extends AbstractMuleTestCase {
+
+  private static final long ENTRY_TTL = 1000;
+
+  private final AtomicLong clock = new AtomicLong();
+  private final SimpleMemoryObjectStore<String> delegate = spy(new SimpleMemoryObjectStore<>());
+  private final BloomFilteredObjectStore<String> store =
+      new BloomFilteredObjectStore<>(delegate, 100, 0.01, ENTRY_TTL, clock::get);
+
+  @Before
+  public void setUp() throws Exception {
+    store.initialise();
+  }
+
+  @Test
+  public void missingKeyIsAnsweredByFilter() throws Exception {
+    assertThat(store.contains("id"), is(false));
+    verify(delegate, never()).contains("id");
+  }
+
+  @Test
+  public void storedKeyIsCheckedInStore() throws Exception {
+    store.store("id", "value");
+    reset(delegate);
+
+    assertThat(store.contains("id"), is(true));
+    verify(delegate).contains("id");
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storingExistingKeyFails() throws Exception {
+    store.store("id", "value");
+    store.store("id", "value");
+  }
+
+  @Test
+  public void removedKeyIsNotContained() throws Exception {
+    store.store("id", "value");
+    store.remove("id");
+
+    assertThat(store.contains("id"), is(false));
+  }
+
+  @Test
+  public void generationsRotateWhenFull() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      store.store("id" + i, "value");
+    }
+
+    assertThat(store.getGenerationCount(), is(4));
+    for (int i = 0; i < 100; i++) {
+      assertThat(store.contains("id" + i), is(true));
+    }
+  }
+
+  @Test
+  public void expiredGenerationsAreDiscarded() throws Exception {
+    store.store("old", "value");
+    delegate.remove("old");
+
+    clock.addAndGet(MILLISECONDS.toNanos(ENTRY_TTL + 1));
+    store.store("new", "value");
+    reset(delegate);
+
+    assertThat(store.getGenerationCount(), is(1));
+    assertThat(store.contains("old"), is(false));
+    verify(delegate, never()).contains("old");
+    assertThat(store.contains("new"), is(true));
+  }
+
+  @Test
+  public void clearDiscardsFilter() throws Exception {
+    store.store("id", "value");
+    store.clear();
+
+    assertThat(store.contains("id"), is(false));
+    assertThat(store.getGenerationCount(), is(0));
+  }
+
+  @Test
+  public void filterIsSeededWithExistingKeys() throws Exception {
+    SimpleMemoryObjectStore<String> existing = new SimpleMemoryObjectStore<>();
+    existing.store("id", "value");
+    BloomFilteredObjectStore<String> restarted = new BloomFilteredObjectStore<>(existing, 100, 0.01, ENTRY_TTL, clock::get);
+    restarted.initialise();
+
+    assertThat(restarted.contains("id"), is(true));
+    assertThat(restarted.contains("other"), is(false));
+  }
+
+  @Test
+  public void unlistablePersistentStoreIsAlwaysChecked() throws Exception {
+    ObjectStore<String> persistent = mock(ObjectStore.class);
+    when(persistent.isPersistent()).thenReturn(true);
+    when(persistent.contains("id")).thenReturn(true);
+    BloomFilteredObjectStore<String> restarted = new BloomFilteredObjectStore<>(persistent, 100, 0.01, ENTRY_TTL, clock::get);
+    restarted.initialise();
+
+    assertThat(restarted.contains("id"), is(true));
+    verify(persistent).contains("id");
+  }
+}
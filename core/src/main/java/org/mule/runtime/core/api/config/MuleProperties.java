@@ -167,6 +167,7 @@ public class MuleProperties {
   public static final String OBJECT_POLICY_PROVIDER = "_mulePolicyProvider";
   public static final String OBJECT_POLICY_MANAGER_STATE_HANDLER = "_mulePolicyStateHandler";
   public static final String OBJECT_PROCESSOR_INTERCEPTOR_MANAGER = "_muleProcessorInterceptorManager";
+  public static final String OBJECT_STARTUP_PROFILER = "_muleStartupProfiler";
   public static final String DEFAULT_TLS_CONTEXT_FACTORY_REGISTRY_KEY = "_muleDefaultTlsContextFactory";
   public static final String DEFAULT_TLS_CONTEXT_FACTORY_BUILDER_REGISTRY_KEY = "_muleDefaultTlsContextFactoryBuilder";
 
@@ -199,4 +200,11 @@ public class MuleProperties {
   public static final String MULE_FLOW_TRACE = SYSTEM_PROPERTY_PREFIX + "flowTrace";
   public static final String MULE_LOG_VERBOSE_CLASSLOADING = SYSTEM_PROPERTY_PREFIX + "classloading.verbose";
   public static final String MULE_MEL_AS_DEFAULT = SYSTEM_PROPERTY_PREFIX + "test.mel.default";
+  public static final String MULE_STARTUP_PROFILING = SYSTEM_PROPERTY_PREFIX + "startupProfiling";
+  public static final String MULE_ON_DEMAND_FLOW_INITIALIZATION = SYSTEM_PROPERTY_PREFIX + "onDemandFlowInitialization";
+  public static final String MULE_PAGING_PREFETCH_DEPTH = SYSTEM_PROPERTY_PREFIX + "paging.prefetchDepth";
+  public static final String MULE_CONNECTION_POOL_VALIDATION_INTERVAL =
+      SYSTEM_PROPERTY_PREFIX + "connection.pool.validationInterval";
+  public static final String MULE_CONNECTION_POOL_TESTS_PER_EVICTION_RUN =
+      SYSTEM_PROPERTY_PREFIX + "connection.pool.numTestsPerEvictionRun";
 }
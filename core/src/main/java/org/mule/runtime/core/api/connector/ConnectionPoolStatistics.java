@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.connector;
+
+/**
+ * Provides the state and usage metrics of a pool of connections.
+ *
+ * @since 4.0
+ */
+public interface ConnectionPoolStatistics {
+
+  /**
+   * @return the amount of connections that are currently borrowed
+   */
+  int getNumActive();
+
+  /**
+   * @return the amount of connections that are currently available in the pool
+   */
+  int getNumIdle();
+
+  /**
+   * @return the maximum amount of connections that can be borrowed at the same time, or a negative value if there is no limit
+   */
+  int getMaxActive();
+
+  /**
+   * @return the ratio between the borrowed connections and {@link #getMaxActive()}, or {@code 0} if there is no limit
+   */
+  double getUtilization();
+
+  /**
+   * @return the amount of connections borrowed since the pool was created
+   */
+  long getBorrowCount();
+
+  /**
+   * @return the total time, in nanoseconds, that borrowers had to wait for a connection to be available
+   */
+  long getTotalWaitTimeNanos();
+
+  /**
+   * @return the longest time, in nanoseconds, that a borrower had to wait for a connection to be available
+   */
+  long getMaxWaitTimeNanos();
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.connector;
+
+import org.mule.runtime.api.connection.PoolingListener;
+
+/**
+ * A {@link PoolingListener} which is also notified of the metrics of the pool each time a connection is borrowed.
+ *
+ * @param <C> the generic type of the pooled connections
+ * @since 4.0
+ */
+public interface PoolingStatisticsListener<C> extends PoolingListener<C> {
+
+  /**
+   * Invoked each time a connection is borrowed from the pool, before {@link #onBorrow(Object)}.
+   *
+   * @param connection the borrowed connection
+   * @param waitTimeNanos the time, in nanoseconds, that the borrower waited for a connection to be available
+   * @param statistics the current {@link ConnectionPoolStatistics} of the pool
+   */
+  void onBorrowed(C connection, long waitTimeNanos, ConnectionPoolStatistics statistics);
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.el;
+
+/**
+ * Describes what the result of an expression depends on, so that callers can avoid evaluating it for every event.
+ *
+ * @since 4.0
+ */
+public enum ExpressionClassification {
+
+  /**
+   * The expression doesn't reference any binding, so it always evaluates to the same value.
+   */
+  CONSTANT,
+
+  /**
+   * The expression only references global bindings. It doesn't depend on the event, but global bindings may not be
+   * deterministic so it still has to be evaluated every time.
+   */
+  GLOBAL,
+
+  /**
+   * The expression may reference the event, or its dependencies could not be determined.
+   */
+  EVENT
+}
@@ -144,4 +144,25 @@ public interface ExtendedExpressionManager extends ExpressionManager {
   String parse(String expression, Event event, Event.Builder eventBuilder, FlowConstruct flowConstruct)
       throws ExpressionRuntimeException;
 
+  /**
+   * Classifies an expression according to what its result depends on. Expressions classified as
+   * {@link ExpressionClassification#CONSTANT} can be evaluated once, without an event.
+   *
+   * @param expression the expression to classify
+   * @return the {@link ExpressionClassification} of the expression. Expressions that are not supported by the analysis are
+   *         classified as {@link ExpressionClassification#EVENT}
+   */
+  ExpressionClassification classify(String expression);
+
+  /**
+   * Determines whether the result of an expression can be shared by every evaluation, which requires the expression to be
+   * {@link ExpressionClassification#CONSTANT} and its result to be immutable. The expression is evaluated without an event to
+   * find out.
+   *
+   * @param expression the expression to check
+   * @return {@code true} if the expression is constant and its result can't be modified, {@code false} otherwise or if the
+   *         expression can't be evaluated without an event
+   */
+  boolean isImmutableConstant(String expression);
+
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.serialization;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.internal.serialization.CompactSerializationProtocol;
+
+/**
+ * Serializes objects using a compact binary encoding for strings, primitives, data types, typed values and collections of
+ * them, falling back to the default Java serialization mechanism for any other object.
+ * <p/>
+ * An application selects it by defining an instance as a bean and referencing it from the {@code defaultObjectSerializer-ref}
+ * attribute of its configuration. Values serialized with Java serialization before the switch can still be deserialized.
+ *
+ * @since 4.0
+ */
+public class CompactObjectSerializer implements ObjectSerializer, MuleContextAware {
+
+  private final CompactSerializationProtocol compactSerializationProtocol = new CompactSerializationProtocol();
+
+  @Override
+  public SerializationProtocol getInternalProtocol() {
+    return compactSerializationProtocol;
+  }
+
+  @Override
+  public SerializationProtocol getExternalProtocol() {
+    return compactSerializationProtocol;
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    compactSerializationProtocol.setMuleContext(context);
+  }
+}
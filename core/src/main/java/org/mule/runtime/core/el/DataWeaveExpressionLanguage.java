@@ -6,8 +6,13 @@
  */
 package org.mule.runtime.core.el;
 
-import static java.util.Collections.unmodifiableMap;
-import static org.mule.runtime.api.metadata.DataType.fromType;
+import static java.lang.Character.isJavaIdentifierPart;
+import static java.lang.Character.isDigit;
+import static java.lang.Character.isJavaIdentifierStart;
+import static java.util.Arrays.asList;
+import static org.mule.runtime.core.api.el.ExpressionClassification.CONSTANT;
+import static org.mule.runtime.core.api.el.ExpressionClassification.EVENT;
+import static org.mule.runtime.core.api.el.ExpressionClassification.GLOBAL;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
 import static org.mule.runtime.core.config.i18n.CoreMessages.expressionEvaluationFailed;
@@ -16,18 +21,19 @@ import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.el.ExpressionExecutionException;
 import org.mule.runtime.api.el.ExpressionExecutor;
 import org.mule.runtime.api.el.ValidationResult;
-import org.mule.runtime.api.message.Attributes;
-import org.mule.runtime.api.message.Error;
-import org.mule.runtime.api.message.Message;
-import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.el.ExpressionClassification;
 import org.mule.runtime.core.api.el.ExtendedExpressionLanguage;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 
-import java.util.HashMap;
-import java.util.Map;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 
@@ -43,7 +49,13 @@ public class DataWeaveExpressionLanguage implements ExtendedExpressionLanguage {
   public static final String VARIABLES = "variables";
   public static final String FLOW = "flow";
 
+  private static final int MAX_ANALYZED_EXPRESSIONS = 1000;
+  private static final Set<String> LITERALS = new HashSet<>(asList("true", "false", "null"));
+
   private ExpressionExecutor expressionExecutor;
+  private final Cache<String, AnalyzedExpression> analyzedExpressions =
+      CacheBuilder.newBuilder().maximumSize(MAX_ANALYZED_EXPRESSIONS).build();
+  private final Set<String> globalIdentifiers = ConcurrentHashMap.newKeySet();
 
   @Inject
   public DataWeaveExpressionLanguage(ExpressionExecutor expressionExecutor) {
@@ -57,12 +69,27 @@ public class DataWeaveExpressionLanguage implements ExtendedExpressionLanguage {
    */
   public synchronized void registerGlobalContext(BindingContext bindingContext) {
     expressionExecutor.addGlobalBindings(bindingContext);
+    globalIdentifiers.addAll(bindingContext.identifiers());
+  }
+
+  /**
+   * Classifies an expression based on the identifiers it references. Since any identifier may be an event variable, only
+   * expressions that reference nothing but literals or global bindings are not considered to depend on the event.
+   *
+   * @param expression the expression to classify
+   * @return the {@link ExpressionClassification} of the expression
+   */
+  public ExpressionClassification classify(String expression) {
+    AnalyzedExpression analyzedExpression = analyze(expression);
+    if (analyzedExpression.getIdentifiers().isEmpty()) {
+      return CONSTANT;
+    }
+    return globalIdentifiers.containsAll(analyzedExpression.getIdentifiers()) ? GLOBAL : EVENT;
   }
 
   @Override
   public TypedValue evaluate(String expression, Event event, BindingContext context) {
-    BindingContext.Builder contextBuilder = bindingContextBuilderFor(event, context);
-    return evaluate(expression, contextBuilder.build());
+    return evaluate(expression, event, null, context);
   }
 
   @Override
@@ -73,14 +100,19 @@ public class DataWeaveExpressionLanguage implements ExtendedExpressionLanguage {
   @Override
   public TypedValue evaluate(String expression, Event event, Event.Builder eventBuilder, FlowConstruct flowConstruct,
                              BindingContext context) {
-    BindingContext.Builder contextBuilder = bindingContextBuilderFor(event, context);
-    addFlowBindings(flowConstruct, contextBuilder);
-    return evaluate(expression, contextBuilder.build());
+    AnalyzedExpression analyzedExpression = analyze(expression);
+    try {
+      return expressionExecutor.evaluate(analyzedExpression.getSanitizedExpression(),
+                                         new EventBindingContext(event, flowConstruct, context,
+                                                                 analyzedExpression.getIdentifiers()));
+    } catch (ExpressionExecutionException e) {
+      throw new ExpressionRuntimeException(expressionEvaluationFailed(e.getMessage(), expression), e);
+    }
   }
 
   @Override
   public ValidationResult validate(String expression) {
-    return expressionExecutor.validate(sanitize(expression));
+    return expressionExecutor.validate(analyze(expression).getSanitizedExpression());
   }
 
   @Override
@@ -94,46 +126,13 @@ public class DataWeaveExpressionLanguage implements ExtendedExpressionLanguage {
     throw new UnsupportedOperationException("Enrichment is not allowed, yet.");
   }
 
-  private TypedValue evaluate(String expression, BindingContext context) {
-    try {
-      return expressionExecutor.evaluate(sanitize(expression), context);
-    } catch (ExpressionExecutionException e) {
-      throw new ExpressionRuntimeException(expressionEvaluationFailed(e.getMessage(), expression), e);
-    }
-  }
-
-  private BindingContext.Builder addFlowBindings(FlowConstruct flow, BindingContext.Builder contextBuilder) {
-    if (flow != null) {
-      contextBuilder.addBinding(FLOW, new TypedValue(new FlowVariablesAccessor(flow.getName()),
-                                                     fromType(FlowVariablesAccessor.class)));
-    }
-    return contextBuilder;
-  }
-
-  private void addEventBindings(Event event, BindingContext.Builder contextBuilder) {
-    if (event != null) {
-      Map<String, TypedValue> flowVars = new HashMap<>();
-      event.getVariableNames().forEach(name -> {
-        TypedValue value = event.getVariable(name);
-        flowVars.put(name, value);
-        contextBuilder.addBinding(name, value);
-      });
-      contextBuilder.addBinding(VARIABLES,
-                                new TypedValue(unmodifiableMap(flowVars), fromType(flowVars.getClass())));
-      Message message = event.getMessage();
-      Attributes attributes = message.getAttributes();
-      contextBuilder.addBinding(ATTRIBUTES, new TypedValue(attributes, fromType(attributes.getClass())));
-      contextBuilder.addBinding(PAYLOAD, message.getPayload());
-      contextBuilder.addBinding(DATA_TYPE, new TypedValue(message.getPayload().getDataType(), fromType(DataType.class)));
-      Error error = event.getError().isPresent() ? event.getError().get() : null;
-      contextBuilder.addBinding(ERROR, new TypedValue(error, fromType(Error.class)));
+  private AnalyzedExpression analyze(String expression) {
+    AnalyzedExpression analyzedExpression = analyzedExpressions.getIfPresent(expression);
+    if (analyzedExpression == null) {
+      analyzedExpression = new AnalyzedExpression(sanitize(expression));
+      analyzedExpressions.put(expression, analyzedExpression);
     }
-  }
-
-  private BindingContext.Builder bindingContextBuilderFor(Event event, BindingContext context) {
-    BindingContext.Builder contextBuilder = BindingContext.builder(context);
-    addEventBindings(event, contextBuilder);
-    return contextBuilder;
+    return analyzedExpression;
   }
 
   private String sanitize(String expression) {
@@ -143,17 +142,62 @@ public class DataWeaveExpressionLanguage implements ExtendedExpressionLanguage {
     return sanitizedExpression;
   }
 
-  private class FlowVariablesAccessor {
-
-    private String name;
+  /**
+   * An expression without the expression language delimiters, along with the identifiers it references.
+   * <p/>
+   * The identifiers are every word in the expression that is a valid identifier, except for literals. The contents of string
+   * literals are only left out when the expression has no interpolations, comments or regular expressions, which could
+   * otherwise be mistaken for the boundaries of a string. This may include more identifiers than the ones that are actually
+   * bindings, but never less, so only the bindings that the expression may use need to be created.
+   */
+  private static class AnalyzedExpression {
+
+    private final String sanitizedExpression;
+    private final Set<String> identifiers = new HashSet<>();
+
+    private AnalyzedExpression(String sanitizedExpression) {
+      this.sanitizedExpression = sanitizedExpression;
+
+      boolean skipStrings = sanitizedExpression.indexOf('$') == -1 && sanitizedExpression.indexOf('/') == -1;
+      int length = sanitizedExpression.length();
+      int i = 0;
+      while (i < length) {
+        char c = sanitizedExpression.charAt(i);
+        if (skipStrings && (c == '"' || c == '\'')) {
+          i = findStringEnd(c, i + 1) + 1;
+        } else if (isDigit(c)) {
+          do {
+            i++;
+          } while (i < length && isJavaIdentifierPart(sanitizedExpression.charAt(i)));
+        } else if (isJavaIdentifierStart(c)) {
+          int start = i;
+          do {
+            i++;
+          } while (i < length && isJavaIdentifierPart(sanitizedExpression.charAt(i)));
+          String identifier = sanitizedExpression.substring(start, i);
+          if (!LITERALS.contains(identifier)) {
+            identifiers.add(identifier);
+          }
+        } else {
+          i++;
+        }
+      }
+    }
 
-    public FlowVariablesAccessor(String name) {
-      this.name = name;
+    private int findStringEnd(char quote, int from) {
+      int i = from;
+      while (i < sanitizedExpression.length() && sanitizedExpression.charAt(i) != quote) {
+        i += sanitizedExpression.charAt(i) == '\\' ? 2 : 1;
+      }
+      return i;
     }
 
-    public String getName() {
-      return name;
+    private String getSanitizedExpression() {
+      return sanitizedExpression;
     }
 
+    private Set<String> getIdentifiers() {
+      return identifiers;
+    }
   }
 }
@@ -12,6 +12,7 @@ import static org.mule.runtime.api.el.ValidationResult.success;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_EXPRESSION_LANGUAGE;
+import static org.mule.runtime.core.api.el.ExpressionClassification.CONSTANT;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.el.BindingContext;
@@ -26,7 +27,7 @@ import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.FlowConstruct;
-import org.mule.runtime.core.api.el.ExtendedExpressionLanguage;
+import org.mule.runtime.core.api.el.ExpressionClassification;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.el.GlobalBindingContextProvider;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
@@ -34,11 +35,14 @@ import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.registry.RegistrationException;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.el.mvel.MVELExpressionLanguage;
-
 import org.mule.runtime.core.util.TemplateParser;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.inject.Inject;
 
@@ -48,12 +52,16 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
 
   public static final String MEL_PREFIX = "mel:";
   private static final Logger logger = getLogger(DefaultExpressionManager.class);
+  private static final int MAX_CONSTANT_RESULTS = 1000;
 
   private MuleContext muleContext;
-  private ExtendedExpressionLanguage expressionLanguage;
+  private ExtendedExpressionLanguageAdapter expressionLanguage;
   // Default style parser
   private TemplateParser parser = TemplateParser.createMuleStyleParser();
   private boolean forceMel;
+  // Results of the constant expressions, which don't need to be evaluated again
+  private final Cache<String, TypedValue> constantResults = CacheBuilder.newBuilder().maximumSize(MAX_CONSTANT_RESULTS).build();
+  private final LongAdder avoidedEvaluations = new LongAdder();
 
   @Inject
   public DefaultExpressionManager(MuleContext muleContext) {
@@ -63,7 +71,7 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
       final DataWeaveExpressionLanguage dataWeaveExpressionLanguage = new DataWeaveExpressionLanguage(expressionExecutor);
       final MVELExpressionLanguage mvelExpressionLanguage = muleContext.getRegistry().lookupObject(OBJECT_EXPRESSION_LANGUAGE);
       this.expressionLanguage = new ExtendedExpressionLanguageAdapter(dataWeaveExpressionLanguage, mvelExpressionLanguage);
-      this.forceMel = ((ExtendedExpressionLanguageAdapter) expressionLanguage).isForceMel();
+      this.forceMel = expressionLanguage.isForceMel();
     } catch (RegistrationException e) {
       throw new MuleRuntimeException(e);
     }
@@ -103,12 +111,12 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
 
   @Override
   public TypedValue evaluate(String expression, Event event, BindingContext context) {
-    return evaluate(expression, event, Event.builder(event), null, context);
+    return evaluate(expression, event, eventBuilderFor(expression, event), null, context);
   }
 
   @Override
   public TypedValue evaluate(String expression, Event event, FlowConstruct flowConstruct) {
-    return evaluate(expression, event, Event.builder(event), flowConstruct, BindingContext.builder().build());
+    return evaluate(expression, event, eventBuilderFor(expression, event), flowConstruct, BindingContext.builder().build());
   }
 
   @Override
@@ -118,13 +126,65 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
 
   @Override
   public TypedValue evaluate(String expression, Event event, FlowConstruct flowConstruct, BindingContext context) {
-    return evaluate(expression, event, Event.builder(event), flowConstruct, context);
+    return evaluate(expression, event, eventBuilderFor(expression, event), flowConstruct, context);
   }
 
   @Override
   public TypedValue evaluate(String expression, Event event, Event.Builder eventBuilder, FlowConstruct flowConstruct,
                              BindingContext context) {
-    return expressionLanguage.evaluate(expression, event, eventBuilder, flowConstruct, context);
+    if (expressionLanguage.classify(expression) != CONSTANT) {
+      return expressionLanguage.evaluate(expression, event, eventBuilder, flowConstruct, context);
+    }
+
+    TypedValue result = constantResults.getIfPresent(expression);
+    if (result != null) {
+      avoidedEvaluations.increment();
+      return result;
+    }
+    result = expressionLanguage.evaluate(expression, event, eventBuilder, flowConstruct, context);
+    if (isImmutable(result.getValue())) {
+      constantResults.put(expression, result);
+    }
+    return result;
+  }
+
+  /**
+   * Only MVEL expressions may mutate the event, so the {@link Event.Builder} is only created for them.
+   */
+  private Event.Builder eventBuilderFor(String expression, Event event) {
+    return expressionLanguage.isEvaluatedByMel(expression) ? Event.builder(event) : null;
+  }
+
+  /**
+   * The result of a constant expression is shared by every evaluation, so it's only kept if it can't be modified.
+   */
+  private boolean isImmutable(Object value) {
+    return value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+        || value instanceof Character;
+  }
+
+  @Override
+  public ExpressionClassification classify(String expression) {
+    return expressionLanguage.classify(expression);
+  }
+
+  @Override
+  public boolean isImmutableConstant(String expression) {
+    if (classify(expression) != CONSTANT) {
+      return false;
+    }
+    try {
+      return isImmutable(evaluate(expression).getValue());
+    } catch (ExpressionRuntimeException e) {
+      return false;
+    }
+  }
+
+  /**
+   * @return the amount of evaluations of constant expressions that were avoided by reusing a previous result
+   */
+  public long getAvoidedEvaluations() {
+    return avoidedEvaluations.sum();
   }
 
   @Override
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.el;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Optional.of;
+import static java.util.stream.Collectors.toList;
+import static org.mule.runtime.api.metadata.DataType.fromType;
+import static org.mule.runtime.core.el.DataWeaveExpressionLanguage.ATTRIBUTES;
+import static org.mule.runtime.core.el.DataWeaveExpressionLanguage.DATA_TYPE;
+import static org.mule.runtime.core.el.DataWeaveExpressionLanguage.ERROR;
+import static org.mule.runtime.core.el.DataWeaveExpressionLanguage.FLOW;
+import static org.mule.runtime.core.el.DataWeaveExpressionLanguage.PAYLOAD;
+import static org.mule.runtime.core.el.DataWeaveExpressionLanguage.VARIABLES;
+import org.mule.runtime.api.el.Binding;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.message.Attributes;
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link BindingContext} backed by an {@link Event} that creates the {@link TypedValue} of each binding only when it is looked
+ * up.
+ * <p/>
+ * {@link #identifiers()} and {@link #bindings()} only expose the event bindings that are referenced by the expression being
+ * evaluated, along with every binding of the given context, so evaluating an expression doesn't depend on the amount of
+ * variables of the event. {@link #lookup(String)} resolves any binding, referenced or not.
+ * <p/>
+ * The bindings have the same precedence as when they are all added to a {@link BindingContext.Builder}: the flow binding first,
+ * then the event bindings, then the event variables and finally the bindings of the given context.
+ * <p/>
+ * Instances are meant to be used for a single evaluation and are not thread safe.
+ *
+ * @since 4.0
+ */
+class EventBindingContext implements BindingContext {
+
+  private final Event event;
+  private final FlowConstruct flowConstruct;
+  private final BindingContext context;
+  private final Set<String> referencedIdentifiers;
+  private final Map<String, TypedValue> resolvedBindings = new HashMap<>();
+  private Set<String> identifiers;
+
+  /**
+   * @param event the event to take the bindings from. May be {@code null}
+   * @param flowConstruct the flow to take the {@code flow} binding from. May be {@code null}
+   * @param context additional bindings, all of them exposed
+   * @param referencedIdentifiers the identifiers referenced by the expression. It may contain identifiers that are not
+   *        bindings
+   */
+  EventBindingContext(Event event, FlowConstruct flowConstruct, BindingContext context, Set<String> referencedIdentifiers) {
+    this.event = event;
+    this.flowConstruct = flowConstruct;
+    this.context = context;
+    this.referencedIdentifiers = referencedIdentifiers;
+  }
+
+  @Override
+  public Collection<Binding> bindings() {
+    return identifiers().stream().map(identifier -> new Binding(identifier, lookup(identifier).get())).collect(toList());
+  }
+
+  @Override
+  public Collection<String> identifiers() {
+    if (identifiers == null) {
+      identifiers = new LinkedHashSet<>(context.identifiers());
+      for (String identifier : referencedIdentifiers) {
+        if (isEventBinding(identifier)) {
+          identifiers.add(identifier);
+        }
+      }
+    }
+    return identifiers;
+  }
+
+  @Override
+  public Optional<TypedValue> lookup(String identifier) {
+    TypedValue value = resolvedBindings.get(identifier);
+    if (value == null && isEventBinding(identifier)) {
+      value = resolveEventBinding(identifier);
+      resolvedBindings.put(identifier, value);
+    }
+    return value != null ? of(value) : context.lookup(identifier);
+  }
+
+  private boolean isEventBinding(String identifier) {
+    if (FLOW.equals(identifier) && flowConstruct != null) {
+      return true;
+    }
+    if (event == null) {
+      return false;
+    }
+    return PAYLOAD.equals(identifier) || ATTRIBUTES.equals(identifier) || DATA_TYPE.equals(identifier)
+        || ERROR.equals(identifier) || VARIABLES.equals(identifier) || event.getVariableNames().contains(identifier);
+  }
+
+  private TypedValue resolveEventBinding(String identifier) {
+    if (FLOW.equals(identifier) && flowConstruct != null) {
+      return new TypedValue(new FlowVariablesAccessor(flowConstruct.getName()), fromType(FlowVariablesAccessor.class));
+    }
+
+    Message message = event.getMessage();
+    switch (identifier) {
+      case PAYLOAD:
+        return message.getPayload();
+      case ATTRIBUTES:
+        Attributes attributes = message.getAttributes();
+        return new TypedValue(attributes, fromType(attributes.getClass()));
+      case DATA_TYPE:
+        return new TypedValue(message.getPayload().getDataType(), fromType(DataType.class));
+      case ERROR:
+        Error error = event.getError().isPresent() ? event.getError().get() : null;
+        return new TypedValue(error, fromType(Error.class));
+      case VARIABLES:
+        Map<String, TypedValue> variables = new HashMap<>();
+        event.getVariableNames().forEach(name -> variables.put(name, event.getVariable(name)));
+        return new TypedValue(unmodifiableMap(variables), fromType(variables.getClass()));
+      default:
+        return event.getVariable(identifier);
+    }
+  }
+
+  /**
+   * Value of the {@code flow} binding.
+   */
+  static class FlowVariablesAccessor {
+
+    private String name;
+
+    public FlowVariablesAccessor(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+  }
+}
@@ -9,6 +9,7 @@ package org.mule.runtime.core.el;
 import static java.lang.Boolean.valueOf;
 import static java.lang.System.getProperty;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_MEL_AS_DEFAULT;
+import static org.mule.runtime.core.api.el.ExpressionClassification.EVENT;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
 import static org.mule.runtime.core.el.DefaultExpressionManager.MEL_PREFIX;
 import org.mule.runtime.api.el.BindingContext;
@@ -16,6 +17,7 @@ import org.mule.runtime.api.el.ValidationResult;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.el.ExpressionClassification;
 import org.mule.runtime.core.api.el.ExtendedExpressionLanguage;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.el.mvel.MVELExpressionLanguage;
@@ -86,8 +88,27 @@ public class ExtendedExpressionLanguageAdapter implements ExtendedExpressionLang
     selectExpressionLanguage(expression).enrich(expression, event, eventBuilder, flowConstruct, value);
   }
 
+  /**
+   * Classifies the given expression. MVEL expressions are not analyzed, so they are always classified as
+   * {@link ExpressionClassification#EVENT}.
+   *
+   * @param expression the expression to classify
+   * @return the {@link ExpressionClassification} of the expression
+   */
+  public ExpressionClassification classify(String expression) {
+    return isEvaluatedByMel(expression) ? EVENT : dataWeaveExpressionLanguage.classify(expression);
+  }
+
+  /**
+   * @param expression the expression to check
+   * @return whether the expression is evaluated through MVEL
+   */
+  public boolean isEvaluatedByMel(String expression) {
+    return isMelExpression(expression) || forceMel;
+  }
+
   private ExtendedExpressionLanguage selectExpressionLanguage(String expression) {
-    if (isMelExpression(expression) || forceMel) {
+    if (isEvaluatedByMel(expression)) {
       return mvelExpressionLanguage;
     } else {
       return dataWeaveExpressionLanguage;
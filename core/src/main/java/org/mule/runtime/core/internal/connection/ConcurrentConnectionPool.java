@@ -0,0 +1,501 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ALL;
+import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ONE;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_FAIL;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.util.Reference;
+import org.mule.runtime.core.api.connector.ConnectionPoolStatistics;
+import org.mule.runtime.core.api.connector.PoolingStatisticsListener;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.pool.ObjectPool;
+import org.apache.commons.pool.PoolableObjectFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ObjectPool} of connections which doesn't synchronize borrowers with each other.
+ * <p>
+ * Each pooled connection has an atomic state, so borrowing an idle connection or returning it only takes a compare and set.
+ * A borrower first tries the connection that its thread returned last, which is likely to be idle under low contention, and
+ * then any other idle connection. The amount of borrowed connections is limited with a non fair {@link Semaphore}, which only
+ * blocks when the pool is exhausted and the {@link PoolingProfile} requires to wait.
+ * <p>
+ * Idle connections are not validated each time they are borrowed. {@link #requiresValidation(Object)} tells whether a borrowed
+ * connection was just created or was not validated within the validation interval, so that the caller only validates those.
+ * <p>
+ * If an {@code evictionExecutor} is given, idle connections are periodically validated and evicted according to the
+ * {@link PoolingProfile}, and the pool is filled up to the amount of connections required by its initialisation policy. As in
+ * {@link org.apache.commons.pool.impl.GenericObjectPool}, each eviction run only tests up to {@code numTestsPerEvictionRun}
+ * idle connections, resuming on the next run where the previous one stopped. A negative value tests about
+ * {@code 1/abs(numTestsPerEvictionRun)} of the idle connections on each run.
+ *
+ * @param <C> the generic type of the pooled connections
+ * @since 4.0
+ */
+final class ConcurrentConnectionPool<C> implements ObjectPool<C> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentConnectionPool.class);
+
+  private static final int IDLE = 0;
+  private static final int IN_USE = 1;
+  private static final int RESERVED = 2;
+  private static final int REMOVED = 3;
+
+  private final PoolingProfile poolingProfile;
+  private final long validationIntervalNanos;
+  private final int numTestsPerEvictionRun;
+  private final PoolingStatisticsListener<C> statisticsListener;
+  private final Semaphore permits;
+  private final int minIdle;
+
+  private final List<PooledConnection<C>> connections = new CopyOnWriteArrayList<>();
+  private final Map<Reference<C>, PooledConnection<C>> connectionsByInstance = new ConcurrentHashMap<>();
+  private final ThreadLocal<WeakReference<PooledConnection<C>>> lastReturned = new ThreadLocal<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final AtomicInteger activeCount = new AtomicInteger();
+  private final Statistics statistics = new Statistics();
+  private final ScheduledFuture<?> evictionTask;
+  private volatile PoolableObjectFactory<C> factory;
+  private volatile boolean closed = false;
+  private int evictionCursor = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param factory the factory that creates, destroys and validates the connections
+   * @param poolingProfile the {@link PoolingProfile} which configures this pool
+   * @param validationIntervalMillis how long a validated connection can be borrowed before it requires validation again
+   * @param numTestsPerEvictionRun the maximum amount of idle connections to test on each eviction run
+   * @param evictionExecutor the executor in which idle connections are evicted. May be {@code null}, in which case there is no
+   *        eviction nor warm up
+   * @param statisticsListener a listener to notify with the metrics of the pool. May be {@code null}
+   */
+  ConcurrentConnectionPool(PoolableObjectFactory<C> factory, PoolingProfile poolingProfile, long validationIntervalMillis,
+                           int numTestsPerEvictionRun, ScheduledExecutorService evictionExecutor,
+                           PoolingStatisticsListener<C> statisticsListener) {
+    this.factory = factory;
+    this.poolingProfile = poolingProfile;
+    this.validationIntervalNanos = MILLISECONDS.toNanos(validationIntervalMillis);
+    this.numTestsPerEvictionRun = numTestsPerEvictionRun;
+    this.statisticsListener = statisticsListener;
+
+    int maxActive = poolingProfile.getMaxActive();
+    boolean bounded = maxActive > 0 && poolingProfile.getExhaustedAction() != WHEN_EXHAUSTED_GROW;
+    permits = bounded ? new Semaphore(maxActive) : null;
+    minIdle = getMinIdle(poolingProfile);
+
+    long evictionInterval = poolingProfile.getEvictionCheckIntervalMillis();
+    evictionTask = evictionExecutor != null && evictionInterval > 0
+        ? evictionExecutor.scheduleWithFixedDelay(this::evict, 0, evictionInterval, MILLISECONDS)
+        : null;
+  }
+
+  private static int getMinIdle(PoolingProfile poolingProfile) {
+    int minIdle = 0;
+    if (poolingProfile.getInitialisationPolicy() == INITIALISE_ALL) {
+      minIdle = poolingProfile.getMaxActive();
+    } else if (poolingProfile.getInitialisationPolicy() == INITIALISE_ONE) {
+      minIdle = 1;
+    }
+    return poolingProfile.getMaxIdle() >= 0 ? Math.min(minIdle, poolingProfile.getMaxIdle()) : minIdle;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws NoSuchElementException if the pool is exhausted and either the {@link PoolingProfile} requires to fail or the
+   *         maximum wait time elapsed
+   */
+  @Override
+  public C borrowObject() throws Exception {
+    assertOpen();
+    long waitTime = acquirePermit();
+
+    PooledConnection<C> pooledConnection;
+    try {
+      pooledConnection = takeIdleConnection();
+      if (pooledConnection == null) {
+        pooledConnection = createConnection(IN_USE);
+      }
+    } catch (Exception e) {
+      releasePermit();
+      throw e;
+    }
+
+    activeCount.incrementAndGet();
+    statistics.borrowed(waitTime);
+    if (statisticsListener != null) {
+      try {
+        statisticsListener.onBorrowed(pooledConnection.connection, waitTime, statistics);
+      } catch (Exception e) {
+        LOGGER.warn("Pooling statistics listener failed", e);
+      }
+    }
+    return pooledConnection.connection;
+  }
+
+  private long acquirePermit() throws InterruptedException {
+    if (permits == null || permits.tryAcquire()) {
+      return 0;
+    }
+
+    if (poolingProfile.getExhaustedAction() == WHEN_EXHAUSTED_FAIL) {
+      throw new NoSuchElementException("Connection pool is exhausted");
+    }
+
+    long start = nanoTime();
+    long maxWait = poolingProfile.getMaxWait();
+    if (maxWait <= 0) {
+      permits.acquire();
+    } else if (!permits.tryAcquire(maxWait, MILLISECONDS)) {
+      throw new NoSuchElementException("Timeout waiting for an idle connection");
+    }
+    return nanoTime() - start;
+  }
+
+  private void releasePermit() {
+    if (permits != null) {
+      permits.release();
+    }
+  }
+
+  private PooledConnection<C> takeIdleConnection() {
+    WeakReference<PooledConnection<C>> hintReference = lastReturned.get();
+    PooledConnection<C> hint = hintReference != null ? hintReference.get() : null;
+    if (hint != null && hint.state.compareAndSet(IDLE, IN_USE)) {
+      idleCount.decrementAndGet();
+      return hint;
+    }
+
+    for (PooledConnection<C> pooledConnection : connections) {
+      if (pooledConnection.state.compareAndSet(IDLE, IN_USE)) {
+        idleCount.decrementAndGet();
+        return pooledConnection;
+      }
+    }
+    return null;
+  }
+
+  private PooledConnection<C> createConnection(int state) throws Exception {
+    PooledConnection<C> pooledConnection = new PooledConnection<>(factory.makeObject(), state);
+    connections.add(pooledConnection);
+    connectionsByInstance.put(new Reference<>(pooledConnection.connection), pooledConnection);
+    return pooledConnection;
+  }
+
+  /**
+   * @param connection a connection borrowed from this pool
+   * @return whether the connection was just created or was not validated within the validation interval
+   */
+  boolean requiresValidation(C connection) {
+    PooledConnection<C> pooledConnection = connectionsByInstance.get(new Reference<>(connection));
+    return pooledConnection == null || pooledConnection.lastValidated == 0
+        || nanoTime() - pooledConnection.lastValidated >= validationIntervalNanos;
+  }
+
+  /**
+   * Records that the given connection has just been validated
+   *
+   * @param connection a connection borrowed from this pool
+   */
+  void validated(C connection) {
+    PooledConnection<C> pooledConnection = connectionsByInstance.get(new Reference<>(connection));
+    if (pooledConnection != null) {
+      pooledConnection.lastValidated = nanoTime();
+    }
+  }
+
+  @Override
+  public void returnObject(C connection) throws Exception {
+    PooledConnection<C> pooledConnection = connectionsByInstance.get(new Reference<>(connection));
+    if (pooledConnection == null) {
+      factory.destroyObject(connection);
+      return;
+    }
+    if (!pooledConnection.state.compareAndSet(IN_USE, RESERVED)) {
+      LOGGER.warn("Connection {} was returned to the pool more than once", connection);
+      return;
+    }
+
+    activeCount.decrementAndGet();
+    try {
+      int maxIdle = poolingProfile.getMaxIdle();
+      if (closed || (maxIdle >= 0 && idleCount.get() >= maxIdle)) {
+        pooledConnection.state.set(REMOVED);
+        destroy(pooledConnection);
+      } else {
+        pooledConnection.lastReturned = nanoTime();
+        idleCount.incrementAndGet();
+        pooledConnection.state.set(IDLE);
+        lastReturned.set(new WeakReference<>(pooledConnection));
+      }
+    } finally {
+      releasePermit();
+    }
+  }
+
+  @Override
+  public void invalidateObject(C connection) throws Exception {
+    PooledConnection<C> pooledConnection = connectionsByInstance.get(new Reference<>(connection));
+    if (pooledConnection == null) {
+      factory.destroyObject(connection);
+      return;
+    }
+    if (!pooledConnection.state.compareAndSet(IN_USE, REMOVED)) {
+      return;
+    }
+
+    activeCount.decrementAndGet();
+    try {
+      destroy(pooledConnection);
+    } finally {
+      releasePermit();
+    }
+  }
+
+  /**
+   * Creates an idle connection, unless the pool already has as many connections as it can lend
+   */
+  @Override
+  public void addObject() throws Exception {
+    assertOpen();
+    int maxActive = poolingProfile.getMaxActive();
+    if (maxActive > 0 && connections.size() >= maxActive) {
+      return;
+    }
+    PooledConnection<C> pooledConnection = createConnection(RESERVED);
+    idleCount.incrementAndGet();
+    pooledConnection.lastReturned = nanoTime();
+    pooledConnection.state.set(IDLE);
+  }
+
+  private void destroy(PooledConnection<C> pooledConnection) {
+    connections.remove(pooledConnection);
+    connectionsByInstance.remove(new Reference<>(pooledConnection.connection));
+    try {
+      factory.destroyObject(pooledConnection.connection);
+    } catch (Exception e) {
+      LOGGER.warn("Exception was found trying to destroy connection of type "
+          + pooledConnection.connection.getClass().getName(), e);
+    }
+  }
+
+  /**
+   * Validates up to {@link #getNumTests()} idle connections, evicting the invalid ones and those that have been idle for longer
+   * than {@link PoolingProfile#getMinEvictionMillis()} as long as there are more than the initialisation policy requires. Then
+   * creates connections until the initialisation policy is satisfied.
+   * <p>
+   * Eviction runs never overlap, since they are scheduled with a fixed delay, so the {@link #evictionCursor} is only accessed by
+   * one thread at a time.
+   */
+  private void evict() {
+    long minEvictionNanos = MILLISECONDS.toNanos(poolingProfile.getMinEvictionMillis());
+    List<PooledConnection<C>> snapshot = new ArrayList<>(connections);
+    int tests = getNumTests();
+    for (int i = 0; i < snapshot.size() && tests > 0; i++) {
+      if (closed) {
+        return;
+      }
+      if (evictionCursor >= snapshot.size()) {
+        evictionCursor = 0;
+      }
+      PooledConnection<C> pooledConnection = snapshot.get(evictionCursor++);
+      if (!pooledConnection.state.compareAndSet(IDLE, RESERVED)) {
+        continue;
+      }
+
+      tests--;
+      idleCount.decrementAndGet();
+      long now = nanoTime();
+      boolean expired = minEvictionNanos > 0 && now - pooledConnection.lastReturned >= minEvictionNanos
+          && idleCount.get() >= minIdle;
+      if (expired || !isValid(pooledConnection)) {
+        pooledConnection.state.set(REMOVED);
+        destroy(pooledConnection);
+      } else {
+        pooledConnection.lastValidated = now;
+        idleCount.incrementAndGet();
+        pooledConnection.state.set(IDLE);
+      }
+    }
+
+    try {
+      for (int i = idleCount.get(); i < minIdle && !closed; i++) {
+        addObject();
+      }
+    } catch (Exception e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Could not create idle connection", e);
+      }
+    }
+  }
+
+  private int getNumTests() {
+    if (numTestsPerEvictionRun >= 0) {
+      return numTestsPerEvictionRun;
+    }
+    int idle = idleCount.get();
+    int divisor = -numTestsPerEvictionRun;
+    return (idle + divisor - 1) / divisor;
+  }
+
+  private boolean isValid(PooledConnection<C> pooledConnection) {
+    try {
+      return factory.validateObject(pooledConnection.connection);
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  @Override
+  public int getNumIdle() {
+    return idleCount.get();
+  }
+
+  @Override
+  public int getNumActive() {
+    return activeCount.get();
+  }
+
+  /**
+   * @return the {@link ConnectionPoolStatistics} of this pool
+   */
+  ConnectionPoolStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * Destroys every idle connection
+   */
+  @Override
+  public void clear() {
+    for (PooledConnection<C> pooledConnection : connections) {
+      if (pooledConnection.state.compareAndSet(IDLE, REMOVED)) {
+        idleCount.decrementAndGet();
+        destroy(pooledConnection);
+      }
+    }
+  }
+
+  /**
+   * Stops the eviction and destroys every idle connection. Borrowed connections are destroyed when they are returned.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    if (evictionTask != null) {
+      evictionTask.cancel(false);
+    }
+    clear();
+  }
+
+  /**
+   * Sets the factory used from now on to create, destroy and validate connections. As in
+   * {@link org.apache.commons.pool.impl.GenericObjectPool}, the idle connections are destroyed by the previous factory, and the
+   * factory can only be changed while no connection is borrowed.
+   *
+   * @throws IllegalStateException if the pool is closed or has borrowed connections
+   */
+  @Override
+  public synchronized void setFactory(PoolableObjectFactory<C> factory) {
+    assertOpen();
+    if (activeCount.get() > 0) {
+      throw new IllegalStateException("The factory of a connection pool cannot be changed while it has borrowed connections");
+    }
+    clear();
+    this.factory = factory;
+  }
+
+  private void assertOpen() {
+    if (closed) {
+      throw new IllegalStateException("Connection pool is closed");
+    }
+  }
+
+  private static final class PooledConnection<C> {
+
+    private final C connection;
+    private final AtomicInteger state;
+    private volatile long lastReturned;
+    private volatile long lastValidated;
+
+    private PooledConnection(C connection, int state) {
+      this.connection = connection;
+      this.state = new AtomicInteger(state);
+    }
+  }
+
+  private final class Statistics implements ConnectionPoolStatistics {
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder totalWaitTime = new LongAdder();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+
+    private void borrowed(long waitTime) {
+      borrowCount.increment();
+      if (waitTime > 0) {
+        totalWaitTime.add(waitTime);
+        maxWaitTime.accumulateAndGet(waitTime, Math::max);
+      }
+    }
+
+    @Override
+    public int getNumActive() {
+      return activeCount.get();
+    }
+
+    @Override
+    public int getNumIdle() {
+      return idleCount.get();
+    }
+
+    @Override
+    public int getMaxActive() {
+      return permits != null ? poolingProfile.getMaxActive() : -1;
+    }
+
+    @Override
+    public double getUtilization() {
+      return permits != null ? (double) activeCount.get() / poolingProfile.getMaxActive() : 0;
+    }
+
+    @Override
+    public long getBorrowCount() {
+      return borrowCount.sum();
+    }
+
+    @Override
+    public long getTotalWaitTimeNanos() {
+      return totalWaitTime.sum();
+    }
+
+    @Override
+    public long getMaxWaitTimeNanos() {
+      return maxWaitTime.get();
+    }
+  }
+}
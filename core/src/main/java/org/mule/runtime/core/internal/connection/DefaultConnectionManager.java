@@ -28,9 +28,9 @@ import org.mule.runtime.core.api.retry.RetryPolicyTemplate;
 import org.mule.runtime.core.retry.policies.NoRetryPolicyTemplate;
 import org.mule.runtime.extension.api.runtime.ConfigurationInstance;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -48,7 +48,7 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter,
 
   private static final Logger LOGGER = getLogger(DefaultConnectionManager.class);
 
-  private final Map<Reference<Object>, ConnectionManagementStrategy> connections = new HashMap<>();
+  private final Map<Reference<Object>, ConnectionManagementStrategy> connections = new ConcurrentHashMap<>();
   private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
   private final Lock readLock = readWriteLock.readLock();
   private final Lock writeLock = readWriteLock.writeLock();
@@ -203,13 +203,7 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter,
    */
   @Override
   public <C> ConnectionHandler<C> getConnection(Object config) throws ConnectionException {
-    ConnectionManagementStrategy<C> handlingStrategy = null;
-    readLock.lock();
-    try {
-      handlingStrategy = connections.get(new Reference<>(config));
-    } finally {
-      readLock.unlock();
-    }
+    ConnectionManagementStrategy<C> handlingStrategy = connections.get(new Reference<>(config));
 
     if (handlingStrategy == null) {
       throw new ConnectionException("No ConnectionProvider has been registered for owner " + config);
@@ -6,27 +6,42 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_CONNECTION_POOL_TESTS_PER_EVICTION_RUN;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_CONNECTION_POOL_VALIDATION_INTERVAL;
+import static org.mule.runtime.core.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
 import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.connection.PoolingListener;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.connector.ConnectionPoolStatistics;
+import org.mule.runtime.core.api.connector.PoolingStatisticsListener;
 
 import java.util.NoSuchElementException;
 
-import org.apache.commons.pool.ObjectPool;
 import org.apache.commons.pool.PoolableObjectFactory;
-import org.apache.commons.pool.impl.GenericObjectPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A {@link ConnectionManagementStrategy} which returns connections obtained from a {@link #pool}
+ * <p>
+ * Borrowed connections are only validated when they were just created or were not validated within the interval set through
+ * the {@link org.mule.runtime.core.api.config.MuleProperties#MULE_CONNECTION_POOL_VALIDATION_INTERVAL} system property, which
+ * defaults to {@value #DEFAULT_VALIDATION_INTERVAL} milliseconds. Setting it to zero validates every borrowed connection.
+ * <p>
+ * Each eviction run tests up to {@value #DEFAULT_TESTS_PER_EVICTION_RUN} idle connections, which can be changed through the
+ * {@link org.mule.runtime.core.api.config.MuleProperties#MULE_CONNECTION_POOL_TESTS_PER_EVICTION_RUN} system property.
  *
  * @param <C> the generic type of the connections to be managed
  * @since 4.0
@@ -36,10 +51,13 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   private static final Logger LOGGER = LoggerFactory.getLogger(PoolingConnectionManagementStrategy.class);
   private static final String NULL_VALIDATION_RESULT_ERROR_MESSAGE =
       "Error validating connection. ConnectionValidationResult can not be null";
+  private static final long DEFAULT_VALIDATION_INTERVAL = 500;
+  private static final int DEFAULT_TESTS_PER_EVICTION_RUN = 3;
 
   private final PoolingProfile poolingProfile;
-  private final ObjectPool<C> pool;
+  private final ConcurrentConnectionPool<C> pool;
   private final PoolingListener<C> poolingListener;
+  private final Scheduler evictionScheduler;
 
   /**
    * Creates a new instance
@@ -54,6 +72,9 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     super(connectionProvider, muleContext);
     this.poolingProfile = poolingProfile;
     this.poolingListener = poolingListener;
+    evictionScheduler = poolingProfile.getEvictionCheckIntervalMillis() > 0
+        ? muleContext.getSchedulerService().ioScheduler(config().withName(getPrefix(muleContext) + "connection.pool.eviction"))
+        : null;
     pool = createPool();
   }
 
@@ -67,6 +88,10 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   public ConnectionHandler<C> getConnectionHandler() throws ConnectionException {
     try {
       C connection = borrowConnection();
+      if (!pool.requiresValidation(connection)) {
+        return new PoolingConnectionHandler<>(connection, pool, poolingListener);
+      }
+
       ConnectionValidationResult validationResult = connectionProvider.validate(connection);
 
       if (validationResult == null) {
@@ -81,6 +106,7 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
         throw new ConnectionException(validationResult.getMessage(), validationResult.getException());
       }
 
+      pool.validated(connection);
       return new PoolingConnectionHandler<>(connection, pool, poolingListener);
     } catch (ConnectionException e) {
       throw e;
@@ -115,26 +141,33 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
       pool.close();
     } catch (Exception e) {
       throw new DefaultMuleException(createStaticMessage("Could not close connection pool"), e);
+    } finally {
+      if (evictionScheduler != null) {
+        evictionScheduler.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+      }
     }
   }
 
-  private ObjectPool<C> createPool() {
-    GenericObjectPool.Config config = new GenericObjectPool.Config();
-    config.maxIdle = poolingProfile.getMaxIdle();
-    config.maxActive = poolingProfile.getMaxActive();
-    config.maxWait = poolingProfile.getMaxWait();
-    config.whenExhaustedAction = (byte) poolingProfile.getExhaustedAction();
-    config.minEvictableIdleTimeMillis = poolingProfile.getMinEvictionMillis();
-    config.timeBetweenEvictionRunsMillis = poolingProfile.getEvictionCheckIntervalMillis();
-    GenericObjectPool genericPool = new GenericObjectPool(new ObjectFactoryAdapter(), config);
-
-    return genericPool;
+  private ConcurrentConnectionPool<C> createPool() {
+    PoolingStatisticsListener<C> statisticsListener =
+        poolingListener instanceof PoolingStatisticsListener ? (PoolingStatisticsListener<C>) poolingListener : null;
+    return new ConcurrentConnectionPool<>(new ObjectFactoryAdapter(), poolingProfile,
+                                          getLong(MULE_CONNECTION_POOL_VALIDATION_INTERVAL, DEFAULT_VALIDATION_INTERVAL),
+                                          getInteger(MULE_CONNECTION_POOL_TESTS_PER_EVICTION_RUN, DEFAULT_TESTS_PER_EVICTION_RUN),
+                                          evictionScheduler, statisticsListener);
   }
 
   public PoolingProfile getPoolingProfile() {
     return poolingProfile;
   }
 
+  /**
+   * @return the {@link ConnectionPoolStatistics} of the {@link #pool}
+   */
+  public ConnectionPoolStatistics getPoolStatistics() {
+    return pool.getStatistics();
+  }
+
   private class ObjectFactoryAdapter implements PoolableObjectFactory<C> {
 
     @Override
@@ -148,8 +181,9 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     }
 
     @Override
-    public boolean validateObject(C obj) {
-      return false;
+    public boolean validateObject(C connection) {
+      ConnectionValidationResult validationResult = connectionProvider.validate(connection);
+      return validationResult != null && validationResult.isValid();
     }
 
     @Override
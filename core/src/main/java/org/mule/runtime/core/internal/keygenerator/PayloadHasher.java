@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.keygenerator;
+
+import org.mule.runtime.api.streaming.CursorStreamProvider;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hashes message payloads with a {@link MessageDigest} algorithm, or with the non cryptographic 128 bits MurmurHash3 when
+ * {@link #MURMUR3_128} is given, which is much faster and still unlikely to collide but can be forged.
+ * <p/>
+ * Repeatable streams are hashed while they are read, so the payload is never fully loaded in memory. Any other payload,
+ * including byte arrays, is hashed after converting it to bytes with the given {@link BytesResolver}, so its hash doesn't
+ * change from the one each caller generated before streams were supported.
+ * <p/>
+ * Each thread reuses its own {@link MessageDigest} instance. Instances of this class are thread safe.
+ *
+ * @since 4.0
+ */
+public final class PayloadHasher {
+
+  /**
+   * Name of the non cryptographic 128 bits MurmurHash3 algorithm
+   */
+  public static final String MURMUR3_128 = "MURMUR3-128";
+
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  private final boolean murmur;
+  private final ThreadLocal<MessageDigest> digests;
+  private final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+  /**
+   * @param algorithm the name of a {@link MessageDigest} algorithm, or {@link #MURMUR3_128}
+   * @throws NoSuchAlgorithmException if the algorithm is not supported
+   */
+  public PayloadHasher(String algorithm) throws NoSuchAlgorithmException {
+    murmur = MURMUR3_128.equalsIgnoreCase(algorithm);
+    if (murmur) {
+      digests = null;
+    } else {
+      MessageDigest.getInstance(algorithm);
+      digests = ThreadLocal.withInitial(() -> {
+        try {
+          return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+          // already validated
+          throw new IllegalStateException(e);
+        }
+      });
+    }
+  }
+
+  /**
+   * @param payload the payload to hash
+   * @param bytesResolver converts the payloads which are not repeatable streams to bytes
+   * @return the hash of the payload
+   * @throws Exception if the payload could not be read
+   */
+  public byte[] hash(Object payload, BytesResolver bytesResolver) throws Exception {
+    if (payload instanceof CursorStreamProvider) {
+      try (InputStream cursor = ((CursorStreamProvider) payload).openCursor()) {
+        return hash(cursor);
+      }
+    }
+
+    byte[] bytes = bytesResolver.resolve(payload);
+    if (murmur) {
+      return Hashing.murmur3_128().hashBytes(bytes).asBytes();
+    }
+    MessageDigest digest = digests.get();
+    digest.reset();
+    return digest.digest(bytes);
+  }
+
+  private byte[] hash(InputStream stream) throws IOException {
+    byte[] buffer = buffers.get();
+    if (murmur) {
+      Hasher hasher = Hashing.murmur3_128().newHasher();
+      for (int read = stream.read(buffer); read != -1; read = stream.read(buffer)) {
+        hasher.putBytes(buffer, 0, read);
+      }
+      return hasher.hash().asBytes();
+    }
+
+    MessageDigest digest = digests.get();
+    digest.reset();
+    for (int read = stream.read(buffer); read != -1; read = stream.read(buffer)) {
+      digest.update(buffer, 0, read);
+    }
+    return digest.digest();
+  }
+
+  /**
+   * Converts a payload to the bytes to hash.
+   */
+  @FunctionalInterface
+  public interface BytesResolver {
+
+    byte[] resolve(Object payload) throws Exception;
+  }
+}
@@ -14,25 +14,29 @@ import org.mule.runtime.core.util.StringUtils;
 
 import java.io.NotSerializableException;
 import java.io.Serializable;
-import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Implements {@link org.mule.runtime.core.api.MuleEventKeyGenerator} applying SHA-256 digest to the event's message payload.
+ * <p/>
+ * A different algorithm can be configured, including {@link PayloadHasher#MURMUR3_128} when the key doesn't need to be
+ * cryptographically strong. Repeatable streamed payloads are hashed as they are read, without loading them in memory.
  */
 public class SHA256MuleEventKeyGenerator implements MuleEventKeyGenerator, MuleContextAware {
 
   private static final Logger logger = LoggerFactory.getLogger(SHA256MuleEventKeyGenerator.class);
   private MuleContext muleContext;
+  private String algorithm = "SHA-256";
+  private volatile PayloadHasher hasher;
 
   @Override
   public Serializable generateKey(Event event) throws NotSerializableException {
     try {
-      byte[] bytesOfMessage = event.getMessageAsBytes(muleContext);
-      MessageDigest md = MessageDigest.getInstance("SHA-256");
-      String key = StringUtils.toHexString(md.digest(bytesOfMessage));
+      Object payload = event.getMessage().getPayload().getValue();
+      String key = StringUtils.toHexString(getHasher().hash(payload, p -> event.getMessageAsBytes(muleContext)));
 
       if (logger.isDebugEnabled()) {
         logger.debug(String.format("Generated key for event: %s key: %s", event, key));
@@ -50,6 +54,22 @@ public class SHA256MuleEventKeyGenerator implements MuleEventKeyGenerator, MuleC
     }
   }
 
+  private PayloadHasher getHasher() throws NoSuchAlgorithmException {
+    if (hasher == null) {
+      hasher = new PayloadHasher(algorithm);
+    }
+    return hasher;
+  }
+
+  /**
+   * @param algorithm the name of the {@link java.security.MessageDigest} algorithm to apply, or
+   *        {@link PayloadHasher#MURMUR3_128}
+   */
+  public void setAlgorithm(String algorithm) {
+    this.algorithm = algorithm;
+    this.hasher = null;
+  }
+
   @Override
   public void setMuleContext(MuleContext context) {
     this.muleContext = context;
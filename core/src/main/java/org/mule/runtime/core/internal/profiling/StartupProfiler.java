@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling;
+
+import static java.lang.String.format;
+import static java.lang.System.lineSeparator;
+import static java.util.Arrays.asList;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the wall time spent on each phase of the startup of an artifact, and on each component within a phase.
+ * <p/>
+ * Times are accumulated, so recording the same phase or component more than once adds up. The time recorded for a component
+ * includes the time spent on the components it depends on when those are created or processed as part of it.
+ * <p/>
+ * Instances are thread safe.
+ *
+ * @since 4.0
+ */
+public class StartupProfiler {
+
+  public static final String PARSE_PHASE = "parse";
+  public static final String MODEL_BUILD_PHASE = "model build";
+  public static final String BEAN_CREATION_PHASE = "bean creation";
+  public static final String INITIALISE_PHASE = "initialise";
+  public static final String START_PHASE = "start";
+
+  private static final int DEFAULT_REPORTED_COMPONENTS = 10;
+
+  private final Map<String, LongAdder> phases = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, LongAdder>> components = new ConcurrentHashMap<>();
+
+  /**
+   * Adds the given time to the total of a phase.
+   *
+   * @param phase the name of the phase
+   * @param nanos the elapsed time in nanoseconds
+   */
+  public void recordPhase(String phase, long nanos) {
+    phases.computeIfAbsent(phase, key -> new LongAdder()).add(nanos);
+  }
+
+  /**
+   * Adds the given time to the total of a component within a phase.
+   *
+   * @param phase the name of the phase
+   * @param component the name of the component
+   * @param nanos the elapsed time in nanoseconds
+   */
+  public void recordComponent(String phase, String component, long nanos) {
+    components.computeIfAbsent(phase, key -> new ConcurrentHashMap<>()).computeIfAbsent(component, key -> new LongAdder())
+        .add(nanos);
+  }
+
+  /**
+   * @param phase the name of the phase
+   * @return the accumulated time of the phase in nanoseconds, or {@code 0} if it wasn't recorded
+   */
+  public long getPhaseTime(String phase) {
+    LongAdder time = phases.get(phase);
+    return time == null ? 0 : time.sum();
+  }
+
+  /**
+   * @param phase the name of the phase
+   * @param component the name of the component
+   * @return the accumulated time of the component within the phase in nanoseconds, or {@code 0} if it wasn't recorded
+   */
+  public long getComponentTime(String phase, String component) {
+    Map<String, LongAdder> phaseComponents = components.get(phase);
+    LongAdder time = phaseComponents == null ? null : phaseComponents.get(component);
+    return time == null ? 0 : time.sum();
+  }
+
+  /**
+   * @param phase the name of the phase
+   * @param count the maximum number of components to return
+   * @return the names of the components that took the longest within the phase, slowest first
+   */
+  public List<String> getSlowestComponents(String phase, int count) {
+    Map<String, LongAdder> phaseComponents = components.get(phase);
+    if (phaseComponents == null) {
+      return new ArrayList<>();
+    }
+    return phaseComponents.entrySet().stream()
+        .sorted(comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+        .limit(count)
+        .map(Map.Entry::getKey)
+        .collect(toList());
+  }
+
+  /**
+   * @return a report with the time of each phase followed by the slowest components of each of them
+   */
+  public String getReport() {
+    return getReport(DEFAULT_REPORTED_COMPONENTS);
+  }
+
+  /**
+   * @param componentsPerPhase the maximum number of components to report for each phase
+   * @return a report with the time of each phase followed by the slowest components of each of them
+   */
+  public String getReport(int componentsPerPhase) {
+    StringBuilder report = new StringBuilder("Startup profile:").append(lineSeparator());
+    for (String phase : getReportedPhases()) {
+      Map<String, LongAdder> phaseComponents = components.get(phase);
+      report.append(format("  %-15s %10d ms (%d components)", phase, NANOSECONDS.toMillis(getPhaseTime(phase)),
+                           phaseComponents == null ? 0 : phaseComponents.size()))
+          .append(lineSeparator());
+      for (String component : getSlowestComponents(phase, componentsPerPhase)) {
+        report.append(format("    %-40s %10d ms", component, NANOSECONDS.toMillis(getComponentTime(phase, component))))
+            .append(lineSeparator());
+      }
+    }
+    return report.toString();
+  }
+
+  private Set<String> getReportedPhases() {
+    Set<String> reportedPhases = new LinkedHashSet<>();
+    for (String phase : asList(PARSE_PHASE, MODEL_BUILD_PHASE, BEAN_CREATION_PHASE, INITIALISE_PHASE, START_PHASE)) {
+      if (phases.containsKey(phase) || components.containsKey(phase)) {
+        reportedPhases.add(phase);
+      }
+    }
+    reportedPhases.addAll(phases.keySet());
+    reportedPhases.addAll(components.keySet());
+    return reportedPhases;
+  }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static java.io.ObjectStreamConstants.STREAM_MAGIC;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.newSetFromMap;
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.FunctionDataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.serialization.AbstractSerializationProtocol;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.util.SerializationUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of {@link SerializationProtocol} that uses a compact binary encoding for the values that are most frequently
+ * serialized by the runtime: strings, byte arrays, boxed primitives, {@link DataType}s, {@link TypedValue}s and lists and maps
+ * of them. Each of these values is written as a one byte tag followed by its content, with no class descriptors.
+ * <p/>
+ * The compact encoding has no back-references, so it is only used when the value is a tree made only of those values. When a
+ * list, map or byte array is referenced more than once, including from itself, or when any other value is found, the whole
+ * value is written using Java serialization. That way shared and cyclic references are preserved, and objects with custom
+ * serialization logic such as events and messages keep their behavior, including the
+ * {@link org.mule.runtime.core.util.store.DeserializationPostInitialisable} hook. Classes are resolved using the classloader
+ * provided for deserialization.
+ * <p/>
+ * Data serialized with Java serialization, for example by {@link JavaExternalSerializerProtocol} before switching an application
+ * to this protocol, can still be deserialized.
+ *
+ * @since 4.0
+ */
+public class CompactSerializationProtocol extends AbstractSerializationProtocol {
+
+  private static final int FORMAT_MAGIC = 0x4D;
+  private static final int FORMAT_VERSION = 1;
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte BYTE_ARRAY = 2;
+  private static final byte BOOLEAN = 3;
+  private static final byte INTEGER = 4;
+  private static final byte LONG = 5;
+  private static final byte DOUBLE = 6;
+  private static final byte FLOAT = 7;
+  private static final byte SHORT = 8;
+  private static final byte BYTE = 9;
+  private static final byte CHARACTER = 10;
+  private static final byte DATA_TYPE = 11;
+  private static final byte TYPED_VALUE = 12;
+  private static final byte ARRAY_LIST = 13;
+  private static final byte HASH_MAP = 14;
+  private static final byte LINKED_HASH_MAP = 15;
+  private static final byte JAVA = 127;
+
+  private static final int JAVA_STREAM_MAGIC_FIRST_BYTE = (STREAM_MAGIC >> 8) & 0xFF;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(FORMAT_MAGIC);
+    out.writeByte(FORMAT_VERSION);
+    try {
+      writeValue(object, out, newSetFromMap(new IdentityHashMap<>()));
+    } catch (NotCompactException e) {
+      // the deserializer detects the Java serialization stream header
+      return serializeWithJava(object);
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream);
+    int magic = pushbackInputStream.read();
+    if (magic == JAVA_STREAM_MAGIC_FIRST_BYTE) {
+      pushbackInputStream.unread(magic);
+      return (T) SerializationUtils.deserialize(pushbackInputStream, classLoader, muleContext);
+    }
+    if (magic != FORMAT_MAGIC) {
+      throw new SerializationException("Stream was not written with the compact serialization protocol");
+    }
+
+    DataInputStream in = new DataInputStream(pushbackInputStream);
+    int version = in.readUnsignedByte();
+    if (version != FORMAT_VERSION) {
+      throw new SerializationException("Unsupported compact serialization format version " + version);
+    }
+    return (T) readValue(in, classLoader);
+  }
+
+  @Override
+  protected <T> T postInitialize(T object) {
+    // does nothing since each value written with Java serialization is initialized when it is read
+    return object;
+  }
+
+  /**
+   * @param written mutable values already written, used to detect shared and cyclic references
+   * @throws NotCompactException if the value is not a tree of values supported by the compact encoding
+   */
+  private void writeValue(Object value, DataOutputStream out, Set<Object> written) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String) {
+      out.writeByte(STRING);
+      writeString((String) value, out);
+    } else if (value instanceof byte[]) {
+      markWritten(value, written);
+      out.writeByte(BYTE_ARRAY);
+      out.writeInt(((byte[]) value).length);
+      out.write((byte[]) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(INTEGER);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof Float) {
+      out.writeByte(FLOAT);
+      out.writeFloat((Float) value);
+    } else if (value instanceof Short) {
+      out.writeByte(SHORT);
+      out.writeShort((Short) value);
+    } else if (value instanceof Byte) {
+      out.writeByte(BYTE);
+      out.writeByte((Byte) value);
+    } else if (value instanceof Character) {
+      out.writeByte(CHARACTER);
+      out.writeChar((Character) value);
+    } else if (value instanceof DataType && isCompactDataType((DataType) value)) {
+      out.writeByte(DATA_TYPE);
+      writeDataType((DataType) value, out);
+    } else if (value instanceof TypedValue && isCompactDataType(((TypedValue) value).getDataType())) {
+      out.writeByte(TYPED_VALUE);
+      writeDataType(((TypedValue) value).getDataType(), out);
+      writeValue(((TypedValue) value).getValue(), out, written);
+    } else if (value.getClass() == ArrayList.class) {
+      markWritten(value, written);
+      out.writeByte(ARRAY_LIST);
+      writeList((List<?>) value, out, written);
+    } else if (value.getClass() == HashMap.class) {
+      markWritten(value, written);
+      out.writeByte(HASH_MAP);
+      writeMap((Map<?, ?>) value, out, written);
+    } else if (value.getClass() == LinkedHashMap.class) {
+      markWritten(value, written);
+      out.writeByte(LINKED_HASH_MAP);
+      writeMap((Map<?, ?>) value, out, written);
+    } else {
+      // its own serialization may reference values already written in compact form
+      throw NotCompactException.INSTANCE;
+    }
+  }
+
+  private void markWritten(Object value, Set<Object> written) throws NotCompactException {
+    if (!written.add(value)) {
+      throw NotCompactException.INSTANCE;
+    }
+  }
+
+  private Object readValue(DataInputStream in, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return readString(in);
+      case BYTE_ARRAY:
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+      case BOOLEAN:
+        return in.readBoolean();
+      case INTEGER:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case DOUBLE:
+        return in.readDouble();
+      case FLOAT:
+        return in.readFloat();
+      case SHORT:
+        return in.readShort();
+      case BYTE:
+        return in.readByte();
+      case CHARACTER:
+        return in.readChar();
+      case DATA_TYPE:
+        return readDataType(in, classLoader);
+      case TYPED_VALUE:
+        DataType dataType = readDataType(in, classLoader);
+        return new TypedValue(readValue(in, classLoader), dataType);
+      case ARRAY_LIST:
+        int size = in.readInt();
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          list.add(readValue(in, classLoader));
+        }
+        return list;
+      case HASH_MAP:
+        return readMap(new HashMap<>(), in, classLoader);
+      case LINKED_HASH_MAP:
+        return readMap(new LinkedHashMap<>(), in, classLoader);
+      case JAVA:
+        return readJavaObject(in, classLoader);
+      default:
+        throw new SerializationException("Unknown compact serialization tag " + tag);
+    }
+  }
+
+  private void writeString(String value, DataOutputStream out) throws IOException {
+    // writeUTF is limited to 64K bytes
+    byte[] bytes = value.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private String readString(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /**
+   * Only data types fully described by their type and media type are encoded. Collection and function data types carry more
+   * information and are written with Java serialization.
+   */
+  private boolean isCompactDataType(DataType dataType) {
+    return !(dataType instanceof CollectionDataType) && !(dataType instanceof FunctionDataType)
+        && !dataType.getType().isPrimitive();
+  }
+
+  private void writeDataType(DataType dataType, DataOutputStream out) throws IOException {
+    writeString(dataType.getType().getName(), out);
+    writeString(dataType.getMediaType().toRfcString(), out);
+  }
+
+  private DataType readDataType(DataInputStream in, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+    Class<?> type = Class.forName(readString(in), false, classLoader);
+    return DataType.builder().type(type).mediaType(readString(in)).build();
+  }
+
+  private void writeList(List<?> list, DataOutputStream out, Set<Object> written) throws IOException {
+    out.writeInt(list.size());
+    for (Object element : list) {
+      writeValue(element, out, written);
+    }
+  }
+
+  private void writeMap(Map<?, ?> map, DataOutputStream out, Set<Object> written) throws IOException {
+    out.writeInt(map.size());
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      writeValue(entry.getKey(), out, written);
+      writeValue(entry.getValue(), out, written);
+    }
+  }
+
+  private Map<Object, Object> readMap(Map<Object, Object> map, DataInputStream in, ClassLoader classLoader)
+      throws IOException, ClassNotFoundException {
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      map.put(readValue(in, classLoader), readValue(in, classLoader));
+    }
+    return map;
+  }
+
+  private byte[] serializeWithJava(Object value) {
+    if (!(value instanceof Serializable)) {
+      throw new SerializationException(String.format("Was expecting a Serializable type. %s was found instead",
+                                                     value.getClass().getName()));
+    }
+    return SerializationUtils.serialize((Serializable) value);
+  }
+
+  /**
+   * Reads values nested in compact data written by previous versions of this protocol, which serialized them individually.
+   */
+  private Object readJavaObject(DataInputStream in, ClassLoader classLoader) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return SerializationUtils.deserialize(new ByteArrayInputStream(bytes), classLoader, muleContext);
+  }
+
+  /**
+   * Signals that a value has to be written with Java serialization. Thrown without a stack trace since it is expected for any
+   * value that is not a tree of compact values.
+   */
+  private static final class NotCompactException extends IOException {
+
+    private static final long serialVersionUID = -3262046366413711536L;
+
+    private static final NotCompactException INSTANCE = new NotCompactException();
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
+    }
+  }
+}
@@ -67,6 +67,13 @@ public abstract class AbstractCursorStreamProviderAdapter implements CursorStrea
     return creatorEvent;
   }
 
+  /**
+   * @return the original stream decorated by this provider. Reading from it would corrupt the contents of the cursors
+   */
+  public InputStream getWrappedStream() {
+    return wrappedStream;
+  }
+
   /**
    * @return the {@link ByteBufferManager} that <b>MUST</b> to be used to allocate byte buffers
    */
@@ -6,14 +6,24 @@
  */
 package org.mule.runtime.core.lifecycle;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.System.nanoTime;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STARTUP_PROFILING;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STARTUP_PROFILER;
+import static org.mule.runtime.core.internal.profiling.StartupProfiler.INITIALISE_PHASE;
+import static org.mule.runtime.core.internal.profiling.StartupProfiler.START_PHASE;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.core.api.lifecycle.HasLifecycleInterceptor;
 import org.mule.runtime.core.api.lifecycle.LifecycleCallback;
 import org.mule.runtime.api.lifecycle.LifecycleException;
 import org.mule.runtime.core.api.lifecycle.LifecycleInterceptor;
 import org.mule.runtime.core.api.lifecycle.LifecyclePhase;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.meta.NamedObject;
 import org.mule.runtime.core.api.registry.Registry;
 import org.mule.runtime.core.internal.lifecycle.phases.ContainerManagedLifecyclePhase;
+import org.mule.runtime.core.internal.profiling.StartupProfiler;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -56,21 +66,48 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
     // TODO: each LifecycleManager should keep this set per executing phase
     // and clear it when the phase is fully applied
     Set<Object> duplicates = new HashSet<>();
+    String profiledPhase = getProfiledPhase(phaseName);
+    StartupProfiler profiler = profiledPhase != null ? lookupStartupProfiler() : null;
+    long phaseStart = nanoTime();
 
     for (LifecycleObject lifecycleObject : phase.getOrderedLifecycleObjects()) {
       lifecycleObject.firePreNotification(registryLifecycleManager.muleContext);
 
       // TODO Collection -> List API refactoring
       Collection<?> targetsObj = lookupObjectsForLifecycle(lifecycleObject);
-      doApplyLifecycle(phase, duplicates, lifecycleObject, targetsObj);
+      doApplyLifecycle(phase, duplicates, lifecycleObject, targetsObj, profiler, profiledPhase);
       lifecycleObject.firePostNotification(registryLifecycleManager.muleContext);
     }
 
     interceptor.onPhaseCompleted(phase);
+
+    if (profiler != null) {
+      profiler.recordPhase(profiledPhase, nanoTime() - phaseStart);
+      if (START_PHASE.equals(profiledPhase)) {
+        LOGGER.info(profiler.getReport());
+      }
+    }
+  }
+
+  private String getProfiledPhase(String phaseName) {
+    if (Initialisable.PHASE_NAME.equals(phaseName)) {
+      return INITIALISE_PHASE;
+    } else if (Startable.PHASE_NAME.equals(phaseName)) {
+      return START_PHASE;
+    }
+    return null;
+  }
+
+  private StartupProfiler lookupStartupProfiler() {
+    if (!getBoolean(MULE_STARTUP_PROFILING)) {
+      return null;
+    }
+    Object profiler = registryLifecycleManager.getLifecycleObject().lookupObject(OBJECT_STARTUP_PROFILER);
+    return profiler instanceof StartupProfiler ? (StartupProfiler) profiler : null;
   }
 
   private void doApplyLifecycle(LifecyclePhase phase, Set<Object> duplicates, LifecycleObject lifecycleObject,
-                                Collection<?> targetObjects)
+                                Collection<?> targetObjects, StartupProfiler profiler, String profiledPhase)
       throws LifecycleException {
     if (CollectionUtils.isEmpty(targetObjects)) {
       return;
@@ -86,7 +123,13 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
       }
 
       if (interceptor.beforeLifecycle(phase, target)) {
-        phase.applyLifecycle(target);
+        if (profiler != null) {
+          long start = nanoTime();
+          phase.applyLifecycle(target);
+          profiler.recordComponent(profiledPhase, getComponentName(target), nanoTime() - start);
+        } else {
+          phase.applyLifecycle(target);
+        }
         duplicates.add(target);
         interceptor.afterLifecycle(phase, target);
       } else {
@@ -106,8 +149,15 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
     int originalTargetCount = targetObjects.size();
     targetObjects = lookupObjectsForLifecycle(lifecycleObject);
     if (targetObjects.size() > originalTargetCount) {
-      doApplyLifecycle(phase, duplicates, lifecycleObject, targetObjects);
+      doApplyLifecycle(phase, duplicates, lifecycleObject, targetObjects, profiler, profiledPhase);
+    }
+  }
+
+  private String getComponentName(Object target) {
+    if (target instanceof NamedObject) {
+      return ((NamedObject) target).getName();
     }
+    return target.getClass().getName();
   }
 
   protected Collection<?> lookupObjectsForLifecycle(LifecycleObject lo) {
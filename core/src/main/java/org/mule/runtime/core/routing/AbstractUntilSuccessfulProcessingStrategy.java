@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.routing;
 
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.Event.Builder;
@@ -19,6 +22,8 @@ import org.mule.runtime.core.exception.MessagingException;
 
 import java.io.NotSerializableException;
 import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Abstract class with common logic for until successful processing strategies.
@@ -26,6 +31,7 @@ import java.io.Serializable;
 public abstract class AbstractUntilSuccessfulProcessingStrategy implements UntilSuccessfulProcessingStrategy, MuleContextAware {
 
   private UntilSuccessfulConfiguration untilSuccessfulConfiguration;
+  private final AtomicInteger inFlightRetries = new AtomicInteger();
   protected MuleContext muleContext;
 
   @Override
@@ -94,6 +100,67 @@ public abstract class AbstractUntilSuccessfulProcessingStrategy implements Until
     return untilSuccessfulConfiguration;
   }
 
+  /**
+   * Calculates the time to wait before a retry, applying the configured backoff multiplier, upper bound and jitter to the
+   * configured wait between retries.
+   *
+   * @param retry the number of the retry to be executed, starting at 1.
+   * @return the number of milliseconds to wait before executing the retry.
+   */
+  protected long getMillisBeforeRetry(int retry) {
+    double millis = untilSuccessfulConfiguration.getMillisBetweenRetries();
+    final double backoffMultiplier = untilSuccessfulConfiguration.getBackoffMultiplier();
+    if (backoffMultiplier > 1 && retry > 1) {
+      millis *= pow(backoffMultiplier, retry - 1);
+    }
+    final long maxMillisBetweenRetries = untilSuccessfulConfiguration.getMaxMillisBetweenRetries();
+    if (maxMillisBetweenRetries > 0) {
+      millis = min(millis, maxMillisBetweenRetries);
+    }
+    final double jitterFactor = untilSuccessfulConfiguration.getJitterFactor();
+    if (jitterFactor > 0) {
+      millis -= millis * jitterFactor * ThreadLocalRandom.current().nextDouble();
+    }
+    return (long) millis;
+  }
+
+  /**
+   * Reserves a slot in the budget of retries waiting to be executed. A reserved slot must be released with
+   * {@link #releaseRetry()} once the retry is executed.
+   *
+   * @return true if the retry can be scheduled, false if the configured maximum of in flight retries has been reached.
+   */
+  protected boolean tryAcquireRetry() {
+    final int maxInFlightRetries = untilSuccessfulConfiguration.getMaxInFlightRetries();
+    if (maxInFlightRetries <= 0) {
+      return true;
+    }
+    int current;
+    do {
+      current = inFlightRetries.get();
+      if (current >= maxInFlightRetries) {
+        return false;
+      }
+    } while (!inFlightRetries.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * Releases a slot reserved with {@link #tryAcquireRetry()}.
+   */
+  protected void releaseRetry() {
+    if (untilSuccessfulConfiguration.getMaxInFlightRetries() > 0) {
+      inFlightRetries.decrementAndGet();
+    }
+  }
+
+  /**
+   * Releases all the slots of the in flight retries budget, to be used when the pending retries are discarded.
+   */
+  protected void resetRetries() {
+    inFlightRetries.set(0);
+  }
+
   @Override
   public Event route(Event event, FlowConstruct flow) throws MuleException {
     prepareAndValidateEvent(event);
@@ -102,7 +169,7 @@ public abstract class AbstractUntilSuccessfulProcessingStrategy implements Until
 
   protected abstract Event doRoute(final Event event, FlowConstruct flow) throws MuleException;
 
-  private void prepareAndValidateEvent(final Event event) throws MessagingException {
+  protected void prepareAndValidateEvent(final Event event) throws MessagingException {
     try {
       final InternalMessage message = event.getMessage();
       if (message instanceof InternalMessage) {
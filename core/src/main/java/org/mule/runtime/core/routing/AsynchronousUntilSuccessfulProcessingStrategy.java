@@ -83,13 +83,15 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
   public void stop() {
     pool.shutdown();
     pool = null;
+    // Pending retries are rescheduled from the object store on start
+    resetRetries();
   }
 
   @Override
   protected Event doRoute(Event event, FlowConstruct flow) throws MuleException {
     try {
       final Serializable eventStoreKey = storeEvent(event, flow);
-      scheduleForProcessing(eventStoreKey, true);
+      submitForProcessing(eventStoreKey);
       if (getUntilSuccessfulConfiguration().getAckExpression() == null) {
         return event;
       }
@@ -106,7 +108,7 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
     try {
       for (final Serializable eventStoreKey : getUntilSuccessfulConfiguration().getObjectStore().allKeys()) {
         try {
-          scheduleForProcessing(eventStoreKey, true);
+          submitForProcessing(eventStoreKey);
         } catch (final Exception e) {
           logger.error(I18nMessageFactory
               .createStaticMessage("Failed to schedule for processing event stored with key: " + eventStoreKey).toString(), e);
@@ -120,13 +122,12 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
     }
   }
 
-  private void scheduleForProcessing(final Serializable eventStoreKey, boolean firstTime) {
-    if (firstTime) {
-      submitForProcessing(eventStoreKey);
-    } else {
-      this.pool.schedule(() -> doProcess(eventStoreKey), getUntilSuccessfulConfiguration().getMillisBetweenRetries(),
-                         MILLISECONDS);
-    }
+  private void scheduleRetry(final Serializable eventStoreKey, int retry) {
+    // The pool only takes a thread once the delay has elapsed, so waiting retries do not consume threads
+    this.pool.schedule(() -> {
+      releaseRetry();
+      doProcess(eventStoreKey);
+    }, getMillisBeforeRetry(retry), MILLISECONDS);
   }
 
   protected void submitForProcessing(final Serializable eventStoreKey) {
@@ -151,12 +152,17 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
           configuredAttempts != null ? configuredAttempts : DEFAULT_PROCESS_ATTEMPT_COUNT_PROPERTY_VALUE;
 
       Event incrementedEvent = event;
-      if (deliveryAttemptCount <= getUntilSuccessfulConfiguration().getMaxRetries()) {
+      if (deliveryAttemptCount <= getUntilSuccessfulConfiguration().getMaxRetries() && acquireRetry(eventStoreKey)) {
         // we store the incremented version unless the max attempt count has been reached
         incrementedEvent = Event.builder(incrementedEvent)
             .addVariable(PROCESS_ATTEMPT_COUNT_PROPERTY_NAME, deliveryAttemptCount + 1).build();
-        getUntilSuccessfulConfiguration().getObjectStore().store(eventStoreKey, incrementedEvent);
-        this.scheduleForProcessing(eventStoreKey, false);
+        try {
+          getUntilSuccessfulConfiguration().getObjectStore().store(eventStoreKey, incrementedEvent);
+        } catch (ObjectStoreException e) {
+          releaseRetry();
+          throw e;
+        }
+        this.scheduleRetry(eventStoreKey, deliveryAttemptCount);
       } else {
         abandonRetries(event, incrementedEvent, lastException);
       }
@@ -165,6 +171,15 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
     }
   }
 
+  private boolean acquireRetry(final Serializable eventStoreKey) {
+    if (tryAcquireRetry()) {
+      return true;
+    }
+    logger.warn("Maximum of " + getUntilSuccessfulConfiguration().getMaxInFlightRetries()
+        + " in flight retries reached, abandoning retries for event stored with key: " + eventStoreKey);
+    return false;
+  }
+
   private Serializable storeEvent(final Event event, FlowConstruct flow) throws ObjectStoreException {
     Integer configuredAttempts = getVariableValueOrNull(PROCESS_ATTEMPT_COUNT_PROPERTY_NAME, event);
     final Integer deliveryAttemptCount =
@@ -6,14 +6,20 @@
  */
 package org.mule.runtime.core.routing;
 
+import static com.google.common.collect.Collections2.transform;
+import static java.lang.String.format;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.exception.LocatedMuleException.INFO_LOCATION_KEY;
 import static org.mule.runtime.core.api.processor.MessageProcessors.newChain;
+import static org.mule.runtime.core.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.Event.Builder;
 import org.mule.runtime.core.api.message.InternalMessage;
@@ -27,10 +33,8 @@ import org.mule.runtime.core.routing.outbound.AbstractMessageSequenceSplitter;
 import org.mule.runtime.core.routing.outbound.CollectionMessageSequence;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -47,6 +51,15 @@ import org.w3c.dom.Document;
  * <p>
  * Defining a groupSize greater than one, allows iterating over collections of elements of the specified size.
  * <p>
+ * Defining a maxConcurrency greater than one, allows processing up to that number of elements at the same time. In that case
+ * the variables set while processing an element are not visible when processing the next ones, and the results are aggregated
+ * in the order of the collection unless preserveOrder is disabled. Elements are always processed sequentially within a
+ * transaction.
+ * <p>
+ * Collections selected by an xpath expression are evaluated against a DOM {@link Document}, so XML payloads are fully parsed
+ * before being split. Text payloads, such as JSON, are not split by foreach; a collection must be obtained from them first,
+ * either with the collection expression or a transformer.
+ * <p>
  * The {@link Event} sent to the next message processor is the same that arrived to foreach.
  */
 public class Foreach extends AbstractMessageProcessorOwner implements Initialisable, Processor {
@@ -66,6 +79,9 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
   private String rootMessageVariableName;
   private String counterVariableName;
   private boolean xpathCollection;
+  private int maxConcurrency = 1;
+  private boolean preserveOrder = true;
+  private Scheduler scheduler;
 
   @Override
   public Event process(Event event) throws MuleException {
@@ -173,6 +189,8 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     }
     splitter.setBatchSize(batchSize);
     splitter.setCounterVariableName(counterVariableName);
+    splitter.setMaxConcurrency(maxConcurrency);
+    splitter.setPreserveOrder(preserveOrder);
     splitter.setMuleContext(muleContext);
 
     List<Processor> chainProcessors = new ArrayList<>();
@@ -182,6 +200,29 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     super.initialise();
   }
 
+  @Override
+  public void start() throws MuleException {
+    if (maxConcurrency > 1) {
+      scheduler = muleContext.getSchedulerService().ioScheduler(config()
+          .withName(format("%s%s.%s", getPrefix(muleContext), flowConstruct.getName(), "foreach")));
+      splitter.setScheduler(scheduler);
+    }
+    super.start();
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    try {
+      super.stop();
+    } finally {
+      if (scheduler != null) {
+        splitter.setScheduler(null);
+        scheduler.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+        scheduler = null;
+      }
+    }
+  }
+
   private boolean isXPathExpression(String expression) {
     return expression.matches("^xpath\\(.+\\)$") || expression.matches("^xpath3\\(.+\\)$");
   }
@@ -202,19 +243,24 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     this.counterVariableName = counterVariableName;
   }
 
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  public void setPreserveOrder(boolean preserveOrder) {
+    this.preserveOrder = preserveOrder;
+  }
+
   private static class CollectionMapSplitter extends CollectionSplitter {
 
     @Override
     protected MessageSequence<?> splitMessageIntoSequence(Event event) {
       Object payload = event.getMessage().getPayload().getValue();
       if (payload instanceof Map<?, ?>) {
-        List<Event> list = new LinkedList<>();
-        Set<Map.Entry<?, ?>> set = ((Map) payload).entrySet();
-        for (Entry<?, ?> entry : set) {
-          // TODO MULE-9502 Support "key" flowVar with MapSplitter in Mule 4
-          list.add(Event.builder(event).message(InternalMessage.builder().payload(entry.getValue()).build()).build());
-        }
-        return new CollectionMessageSequence(list);
+        // TODO MULE-9502 Support "key" flowVar with MapSplitter in Mule 4
+        // Messages are created as the sequence is iterated so they can be discarded once processed
+        return new CollectionMessageSequence(transform(((Map<?, ?>) payload).values(),
+                                                       value -> InternalMessage.builder().payload(value).build()));
       }
       return super.splitMessageIntoSequence(event);
     }
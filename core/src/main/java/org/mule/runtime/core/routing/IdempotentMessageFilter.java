@@ -17,6 +17,7 @@ import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.lifecycle.LifecycleUtils;
+import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.core.api.store.ObjectStore;
 import org.mule.runtime.core.api.store.ObjectStoreException;
@@ -24,8 +25,12 @@ import org.mule.runtime.core.api.store.ObjectStoreManager;
 import org.mule.runtime.core.api.store.ObjectStoreNotAvaliableException;
 import org.mule.runtime.core.exception.MessagingException;
 import org.mule.runtime.core.processor.AbstractFilteringMessageProcessor;
+import org.mule.runtime.core.util.store.BloomFilteredObjectStore;
+import org.mule.runtime.core.util.store.ShardedObjectStore;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +42,11 @@ import org.slf4j.LoggerFactory;
  * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/IdempotentReceiver.html">
  * http://www.eaipatterns.com/IdempotentReceiver.html</a>
+ * <p>
+ * Unless a store is given, the ids are kept for {@link #getEntryTTL()} milliseconds in an in memory store, spread across
+ * {@link #getShards()} partitions and fronted by a Bloom filter sized for {@link #getExpectedEntries()} ids, so that checking
+ * whether an id was seen only reaches the store when the filter reports it as possibly seen. A new message is then recorded with
+ * a single store operation, which fails if the id was stored concurrently.
  */
 public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor implements Initialisable, Disposable {
 
@@ -45,6 +55,11 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor i
   protected volatile ObjectStore<String> store;
   protected String storePrefix;
 
+  private int entryTTL = 60 * 5 * 1000;
+  private int expectedEntries = 100000;
+  private double falsePositiveProbability = 0.01;
+  private int shards = 1;
+
   protected String idExpression = MessageFormat.format("{0}mel:message:id{1}", DEFAULT_EXPRESSION_PREFIX,
                                                        DEFAULT_EXPRESSION_POSTFIX);
 
@@ -74,7 +89,19 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor i
 
   protected ObjectStore<String> createMessageIdStore() throws InitialisationException {
     ObjectStoreManager objectStoreManager = muleContext.getRegistry().get(MuleProperties.OBJECT_STORE_MANAGER);
-    return objectStoreManager.getObjectStore(storePrefix, false, -1, 60 * 5 * 1000, 6000);
+    ObjectStore<String> idStore;
+    if (shards > 1) {
+      List<ListableObjectStore<String>> partitions = new ArrayList<>(shards);
+      for (int i = 0; i < shards; i++) {
+        partitions.add(objectStoreManager.getObjectStore(storePrefix + "." + i, false, -1, entryTTL, 6000));
+      }
+      idStore = new ShardedObjectStore<>(partitions);
+    } else {
+      idStore = objectStoreManager.getObjectStore(storePrefix, false, -1, entryTTL, 6000);
+    }
+    return falsePositiveProbability > 0
+        ? new BloomFilteredObjectStore<>(idStore, expectedEntries, falsePositiveProbability, entryTTL)
+        : idStore;
   }
 
   @Override
@@ -106,41 +133,54 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor i
     this.store = store;
   }
 
+  /**
+   * Accepts the event if its id was not seen and can be stored. Checking whether the id was seen is answered in memory when the
+   * store is fronted by a Bloom filter, and storing it is atomic as long as the store fails when the id already exists.
+   */
   @Override
   protected boolean accept(Event event, Event.Builder builder) {
-    if (event != null && isNewMessage(event)) {
+    if (event == null) {
+      return false;
+    }
+    try {
+      String id = getIdForEvent(event);
+      String value = getValueForEvent(event);
+      ensureStore();
       try {
-        String id = getIdForEvent(event);
-        String value = getValueForEvent(event);
-        try {
-          store.store(id, value);
-          return true;
-        } catch (ObjectAlreadyExistsException ex) {
-          return false;
-        } catch (ObjectStoreNotAvaliableException e) {
-          logger.error("ObjectStore not available: " + e.getMessage());
-          return false;
-        } catch (ObjectStoreException e) {
-          logger.warn("ObjectStore exception: " + e.getMessage());
+        if (store.contains(id)) {
           return false;
         }
-      } catch (MuleException e) {
-        logger.warn("Could not retrieve Id or Value for event: " + e.getMessage());
+        store.store(id, value);
+        return true;
+      } catch (ObjectAlreadyExistsException ex) {
+        return false;
+      } catch (ObjectStoreNotAvaliableException e) {
+        logger.error("ObjectStore not available: " + e.getMessage());
+        return false;
+      } catch (ObjectStoreException e) {
+        logger.warn("ObjectStore exception: " + e.getMessage());
         return false;
       }
-    } else {
+    } catch (MuleException e) {
+      logger.warn("Could not retrieve Id or Value for event: " + e.getMessage());
       return false;
     }
   }
 
-  protected boolean isNewMessage(Event event) {
-    try {
-      String id = this.getIdForEvent(event);
-      if (store == null) {
-        synchronized (this) {
+  private void ensureStore() throws InitialisationException {
+    if (store == null) {
+      synchronized (this) {
+        if (store == null) {
           initialise();
         }
       }
+    }
+  }
+
+  protected boolean isNewMessage(Event event) {
+    try {
+      String id = this.getIdForEvent(event);
+      ensureStore();
       return !store.contains(id);
     } catch (MuleException e) {
       logger.error("Exception attempting to determine idempotency of incoming message for " + flowConstruct.getName()
@@ -160,4 +200,49 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor i
   public void setStorePrefix(String storePrefix) {
     this.storePrefix = storePrefix;
   }
+
+  /**
+   * @return how many milliseconds an id is remembered by the store created by this filter
+   */
+  public int getEntryTTL() {
+    return entryTTL;
+  }
+
+  public void setEntryTTL(int entryTTL) {
+    this.entryTTL = entryTTL;
+  }
+
+  /**
+   * @return the amount of ids the Bloom filter in front of the store created by this filter is sized for, within
+   *         {@link #getEntryTTL()}
+   */
+  public int getExpectedEntries() {
+    return expectedEntries;
+  }
+
+  public void setExpectedEntries(int expectedEntries) {
+    this.expectedEntries = expectedEntries;
+  }
+
+  /**
+   * @return the probability of checking the store for an id that was not seen. Zero disables the Bloom filter
+   */
+  public double getFalsePositiveProbability() {
+    return falsePositiveProbability;
+  }
+
+  public void setFalsePositiveProbability(double falsePositiveProbability) {
+    this.falsePositiveProbability = falsePositiveProbability;
+  }
+
+  /**
+   * @return the amount of partitions the ids are spread across in the store created by this filter
+   */
+  public int getShards() {
+    return shards;
+  }
+
+  public void setShards(int shards) {
+    this.shards = shards;
+  }
 }
@@ -10,11 +10,10 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.routing.RoutingException;
-import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.internal.keygenerator.PayloadHasher;
 import org.mule.runtime.core.transformer.simple.ByteArrayToHexString;
 import org.mule.runtime.core.transformer.simple.SerializableToByteArray;
 
-import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
 /**
@@ -24,6 +23,9 @@ import java.security.NoSuchAlgorithmException;
  * representing the message, so any leading or trailing spaces or extraneous bytes (like padding) can produce different hash
  * values for the same semantic message content. Care should be taken to ensure that messages do not contain extraneous bytes.
  * This class is useful when the message does not support unique identifiers.
+ * <p>
+ * Repeatable streamed payloads are hashed as they are read, without loading them in memory. When the hash doesn't need to be
+ * cryptographically strong, {@link PayloadHasher#MURMUR3_128} can be configured as the digest algorithm, which is much faster.
  */
 
 public class IdempotentSecureHashMessageFilter extends IdempotentMessageFilter {
@@ -32,28 +34,33 @@ public class IdempotentSecureHashMessageFilter extends IdempotentMessageFilter {
 
   private final SerializableToByteArray objectToByteArray = new SerializableToByteArray();
   private final ByteArrayToHexString byteArrayToHexString = new ByteArrayToHexString();
+  private volatile PayloadHasher hasher;
 
   @Override
   protected String getIdForEvent(Event event) throws MuleException {
     try {
       Object payload = event.getMessage().getPayload().getValue();
-      byte[] bytes = (byte[]) objectToByteArray.transform(payload);
-      MessageDigest md = MessageDigest.getInstance(messageDigestAlgorithm);
-      byte[] digestedBytes = md.digest(bytes);
+      byte[] digestedBytes = getHasher().hash(payload, p -> (byte[]) objectToByteArray.transform(p));
       return (String) byteArrayToHexString.transform(digestedBytes);
-    } catch (NoSuchAlgorithmException nsa) {
-      throw new RoutingException(this, nsa);
-    } catch (TransformerException te) {
-      throw new RoutingException(this, te);
+    } catch (Exception e) {
+      throw new RoutingException(this, e);
     }
   }
 
+  private PayloadHasher getHasher() throws NoSuchAlgorithmException {
+    if (hasher == null) {
+      hasher = new PayloadHasher(messageDigestAlgorithm);
+    }
+    return hasher;
+  }
+
   public String getMessageDigestAlgorithm() {
     return messageDigestAlgorithm;
   }
 
   public void setMessageDigestAlgorithm(String messageDigestAlgorithm) {
     this.messageDigestAlgorithm = messageDigestAlgorithm;
+    this.hasher = null;
   }
 
   @Override
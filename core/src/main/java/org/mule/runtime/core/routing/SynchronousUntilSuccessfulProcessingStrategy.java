@@ -6,62 +6,72 @@
  */
 package org.mule.runtime.core.routing;
 
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.core.api.Event.setCurrentEvent;
+import static org.mule.runtime.core.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
+import static reactor.core.publisher.Flux.range;
+import static reactor.core.publisher.Mono.create;
+import static reactor.core.publisher.Mono.error;
+import static reactor.core.publisher.Mono.fromCallable;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.Event.Builder;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.routing.RoutingException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.exception.MessagingException;
 import org.mule.runtime.core.session.DefaultMuleSession;
+import org.mule.runtime.core.transaction.TransactionCoordination;
 
 import java.io.NotSerializableException;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
 
 /**
  * Until successful synchronous processing strategy. It will execute the until-successful router within the callers thread.
+ * <p>
+ * When the router is used within an event stream, {@link #routeNonBlocking(Event, FlowConstruct)} is used instead, which waits
+ * for each retry on the timer of a {@link Scheduler} so no thread is blocked while the route is unavailable.
  */
 public class SynchronousUntilSuccessfulProcessingStrategy extends AbstractUntilSuccessfulProcessingStrategy
-    implements Initialisable {
+    implements Initialisable, Startable, Stoppable {
 
   protected transient Logger logger = LoggerFactory.getLogger(getClass());
+  private Scheduler scheduler;
 
   @Override
   protected Event doRoute(Event event, FlowConstruct flow) throws MuleException {
     Exception lastExecutionException = null;
-    Event retryEvent = copyEventForRetry(event);
     try {
       for (int i = 0; i <= getUntilSuccessfulConfiguration().getMaxRetries(); i++) {
         try {
-          Event successEvent = processResponseThroughAckResponseExpression(processEvent(retryEvent));
-          if (successEvent == null) {
-            return null;
-          }
-          Event finalEvent;
-          Builder builder = Event.builder(event).message(successEvent.getMessage());
-          for (String flowVar : successEvent.getVariableNames()) {
-            builder.addVariable(flowVar, successEvent.getVariable(flowVar).getValue());
-          }
-          event.getSession().merge(successEvent.getSession());
-          builder.session(event.getSession());
-          finalEvent = builder.build();
-          setCurrentEvent(finalEvent);
-          return finalEvent;
+          return processAttempt(event);
         } catch (Exception e) {
-          logger.info("Exception thrown inside until-successful " + e.getMessage());
-          if (logger.isDebugEnabled()) {
-            logger.debug("Exception thrown inside until-successful ", e);
-          }
+          logFailedAttempt(e);
           lastExecutionException = e;
           if (i < getUntilSuccessfulConfiguration().getMaxRetries()) {
-            Thread.sleep(getUntilSuccessfulConfiguration().getMillisBetweenRetries());
-            retryEvent = copyEventForRetry(event);
+            if (!tryAcquireRetry()) {
+              break;
+            }
+            try {
+              Thread.sleep(getMillisBeforeRetry(i + 1));
+            } finally {
+              releaseRetry();
+            }
           }
         }
       }
@@ -71,6 +81,85 @@ public class SynchronousUntilSuccessfulProcessingStrategy extends AbstractUntilS
     }
   }
 
+  /**
+   * Routes an event retrying on failure without blocking the calling thread. Retries are delayed on the timer of the
+   * strategy's {@link Scheduler} and executed by one of its threads, so the threads are only used while the route is being
+   * invoked.
+   * <p>
+   * If a transaction is bound to the calling thread, the retries are done within that thread as in
+   * {@link #route(Event, FlowConstruct)}, since the route has to take part in the transaction.
+   *
+   * @param event the message to be routed through the until-successful router.
+   * @param flow the flow within the until-successful router is executed.
+   * @return a {@link Mono} that emits the resulting event, completes empty if the route returns no event, or fails when the
+   *         retries are exhausted.
+   */
+  public Mono<Event> routeNonBlocking(Event event, FlowConstruct flow) {
+    if (scheduler == null || isTransactionActive()) {
+      return fromCallable(() -> route(event, flow));
+    }
+
+    try {
+      prepareAndValidateEvent(event);
+    } catch (MessagingException e) {
+      return error(e);
+    }
+
+    final Processor router = getUntilSuccessfulConfiguration().getRouter();
+    final int attempts = getUntilSuccessfulConfiguration().getMaxRetries() + 1;
+    return fromCallable(() -> processAttempt(event))
+        .retryWhen(errors -> errors.zipWith(range(1, attempts), Tuples::of).flatMap(tuple -> {
+          final Throwable exception = tuple.getT1();
+          logFailedAttempt(exception);
+          if (tuple.getT2() == attempts || !tryAcquireRetry()) {
+            return Mono.<Long>error(new MessagingException(event, new RoutingException(router, exception), router));
+          }
+          return delay(getMillisBeforeRetry(tuple.getT2()));
+        }));
+  }
+
+  private boolean isTransactionActive() {
+    return TransactionCoordination.getInstance().getTransaction() != null;
+  }
+
+  private Mono<Long> delay(long millis) {
+    return create(sink -> {
+      try {
+        scheduler.schedule(() -> {
+          releaseRetry();
+          sink.success(millis);
+        }, millis, MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        releaseRetry();
+        sink.error(e);
+      }
+    });
+  }
+
+  private Event processAttempt(Event event) throws MuleException {
+    Event retryEvent = copyEventForRetry(event);
+    Event successEvent = processResponseThroughAckResponseExpression(processEvent(retryEvent));
+    if (successEvent == null) {
+      return null;
+    }
+    Builder builder = Event.builder(event).message(successEvent.getMessage());
+    for (String flowVar : successEvent.getVariableNames()) {
+      builder.addVariable(flowVar, successEvent.getVariable(flowVar).getValue());
+    }
+    event.getSession().merge(successEvent.getSession());
+    builder.session(event.getSession());
+    Event finalEvent = builder.build();
+    setCurrentEvent(finalEvent);
+    return finalEvent;
+  }
+
+  private void logFailedAttempt(Throwable e) {
+    logger.info("Exception thrown inside until-successful " + e.getMessage());
+    if (logger.isDebugEnabled()) {
+      logger.debug("Exception thrown inside until-successful ", e);
+    }
+  }
+
   private Event copyEventForRetry(Event event) {
     Event copy = Event.builder(event).session(new DefaultMuleSession(event.getSession())).build();
     setCurrentEvent(copy);
@@ -91,6 +180,20 @@ public class SynchronousUntilSuccessfulProcessingStrategy extends AbstractUntilS
     }
   }
 
+  @Override
+  public void start() {
+    scheduler = muleContext.getSchedulerService().ioScheduler(config()
+        .withName(format("%s%s.%s", getPrefix(getUntilSuccessfulConfiguration().getMuleContext()),
+                         getUntilSuccessfulConfiguration().getFlowConstruct().getName(), "until-successful")));
+  }
+
+  @Override
+  public void stop() {
+    scheduler.shutdown();
+    scheduler = null;
+    resetRetries();
+  }
+
   @Override
   protected void ensureSerializable(InternalMessage message) throws NotSerializableException {
     // Message is not required to be Serializable because it is kept in memory
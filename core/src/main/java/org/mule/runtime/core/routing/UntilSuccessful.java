@@ -8,6 +8,7 @@ package org.mule.runtime.core.routing;
 
 import static org.mule.runtime.core.api.processor.MessageProcessors.newChain;
 import static org.mule.runtime.core.api.processor.MessageProcessors.newExplicitChain;
+import static reactor.core.publisher.Flux.from;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.i18n.I18nMessageFactory;
@@ -27,6 +28,8 @@ import org.mule.runtime.core.routing.outbound.AbstractOutboundRouter;
 
 import java.util.concurrent.TimeUnit;
 
+import org.reactivestreams.Publisher;
+
 /**
  * UntilSuccessful attempts to route a message to the message processor it contains. Routing is considered successful if no
  * exception has been raised and, optionally, if the response matches an expression.
@@ -49,6 +52,10 @@ public class UntilSuccessful extends AbstractOutboundRouter implements UntilSucc
   private int maxRetries = 5;
   private Long millisBetweenRetries = null;
   private Long secondsBetweenRetries = null;
+  private double backoffMultiplier = 1;
+  private long maxMillisBetweenRetries = 0;
+  private double jitterFactor = 0;
+  private int maxInFlightRetries = 0;
   private String failureExpression;
   private String ackExpression;
   private ExpressionFilter failureExpressionFilter;
@@ -72,6 +79,7 @@ public class UntilSuccessful extends AbstractOutboundRouter implements UntilSucc
     }
 
     setWaitTime();
+    validateBackoff();
 
     super.initialise();
 
@@ -137,6 +145,13 @@ public class UntilSuccessful extends AbstractOutboundRouter implements UntilSucc
     }
   }
 
+  private void validateBackoff() {
+    Preconditions.checkArgument(backoffMultiplier >= 1, "backoffMultiplier must be greater than or equal to 1");
+    Preconditions.checkArgument(maxMillisBetweenRetries >= 0, "maxMillisBetweenRetries must not be negative");
+    Preconditions.checkArgument(jitterFactor >= 0 && jitterFactor <= 1, "jitterFactor must be between 0 and 1");
+    Preconditions.checkArgument(maxInFlightRetries >= 0, "maxInFlightRetries must not be negative");
+  }
+
   @Override
   public void start() throws MuleException {
     super.start();
@@ -163,6 +178,21 @@ public class UntilSuccessful extends AbstractOutboundRouter implements UntilSucc
     return untilSuccessfulStrategy.route(event, flowConstruct);
   }
 
+  /**
+   * When processing synchronously and outside of a transaction, the retries are chained to the event stream instead of blocking
+   * the processing thread while waiting for the next attempt.
+   */
+  @Override
+  public Publisher<Event> apply(Publisher<Event> publisher) {
+    if (untilSuccessfulStrategy instanceof SynchronousUntilSuccessfulProcessingStrategy
+        && (transactionConfig == null || !transactionConfig.isConfigured())) {
+      final SynchronousUntilSuccessfulProcessingStrategy strategy =
+          (SynchronousUntilSuccessfulProcessingStrategy) untilSuccessfulStrategy;
+      return from(publisher).flatMap(event -> strategy.routeNonBlocking(event, flowConstruct));
+    }
+    return super.apply(publisher);
+  }
+
   @Override
   public ListableObjectStore<Event> getObjectStore() {
     return objectStore;
@@ -199,6 +229,42 @@ public class UntilSuccessful extends AbstractOutboundRouter implements UntilSucc
     this.millisBetweenRetries = millisBetweenRetries;
   }
 
+  @Override
+  public double getBackoffMultiplier() {
+    return backoffMultiplier;
+  }
+
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  @Override
+  public long getMaxMillisBetweenRetries() {
+    return maxMillisBetweenRetries;
+  }
+
+  public void setMaxMillisBetweenRetries(long maxMillisBetweenRetries) {
+    this.maxMillisBetweenRetries = maxMillisBetweenRetries;
+  }
+
+  @Override
+  public double getJitterFactor() {
+    return jitterFactor;
+  }
+
+  public void setJitterFactor(double jitterFactor) {
+    this.jitterFactor = jitterFactor;
+  }
+
+  @Override
+  public int getMaxInFlightRetries() {
+    return maxInFlightRetries;
+  }
+
+  public void setMaxInFlightRetries(int maxInFlightRetries) {
+    this.maxInFlightRetries = maxInFlightRetries;
+  }
+
   public String getFailureExpression() {
     return failureExpression;
   }
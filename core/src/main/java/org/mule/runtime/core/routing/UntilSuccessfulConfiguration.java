@@ -53,6 +53,29 @@ public interface UntilSuccessfulConfiguration {
    */
   long getMillisBetweenRetries();
 
+  /**
+   * @return the factor by which the wait between retries is multiplied after each failed retry. Default value is 1, meaning the
+   *         wait time is constant.
+   */
+  double getBackoffMultiplier();
+
+  /**
+   * @return the upper bound of the wait between retries when using a backoff multiplier, or 0 if there is no upper bound.
+   */
+  long getMaxMillisBetweenRetries();
+
+  /**
+   * @return the fraction, between 0 and 1, of each wait between retries that is randomly discounted so retries of events that
+   *         failed together are spread over time. Default value is 0.
+   */
+  double getJitterFactor();
+
+  /**
+   * @return the maximum number of retries that may be waiting to be executed at any time by this router, or 0 if there is no
+   *         limit. Events that fail when the limit is reached are not retried.
+   */
+  int getMaxInFlightRetries();
+
   /**
    * @return the number of retries to process the route when failing. Default value is 5.
    */
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.routing.correlation;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.core.context.notification.RoutingNotification.CORRELATION_TIMEOUT;
 import static org.mule.runtime.core.context.notification.RoutingNotification.MISSED_AGGREGATION_GROUP_EVENT;
 import static org.mule.runtime.core.execution.ErrorHandlingExecutionTemplate.createErrorHandlingExecutionTemplate;
@@ -27,6 +28,7 @@ import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
 import org.mule.runtime.core.api.store.ObjectStore;
 import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.runtime.core.api.store.PartitionableObjectStore;
+import org.mule.runtime.core.api.time.TimeSupplier;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.context.notification.RoutingNotification;
 import org.mule.runtime.core.exception.MessagingException;
@@ -38,15 +40,31 @@ import org.mule.runtime.core.util.monitor.Expirable;
 import org.mule.runtime.core.util.monitor.ExpiryMonitor;
 import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
 
+import com.google.common.util.concurrent.Striped;
+
 import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Correlates events into {@link EventGroup}s, delegating the aggregation decisions to an {@link EventCorrelatorCallback}.
+ * <p/>
+ * Events for different groups are processed concurrently: each group is guarded by one of a fixed set of striped locks, so
+ * only events hashing to the same stripe contend. Groups being filled are kept in memory to avoid reading them back from the
+ * correlator store on each event, and the expiration of groups is driven by an index ordered by expiration time, so the
+ * correlator store is only scanned periodically to pick up groups created by other nodes or before a restart. Only the primary
+ * node expires groups, so the index is only kept on that node.
+ */
 public class EventCorrelator implements Startable, Stoppable, Disposable {
 
   /**
@@ -60,11 +78,26 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
   protected long groupTimeToLive = ONE_DAY_IN_MILLI;
 
-  protected final Object groupsLock = new Object();
+  private static final int GROUP_LOCK_STRIPES = 256;
+
+  private static final long EXPIRING_GROUPS_RESCAN_INTERVAL = 1000 * 60;
+
+  private final Striped<Lock> groupLocks = Striped.lock(GROUP_LOCK_STRIPES);
 
-  // @GuardedBy groupsLock
   protected ObjectStore<Long> processedGroups = null;
 
+  /**
+   * Groups that are currently receiving events, kept to avoid retrieving them from the store on each event.
+   */
+  private final ConcurrentMap<Serializable, EventGroup> activeGroups = new ConcurrentHashMap<>();
+
+  /**
+   * Groups pending expiration, ordered by their expiration time.
+   */
+  private final DelayQueue<ExpiringGroup> expiringGroups = new DelayQueue<>();
+  private final ConcurrentMap<Serializable, ExpiringGroup> expiringGroupsById = new ConcurrentHashMap<>();
+  private volatile long lastExpiringGroupsRescan = 0;
+
   private long timeout = -1; // undefined
 
   private boolean failOnTimeout = true;
@@ -87,9 +120,21 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
   private final FlowConstruct flowConstruct;
 
+  private final TimeSupplier timeSupplier;
+
   public EventCorrelator(EventCorrelatorCallback callback, Processor timeoutMessageProcessor, MuleContext muleContext,
                          FlowConstruct flowConstruct, PartitionableObjectStore correlatorStore, String storePrefix,
                          ObjectStore<Long> processedGroups) {
+    this(callback, timeoutMessageProcessor, muleContext, flowConstruct, correlatorStore, storePrefix, processedGroups,
+         new TimeSupplier());
+  }
+
+  /**
+   * Creates a correlator that takes the current time, used to expire groups, from {@code timeSupplier}.
+   */
+  public EventCorrelator(EventCorrelatorCallback callback, Processor timeoutMessageProcessor, MuleContext muleContext,
+                         FlowConstruct flowConstruct, PartitionableObjectStore correlatorStore, String storePrefix,
+                         ObjectStore<Long> processedGroups, TimeSupplier timeSupplier) {
     if (callback == null) {
       throw new IllegalArgumentException(CoreMessages.objectIsNull("EventCorrelatorCallback").getMessage());
     }
@@ -105,6 +150,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     this.correlatorStore = correlatorStore;
     this.storePrefix = storePrefix;
     this.processedGroups = processedGroups;
+    this.timeSupplier = timeSupplier;
   }
 
   public void forceGroupExpiry(String groupId) throws MuleException {
@@ -144,6 +190,8 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
             logger.debug("An event was received for an event group that has already been processed, "
                 + "this is probably because the async-reply timed out. GroupCorrelation Id is: " + groupId + ". Dropping event");
           }
+          // the group may have been processed by another node
+          forgetGroup(groupId);
           // Fire a notification to say we received this message
           muleContext
               .fireNotification(new RoutingNotification(event.getMessage(), event.getContext().getOriginatingConnectorName(),
@@ -157,7 +205,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       // check for an existing group first
       EventGroup group;
       try {
-        group = this.getEventGroup(groupId);
+        group = this.getActiveEventGroup(groupId);
       } catch (ObjectStoreException e) {
         throw new RoutingException(timeoutMessageProcessor, e);
       }
@@ -175,7 +223,9 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       }
 
       // ensure that only one thread at a time evaluates this EventGroup
-      synchronized (groupsLock) {
+      final Lock groupLock = getGroupLock(groupId);
+      groupLock.lock();
+      try {
         if (logger.isDebugEnabled()) {
           logger.debug("Adding event to aggregator group: " + groupId);
         }
@@ -215,6 +265,38 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
         } else {
           return null;
         }
+      } finally {
+        groupLock.unlock();
+      }
+    }
+  }
+
+  private Lock getGroupLock(Object groupId) {
+    return groupLocks.get(groupId == null ? NO_CORRELATION_ID : groupId);
+  }
+
+  private EventGroup getActiveEventGroup(String groupId) throws ObjectStoreException {
+    if (groupId == null) {
+      return getEventGroup(groupId);
+    }
+
+    EventGroup group = activeGroups.get(groupId);
+    if (group == null) {
+      group = getEventGroup(groupId);
+      if (group != null) {
+        activeGroups.putIfAbsent(groupId, group);
+        scheduleExpiry(group);
+      }
+    }
+    return group;
+  }
+
+  private void forgetGroup(Object groupId) {
+    if (groupId != null) {
+      activeGroups.remove(groupId);
+      ExpiringGroup expiringGroup = expiringGroupsById.remove(groupId);
+      if (expiringGroup != null) {
+        expiringGroups.remove(expiringGroup);
       }
     }
   }
@@ -237,36 +319,143 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
   }
 
   protected EventGroup addEventGroup(EventGroup group) throws ObjectStoreException {
+    EventGroup addedGroup;
     try {
       correlatorStore.store((Serializable) group.getGroupId(), group, getEventGroupsPartitionKey());
-      return group;
+      addedGroup = group;
     } catch (ObjectAlreadyExistsException e) {
-      return getEventGroup((String) group.getGroupId());
+      addedGroup = getEventGroup((String) group.getGroupId());
     }
+
+    if (addedGroup != null && addedGroup.getGroupId() != null) {
+      EventGroup activeGroup = activeGroups.putIfAbsent((Serializable) addedGroup.getGroupId(), addedGroup);
+      if (activeGroup != null) {
+        addedGroup = activeGroup;
+      }
+      scheduleExpiry(addedGroup);
+    }
+    return addedGroup;
   }
 
   protected void removeEventGroup(EventGroup group) throws ObjectStoreException {
     final Object groupId = group.getGroupId();
-    synchronized (groupsLock) {
+    final Lock groupLock = getGroupLock(groupId);
+    groupLock.lock();
+    try {
       if (!isGroupAlreadyProcessed(groupId)) {
         correlatorStore.remove((Serializable) groupId, getEventGroupsPartitionKey());
         addProcessedGroup(groupId);
       }
+    } finally {
+      forgetGroup(groupId);
+      groupLock.unlock();
     }
   }
 
   protected void addProcessedGroup(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
-      processedGroups.store((Serializable) id, System.currentTimeMillis());
-    }
+    processedGroups.store((Serializable) id, timeSupplier.get());
   }
 
   protected boolean isGroupAlreadyProcessed(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
-      return processedGroups.contains((Serializable) id);
+    return processedGroups.contains((Serializable) id);
+  }
+
+  private void scheduleExpiry(EventGroup group) {
+    // Secondary nodes never expire groups, the primary picks them up from the correlator store
+    if (timeout == 0 || group.getGroupId() == null || !muleContext.isPrimaryPollingInstance()) {
+      return;
+    }
+
+    Serializable groupId = (Serializable) group.getGroupId();
+    ExpiringGroup expiringGroup = new ExpiringGroup(groupId, group.getCreated() + getTimeout());
+    if (expiringGroupsById.putIfAbsent(groupId, expiringGroup) == null) {
+      expiringGroups.add(expiringGroup);
     }
   }
 
+  /**
+   * Expires the groups which timeout has elapsed. Only does so in the primary node, other nodes discard their expiration index
+   * so it doesn't grow, and it is rebuilt from the correlator store if the node becomes the primary one.
+   */
+  void expireGroups() {
+    //// TODO(pablo.kraan): is not good to have threads doing nothing in all the nodes but the primary. Need to
+    //// start the thread on the primary node only, and then use a notification schema to start a new thread
+    //// in a different node when the primary goes down.
+    if (!muleContext.isPrimaryPollingInstance()) {
+      if (!expiringGroupsById.isEmpty()) {
+        expiringGroupsById.clear();
+        expiringGroups.clear();
+      }
+      lastExpiringGroupsRescan = 0;
+      return;
+    }
+
+    if (lastExpiringGroupsRescan + EXPIRING_GROUPS_RESCAN_INTERVAL < timeSupplier.get()) {
+      rescanExpiringGroups();
+    }
+
+    List<EventGroup> expired = new ArrayList<>(1);
+    try {
+      ExpiringGroup expiringGroup;
+      while ((expiringGroup = expiringGroups.poll()) != null) {
+        // Discards entries from groups that were already removed
+        if (expiringGroupsById.remove(expiringGroup.groupId, expiringGroup)) {
+          EventGroup group = getEventGroup(expiringGroup.groupId);
+          // group may have been removed by another thread right after being polled
+          if (group != null) {
+            expired.add(group);
+          } else {
+            activeGroups.remove(expiringGroup.groupId);
+          }
+        }
+      }
+    } catch (ObjectStoreException e) {
+      logger.warn("expiry failed dues to ObjectStoreException " + e);
+    }
+    for (final EventGroup group : expired) {
+      ExecutionTemplate<Event> executionTemplate =
+          createErrorHandlingExecutionTemplate(muleContext, flowConstruct, flowConstruct.getExceptionListener());
+      try {
+        executionTemplate.execute(() -> {
+          handleGroupExpiry(group);
+          return null;
+        });
+      } catch (MessagingException e) {
+        // Already handled by TransactionTemplate
+      } catch (Exception e) {
+        muleContext.getExceptionListener().handleException(e);
+      }
+    }
+  }
+
+  /**
+   * Indexes groups found in the correlator store that are not known by this correlator, as the ones created before a restart
+   * or by another node.
+   */
+  private void rescanExpiringGroups() {
+    lastExpiringGroupsRescan = timeSupplier.get();
+    try {
+      for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
+        if (!expiringGroupsById.containsKey(o)) {
+          EventGroup group = getEventGroup(o);
+          // group may have been removed by another thread right after eventGroups.allKeys()
+          if (group != null) {
+            scheduleExpiry(group);
+          }
+        }
+      }
+    } catch (ObjectStoreException e) {
+      logger.warn("expiry failed dues to ObjectStoreException " + e);
+    }
+  }
+
+  /**
+   * @return the amount of entries pending expiration in this node
+   */
+  int getExpiringGroupsCount() {
+    return expiringGroups.size();
+  }
+
   public boolean isFailOnTimeout() {
     return failOnTimeout;
   }
@@ -310,7 +499,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       }
 
       try {
-        if (!(group.getCreated() + groupTimeToLive < System.currentTimeMillis())) {
+        if (!(group.getCreated() + groupTimeToLive < timeSupplier.get())) {
           Event newEvent = Event.builder(callback.aggregateEvents(group)).build();
           group.clear();
 
@@ -363,7 +552,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       super(name, DELAY_TIME);
       this.expiryMonitor = new ExpiryMonitor(name, 1000 * 60, muleContext, true);
       // clean up every 30 minutes
-      this.expiryMonitor.addExpirable(1000 * 60 * 30, TimeUnit.MILLISECONDS, this);
+      this.expiryMonitor.addExpirable(1000 * 60 * 30, MILLISECONDS, this);
     }
 
     /**
@@ -376,7 +565,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       try {
         for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getExpiredAndDispatchedPartitionKey())) {
           Long time = (Long) correlatorStore.retrieve(o, getExpiredAndDispatchedPartitionKey());
-          if (time + groupTimeToLive < System.currentTimeMillis()) {
+          if (time + groupTimeToLive < timeSupplier.get()) {
             correlatorStore.remove(o, getExpiredAndDispatchedPartitionKey());
             logger.warn(MessageFormat.format("Discarding group {0}", o));
           }
@@ -388,40 +577,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
     @Override
     public void doRun() {
-
-      //// TODO(pablo.kraan): is not good to have threads doing nothing in all the nodes but the primary. Need to
-      //// start the thread on the primary node only, and then use a notification schema to start a new thread
-      //// in a different node when the primary goes down.
-      if (!muleContext.isPrimaryPollingInstance()) {
-        return;
-      }
-
-      List<EventGroup> expired = new ArrayList<>(1);
-      try {
-        for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
-          EventGroup group = getEventGroup(o);
-          // group may have been removed by another thread right after eventGroups.allKeys()
-          if (group != null && group.getCreated() + getTimeout() < System.currentTimeMillis()) {
-            expired.add(group);
-          }
-        }
-      } catch (ObjectStoreException e) {
-        logger.warn("expiry failed dues to ObjectStoreException " + e);
-      }
-      for (final EventGroup group : expired) {
-        ExecutionTemplate<Event> executionTemplate =
-            createErrorHandlingExecutionTemplate(muleContext, flowConstruct, flowConstruct.getExceptionListener());
-        try {
-          executionTemplate.execute(() -> {
-            handleGroupExpiry(group);
-            return null;
-          });
-        } catch (MessagingException e) {
-          // Already handled by TransactionTemplate
-        } catch (Exception e) {
-          muleContext.getExceptionListener().handleException(e);
-        }
-      }
+      expireGroups();
     }
 
     @Override
@@ -432,6 +588,30 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     }
   }
 
+  /**
+   * Entry of the expiration index for a given group.
+   */
+  private final class ExpiringGroup implements Delayed {
+
+    private final Serializable groupId;
+    private final long expirationTime;
+
+    private ExpiringGroup(Serializable groupId, long expirationTime) {
+      this.groupId = groupId;
+      this.expirationTime = expirationTime;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(expirationTime - timeSupplier.get(), MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(expirationTime, ((ExpiringGroup) other).expirationTime);
+    }
+  }
+
   protected String getExpiredAndDispatchedPartitionKey() {
     return storePrefix + ".expiredAndDispatchedGroups";
   }
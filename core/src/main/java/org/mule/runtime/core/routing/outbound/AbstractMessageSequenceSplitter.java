@@ -7,7 +7,9 @@
 package org.mule.runtime.core.routing.outbound;
 
 import static java.util.Collections.emptySet;
+import static org.mule.runtime.core.api.Event.setCurrentEvent;
 
+import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.Event.Builder;
 import org.mule.runtime.api.exception.MuleException;
@@ -19,10 +21,17 @@ import org.mule.runtime.core.processor.AbstractInterceptingMessageProcessor;
 import org.mule.runtime.core.routing.AbstractSplitter;
 import org.mule.runtime.core.routing.DefaultRouterResultsHandler;
 import org.mule.runtime.core.routing.MessageSequence;
+import org.mule.runtime.core.transaction.TransactionCoordination;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 /**
  * Base implementation of a {@link Message} splitter, that converts its payload in a {@link MessageSequence}, and process each
@@ -39,6 +48,9 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   protected RouterResultsHandler resultsHandler = new DefaultRouterResultsHandler();
   protected int batchSize;
   protected String counterVariableName;
+  protected int maxConcurrency = 1;
+  protected boolean preserveOrder = true;
+  private Executor scheduler;
 
   @Override
   public final Event process(Event event) throws MuleException {
@@ -69,27 +81,21 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   protected abstract MessageSequence<?> splitMessageIntoSequence(Event event) throws MuleException;
 
   protected List<Event> processParts(MessageSequence<?> seq, Event originalEvent) throws MuleException {
-    List<Event> resultEvents = new ArrayList<>();
-    int correlationSequence = 0;
     MessageSequence<?> messageSequence = seq;
     if (batchSize > 1) {
       messageSequence = new PartitionedMessageSequence(seq, batchSize);
     }
+    if (maxConcurrency > 1 && scheduler != null && !isTransactionActive()) {
+      return processPartsConcurrently(messageSequence, originalEvent);
+    }
+
+    List<Event> resultEvents = new ArrayList<>();
+    int correlationSequence = 0;
     Integer count = messageSequence.size();
     Event lastResult = null;
     for (; messageSequence.hasNext();) {
       correlationSequence++;
-
-      final Builder builder = Event.builder(originalEvent);
-
-      propagateFlowVars(lastResult, builder);
-      if (counterVariableName != null) {
-        builder.addVariable(counterVariableName, correlationSequence);
-      }
-
-      builder.groupCorrelation(new GroupCorrelation(count, correlationSequence));
-      initEventBuilder(messageSequence.next(), originalEvent, builder, resolvePropagatedFlowVars(lastResult));
-      final Event event = builder.build();
+      final Event event = buildPartEvent(messageSequence.next(), originalEvent, lastResult, count, correlationSequence);
       Event resultEvent = processNext(event);
       if (resultEvent != null) {
         resultEvents.add(resultEvent);
@@ -102,6 +108,111 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
     return resultEvents;
   }
 
+  /**
+   * Processes the parts on the configured {@link Executor}, with up to {@link #maxConcurrency} parts being processed at the same
+   * time. Parts are pulled from the sequence only when there is capacity to process them, so the sequence is never fully
+   * materialized.
+   * <p>
+   * As parts are processed concurrently, flow variables of a part's result are not propagated to the next part.
+   */
+  private List<Event> processPartsConcurrently(MessageSequence<?> messageSequence, Event originalEvent) throws MuleException {
+    final Integer count = messageSequence.size();
+    final Semaphore permits = new Semaphore(maxConcurrency);
+    final CompletionService<Event> completionService = new ExecutorCompletionService<>(scheduler);
+    final List<Future<Event>> futures = new ArrayList<>();
+    final List<Event> resultEvents = new ArrayList<>();
+    int correlationSequence = 0;
+    int completed = 0;
+    try {
+      while (messageSequence.hasNext()) {
+        permits.acquire();
+        // Fail fast, the same as sequential processing does
+        completed += collectCompleted(completionService, resultEvents);
+
+        correlationSequence++;
+        final Event event = buildPartEvent(messageSequence.next(), originalEvent, null, count, correlationSequence);
+        futures.add(completionService.submit(() -> {
+          try {
+            setCurrentEvent(event);
+            return processNext(event);
+          } finally {
+            permits.release();
+          }
+        }));
+      }
+
+      if (preserveOrder) {
+        resultEvents.clear();
+        for (Future<Event> future : futures) {
+          addResult(future, resultEvents);
+        }
+      } else {
+        for (; completed < futures.size(); completed++) {
+          addResult(completionService.take(), resultEvents);
+        }
+      }
+    } catch (ExecutionException e) {
+      futures.forEach(future -> future.cancel(true));
+      throw rethrow(e.getCause());
+    } catch (InterruptedException e) {
+      futures.forEach(future -> future.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new DefaultMuleException(e);
+    }
+
+    if (correlationSequence == 1) {
+      logger.debug("Splitter only returned a single result. If this is not expected, please check your split expression");
+    }
+    return resultEvents;
+  }
+
+  private int collectCompleted(CompletionService<Event> completionService, List<Event> resultEvents)
+      throws ExecutionException, InterruptedException {
+    int collected = 0;
+    Future<Event> future;
+    while ((future = completionService.poll()) != null) {
+      addResult(future, resultEvents);
+      collected++;
+    }
+    return collected;
+  }
+
+  private void addResult(Future<Event> future, List<Event> resultEvents) throws ExecutionException, InterruptedException {
+    Event resultEvent = future.get();
+    if (resultEvent != null) {
+      resultEvents.add(resultEvent);
+    }
+  }
+
+  private MuleException rethrow(Throwable cause) {
+    if (cause instanceof MuleException) {
+      return (MuleException) cause;
+    } else if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    } else if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return new DefaultMuleException(cause);
+  }
+
+  private boolean isTransactionActive() {
+    // Transactions are bound to the calling thread, so parts must be processed within it
+    return TransactionCoordination.getInstance().getTransaction() != null;
+  }
+
+  private Event buildPartEvent(Object part, Event originalEvent, Event lastResult, Integer count, int correlationSequence) {
+    final Builder builder = Event.builder(originalEvent);
+
+    propagateFlowVars(lastResult, builder);
+    if (counterVariableName != null) {
+      builder.addVariable(counterVariableName, correlationSequence);
+    }
+
+    builder.groupCorrelation(new GroupCorrelation(count, correlationSequence));
+    initEventBuilder(part, originalEvent, builder, resolvePropagatedFlowVars(lastResult));
+    return builder.build();
+  }
+
   protected Set<String> resolvePropagatedFlowVars(Event lastResult) {
     return emptySet();
   }
@@ -139,4 +250,26 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   public void setCounterVariableName(String counterVariableName) {
     this.counterVariableName = counterVariableName;
   }
+
+  /**
+   * Sets the maximum number of parts processed at the same time. Parts are only processed concurrently when it is greater than
+   * one and an {@link Executor} has been set with {@link #setScheduler(Executor)}.
+   */
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * Defines if the results of parts processed concurrently are returned in the order of the sequence or as they complete.
+   */
+  public void setPreserveOrder(boolean preserveOrder) {
+    this.preserveOrder = preserveOrder;
+  }
+
+  /**
+   * Sets the {@link Executor} used to process parts concurrently. Its lifecycle is managed by the owner of this splitter.
+   */
+  public void setScheduler(Executor scheduler) {
+    this.scheduler = scheduler;
+  }
 }
@@ -12,6 +12,7 @@ import static org.mule.runtime.core.api.Event.builder;
 import static org.mule.runtime.core.api.Event.setCurrentEvent;
 import static org.mule.runtime.core.config.i18n.CoreMessages.failedToScheduleWork;
 import static org.mule.runtime.core.context.notification.ConnectorMessageNotification.MESSAGE_RECEIVED;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.execution.TransactionalErrorHandlingExecutionTemplate.createMainExecutionTemplate;
 import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
 import org.mule.runtime.api.exception.MuleException;
@@ -37,8 +38,11 @@ import org.mule.runtime.core.api.source.MessageSource;
 import org.mule.runtime.core.api.source.polling.PeriodicScheduler;
 import org.mule.runtime.core.context.notification.ConnectorMessageNotification;
 import org.mule.runtime.core.exception.MessagingException;
+import org.mule.runtime.core.source.scheduler.watermark.Watermark;
 
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +56,11 @@ import org.slf4j.LoggerFactory;
  * initialization phase. This {@link org.mule.runtime.api.scheduler.Scheduler} can be stopped/started and executed by using the
  * {@link org.mule.runtime.core.api.registry.MuleRegistry} interface, this way users can manipulate poll from outside mule server.
  * </p>
+ * <p>
+ * If a {@link Watermark} is configured, each poll is given its current value and updates it once the flow completes
+ * successfully. A poll is skipped while the previous one is still running, either in this instance or in another instance of
+ * the cluster.
+ * </p>
  */
 public class SchedulerMessageSource extends AbstractAnnotatedObject
     implements MessageSource, FlowConstructAware, Startable, Stoppable, MuleContextAware, Initialisable, Disposable {
@@ -65,6 +74,8 @@ public class SchedulerMessageSource extends AbstractAnnotatedObject
   private Processor listener;
   private FlowConstruct flowConstruct;
   private MuleContext muleContext;
+  private Watermark watermark;
+  private final AtomicBoolean polling = new AtomicBoolean(false);
 
   /**
    * @param muleContext application's context
@@ -122,7 +133,29 @@ public class SchedulerMessageSource extends AbstractAnnotatedObject
    */
   public void poll() {
     InternalMessage request = InternalMessage.builder().nullPayload().build();
-    pollWith(request);
+    if (watermark == null) {
+      pollWith(request);
+      return;
+    }
+
+    if (!polling.compareAndSet(false, true)) {
+      logger.debug("Skipping poll of {} since the previous one is still running", getPollingUniqueName());
+      return;
+    }
+    try {
+      Lock lock = watermark.createLock();
+      if (!lock.tryLock()) {
+        logger.debug("Skipping poll of {} since it is running in another instance", getPollingUniqueName());
+        return;
+      }
+      try {
+        pollWith(request);
+      } finally {
+        lock.unlock();
+      }
+    } finally {
+      polling.set(false);
+    }
   }
 
   private void pollWith(final InternalMessage request) {
@@ -140,10 +173,18 @@ public class SchedulerMessageSource extends AbstractAnnotatedObject
             setCurrentEvent(event);
 
             Event sourceEvent = builder(DefaultEventContext.create(flowConstruct, "scheduler")).message(request).build();
+            if (watermark != null) {
+              sourceEvent = watermark.begin(sourceEvent);
+            }
             muleContext.getNotificationManager()
                 .fireNotification(new ConnectorMessageNotification(this, sourceEvent.getMessage(), getPollingUniqueName(),
                                                                    flowConstruct, MESSAGE_RECEIVED));
-            listener.process(sourceEvent);
+            Event result = listener.process(sourceEvent);
+            // Errors are handled by the execution template once they get here, so an error handler that continues never
+            // commits the watermark. Results still carrying an error are not a success either.
+            if (watermark != null && result != null && !result.getError().isPresent()) {
+              watermark.commit(result);
+            }
             return null;
           }, Exception.class, e -> {
             throw e;
@@ -164,12 +205,14 @@ public class SchedulerMessageSource extends AbstractAnnotatedObject
    * <li>Calls the {@link PeriodicScheduler} to create the scheduler</li>
    * <li>Gets the Poll the message source</li>
    * <li>Gets the Poll override</li>
+   * <li>Initialises the {@link Watermark}, if any</li>
    * </ul>
    * </p>
    */
   @Override
   public void initialise() throws InitialisationException {
     createScheduler();
+    initialiseIfNeeded(watermark, muleContext, flowConstruct);
   }
 
   @Override
@@ -206,4 +249,11 @@ public class SchedulerMessageSource extends AbstractAnnotatedObject
     this.listener = listener;
   }
 
+  /**
+   * @param watermark the {@link Watermark} that tracks what this source already polled. May be {@code null}
+   */
+  public void setWatermark(Watermark watermark) {
+    this.watermark = watermark;
+  }
+
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.source.scheduler.watermark;
+
+import static java.lang.String.format;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.api.Event;
+
+import java.io.Serializable;
+
+/**
+ * {@link Watermark} that keeps the greatest value processed so far, for sources which can fetch only the records whose value is
+ * greater than the one of the previous poll, such as an auto incremental id or a last modification timestamp.
+ * <p/>
+ * The selector may return a single value, or an {@link Iterable} or array of them, in which case the greatest one is taken.
+ * Values must be {@link Comparable} with each other and {@link Serializable}. {@code null} values are ignored.
+ * <p/>
+ * Until a value is stored the variable has the value of {@link #getDefaultValue()}, which can be an expression.
+ *
+ * @since 4.0
+ */
+public class MaxValueWatermark extends Watermark {
+
+  private String defaultValue;
+
+  @Override
+  protected Object toVariable(Serializable stored, Event event) throws MuleException {
+    if (stored != null || defaultValue == null) {
+      return stored;
+    }
+    return muleContext.getExpressionManager().isExpression(defaultValue)
+        ? muleContext.getExpressionManager().evaluate(defaultValue, event, flowConstruct).getValue()
+        : defaultValue;
+  }
+
+  @Override
+  protected Serializable merge(Serializable stored, Object selected) throws MuleException {
+    Serializable max = stored;
+    for (Object value : toIterable(selected)) {
+      if (value == null) {
+        continue;
+      }
+      if (!(value instanceof Comparable) || !(value instanceof Serializable)) {
+        throw new DefaultMuleException(createStaticMessage(format("Watermark value '%s' of type %s is not supported", value,
+                                                                  value.getClass().getName())));
+      }
+      if (max == null || compare(value, max) > 0) {
+        max = (Serializable) value;
+      }
+    }
+    return max;
+  }
+
+  private int compare(Object value, Serializable max) throws MuleException {
+    try {
+      return ((Comparable<Object>) value).compareTo(max);
+    } catch (ClassCastException e) {
+      throw new DefaultMuleException(createStaticMessage(format("Watermark value '%s' cannot be compared with '%s'", value, max)),
+                                     e);
+    }
+  }
+
+  /**
+   * @return the value of the variable until a value is stored. It may be an expression
+   */
+  public String getDefaultValue() {
+    return defaultValue;
+  }
+
+  public void setDefaultValue(String defaultValue) {
+    this.defaultValue = defaultValue;
+  }
+}
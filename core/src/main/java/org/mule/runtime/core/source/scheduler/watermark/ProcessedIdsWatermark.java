@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.source.scheduler.watermark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mule.runtime.core.config.i18n.CoreMessages.initialisationFailure;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.Event;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import java.io.Serializable;
+
+/**
+ * {@link Watermark} that keeps the set of ids processed so far, for sources which can't be queried by a single increasing value,
+ * such as the files of a directory or the messages of a mailbox.
+ * <p/>
+ * The ids are kept in a Bloom filter instead of a set, so the stored value has a fixed size no matter how many ids are
+ * processed. The polled flow receives a {@link ProcessedIds} through which it can skip the ids that were already processed.
+ * The filter never misses a processed id, but with a probability of {@link #getFalsePositiveProbability()} it reports an id as
+ * processed when it wasn't. That probability grows once more than {@link #getExpectedInsertions()} ids are processed.
+ * <p/>
+ * The selector may return a single id, or an {@link Iterable} or array of them. Ids are compared by their {@link String} value.
+ *
+ * @since 4.0
+ */
+public class ProcessedIdsWatermark extends Watermark {
+
+  private int expectedInsertions = 100000;
+  private double falsePositiveProbability = 0.001;
+
+  @Override
+  public void initialise() throws InitialisationException {
+    super.initialise();
+    if (expectedInsertions <= 0) {
+      throw new InitialisationException(initialisationFailure("expectedInsertions must be greater than zero"), this);
+    }
+    if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new InitialisationException(initialisationFailure("falsePositiveProbability must be between 0 and 1"), this);
+    }
+  }
+
+  @Override
+  protected Object toVariable(Serializable stored, Event event) {
+    return stored != null ? stored : newProcessedIds();
+  }
+
+  @Override
+  protected Serializable merge(Serializable stored, Object selected) {
+    ProcessedIds merged = stored != null ? ((ProcessedIds) stored).copy() : newProcessedIds();
+    boolean changed = false;
+    for (Object id : toIterable(selected)) {
+      if (id != null) {
+        changed |= merged.add(id);
+      }
+    }
+    return changed ? merged : stored;
+  }
+
+  private ProcessedIds newProcessedIds() {
+    return new ProcessedIds(BloomFilter.create(Funnels.stringFunnel(UTF_8), expectedInsertions, falsePositiveProbability));
+  }
+
+  /**
+   * @return the amount of ids the filter is sized for
+   */
+  public int getExpectedInsertions() {
+    return expectedInsertions;
+  }
+
+  public void setExpectedInsertions(int expectedInsertions) {
+    this.expectedInsertions = expectedInsertions;
+  }
+
+  /**
+   * @return the probability of reporting an id as processed when it wasn't, while no more than
+   *         {@link #getExpectedInsertions()} ids have been processed
+   */
+  public double getFalsePositiveProbability() {
+    return falsePositiveProbability;
+  }
+
+  public void setFalsePositiveProbability(double falsePositiveProbability) {
+    this.falsePositiveProbability = falsePositiveProbability;
+  }
+
+  /**
+   * The ids processed by previous polls, as exposed to the polled flow.
+   */
+  public static final class ProcessedIds implements Serializable {
+
+    private static final long serialVersionUID = -2916484628931472913L;
+
+    private final BloomFilter<CharSequence> filter;
+
+    private ProcessedIds(BloomFilter<CharSequence> filter) {
+      this.filter = filter;
+    }
+
+    /**
+     * @param id the id of a polled record
+     * @return {@code false} if the id was not processed, {@code true} if it probably was
+     */
+    public boolean contains(Object id) {
+      return id != null && filter.mightContain(id.toString());
+    }
+
+    private boolean add(Object id) {
+      return filter.put(id.toString());
+    }
+
+    private ProcessedIds copy() {
+      return new ProcessedIds(filter.copy());
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.source.scheduler.watermark;
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mule.runtime.core.config.i18n.CoreMessages.initialisationFailure;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.construct.FlowConstructAware;
+import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.store.ObjectStore;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Keeps track of what a polling source already processed, so each poll only has to fetch what changed since the previous one.
+ * <p/>
+ * The value of the watermark is kept in an {@link ObjectStore}, which is persistent unless a different one is configured. Before
+ * each poll the stored value is exposed to the polled flow as the variable {@link #getVariableName()}. Once the flow completes
+ * successfully, the {@link #getSelector()} expression is evaluated against the resulting event and its value is merged into the
+ * stored one. Nothing is updated if the flow fails, even if its error handler continues, so the next poll fetches the same data
+ * again.
+ * <p/>
+ * The polling source holds the {@link Lock} returned by {@link #createLock()} for the whole poll, so that polls of the same flow
+ * don't overlap, either in this instance or in any other instance of the cluster. {@link #commit(Event)} holds it as well while
+ * it updates the stored value.
+ *
+ * @since 4.0
+ */
+public abstract class Watermark implements MuleContextAware, FlowConstructAware, Initialisable {
+
+  public static final String DEFAULT_VARIABLE_NAME = "watermark";
+
+  private String variableName = DEFAULT_VARIABLE_NAME;
+  private String selector;
+  private ObjectStore<Serializable> objectStore;
+  private String storeKey;
+  private String pendingStoreKey;
+
+  protected MuleContext muleContext;
+  protected FlowConstruct flowConstruct;
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (selector == null) {
+      throw new InitialisationException(initialisationFailure("A selector expression is required for the watermark"), this);
+    }
+    if (objectStore == null) {
+      objectStore = muleContext.getObjectStoreManager().getObjectStore(flowConstruct.getName() + ".watermark", true);
+    }
+    storeKey = format("%s-%s-watermark-%s", muleContext.getConfiguration().getId(), flowConstruct.getName(), variableName);
+    pendingStoreKey = storeKey + "-pending";
+  }
+
+  /**
+   * @return a {@link Lock} that is held by a single poll of the flow at a time across the whole cluster
+   */
+  public Lock createLock() {
+    return muleContext.getLockFactory().createLock(storeKey);
+  }
+
+  /**
+   * Exposes the current value of the watermark to the flow that is about to be polled.
+   *
+   * @param event the event that triggers the poll
+   * @return a copy of {@code event} with the watermark variable
+   * @throws MuleException if the value could not be retrieved
+   */
+  public Event begin(Event event) throws MuleException {
+    return Event.builder(event).addVariable(variableName, toVariable(retrieve(), event)).build();
+  }
+
+  /**
+   * Merges the value selected from the result of a successful poll into the stored value of the watermark.
+   * <p/>
+   * The update is done holding the {@link Lock} returned by {@link #createLock()}. The new value is stored under an intermediate
+   * key before the previous one is replaced, so the watermark is never left without a value if the update is interrupted.
+   *
+   * @param result the event resulting from the polled flow
+   * @throws MuleException if the value could not be selected or stored
+   */
+  public void commit(Event result) throws MuleException {
+    Object selected = muleContext.getExpressionManager().evaluate(selector, result, flowConstruct).getValue();
+    Lock lock = createLock();
+    lock.lock();
+    try {
+      Serializable current = retrieve();
+      Serializable updated = merge(current, selected);
+      if (!Objects.equals(current, updated)) {
+        replace(pendingStoreKey, updated);
+        replace(storeKey, updated);
+        objectStore.remove(pendingStoreKey);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @param selected the value of the selector expression
+   * @return the values contained in {@code selected} if it's an {@link Iterable} or an array, or {@code selected} otherwise
+   */
+  protected static Iterable<?> toIterable(Object selected) {
+    if (selected instanceof Iterable) {
+      return (Iterable<?>) selected;
+    } else if (selected instanceof Object[]) {
+      return asList((Object[]) selected);
+    } else {
+      return singletonList(selected);
+    }
+  }
+
+  private Serializable retrieve() throws ObjectStoreException {
+    // a pending value is the newest one, left by an update that didn't complete
+    if (objectStore.contains(pendingStoreKey)) {
+      return objectStore.retrieve(pendingStoreKey);
+    }
+    return objectStore.contains(storeKey) ? objectStore.retrieve(storeKey) : null;
+  }
+
+  private void replace(String key, Serializable value) throws ObjectStoreException {
+    if (objectStore.contains(key)) {
+      objectStore.remove(key);
+    }
+    objectStore.store(key, value);
+  }
+
+  /**
+   * @param stored the stored value of the watermark, or {@code null} if nothing has been stored yet
+   * @param event the event that triggers the poll
+   * @return the value of the variable exposed to the polled flow
+   * @throws MuleException if the value could not be created
+   */
+  protected abstract Object toVariable(Serializable stored, Event event) throws MuleException;
+
+  /**
+   * @param stored the stored value of the watermark, or {@code null} if nothing has been stored yet
+   * @param selected the value of the selector expression for the result of the poll
+   * @return the new value to store. If it's equal to {@code stored} nothing is updated
+   * @throws MuleException if {@code selected} can't be merged
+   */
+  protected abstract Serializable merge(Serializable stored, Object selected) throws MuleException;
+
+  /**
+   * @return the name of the variable through which the watermark is exposed to the polled flow
+   */
+  public String getVariableName() {
+    return variableName;
+  }
+
+  public void setVariableName(String variableName) {
+    this.variableName = variableName;
+  }
+
+  /**
+   * @return the expression that selects the new value of the watermark from the result of the polled flow
+   */
+  public String getSelector() {
+    return selector;
+  }
+
+  public void setSelector(String selector) {
+    this.selector = selector;
+  }
+
+  /**
+   * @return the {@link ObjectStore} where the value of the watermark is kept
+   */
+  public ObjectStore<Serializable> getObjectStore() {
+    return objectStore;
+  }
+
+  public void setObjectStore(ObjectStore<Serializable> objectStore) {
+    this.objectStore = objectStore;
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    this.muleContext = context;
+  }
+
+  @Override
+  public void setFlowConstruct(FlowConstruct flowConstruct) {
+    this.flowConstruct = flowConstruct;
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.streaming.bytes;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Implemented by {@link InputStream}s which read the contents of a local file, so that the components which consume them can
+ * obtain a {@link FileRegion} and transfer the file's contents without reading them through the stream.
+ *
+ * @since 4.0
+ */
+public interface FileContentStream {
+
+  /**
+   * @return the path of the file which contents are read by this stream
+   */
+  Path getPath();
+
+  /**
+   * @return whether any content has already been read from this stream, in which case its remaining contents are no longer
+   *         those of the whole file
+   */
+  boolean hasBeenRead();
+}
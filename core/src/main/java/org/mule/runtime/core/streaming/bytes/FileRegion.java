@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.streaming.bytes;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Optional.empty;
+import org.mule.runtime.api.streaming.CursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.AbstractCursorStreamProviderAdapter;
+import org.mule.runtime.core.internal.streaming.bytes.CursorStreamAdapter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * A region of a local file which can be transferred into a {@link WritableByteChannel} through
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which lets the operating system move the bytes without copying
+ * them through the heap when the target is a file or a socket.
+ * <p>
+ * Use {@link #from(Object)} to obtain the region of a file which is carried by a payload, so that the payload can be transferred
+ * without being read. Consumers should fall back to reading the payload when no region is available.
+ *
+ * @since 4.0
+ */
+public final class FileRegion {
+
+  private final Path path;
+  private final long position;
+  private final long length;
+
+  /**
+   * Resolves the region of a file which holds the contents that the given {@code content} would provide if read. This is the
+   * case of a {@link FileContentStream} which has not been read yet, and of the {@link CursorStreamProvider repeatable streams}
+   * and cursors created from one.
+   *
+   * @param content a payload or an {@link InputStream}
+   * @return the region of the file which holds the remaining contents of {@code content}, or an empty value if they don't come
+   *         straight from a file
+   * @throws IOException if the size of the file could not be obtained
+   */
+  public static Optional<FileRegion> from(Object content) throws IOException {
+    if (content instanceof FileContentStream) {
+      FileContentStream stream = (FileContentStream) content;
+      return stream.hasBeenRead() ? empty() : of(stream.getPath(), 0);
+    }
+
+    if (content instanceof CursorStreamAdapter) {
+      CursorStreamAdapter cursor = (CursorStreamAdapter) content;
+      Optional<Path> path = getSourcePath(cursor.getProvider());
+      return path.isPresent() ? of(path.get(), cursor.getPosition()) : empty();
+    }
+
+    if (content instanceof CursorStreamProvider) {
+      Optional<Path> path = getSourcePath((CursorStreamProvider) content);
+      return path.isPresent() ? of(path.get(), 0) : empty();
+    }
+
+    return empty();
+  }
+
+  /**
+   * @param path the path to a file
+   * @return the region which spans the whole file
+   * @throws IOException if the size of the file could not be obtained
+   */
+  public static FileRegion of(Path path) throws IOException {
+    return new FileRegion(path, 0, Files.size(path));
+  }
+
+  private static Optional<FileRegion> of(Path path, long position) throws IOException {
+    long size = Files.size(path);
+    return position <= size ? Optional.of(new FileRegion(path, position, size - position)) : empty();
+  }
+
+  private static Optional<Path> getSourcePath(CursorStreamProvider provider) {
+    if (provider instanceof AbstractCursorStreamProviderAdapter) {
+      InputStream wrappedStream = ((AbstractCursorStreamProviderAdapter) provider).getWrappedStream();
+      if (wrappedStream instanceof FileContentStream) {
+        return Optional.of(((FileContentStream) wrappedStream).getPath());
+      }
+    }
+    return empty();
+  }
+
+  private FileRegion(Path path, long position, long length) {
+    this.path = path;
+    this.position = position;
+    this.length = length;
+  }
+
+  /**
+   * Transfers the region into the given {@code target}, which is left open.
+   * <p>
+   * If the file shrinks while being transferred, the transfer stops at its end.
+   *
+   * @param target a blocking channel
+   * @return the amount of transferred bytes
+   * @throws IOException if the file could not be read or the target could not be written
+   */
+  public long transferTo(WritableByteChannel target) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, READ)) {
+      long transferred = 0;
+      while (transferred < length) {
+        long count = channel.transferTo(position + transferred, length - transferred, target);
+        if (count <= 0) {
+          break;
+        }
+        transferred += count;
+      }
+      return transferred;
+    }
+  }
+
+  /**
+   * @return the path of the file
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * @return the offset of the region within the file
+   */
+  public long getPosition() {
+    return position;
+  }
+
+  /**
+   * @return the size in bytes of the region
+   */
+  public long getLength() {
+    return length;
+  }
+}
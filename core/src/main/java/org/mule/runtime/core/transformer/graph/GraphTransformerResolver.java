@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.transformer.graph;
 
+import static java.util.Optional.empty;
+import static java.util.Optional.ofNullable;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.registry.ResolverException;
 import org.mule.runtime.core.api.registry.TransformerResolver;
@@ -14,16 +16,30 @@ import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import org.apache.commons.collections.map.LRUMap;
-
+/**
+ * Resolves the {@link Converter} for a pair of {@link DataType}s looking for conversion paths in a {@link TransformationGraph}
+ * built from the registered converters.
+ * <p/>
+ * Resolved converters are kept in a lookup table that is read without locking. The table is replaced by an empty one whenever a
+ * converter is added or removed, so the conversion paths are resolved again against the updated graph.
+ */
 public class GraphTransformerResolver implements TransformerResolver {
 
+  /**
+   * Limits the number of pairs kept in the lookup table, as data types with parameters like a multipart boundary may produce an
+   * unbounded number of different pairs. The table is cleared once it is full, so reads don't pay for tracking which pairs are
+   * used.
+   */
+  private static final int MAX_RESOLVED_PAIRS = 1000;
+
   private ReentrantReadWriteLock readWriteLock;
   private TransformationGraph graph;
   private CompositeConverterFilter converterFilter;
-  private LRUMap cache;
+  private volatile ConcurrentHashMap<DataTypePair, Optional<Transformer>> resolvedConverters;
   private TransformationGraphLookupStrategy lookupStrategyTransformation;
 
   public GraphTransformerResolver() {
@@ -32,71 +48,94 @@ public class GraphTransformerResolver implements TransformerResolver {
     lookupStrategyTransformation = new TransformationGraphLookupStrategy(graph);
     converterFilter = new CompositeConverterFilter(new TransformationLengthConverterFilter(),
                                                    new PriorityWeightingConverterFilter(), new NameConverterFilter());
-    cache = new LRUMap();
+    resolvedConverters = new ConcurrentHashMap<>();
   }
 
   @Override
   public Transformer resolve(DataType source, DataType result) throws ResolverException {
-    String cacheKey = getDataTypeSourceResultPairHash(source, result);
+    // Keeps the table being used, so a converter resolved against an outdated graph never ends up in a new table
+    final ConcurrentHashMap<DataTypePair, Optional<Transformer>> converters = resolvedConverters;
+    final DataTypePair key = new DataTypePair(source, result);
+
+    Optional<Transformer> converter = converters.get(key);
+    if (converter == null) {
+      converter = lookupConverter(source, result);
+      if (converters.size() >= MAX_RESOLVED_PAIRS) {
+        converters.clear();
+      }
+      converters.put(key, converter);
+    }
 
+    return converter.orElse(null);
+  }
+
+  private Optional<Transformer> lookupConverter(DataType source, DataType result) throws ResolverException {
+    List<Converter> converters;
+    // The graph is not thread safe, so lookups cannot run while it is being modified
     readWriteLock.readLock().lock();
     try {
-      if (cache.containsKey(cacheKey)) {
-        return (Converter) cache.get(cacheKey);
-      }
+      converters = converterFilter.filter(lookupStrategyTransformation.lookupConverters(source, result), source, result);
     } finally {
       readWriteLock.readLock().unlock();
     }
 
-    List<Converter> converters =
-        converterFilter.filter(lookupStrategyTransformation.lookupConverters(source, result), source, result);
-
     if (converters.size() > 1) {
       throw new ResolverException(CoreMessages.transformHasMultipleMatches(source.getType(), result.getType(), converters));
     }
 
-    Transformer converter = (converters.size() == 0) ? null : converters.get(0);
+    return converters.isEmpty() ? empty() : ofNullable(converters.get(0));
+  }
 
+  @Override
+  public void transformerChange(Transformer transformer, RegistryAction registryAction) {
+    if (!(transformer instanceof Converter)) {
+      return;
+    }
 
     readWriteLock.writeLock().lock();
     try {
-      cache.put(cacheKey, converter);
+      if (registryAction == RegistryAction.ADDED) {
+        graph.addConverter((Converter) transformer);
+      } else if (registryAction == RegistryAction.REMOVED) {
+        graph.removeConverter((Converter) transformer);
+      }
+
+      resolvedConverters = new ConcurrentHashMap<>();
     } finally {
       readWriteLock.writeLock().unlock();
     }
-
-    return converter;
   }
 
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    StringBuilder builder = new StringBuilder();
-    builder.append(source.getClass().getName());
-    builder.append(source.hashCode());
-    builder.append(":");
-    builder.append(result.getClass().getName());
-    builder.append(result.hashCode());
+  /**
+   * Key of the lookup table. The hash code is calculated once as keys are created for every lookup.
+   */
+  private static final class DataTypePair {
 
-    return builder.toString();
-  }
+    private final DataType source;
+    private final DataType result;
+    private final int hashCode;
 
-  @Override
-  public void transformerChange(Transformer transformer, RegistryAction registryAction) {
-    readWriteLock.writeLock().lock();
+    private DataTypePair(DataType source, DataType result) {
+      this.source = source;
+      this.result = result;
+      this.hashCode = 31 * source.hashCode() + result.hashCode();
+    }
 
-    try {
-      if (!(transformer instanceof Converter)) {
-        return;
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
       }
-
-      cache.clear();
-
-      if (registryAction == RegistryAction.ADDED) {
-        graph.addConverter((Converter) transformer);
-      } else if (registryAction == RegistryAction.REMOVED) {
-        graph.removeConverter((Converter) transformer);
+      if (!(o instanceof DataTypePair)) {
+        return false;
       }
-    } finally {
-      readWriteLock.writeLock().unlock();
+      DataTypePair other = (DataTypePair) o;
+      return hashCode == other.hashCode && source.equals(other.source) && result.equals(other.result);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
     }
   }
 }
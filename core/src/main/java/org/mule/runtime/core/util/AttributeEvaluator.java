@@ -79,7 +79,28 @@ public class AttributeEvaluator {
   public TypedValue resolveTypedValue(Event event, Event.Builder eventBuilder) {
     if (isExpression()) {
       return expressionManager.evaluate(attributeValue, event, eventBuilder, null);
-    } else if (isParseExpression()) {
+    } else {
+      return resolveNonExpressionTypedValue(event);
+    }
+  }
+
+  /**
+   * Resolves the attribute without keeping any mutation that the expression could perform on the event, so no
+   * {@link Event.Builder} has to be provided.
+   *
+   * @param event the event to resolve the attribute with
+   * @return the resolved value
+   */
+  public TypedValue resolveTypedValue(Event event) {
+    if (isExpression()) {
+      return expressionManager.evaluate(attributeValue, event);
+    } else {
+      return resolveNonExpressionTypedValue(event);
+    }
+  }
+
+  private TypedValue resolveNonExpressionTypedValue(Event event) {
+    if (isParseExpression()) {
       final String value = expressionManager.parse(attributeValue, event, null);
       return new TypedValue(value, DataType.builder().type(String.class).build());
     } else {
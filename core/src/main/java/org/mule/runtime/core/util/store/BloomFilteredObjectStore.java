@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.store.ListableObjectStore;
+import org.mule.runtime.core.api.store.ObjectStore;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import java.io.Serializable;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ObjectStore} which keeps the keys stored through it in a Bloom filter, so that {@link #contains(Serializable)} is
+ * answered in memory for keys that were never stored, and only the keys that may have been stored reach the wrapped store.
+ * <p/>
+ * The filter is split into generations. Keys are added to the newest generation, and a new one is started once it holds the
+ * expected amount of keys or a fraction of the entry TTL has elapsed. A generation is discarded once no key has been added to it
+ * for longer than the entry TTL, since by then the wrapped store has expired all of its keys. This keeps the memory of the filter
+ * proportional to the amount of keys stored within the TTL. Each generation is sized so that the combined false positive
+ * probability of the generations that cover the TTL stays within the given one.
+ * <p/>
+ * When initialised, the filter is seeded with the keys the wrapped store already holds, so that keys kept by a persistent store
+ * across restarts are not reported as missing. If the wrapped store is persistent but its keys cannot be listed, the filter is
+ * not trusted and {@link #contains(Serializable)} always reaches the wrapped store.
+ * <p/>
+ * Besides those, the filter only knows the keys stored through this instance. Keys stored in the wrapped store by other means,
+ * for example by another node of a cluster sharing the same store, may be reported as missing by
+ * {@link #contains(Serializable)}. {@link #store(Serializable, Serializable)} always reaches the wrapped store, so it still fails
+ * for a key that already exists.
+ * <p/>
+ * The lifecycle of the wrapped store is managed by this store.
+ *
+ * @since 4.0
+ */
+public class BloomFilteredObjectStore<T extends Serializable> implements ObjectStore<T>, Initialisable, Disposable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BloomFilteredObjectStore.class);
+
+  private static final int GENERATIONS_PER_TTL = 4;
+
+  private final ObjectStore<T> delegate;
+  private final int expectedInsertionsPerGeneration;
+  private final double generationFalsePositiveProbability;
+  private final long entryTTLNanos;
+  private final long generationTTLNanos;
+  private final LongSupplier nanoClock;
+  private final Deque<Generation> generations = new ConcurrentLinkedDeque<>();
+  private volatile boolean seeded;
+
+  /**
+   * Creates a new instance
+   *
+   * @param delegate the wrapped store
+   * @param expectedEntries the amount of keys expected to be stored within {@code entryTTL}
+   * @param falsePositiveProbability the probability of {@link #contains(Serializable)} reaching the wrapped store for a key that
+   *        was not stored, while no more than {@code expectedEntries} are stored within {@code entryTTL}
+   * @param entryTTL how many milliseconds the wrapped store keeps each entry. A non positive value means entries never expire
+   */
+  public BloomFilteredObjectStore(ObjectStore<T> delegate, int expectedEntries, double falsePositiveProbability, long entryTTL) {
+    this(delegate, expectedEntries, falsePositiveProbability, entryTTL, System::nanoTime);
+  }
+
+  BloomFilteredObjectStore(ObjectStore<T> delegate, int expectedEntries, double falsePositiveProbability, long entryTTL,
+                           LongSupplier nanoClock) {
+    checkArgument(expectedEntries > 0, "expectedEntries must be greater than zero");
+    checkArgument(falsePositiveProbability > 0 && falsePositiveProbability < 1,
+                  "falsePositiveProbability must be between 0 and 1");
+    this.delegate = delegate;
+    this.expectedInsertionsPerGeneration = Math.max(1, (expectedEntries + GENERATIONS_PER_TTL - 1) / GENERATIONS_PER_TTL);
+    this.generationFalsePositiveProbability = falsePositiveProbability / (GENERATIONS_PER_TTL + 1);
+    this.entryTTLNanos = entryTTL > 0 ? MILLISECONDS.toNanos(entryTTL) : 0;
+    this.generationTTLNanos = entryTTLNanos / GENERATIONS_PER_TTL;
+    this.nanoClock = nanoClock;
+  }
+
+  @Override
+  public boolean contains(Serializable key) throws ObjectStoreException {
+    if (key == null) {
+      throw new ObjectStoreException();
+    }
+    return (!seeded || mightContain(key.toString())) && delegate.contains(key);
+  }
+
+  /**
+   * Stores the value in the wrapped store. The key is added to the filter first, so that it is never reported as missing once
+   * the wrapped store has it.
+   */
+  @Override
+  public void store(Serializable key, T value) throws ObjectStoreException {
+    if (key == null) {
+      throw new ObjectStoreException();
+    }
+    currentGeneration().put(key.toString());
+    delegate.store(key, value);
+  }
+
+  @Override
+  public T retrieve(Serializable key) throws ObjectStoreException {
+    return delegate.retrieve(key);
+  }
+
+  /**
+   * Removes the key from the wrapped store. The filter keeps reporting it as a possible key until its generation is discarded.
+   */
+  @Override
+  public T remove(Serializable key) throws ObjectStoreException {
+    return delegate.remove(key);
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return delegate.isPersistent();
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    generations.clear();
+    delegate.clear();
+    seeded = true;
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    initialiseIfNeeded(delegate);
+    seed();
+  }
+
+  private void seed() {
+    if (delegate instanceof ListableObjectStore) {
+      try {
+        for (Serializable key : ((ListableObjectStore<T>) delegate).allKeys()) {
+          currentGeneration().put(key.toString());
+        }
+        seeded = true;
+      } catch (ObjectStoreException e) {
+        LOGGER.warn("Could not load the keys of the wrapped store, all the keys will be checked in it", e);
+      }
+    } else {
+      seeded = !delegate.isPersistent();
+    }
+  }
+
+  @Override
+  public void dispose() {
+    generations.clear();
+    disposeIfNeeded(delegate, LOGGER);
+  }
+
+  private boolean mightContain(String key) {
+    discardExpiredGenerations();
+    for (Generation generation : generations) {
+      if (generation.mightContain(key)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Generation currentGeneration() {
+    long now = nanoClock.getAsLong();
+    Generation current = generations.peekLast();
+    if (current == null || current.isComplete(now)) {
+      synchronized (generations) {
+        current = generations.peekLast();
+        if (current == null || current.isComplete(now)) {
+          current = new Generation(now);
+          generations.addLast(current);
+        }
+      }
+      discardExpiredGenerations();
+    }
+    return current;
+  }
+
+  private void discardExpiredGenerations() {
+    if (entryTTLNanos == 0) {
+      return;
+    }
+    long now = nanoClock.getAsLong();
+    Generation oldest;
+    while ((oldest = generations.peekFirst()) != null && oldest != generations.peekLast()
+        && now - oldest.lastInsertion > entryTTLNanos) {
+      generations.remove(oldest);
+    }
+  }
+
+  /**
+   * @return the amount of generations currently kept by the filter
+   */
+  int getGenerationCount() {
+    return generations.size();
+  }
+
+  private final class Generation {
+
+    private final BloomFilter<CharSequence> filter =
+        BloomFilter.create(Funnels.stringFunnel(UTF_8), expectedInsertionsPerGeneration, generationFalsePositiveProbability);
+    private final long created;
+    private volatile long lastInsertion;
+    private int insertions;
+
+    private Generation(long created) {
+      this.created = created;
+      this.lastInsertion = created;
+    }
+
+    private synchronized void put(String key) {
+      filter.put(key);
+      insertions++;
+      lastInsertion = nanoClock.getAsLong();
+    }
+
+    private synchronized boolean mightContain(String key) {
+      return filter.mightContain(key);
+    }
+
+    private synchronized boolean isComplete(long now) {
+      return insertions >= expectedInsertionsPerGeneration || (generationTTLNanos > 0 && now - created >= generationTTLNanos);
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.store.ListableObjectStore;
+import org.mule.runtime.core.api.store.ObjectStore;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ObjectStore} which spreads its keys across several stores according to their hash code, so that operations on
+ * different keys don't contend for the same store, and each store holds and expires a fraction of the entries.
+ * <p/>
+ * The lifecycle of the shards is managed by this store.
+ *
+ * @since 4.0
+ */
+public class ShardedObjectStore<T extends Serializable> implements ListableObjectStore<T>, Initialisable, Disposable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ShardedObjectStore.class);
+
+  private final List<ListableObjectStore<T>> shards;
+
+  /**
+   * @param shards the stores to spread the keys across. All of them must be either persistent or transient
+   */
+  public ShardedObjectStore(List<? extends ListableObjectStore<T>> shards) {
+    checkArgument(!shards.isEmpty(), "At least one shard is required");
+    this.shards = new ArrayList<>(shards);
+  }
+
+  private ListableObjectStore<T> shardFor(Serializable key) throws ObjectStoreException {
+    if (key == null) {
+      throw new ObjectStoreException();
+    }
+    return shards.get(Math.floorMod(key.hashCode(), shards.size()));
+  }
+
+  @Override
+  public boolean contains(Serializable key) throws ObjectStoreException {
+    return shardFor(key).contains(key);
+  }
+
+  @Override
+  public void store(Serializable key, T value) throws ObjectStoreException {
+    shardFor(key).store(key, value);
+  }
+
+  @Override
+  public T retrieve(Serializable key) throws ObjectStoreException {
+    return shardFor(key).retrieve(key);
+  }
+
+  @Override
+  public T remove(Serializable key) throws ObjectStoreException {
+    return shardFor(key).remove(key);
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return shards.get(0).isPersistent();
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    for (ObjectStore<T> shard : shards) {
+      shard.clear();
+    }
+  }
+
+  @Override
+  public void open() throws ObjectStoreException {
+    for (ListableObjectStore<T> shard : shards) {
+      shard.open();
+    }
+  }
+
+  @Override
+  public void close() throws ObjectStoreException {
+    for (ListableObjectStore<T> shard : shards) {
+      shard.close();
+    }
+  }
+
+  @Override
+  public List<Serializable> allKeys() throws ObjectStoreException {
+    List<Serializable> keys = new ArrayList<>();
+    for (ListableObjectStore<T> shard : shards) {
+      keys.addAll(shard.allKeys());
+    }
+    return keys;
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    for (ObjectStore<T> shard : shards) {
+      initialiseIfNeeded(shard);
+    }
+  }
+
+  @Override
+  public void dispose() {
+    for (ObjectStore<T> shard : shards) {
+      disposeIfNeeded(shard, LOGGER);
+    }
+  }
+
+  /**
+   * @return the amount of shards of this store
+   */
+  public int getShardCount() {
+    return shards.size();
+  }
+}
@@ -34,6 +34,7 @@ import java.util.function.Predicate;
 
 import javax.mail.Folder;
 import javax.mail.MessagingException;
+import javax.mail.search.SearchTerm;
 
 
 /**
@@ -87,12 +88,16 @@ public final class PagingProviderEmailDelegate<T extends BaseEmailAttributes>
    * For folder implementations (like IMAP) that support fetching without reading the content, if the content should NOT be read
    * ({@code shouldReadContent} = false) the SEEN flag is not going to be set. If {@code deleteAfterRead} flag is set to true, the
    * callback {@code deleteAfterReadCallback} is applied to each email.
+   * <p>
+   * The attributes of the whole block of emails are prefetched using the {@link javax.mail.FetchProfile} of the configuration.
    */
   private <T extends BaseEmailAttributes> List<Result<Object, T>> list(int startIndex, int endIndex) {
     Predicate<BaseEmailAttributes> matcher = matcherBuilder != null ? matcherBuilder.build() : e -> true;
     try {
       List<Result<Object, T>> retrievedEmails = new LinkedList<>();
-      for (javax.mail.Message m : folder.getMessages(startIndex, endIndex)) {
+      javax.mail.Message[] messages = getMessages(startIndex, endIndex);
+      folder.fetch(messages, configuration.getFetchProfile(folder));
+      for (javax.mail.Message m : messages) {
         Object emailContent = EMPTY;
         T attributes = configuration.parseAttributesFromMessage(m, folder);
         if (matcher.test(attributes)) {
@@ -122,6 +127,23 @@ public final class PagingProviderEmailDelegate<T extends BaseEmailAttributes>
     }
   }
 
+  /**
+   * Retrieves the messages numbered from {@code startIndex} up to {@code endIndex}, discarding in the server the ones that do not
+   * match the criteria it is able to evaluate.
+   * <p>
+   * The server side search is skipped when the emails are deleted after retrieval, as every retrieved email is deleted whether
+   * it matches or not.
+   */
+  private javax.mail.Message[] getMessages(int startIndex, int endIndex) throws MessagingException {
+    javax.mail.Message[] messages = folder.getMessages(startIndex, endIndex);
+    if (deleteAfterRetrieve || messages.length == 0) {
+      return messages;
+    }
+
+    Optional<SearchTerm> searchTerm = configuration.getSearchTerm(matcherBuilder);
+    return searchTerm.isPresent() ? folder.search(searchTerm.get(), messages) : messages;
+  }
+
   private Object readContent(javax.mail.Message m) {
     Object emailContent;
     EmailContentProcessor processor = EmailContentProcessor.getInstance(m);
@@ -7,9 +7,14 @@
 package org.mule.extension.email.internal.mailbox;
 
 import org.mule.extension.email.api.attributes.BaseEmailAttributes;
+import org.mule.extension.email.api.predicate.BaseEmailPredicateBuilder;
 
+import java.util.Optional;
+
+import javax.mail.FetchProfile;
 import javax.mail.Folder;
 import javax.mail.Message;
+import javax.mail.search.SearchTerm;
 
 /**
  * Generic contract for configurations that contains operations for retrieving and managing emails in a mailbox.
@@ -32,4 +37,22 @@ public interface MailboxAccessConfiguration {
    */
   <T extends BaseEmailAttributes> T parseAttributesFromMessage(Message message, Folder folder);
 
+  /**
+   * Resolves the items that must be prefetched for a whole page of messages, so parsing their attributes does not require a
+   * round trip to the server per message.
+   *
+   * @param folder the folder where the messages are stored.
+   * @return the {@link FetchProfile} to fetch the messages with.
+   */
+  FetchProfile getFetchProfile(Folder folder);
+
+  /**
+   * Resolves the part of a matcher that can be evaluated by the server, so messages that do not match it are not retrieved.
+   * The matcher is still evaluated in the client for every retrieved message.
+   *
+   * @param matcherBuilder the matcher used to filter the messages, may be null.
+   * @return the {@link SearchTerm} to search the messages with, or {@link Optional#empty()} if the server cannot evaluate it.
+   */
+  Optional<SearchTerm> getSearchTerm(BaseEmailPredicateBuilder matcherBuilder);
+
 }
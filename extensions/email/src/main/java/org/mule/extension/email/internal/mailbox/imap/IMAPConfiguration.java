@@ -6,8 +6,16 @@
  */
 package org.mule.extension.email.internal.mailbox.imap;
 
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static javax.mail.Flags.Flag.ANSWERED;
+import static javax.mail.Flags.Flag.DELETED;
+import static javax.mail.Flags.Flag.RECENT;
+import static javax.mail.Flags.Flag.SEEN;
 import org.mule.extension.email.api.attributes.BaseEmailAttributes;
 import org.mule.extension.email.api.attributes.IMAPEmailAttributes;
+import org.mule.extension.email.api.predicate.BaseEmailPredicateBuilder;
+import org.mule.extension.email.api.predicate.IMAPEmailPredicateBuilder;
 import org.mule.extension.email.internal.mailbox.MailboxAccessConfiguration;
 import org.mule.runtime.extension.api.annotation.Configuration;
 import org.mule.runtime.extension.api.annotation.Operations;
@@ -18,8 +26,18 @@ import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 
 import com.sun.mail.imap.IMAPFolder;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.mail.FetchProfile;
+import javax.mail.Flags;
 import javax.mail.Folder;
 import javax.mail.Message;
+import javax.mail.UIDFolder;
+import javax.mail.search.AndTerm;
+import javax.mail.search.FlagTerm;
+import javax.mail.search.SearchTerm;
 
 /**
  * Configuration for operations that are performed through the IMAP (Internet Message Access Protocol) protocol.
@@ -51,4 +69,50 @@ public class IMAPConfiguration implements MailboxAccessConfiguration {
   public <T extends BaseEmailAttributes> T parseAttributesFromMessage(Message message, Folder folder) {
     return (T) new IMAPEmailAttributes(message, (IMAPFolder) folder);
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Prefetches the headers, flags, structure and UID of the messages so all of them are obtained with a single FETCH command.
+   */
+  @Override
+  public FetchProfile getFetchProfile(Folder folder) {
+    FetchProfile fetchProfile = new FetchProfile();
+    fetchProfile.add(FetchProfile.Item.ENVELOPE);
+    fetchProfile.add(FetchProfile.Item.FLAGS);
+    fetchProfile.add(FetchProfile.Item.CONTENT_INFO);
+    fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+    fetchProfile.add(IMAPFolder.FetchProfileItem.HEADERS);
+    return fetchProfile;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The flags criteria of an {@link IMAPEmailPredicateBuilder} are evaluated by the server with a SEARCH command.
+   */
+  @Override
+  public Optional<SearchTerm> getSearchTerm(BaseEmailPredicateBuilder matcherBuilder) {
+    if (!(matcherBuilder instanceof IMAPEmailPredicateBuilder)) {
+      return empty();
+    }
+
+    IMAPEmailPredicateBuilder imapMatcherBuilder = (IMAPEmailPredicateBuilder) matcherBuilder;
+    List<SearchTerm> terms = new ArrayList<>();
+    addFlagTerm(terms, SEEN, imapMatcherBuilder.getSeen());
+    addFlagTerm(terms, ANSWERED, imapMatcherBuilder.getAnswered());
+    addFlagTerm(terms, DELETED, imapMatcherBuilder.getDeleted());
+    addFlagTerm(terms, RECENT, imapMatcherBuilder.getRecent());
+
+    if (terms.isEmpty()) {
+      return empty();
+    }
+    return of(terms.size() == 1 ? terms.get(0) : new AndTerm(terms.toArray(new SearchTerm[terms.size()])));
+  }
+
+  private void addFlagTerm(List<SearchTerm> terms, Flags.Flag flag, Boolean value) {
+    if (value != null) {
+      terms.add(new FlagTerm(new Flags(flag), value));
+    }
+  }
 }
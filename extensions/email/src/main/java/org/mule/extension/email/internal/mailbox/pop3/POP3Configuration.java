@@ -6,8 +6,10 @@
  */
 package org.mule.extension.email.internal.mailbox.pop3;
 
+import static java.util.Optional.empty;
 import org.mule.extension.email.api.attributes.BaseEmailAttributes;
 import org.mule.extension.email.api.attributes.POP3EmailAttributes;
+import org.mule.extension.email.api.predicate.BaseEmailPredicateBuilder;
 import org.mule.extension.email.internal.mailbox.MailboxAccessConfiguration;
 import org.mule.runtime.extension.api.annotation.Configuration;
 import org.mule.runtime.extension.api.annotation.Operations;
@@ -16,8 +18,13 @@ import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 
 import com.sun.mail.pop3.POP3Folder;
 
+import java.util.Optional;
+
+import javax.mail.FetchProfile;
 import javax.mail.Folder;
 import javax.mail.Message;
+import javax.mail.UIDFolder;
+import javax.mail.search.SearchTerm;
 
 /**
  * Configuration for operations that are performed through the POP3 (Post Office Protocol 3) protocol.
@@ -46,4 +53,27 @@ public class POP3Configuration implements MailboxAccessConfiguration {
   public <T extends BaseEmailAttributes> T parseAttributesFromMessage(Message message, Folder folder) {
     return (T) new POP3EmailAttributes(message, (POP3Folder) folder);
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Prefetches the UIDs of the messages with a single UIDL command. Headers are not prefetched as the pop3 protocol can only
+   * retrieve them one message at a time.
+   */
+  @Override
+  public FetchProfile getFetchProfile(Folder folder) {
+    FetchProfile fetchProfile = new FetchProfile();
+    fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+    return fetchProfile;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The pop3 protocol does not support searching in the server.
+   */
+  @Override
+  public Optional<SearchTerm> getSearchTerm(BaseEmailPredicateBuilder matcherBuilder) {
+    return empty();
+  }
 }
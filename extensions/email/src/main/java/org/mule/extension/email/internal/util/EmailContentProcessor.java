@@ -7,6 +7,7 @@
 package org.mule.extension.email.internal.util;
 
 import static javax.mail.Part.ATTACHMENT;
+import static org.mule.extension.email.internal.util.EmailConnectorConstants.MULTIPART;
 import static org.mule.extension.email.internal.util.EmailConnectorConstants.TEXT;
 
 import org.mule.extension.email.api.exception.EmailException;
@@ -90,9 +91,15 @@ public class EmailContentProcessor {
    */
   private void processPart(Part part, StringJoiner bodyCollector) {
     try {
+      if (isAttachment(part) && !part.isMimeType(MULTIPART)) {
+        // The content of a single part attachment is only read once, from its stream
+        processAttachment(part);
+        return;
+      }
+
       Object content = part.getContent();
       if (isMultipart(content)) {
-        Multipart mp = (Multipart) part.getContent();
+        Multipart mp = (Multipart) content;
         for (int i = 0; i < mp.getCount(); i++) {
           processPart(mp.getBodyPart(i), bodyCollector);
         }
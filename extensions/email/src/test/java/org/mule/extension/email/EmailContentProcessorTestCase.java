@@ -8,7 +8,11 @@ package org.mule.extension.email;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
+import static javax.mail.Part.ATTACHMENT;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mule.extension.email.util.EmailTestUtils.EMAIL_CONTENT;
 import static org.mule.extension.email.util.EmailTestUtils.EMAIL_JSON_ATTACHMENT_CONTENT;
 import static org.mule.extension.email.util.EmailTestUtils.EMAIL_JSON_ATTACHMENT_NAME;
@@ -17,12 +21,17 @@ import static org.mule.extension.email.util.EmailTestUtils.EMAIL_TEXT_PLAIN_ATTA
 import static org.mule.extension.email.util.EmailTestUtils.assertAttachmentContent;
 import static org.mule.extension.email.util.EmailTestUtils.getMultipartTestMessage;
 import static org.mule.extension.email.util.EmailTestUtils.getSinglePartTestMessage;
+import static org.mule.extension.email.util.EmailTestUtils.testSession;
 import org.mule.runtime.api.message.Message;
 import org.mule.extension.email.internal.util.EmailContentProcessor;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
 import java.util.List;
 
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+
 import org.junit.Test;
 
 public class EmailContentProcessorTestCase extends AbstractMuleTestCase {
@@ -49,4 +58,26 @@ public class EmailContentProcessorTestCase extends AbstractMuleTestCase {
     assertAttachmentContent(attachments, EMAIL_TEXT_PLAIN_ATTACHMENT_NAME, EMAIL_TEXT_PLAIN_ATTACHMENT_CONTENT.getBytes());
     assertAttachmentContent(attachments, EMAIL_JSON_ATTACHMENT_NAME, EMAIL_JSON_ATTACHMENT_CONTENT.getBytes());
   }
+
+  @Test
+  public void singlePartAttachmentContentIsReadOnce() throws Exception {
+    MimeBodyPart body = new MimeBodyPart();
+    body.setText(EMAIL_CONTENT);
+    MimeBodyPart attachment = new MimeBodyPart();
+    attachment.setDisposition(ATTACHMENT);
+    attachment.setFileName(EMAIL_TEXT_PLAIN_ATTACHMENT_NAME);
+    attachment.setText(EMAIL_TEXT_PLAIN_ATTACHMENT_CONTENT);
+    MimeBodyPart attachmentSpy = spy(attachment);
+
+    MimeMultipart multipart = new MimeMultipart();
+    multipart.addBodyPart(body);
+    multipart.addBodyPart(attachmentSpy);
+    MimeMessage message = new MimeMessage(testSession);
+    message.setContent(multipart);
+
+    List<Message> attachments = EmailContentProcessor.getInstance(message).getAttachments();
+    assertThat(attachments, hasSize(1));
+    assertAttachmentContent(attachments, EMAIL_TEXT_PLAIN_ATTACHMENT_NAME, EMAIL_TEXT_PLAIN_ATTACHMENT_CONTENT.getBytes());
+    verify(attachmentSpy, never()).getContent();
+  }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.email;
+
+import static javax.mail.Flags.Flag.DELETED;
+import static javax.mail.Flags.Flag.SEEN;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import org.mule.extension.email.api.predicate.IMAPEmailPredicateBuilder;
+import org.mule.extension.email.api.predicate.POP3EmailPredicateBuilder;
+import org.mule.extension.email.internal.mailbox.imap.IMAPConfiguration;
+import org.mule.extension.email.internal.mailbox.pop3.POP3Configuration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import com.sun.mail.imap.IMAPFolder;
+
+import javax.mail.FetchProfile;
+import javax.mail.Flags;
+import javax.mail.Folder;
+import javax.mail.UIDFolder;
+import javax.mail.search.AndTerm;
+import javax.mail.search.FlagTerm;
+import javax.mail.search.SearchTerm;
+
+import org.junit.Test;
+
+public class MailboxAccessConfigurationTestCase extends AbstractMuleTestCase {
+
+  private final IMAPConfiguration imapConfiguration = new IMAPConfiguration();
+  private final POP3Configuration pop3Configuration = new POP3Configuration();
+
+  @Test
+  public void imapPrefetchesAttributes() {
+    FetchProfile fetchProfile = imapConfiguration.getFetchProfile(mock(Folder.class));
+
+    assertThat(fetchProfile.contains(FetchProfile.Item.ENVELOPE), is(true));
+    assertThat(fetchProfile.contains(FetchProfile.Item.FLAGS), is(true));
+    assertThat(fetchProfile.contains(FetchProfile.Item.CONTENT_INFO), is(true));
+    assertThat(fetchProfile.contains(UIDFolder.FetchProfileItem.UID), is(true));
+    assertThat(fetchProfile.contains(IMAPFolder.FetchProfileItem.HEADERS), is(true));
+  }
+
+  @Test
+  public void pop3PrefetchesOnlyUids() {
+    FetchProfile fetchProfile = pop3Configuration.getFetchProfile(mock(Folder.class));
+
+    assertThat(fetchProfile.contains(UIDFolder.FetchProfileItem.UID), is(true));
+    assertThat(fetchProfile.contains(FetchProfile.Item.ENVELOPE), is(false));
+  }
+
+  @Test
+  public void imapSearchesSingleFlag() {
+    SearchTerm term = imapConfiguration.getSearchTerm(new IMAPEmailPredicateBuilder().setSeen(false)).get();
+
+    assertFlagTerm(term, SEEN, false);
+  }
+
+  @Test
+  public void imapSearchesAllFlags() {
+    SearchTerm term =
+        imapConfiguration.getSearchTerm(new IMAPEmailPredicateBuilder().setSeen(true).setDeleted(false)).get();
+
+    assertThat(term, instanceOf(AndTerm.class));
+    SearchTerm[] terms = ((AndTerm) term).getTerms();
+    assertThat(terms, arrayWithSize(2));
+    assertFlagTerm(terms[0], SEEN, true);
+    assertFlagTerm(terms[1], DELETED, false);
+  }
+
+  @Test
+  public void imapDoesNotSearchWithoutFlags() {
+    assertThat(imapConfiguration.getSearchTerm(new IMAPEmailPredicateBuilder().setSubjectRegex(".*")).isPresent(),
+               is(false));
+    assertThat(imapConfiguration.getSearchTerm(null).isPresent(), is(false));
+  }
+
+  @Test
+  public void pop3DoesNotSearch() {
+    assertThat(pop3Configuration.getSearchTerm(new POP3EmailPredicateBuilder()).isPresent(), is(false));
+  }
+
+  private void assertFlagTerm(SearchTerm term, Flags.Flag flag, boolean set) {
+    assertThat(term, instanceOf(FlagTerm.class));
+    FlagTerm flagTerm = (FlagTerm) term;
+    assertThat(flagTerm.getFlags().contains(flag), is(true));
+    assertThat(flagTerm.getTestSet(), is(set));
+  }
+}
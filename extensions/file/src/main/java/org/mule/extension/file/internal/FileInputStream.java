@@ -10,6 +10,8 @@ import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.extension.file.common.api.lock.PathLock;
 import org.mule.extension.file.common.api.stream.AbstractFileInputStream;
 import org.mule.extension.file.common.api.stream.LazyStreamSupplier;
+import org.mule.runtime.core.streaming.bytes.FileContentStream;
+import org.mule.runtime.core.streaming.bytes.FileRegion;
 
 import java.io.BufferedInputStream;
 import java.io.Reader;
@@ -24,10 +26,16 @@ import java.nio.file.Path;
  * This class also contains a {@link PathLock} which will be released when the stream is closed. However, this class will never
  * invoke the {@link PathLock#tryLock()} method on it, it's the responsibility of whomever is creating this instance to determine
  * if that lock is to be acquired.
+ * <p>
+ * As a {@link FileContentStream}, it lets consumers transfer the file through a {@link FileRegion} instead of reading it, as
+ * long as no content has been read from it yet.
  *
  * @since 4.0
  */
-public final class FileInputStream extends AbstractFileInputStream {
+public final class FileInputStream extends AbstractFileInputStream implements FileContentStream {
+
+  private final Path path;
+  private final LazyStreamSupplier streamSupplier;
 
   /**
    * Creates a new instance
@@ -36,7 +44,7 @@ public final class FileInputStream extends AbstractFileInputStream {
    * @param lock a {@link PathLock}
    */
   public FileInputStream(Path path, PathLock lock) {
-    super(new LazyStreamSupplier(() -> {
+    this(path, new LazyStreamSupplier(() -> {
       try {
         return new BufferedInputStream(Files.newInputStream(path));
       } catch (Exception e) {
@@ -45,4 +53,26 @@ public final class FileInputStream extends AbstractFileInputStream {
     }), lock);
   }
 
+  private FileInputStream(Path path, LazyStreamSupplier streamSupplier, PathLock lock) {
+    super(streamSupplier, lock);
+    this.path = path;
+    this.streamSupplier = streamSupplier;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean hasBeenRead() {
+    return streamSupplier.isSupplied();
+  }
+
 }
@@ -6,11 +6,17 @@
  */
 package org.mule.extension.file.internal.command;
 
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
 import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.command.CopyCommand;
 import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.runtime.core.streaming.bytes.FileRegion;
 import org.mule.runtime.core.util.FileUtils;
 
+import java.nio.channels.FileChannel;
 import java.nio.file.CopyOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -39,7 +45,8 @@ public final class LocalCopyCommand extends AbstractLocalCopyCommand implements
   }
 
   /**
-   * Implements recursive copy
+   * Implements recursive copy. Single files are transferred through a {@link FileRegion}, so that the operating system copies
+   * the bytes without moving them through the heap
    *
    * @param source the path to be copied
    * @param targetPath the path to the target destination
@@ -51,7 +58,10 @@ public final class LocalCopyCommand extends AbstractLocalCopyCommand implements
     if (Files.isDirectory(source)) {
       FileUtils.copyDirectory(source.toFile(), targetPath.toFile());
     } else {
-      Files.copy(source, targetPath, options);
+      try (FileChannel target = overwrite ? FileChannel.open(targetPath, CREATE, WRITE, TRUNCATE_EXISTING)
+          : FileChannel.open(targetPath, CREATE_NEW, WRITE)) {
+        FileRegion.of(source).transferTo(target);
+      }
     }
   }
 
@@ -17,20 +17,25 @@ import org.mule.extension.file.common.api.lock.NullPathLock;
 import org.mule.extension.file.common.api.lock.PathLock;
 import org.mule.extension.file.internal.LocalFileSystem;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.streaming.bytes.FileRegion;
 import org.mule.runtime.core.util.IOUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.FileAlreadyExistsException;
-import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Optional;
 
 /**
- * A {@link LocalFileCommand} which implements the {@link WriteCommand} contract
+ * A {@link LocalFileCommand} which implements the {@link WriteCommand} contract.
+ * <p>
+ * When the content comes straight from a local file, it's transferred through a {@link FileRegion} so that the operating
+ * system copies the bytes without moving them through the heap.
  *
  * @since 4.0
  */
@@ -58,8 +63,13 @@ public final class LocalWriteCommand extends LocalFileCommand implements WriteCo
     final OpenOption[] openOptions = getOpenOptions(mode);
     PathLock pathLock = lock ? fileSystem.lock(path, openOptions) : new NullPathLock();
 
-    try (OutputStream out = getOutputStream(path, openOptions, mode)) {
-      IOUtils.copy(content, out);
+    try (FileChannel channel = getChannel(path, openOptions, mode)) {
+      Optional<FileRegion> region = FileRegion.from(content);
+      if (region.isPresent()) {
+        region.get().transferTo(channel);
+      } else {
+        IOUtils.copy(content, Channels.newOutputStream(channel));
+      }
     } catch (AccessDeniedException e) {
       throw new FileAccessDeniedException(format("Could not write to file '%s' because access was denied by the operating system",
                                                  path),
@@ -73,9 +83,9 @@ public final class LocalWriteCommand extends LocalFileCommand implements WriteCo
     }
   }
 
-  private OutputStream getOutputStream(Path path, OpenOption[] openOptions, FileWriteMode mode) throws IOException {
+  private FileChannel getChannel(Path path, OpenOption[] openOptions, FileWriteMode mode) throws IOException {
     try {
-      return Files.newOutputStream(path, openOptions);
+      return FileChannel.open(path, openOptions);
     } catch (FileAlreadyExistsException e) {
       throw new org.mule.extension.file.common.api.exceptions.FileAlreadyExistsException(format(
                                                                                                 "Cannot write to path '%s' because it already exists and write mode '%s' was selected. "
@@ -7,6 +7,7 @@
 package org.mule.extension.ftp.internal;
 
 import static java.lang.String.format;
+import static java.lang.Thread.currentThread;
 
 import org.mule.extension.file.common.api.FileAttributes;
 import org.mule.extension.file.common.api.FileConnectorConfig;
@@ -20,10 +21,24 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Abstract implementation of {@link FtpCopyDelegate} for copying operations which require to FTP connections, one for reading the
  * source file and another for writing into the target path
+ * <p>
+ * When copying a directory with a {@link FtpConnector} which allows more than one
+ * {@link FtpConnector#getMaxConcurrentTransfers() concurrent transfer}, the directory is still traversed with the connection
+ * which requested the operation, but each file is transferred in the connector's transfer scheduler using a reader and a writer
+ * connection of its own. Instances are not to be reused across operations.
  *
  * @since 4.0
  */
@@ -31,6 +46,8 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
 
   private final FtpCommand command;
   private final FtpFileSystem fileSystem;
+  private final Set<Path> knownDirectories = new HashSet<>();
+  private ConcurrentTransfers concurrentTransfers;
 
   /**
    * Creates new instance
@@ -55,7 +72,7 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
     ConnectionHandler<FtpFileSystem> writerConnectionHandler;
     final FtpFileSystem writerConnection;
     try {
-      writerConnectionHandler = getWriterConnection(config);
+      writerConnectionHandler = getConnectionHandler(config);
       writerConnection = writerConnectionHandler.getConnection();
     } catch (ConnectionException e) {
       throw command
@@ -64,7 +81,8 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
     }
     try {
       if (source.isDirectory()) {
-        copyDirectory(config, Paths.get(source.getPath()), targetPath, overwrite, writerConnection);
+        copyDirectory(config, Paths.get(source.getPath()), targetPath, overwrite, writerConnection,
+                      ((FtpConnector) config).getMaxConcurrentTransfers());
       } else {
         copyFile(config, source, targetPath, overwrite, writerConnection);
       }
@@ -75,6 +93,23 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
     }
   }
 
+  private void copyDirectory(FileConnectorConfig config, Path sourcePath, Path target, boolean overwrite,
+                             FtpFileSystem writerConnection, int maxConcurrentTransfers) {
+    if (maxConcurrentTransfers <= 1) {
+      copyDirectory(config, sourcePath, target, overwrite, writerConnection);
+      return;
+    }
+
+    concurrentTransfers = new ConcurrentTransfers((FtpConnector) config, maxConcurrentTransfers);
+    try {
+      copyDirectory(config, sourcePath, target, overwrite, writerConnection);
+      concurrentTransfers.awaitCompletion();
+    } finally {
+      concurrentTransfers.cancel();
+      concurrentTransfers = null;
+    }
+  }
+
   /**
    * Performs a recursive copy of a directory
    *  @param config the config which is parameterizing this operation
@@ -87,7 +122,8 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
                                         FtpFileSystem writerConnection);
 
   /**
-   * Copies one individual file
+   * Copies one individual file. If concurrent transfers are enabled, the file is only scheduled to be copied, and the
+   * directory copy waits for it to complete before finishing
    *  @param config the config which is parameterizing this operation
    * @param source the {@link FileAttributes} for the file to be copied
    * @param target the target path
@@ -105,7 +141,27 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
       }
     }
 
-    try (InputStream inputStream = fileSystem.retrieveFileContent(source)) {
+    assureParentDirectoryExists(target, writerConnection);
+    if (concurrentTransfers == null) {
+      transfer(config, source, target, overwrite, fileSystem, writerConnection);
+    } else {
+      concurrentTransfers.submit(source, target, overwrite);
+    }
+  }
+
+  /**
+   * Transfers the contents of the {@code source} file into the {@code target} path, which parent directory already exists
+   *
+   * @param config the config which is parameterizing this operation
+   * @param source the {@link FileAttributes} for the file to be copied
+   * @param target the target path
+   * @param overwrite whether to overwrite the target file if it already exists
+   * @param readerConnection the {@link FtpFileSystem} which connects to the source endpoint
+   * @param writerConnection the {@link FtpFileSystem} which connects to the target endpoint
+   */
+  protected void transfer(FileConnectorConfig config, FileAttributes source, Path target, boolean overwrite,
+                          FtpFileSystem readerConnection, FtpFileSystem writerConnection) {
+    try (InputStream inputStream = readerConnection.retrieveFileContent(source)) {
       if (inputStream == null) {
         throw command
             .exception(format("Could not read file '%s' while trying to copy it to remote path '%s'", source.getPath(), target));
@@ -118,6 +174,17 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
     }
   }
 
+  private void assureParentDirectoryExists(Path target, FtpFileSystem writerConnection) {
+    Path parent = target.getParent();
+    if (parent == null || !knownDirectories.add(parent)) {
+      return;
+    }
+
+    if (command.getFile(parent.toString()) == null) {
+      writerConnection.createDirectory(parent.toString());
+    }
+  }
+
   private void writeCopy(FileConnectorConfig config, String targetPath, InputStream inputStream, boolean overwrite,
                          FtpFileSystem writerConnection)
       throws IOException {
@@ -125,7 +192,99 @@ public abstract class AbstractFtpCopyDelegate implements FtpCopyDelegate {
     writerConnection.write(targetPath, inputStream, mode, false, true, config.getDefaultWriteEncoding());
   }
 
-  private ConnectionHandler<FtpFileSystem> getWriterConnection(FileConnectorConfig config) throws ConnectionException {
+  private ConnectionHandler<FtpFileSystem> getConnectionHandler(FileConnectorConfig config) throws ConnectionException {
     return ((FtpConnector) config).getConnectionManager().getConnection(config);
   }
+
+  /**
+   * Runs the transfers of a directory copy in the transfer scheduler of a {@link FtpConnector}, each one with a reader and a
+   * writer connection of its own, keeping no more than a given amount of them in flight. Once a transfer fails, no new ones are
+   * accepted.
+   */
+  private final class ConcurrentTransfers {
+
+    private final FtpConnector config;
+    private final Semaphore permits;
+    private final List<Future<?>> transfers = new LinkedList<>();
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    private ConcurrentTransfers(FtpConnector config, int maxConcurrentTransfers) {
+      this.config = config;
+      permits = new Semaphore(maxConcurrentTransfers);
+    }
+
+    private void submit(FileAttributes source, Path target, boolean overwrite) {
+      checkFailure();
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        throw command.exception(format("Interrupted while waiting to copy file '%s' to '%s'", source.getPath(), target), e);
+      }
+
+      try {
+        transfers.add(config.getTransferScheduler().submit(() -> {
+          try {
+            transferWithOwnConnections(source, target, overwrite);
+          } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+          } finally {
+            permits.release();
+          }
+        }));
+      } catch (RejectedExecutionException e) {
+        permits.release();
+        throw command.exception(format("Could not schedule the copy of file '%s' to '%s'", source.getPath(), target), e);
+      }
+    }
+
+    private void transferWithOwnConnections(FileAttributes source, Path target, boolean overwrite) {
+      ConnectionHandler<FtpFileSystem> readerConnectionHandler = null;
+      ConnectionHandler<FtpFileSystem> writerConnectionHandler = null;
+      try {
+        // Both connections are obtained at once, otherwise every transfer could take a reader connection and then wait forever
+        // for a writer one once the pool is exhausted
+        synchronized (config.getTransferConnectionsLock()) {
+          readerConnectionHandler = getConnectionHandler(config);
+          writerConnectionHandler = getConnectionHandler(config);
+        }
+        transfer(config, source, target, overwrite, readerConnectionHandler.getConnection(),
+                 writerConnectionHandler.getConnection());
+      } catch (ConnectionException e) {
+        throw command.exception(format("Could not obtain connections to copy file '%s' to '%s'", source.getPath(), target), e);
+      } finally {
+        if (readerConnectionHandler != null) {
+          readerConnectionHandler.release();
+        }
+        if (writerConnectionHandler != null) {
+          writerConnectionHandler.release();
+        }
+      }
+    }
+
+    private void awaitCompletion() {
+      for (Future<?> transfer : transfers) {
+        try {
+          transfer.get();
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+          throw command.exception("Interrupted while waiting for the files of a directory to be copied", e);
+        } catch (ExecutionException e) {
+          failure.compareAndSet(null, command.exception("Found exception copying a file", e));
+        }
+      }
+      checkFailure();
+    }
+
+    private void checkFailure() {
+      RuntimeException e = failure.get();
+      if (e != null) {
+        throw e;
+      }
+    }
+
+    private void cancel() {
+      transfers.forEach(transfer -> transfer.cancel(true));
+    }
+  }
 }
@@ -6,6 +6,8 @@
  */
 package org.mule.extension.ftp.internal;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED_TAB;
 import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.FilePredicateBuilder;
 import org.mule.extension.file.common.api.exceptions.FileError;
@@ -15,7 +17,13 @@ import org.mule.extension.ftp.api.ftp.ClassicFtpFileAttributes;
 import org.mule.extension.ftp.api.sftp.SftpFileAttributes;
 import org.mule.extension.ftp.internal.ftp.connection.ClassicFtpConnectionProvider;
 import org.mule.extension.ftp.internal.sftp.connection.SftpConnectionProvider;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.connector.ConnectionManager;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
 import org.mule.runtime.extension.api.annotation.Export;
 import org.mule.runtime.extension.api.annotation.Extension;
 import org.mule.runtime.extension.api.annotation.Operations;
@@ -23,6 +31,10 @@ import org.mule.runtime.extension.api.annotation.SubTypeMapping;
 import org.mule.runtime.extension.api.annotation.connectivity.ConnectionProviders;
 import org.mule.runtime.extension.api.annotation.dsl.xml.Xml;
 import org.mule.runtime.extension.api.annotation.error.ErrorTypes;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
 
 import javax.inject.Inject;
 
@@ -38,15 +50,71 @@ import javax.inject.Inject;
 @Export(classes = {SftpFileAttributes.class, ClassicFtpFileAttributes.class, FtpFileAttributes.class})
 @ErrorTypes(FileError.class)
 @Xml(prefix = "ftp")
-public class FtpConnector extends FileConnectorConfig {
+public class FtpConnector extends FileConnectorConfig implements Initialisable, Disposable {
 
   public static final String FTP_PROTOCOL = "ftp";
 
   @Inject
   private ConnectionManager connectionManager;
 
+  @Inject
+  private SchedulerService schedulerService;
+
+  @Inject
+  private MuleContext muleContext;
+
+  /**
+   * The maximum amount of files which are transferred at the same time when copying a directory. Each transfer uses two
+   * connections of its own, one for reading and another one for writing, so the connection pool should allow at least twice
+   * this amount of active connections, plus the two used to traverse the directory. With a smaller pool the transfers wait
+   * for each other's connections, as long as it allows at least four active connections.
+   * <p>
+   * Defaults to {@code 1}, which copies one file at a time
+   */
+  @Parameter
+  @Optional(defaultValue = "1")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("The maximum amount of files transferred at the same time when copying a directory")
+  private int maxConcurrentTransfers = 1;
+
+  private Scheduler transferScheduler;
+  private final Object transferConnectionsLock = new Object();
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (maxConcurrentTransfers > 1) {
+      transferScheduler = schedulerService.ioScheduler();
+    }
+  }
+
+  @Override
+  public void dispose() {
+    if (transferScheduler != null) {
+      transferScheduler.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+    }
+  }
 
   public ConnectionManager getConnectionManager() {
     return connectionManager;
   }
+
+  public int getMaxConcurrentTransfers() {
+    return maxConcurrentTransfers;
+  }
+
+  /**
+   * @return the {@link Scheduler} in which concurrent transfers run, or {@code null} if {@link #getMaxConcurrentTransfers()} is
+   *         not greater than one
+   */
+  public Scheduler getTransferScheduler() {
+    return transferScheduler;
+  }
+
+  /**
+   * @return the lock which has to be held while obtaining the pair of connections of a concurrent transfer, so that transfers
+   *         don't hold one connection each while waiting for a second one
+   */
+  Object getTransferConnectionsLock() {
+    return transferConnectionsLock;
+  }
 }
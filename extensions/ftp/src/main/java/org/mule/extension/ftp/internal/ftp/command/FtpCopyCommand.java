@@ -78,10 +78,10 @@ public final class FtpCopyCommand extends ClassicFtpCommand implements CopyComma
     }
 
     @Override
-    protected void copyFile(FileConnectorConfig config, FileAttributes source, Path target, boolean overwrite,
-                            FtpFileSystem writerConnection) {
-      super.copyFile(config, source, target, overwrite, writerConnection);
-      fileSystem.awaitCommandCompletion();
+    protected void transfer(FileConnectorConfig config, FileAttributes source, Path target, boolean overwrite,
+                            FtpFileSystem readerConnection, FtpFileSystem writerConnection) {
+      super.transfer(config, source, target, overwrite, readerConnection, writerConnection);
+      ((ClassicFtpFileSystem) readerConnection).awaitCommandCompletion();
     }
   }
 }
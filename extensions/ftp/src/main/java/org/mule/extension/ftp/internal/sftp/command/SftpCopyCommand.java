@@ -6,6 +6,9 @@
  */
 package org.mule.extension.ftp.internal.sftp.command;
 
+import static java.lang.String.format;
+import static org.mule.extension.file.common.api.FileWriteMode.OVERWRITE;
+import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.extension.file.common.api.FileAttributes;
 import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.command.CopyCommand;
@@ -14,10 +17,16 @@ import org.mule.extension.ftp.internal.ftp.command.FtpCommand;
 import org.mule.extension.ftp.internal.ftp.connection.FtpFileSystem;
 import org.mule.extension.ftp.internal.sftp.connection.SftpClient;
 import org.mule.extension.ftp.internal.sftp.connection.SftpFileSystem;
+import org.mule.runtime.core.util.IOUtils;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import org.apache.commons.io.output.CountingOutputStream;
+import org.slf4j.Logger;
+
 /**
  * A {@link SftpCommand} which implements the {@link CopyCommand} contract
  *
@@ -25,6 +34,9 @@ import java.nio.file.Paths;
  */
 public class SftpCopyCommand extends SftpCommand implements CopyCommand {
 
+  private static final Logger LOGGER = getLogger(SftpCopyCommand.class);
+  private static final int MAX_TRANSFER_ATTEMPTS = 3;
+
   /**
    * {@inheritDoc}
    */
@@ -63,5 +75,43 @@ public class SftpCopyCommand extends SftpCommand implements CopyCommand {
         }
       }
     }
+
+    @Override
+    protected void transfer(FileConnectorConfig config, FileAttributes source, Path target, boolean overwrite,
+                            FtpFileSystem readerConnection, FtpFileSystem writerConnection) {
+      SftpCopyCommand.this.transfer(((SftpFileSystem) readerConnection).getClient(),
+                                    ((SftpFileSystem) writerConnection).getClient(), source.getPath(), target);
+    }
+  }
+
+  /**
+   * Transfers a file through the given clients. If the transfer fails after part of the contents were written, it's attempted
+   * again from the start, up to {@code MAX_TRANSFER_ATTEMPTS} times in total.
+   * <p/>
+   * Writes are pipelined, so the size of the target file after a failure doesn't mean that every byte below it was written.
+   * Resuming from it could leave holes in the file, that's why the target is overwritten on each attempt.
+   *
+   * @param reader the client which reads the source file
+   * @param writer the client which writes the target file
+   * @param sourcePath the path of the file to copy
+   * @param target the path to copy the file to
+   */
+  void transfer(SftpClient reader, SftpClient writer, String sourcePath, Path target) {
+    for (int attempt = 1;; attempt++) {
+      CountingOutputStream progress = null;
+      try (InputStream inputStream = reader.getFileContent(sourcePath);
+          OutputStream outputStream = writer.getOutputStream(target.toString(), OVERWRITE)) {
+        progress = new CountingOutputStream(outputStream);
+        IOUtils.copyLarge(inputStream, progress);
+        return;
+      } catch (Exception e) {
+        // Failures before any content is transferred are not likely to be transient
+        if (attempt == MAX_TRANSFER_ATTEMPTS || progress == null || progress.getByteCount() == 0) {
+          throw exception(format("Found exception while trying to copy file '%s' to remote path '%s'", sourcePath, target), e);
+        }
+        LOGGER.warn("Copy of file '{}' to '{}' failed after transferring {} bytes, starting it over", sourcePath, target,
+                    progress.getByteCount(), e);
+      }
+    }
   }
 }
@@ -17,6 +17,8 @@ import org.mule.runtime.core.util.collection.ImmutableListCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -43,7 +45,8 @@ public class SftpClient {
   public static final String CHANNEL_SFTP = "sftp";
   public static final String STRICT_HOST_KEY_CHECKING = "StrictHostKeyChecking";
   public static final String PREFERRED_AUTHENTICATION_METHODS = "PreferredAuthentications";
-
+  public static final int DEFAULT_PIPELINED_REQUESTS = 64;
+  public static final int DEFAULT_TRANSFER_BUFFER_SIZE = 64 * 1024;
 
   private ChannelSftp sftp;
   private JSch jsch;
@@ -56,6 +59,8 @@ public class SftpClient {
   private String knownHostsFile;
   private String preferredAuthenticationMethods;
   private long connectionTimeoutMillis = 0; // No timeout by default
+  private int pipelinedRequests = DEFAULT_PIPELINED_REQUESTS;
+  private int transferBufferSize = DEFAULT_TRANSFER_BUFFER_SIZE;
 
   /**
    * Creates a new instance which connects to a server on a given {@code host} and {@code port}
@@ -153,6 +158,7 @@ public class SftpClient {
     channel.connect();
 
     sftp = (ChannelSftp) channel;
+    sftp.setBulkRequests(pipelinedRequests);
   }
 
   private void configureSession(String user) throws JSchException {
@@ -257,7 +263,7 @@ public class SftpClient {
    */
   public InputStream getFileContent(String path) {
     try {
-      return sftp.get(path);
+      return new BufferedInputStream(sftp.get(path), transferBufferSize);
     } catch (SftpException e) {
       throw exception("Exception was found trying to retrieve the contents of file " + path, e);
     }
@@ -276,14 +282,15 @@ public class SftpClient {
   }
 
   /**
-   * Opens an {@link OutputStream} which allows writing into the file pointed by {@code path}
+   * Opens an {@link OutputStream} which allows writing into the file pointed by {@code path}. Written data is sent in chunks of
+   * the configured transfer buffer size, without waiting for each chunk to be acknowledged before sending the next one.
    *
    * @param path the path to write into
    * @param mode the write mode
    * @return an {@link OutputStream}
    */
   public OutputStream getOutputStream(String path, FileWriteMode mode) throws Exception {
-    return sftp.put(path, toInt(mode));
+    return new BufferedOutputStream(sftp.put(path, toInt(mode)), transferBufferSize);
   }
 
   private int toInt(FileWriteMode mode) {
@@ -361,4 +368,19 @@ public class SftpClient {
   public void setConnectionTimeoutMillis(long connectionTimeoutMillis) {
     this.connectionTimeoutMillis = connectionTimeoutMillis;
   }
+
+  /**
+   * @param pipelinedRequests how many read or write requests are sent to the server without waiting for the previous ones to be
+   *        answered. Must be set before logging in
+   */
+  public void setPipelinedRequests(int pipelinedRequests) {
+    this.pipelinedRequests = pipelinedRequests;
+  }
+
+  /**
+   * @param transferBufferSize the size in bytes of the buffers used to read and write file contents
+   */
+  public void setTransferBufferSize(int transferBufferSize) {
+    this.transferBufferSize = transferBufferSize;
+  }
 }
@@ -7,7 +7,10 @@
 package org.mule.extension.ftp.internal.sftp.connection;
 
 import static java.lang.String.format;
+import static org.mule.extension.ftp.internal.sftp.connection.SftpClient.DEFAULT_PIPELINED_REQUESTS;
+import static org.mule.extension.ftp.internal.sftp.connection.SftpClient.DEFAULT_TRANSFER_BUFFER_SIZE;
 import static org.mule.runtime.extension.api.annotation.param.ParameterGroup.CONNECTION;
+import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED_TAB;
 import com.jcraft.jsch.JSchException;
 import org.mule.extension.file.common.api.exceptions.FileError;
 import org.mule.extension.ftp.api.FTPConnectionException;
@@ -21,6 +24,8 @@ import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.param.ParameterGroup;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
 
 import com.google.common.base.Joiner;
 
@@ -61,6 +66,26 @@ public class SftpConnectionProvider extends AbstractFtpConnectionProvider<SftpFi
   @Optional
   private String knownHostsFile;
 
+  /**
+   * How many read or write requests are sent to the server without waiting for the previous ones to be answered. Transfers over
+   * high latency links are limited by this amount rather than by the bandwidth, so increasing it speeds them up at the cost of
+   * more memory per transfer.
+   */
+  @Parameter
+  @Optional(defaultValue = "64")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("How many read or write requests are sent to the server without waiting for the previous ones to be answered")
+  private int pipelinedRequests = DEFAULT_PIPELINED_REQUESTS;
+
+  /**
+   * The size in bytes of the buffers used to read and write file contents
+   */
+  @Parameter
+  @Optional(defaultValue = "65536")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("The size in bytes of the buffers used to read and write file contents")
+  private int transferBufferSize = DEFAULT_TRANSFER_BUFFER_SIZE;
+
   private SftpClientFactory clientFactory = new SftpClientFactory();
 
   @Override
@@ -73,6 +98,8 @@ public class SftpConnectionProvider extends AbstractFtpConnectionProvider<SftpFi
       client.setPreferredAuthenticationMethods(Joiner.on(",").join(preferredAuthenticationMethods));
     }
     client.setKnownHostsFile(knownHostsFile);
+    client.setPipelinedRequests(pipelinedRequests);
+    client.setTransferBufferSize(transferBufferSize);
     try {
       client.login(connectionSettings.getUsername());
     } catch (JSchException e) {
@@ -116,6 +143,14 @@ public class SftpConnectionProvider extends AbstractFtpConnectionProvider<SftpFi
     this.knownHostsFile = knownHostsFile;
   }
 
+  void setPipelinedRequests(int pipelinedRequests) {
+    this.pipelinedRequests = pipelinedRequests;
+  }
+
+  void setTransferBufferSize(int transferBufferSize) {
+    this.transferBufferSize = transferBufferSize;
+  }
+
   void setClientFactory(SftpClientFactory clientFactory) {
     this.clientFactory = clientFactory;
   }
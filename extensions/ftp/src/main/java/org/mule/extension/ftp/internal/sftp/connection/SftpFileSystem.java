@@ -119,6 +119,13 @@ public class SftpFileSystem extends FtpFileSystem {
     return client.getFileContent(filePayload.getPath());
   }
 
+  /**
+   * @return the {@link SftpClient} used by this file system
+   */
+  public SftpClient getClient() {
+    return client;
+  }
+
   /**
    * {@inheritDoc}
    */
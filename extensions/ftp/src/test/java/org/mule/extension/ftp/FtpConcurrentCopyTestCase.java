@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ftp;
+
+import static java.lang.String.format;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import org.mule.extension.FtpTestHarness;
+
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+/**
+ * Copies directories transferring several files at the same time, with a connection pool smaller than the amount of connections
+ * that all the transfers would need at once.
+ */
+public class FtpConcurrentCopyTestCase extends FtpConnectorTestCase {
+
+  private static final String SOURCE_DIRECTORY_NAME = "source";
+  private static final String SUB_DIRECTORY_NAME = "sub";
+  private static final String TARGET_DIRECTORY = "target";
+  private static final int FILE_COUNT = 10;
+
+  public FtpConcurrentCopyTestCase(String name, FtpTestHarness testHarness) {
+    super(name, testHarness);
+  }
+
+  @Override
+  protected String getConfigFile() {
+    return "ftp-concurrent-copy-config.xml";
+  }
+
+  @Test
+  public void directoryIsCopiedConcurrently() throws Exception {
+    testHarness.makeDir(SOURCE_DIRECTORY_NAME);
+    testHarness.makeDir(format("%s/%s", SOURCE_DIRECTORY_NAME, SUB_DIRECTORY_NAME));
+    for (int i = 0; i < FILE_COUNT; i++) {
+      testHarness.write(SOURCE_DIRECTORY_NAME, fileName(i), content(i));
+      testHarness.write(format("%s/%s", SOURCE_DIRECTORY_NAME, SUB_DIRECTORY_NAME), fileName(i), content(i));
+    }
+    testHarness.makeDir(TARGET_DIRECTORY);
+
+    flowRunner("copy").withVariable("source", Paths.get(testHarness.getWorkingDirectory(), SOURCE_DIRECTORY_NAME).toString())
+        .withVariable("target", TARGET_DIRECTORY).withVariable("overwrite", false).withVariable("createParent", false).run();
+
+    for (int i = 0; i < FILE_COUNT; i++) {
+      assertThat(readPathAsString(format("%s/%s/%s", TARGET_DIRECTORY, SOURCE_DIRECTORY_NAME, fileName(i))),
+                 equalTo(content(i)));
+      assertThat(readPathAsString(format("%s/%s/%s/%s", TARGET_DIRECTORY, SOURCE_DIRECTORY_NAME, SUB_DIRECTORY_NAME,
+                                         fileName(i))),
+                 equalTo(content(i)));
+    }
+  }
+
+  private String fileName(int index) {
+    return format("file%d.txt", index);
+  }
+
+  private String content(int index) {
+    return format("content of file %d", index);
+  }
+}
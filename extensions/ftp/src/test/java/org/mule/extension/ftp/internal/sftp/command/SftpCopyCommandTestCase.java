@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ftp.internal.sftp.command;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.extension.file.common.api.FileWriteMode.APPEND;
+import static org.mule.extension.file.common.api.FileWriteMode.OVERWRITE;
+import org.mule.extension.file.common.api.FileWriteMode;
+import org.mule.extension.ftp.internal.sftp.connection.SftpClient;
+import org.mule.extension.ftp.internal.sftp.connection.SftpFileSystem;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+@SmallTest
+public class SftpCopyCommandTestCase extends AbstractMuleTestCase {
+
+  private static final String SOURCE_PATH = "/source/file.txt";
+  private static final Path TARGET_PATH = Paths.get("/target/file.txt");
+  private static final String CONTENT = "Hello World!";
+  private static final int FAILURE_OFFSET = 5;
+
+  private final SftpClient reader = mock(SftpClient.class);
+  private final SftpClient writer = mock(SftpClient.class);
+  private final SftpCopyCommand command = new SftpCopyCommand(mock(SftpFileSystem.class), reader);
+
+  @Test
+  public void failedWriteIsRestartedFromTheBeginning() throws Exception {
+    ByteArrayOutputStream target = new ByteArrayOutputStream();
+    when(reader.getFileContent(SOURCE_PATH)).thenReturn(stream(CONTENT), stream(CONTENT));
+    when(writer.getOutputStream(TARGET_PATH.toString(), OVERWRITE)).thenReturn(failingOutputStream(), target);
+
+    command.transfer(reader, writer, SOURCE_PATH, TARGET_PATH);
+
+    assertThat(new String(target.toByteArray(), UTF_8), equalTo(CONTENT));
+    verify(reader, times(2)).getFileContent(SOURCE_PATH);
+    verify(writer, times(2)).getOutputStream(TARGET_PATH.toString(), OVERWRITE);
+    verify(writer, never()).getOutputStream(TARGET_PATH.toString(), APPEND);
+  }
+
+  @Test
+  public void failedReadIsRestartedFromTheBeginning() throws Exception {
+    ByteArrayOutputStream target = new ByteArrayOutputStream();
+    when(reader.getFileContent(SOURCE_PATH)).thenReturn(failingStream(CONTENT.substring(0, FAILURE_OFFSET)), stream(CONTENT));
+    when(writer.getOutputStream(TARGET_PATH.toString(), OVERWRITE)).thenReturn(new ByteArrayOutputStream(), target);
+
+    command.transfer(reader, writer, SOURCE_PATH, TARGET_PATH);
+
+    assertThat(new String(target.toByteArray(), UTF_8), equalTo(CONTENT));
+    verify(writer, never()).getOutputStream(TARGET_PATH.toString(), APPEND);
+  }
+
+  @Test
+  public void transferWithoutProgressIsNotRetried() throws Exception {
+    when(reader.getFileContent(SOURCE_PATH)).thenReturn(failingStream(""));
+    when(writer.getOutputStream(TARGET_PATH.toString(), OVERWRITE)).thenReturn(new ByteArrayOutputStream());
+
+    assertTransferFails();
+    verify(reader).getFileContent(SOURCE_PATH);
+  }
+
+  @Test
+  public void transferIsRetriedUpToMaxAttempts() throws Exception {
+    when(reader.getFileContent(SOURCE_PATH)).thenReturn(stream(CONTENT), stream(CONTENT), stream(CONTENT));
+    when(writer.getOutputStream(eq(TARGET_PATH.toString()), any(FileWriteMode.class)))
+        .thenReturn(failingOutputStream(), failingOutputStream(), failingOutputStream());
+
+    assertTransferFails();
+    verify(reader, times(3)).getFileContent(SOURCE_PATH);
+  }
+
+  private void assertTransferFails() {
+    try {
+      command.transfer(reader, writer, SOURCE_PATH, TARGET_PATH);
+      fail("Transfer should have failed");
+    } catch (RuntimeException e) {
+      // expected
+    }
+  }
+
+  private InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(UTF_8));
+  }
+
+  private InputStream failingStream(String content) {
+    return new InputStream() {
+
+      private final InputStream delegate = stream(content);
+
+      @Override
+      public int read() throws IOException {
+        int read = delegate.read();
+        if (read == -1) {
+          throw new IOException("expected failure");
+        }
+        return read;
+      }
+    };
+  }
+
+  private OutputStream failingOutputStream() {
+    return new OutputStream() {
+
+      private int written = 0;
+
+      @Override
+      public void write(int b) throws IOException {
+        if (written == FAILURE_OFFSET) {
+          throw new IOException("expected failure");
+        }
+        written++;
+      }
+    };
+  }
+}
@@ -8,8 +8,11 @@
 package org.mule.extension.http.internal.listener;
 
 import static java.lang.String.format;
+import static java.util.Optional.empty;
 import static org.mule.extension.http.internal.multipart.HttpMultipartEncoder.createFrom;
 import static org.mule.extension.http.internal.multipart.HttpMultipartEncoder.createMultipartContent;
+import static org.mule.extension.http.internal.multipart.HttpMultipartEncoder.createMultipartStream;
+import static org.mule.extension.http.internal.multipart.HttpMultipartEncoder.withBoundary;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
 import static org.mule.runtime.api.metadata.MediaType.ANY;
@@ -36,20 +39,24 @@ import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.exception.MessagingException;
 import org.mule.runtime.core.internal.transformer.simple.ObjectToByteArray;
+import org.mule.runtime.core.streaming.bytes.FileRegion;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.service.http.api.domain.ParameterMap;
 import org.mule.service.http.api.domain.entity.ByteArrayHttpEntity;
 import org.mule.service.http.api.domain.entity.EmptyHttpEntity;
 import org.mule.service.http.api.domain.entity.HttpEntity;
 import org.mule.service.http.api.domain.entity.InputStreamHttpEntity;
+import org.mule.service.http.api.domain.entity.multipart.HttpPart;
 import org.mule.service.http.api.domain.entity.multipart.MultipartHttpEntity;
 import org.mule.service.http.api.domain.message.response.HttpResponse;
 import org.mule.service.http.api.domain.message.response.HttpResponseBuilder;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -143,11 +150,32 @@ public class HttpResponseFactory {
       } else if (!configuredContentType.startsWith(MULTIPART)) {
         warnNoMultipartContentTypeButMultipartEntity(httpResponseHeaderBuilder.getContentType());
       }
-      httpEntity = createMultipartEntity(httpResponseHeaderBuilder.getContentType(), (MultiPartPayload) payload);
-      resolveEncoding(httpResponseHeaderBuilder, existingTransferEncoding, existingContentLength, supportsTransferEncoding,
-                      (ByteArrayHttpEntity) httpEntity);
+      final String multipartContentType = httpResponseHeaderBuilder.getContentType();
+      final MultipartHttpEntity multipartEntity = createMultipartEntity((MultiPartPayload) payload);
+      // parts which are streams are encoded as they are sent, unless the response has to declare its length
+      if (supportsTransferEncoding && (responseStreaming == HttpStreamingType.ALWAYS
+          || (responseStreaming == HttpStreamingType.AUTO && existingContentLength == null
+              && hasStreamedParts(multipartEntity)))) {
+        setupChunkedEncoding(httpResponseHeaderBuilder);
+        // a configured content type may not have a boundary, which the streamed parts need to be delimited
+        final String streamedContentType = withBoundary(multipartContentType);
+        httpResponseHeaderBuilder.removeHeader(CONTENT_TYPE);
+        httpResponseHeaderBuilder.addContentType(streamedContentType);
+        httpEntity = new InputStreamHttpEntity(createMultipartStream(multipartEntity, streamedContentType));
+      } else {
+        httpEntity = encodeMultipartEntity(multipartEntity, multipartContentType);
+        resolveEncoding(httpResponseHeaderBuilder, existingTransferEncoding, existingContentLength, supportsTransferEncoding,
+                        (ByteArrayHttpEntity) httpEntity);
+      }
     } else if (payload instanceof InputStream) {
-      if (responseStreaming == HttpStreamingType.ALWAYS
+      Optional<FileRegion> fileRegion = responseStreaming == HttpStreamingType.AUTO && existingContentLength == null
+          && !CHUNKED.equals(existingTransferEncoding) ? getFileRegion(payload) : empty();
+      if (fileRegion.isPresent()) {
+        // the size of a file is known beforehand, so it can be sent without chunking it and the HTTP service can transfer it
+        // straight from the file
+        setupContentLengthEncoding(httpResponseHeaderBuilder, fileRegion.get().getLength());
+        httpEntity = new InputStreamHttpEntity((InputStream) payload);
+      } else if (responseStreaming == HttpStreamingType.ALWAYS
           || (responseStreaming == HttpStreamingType.AUTO && existingContentLength == null)) {
         if (supportsTransferEncoding) {
           setupChunkedEncoding(httpResponseHeaderBuilder);
@@ -221,7 +249,16 @@ public class HttpResponseFactory {
     }
   }
 
-  private void setupContentLengthEncoding(HttpResponseHeaderBuilder httpResponseHeaderBuilder, int contentLength) {
+  private Optional<FileRegion> getFileRegion(Object payload) {
+    try {
+      return FileRegion.from(payload);
+    } catch (IOException e) {
+      logger.debug("Could not obtain the size of the file to send, the response will be streamed", e);
+      return empty();
+    }
+  }
+
+  private void setupContentLengthEncoding(HttpResponseHeaderBuilder httpResponseHeaderBuilder, long contentLength) {
     if (httpResponseHeaderBuilder.getTransferEncoding() != null) {
       logger.debug("Content-Length encoding is being used so the 'Transfer-Encoding' header has been removed");
       httpResponseHeaderBuilder.removeHeader(TRANSFER_ENCODING);
@@ -278,19 +315,27 @@ public class HttpResponseFactory {
     }
   }
 
-  private HttpEntity createMultipartEntity(String contentType, MultiPartPayload partPayload)
-      throws MessagingException {
+  private MultipartHttpEntity createMultipartEntity(MultiPartPayload partPayload) {
     if (logger.isDebugEnabled()) {
       logger.debug("Message contains attachments. Ignoring payload and trying to generate multipart response.");
     }
 
-    final MultipartHttpEntity multipartEntity;
     try {
+      return new MultipartHttpEntity(createFrom(partPayload, objectToByteArray));
+    } catch (Exception e) {
+      throw new MuleRuntimeException(createStaticMessage("Error creating multipart HTTP entity."), e);
+    }
+  }
 
-      multipartEntity = new MultipartHttpEntity(createFrom(partPayload, objectToByteArray));
+  private HttpEntity encodeMultipartEntity(MultipartHttpEntity multipartEntity, String contentType) {
+    try {
       return new ByteArrayHttpEntity(createMultipartContent(multipartEntity, contentType));
     } catch (Exception e) {
       throw new MuleRuntimeException(createStaticMessage("Error creating multipart HTTP entity."), e);
     }
   }
+
+  private boolean hasStreamedParts(MultipartHttpEntity multipartEntity) {
+    return multipartEntity.getParts().stream().anyMatch(HttpPart::isStreamed);
+  }
 }
@@ -7,14 +7,18 @@
 package org.mule.extension.http.internal.multipart;
 
 import static java.lang.Math.toIntExact;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static java.util.stream.Collectors.toList;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.util.UUID.getUUID;
 import static org.mule.service.http.api.HttpHeaders.Names.CONTENT_DISPOSITION;
 import static org.mule.service.http.api.HttpHeaders.Names.CONTENT_TYPE;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.message.MultiPartPayload;
 import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.streaming.CursorStreamProvider;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.message.PartAttributes;
@@ -22,9 +26,17 @@ import org.mule.runtime.core.util.IOUtils;
 import org.mule.service.http.api.domain.entity.multipart.HttpPart;
 import org.mule.service.http.api.domain.entity.multipart.MultipartHttpEntity;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.ContentType;
@@ -39,6 +51,9 @@ import javax.mail.internet.ParseException;
 public class HttpMultipartEncoder {
 
   private static final String FORM_DATA = "form-data";
+  private static final String BOUNDARY = "boundary";
+  private static final String DASHES = "--";
+  private static final String CRLF = "\r\n";
   public static final String ATTACHMENT = "attachment";
 
   public static MimeMultipart createMultpartContent(MultipartHttpEntity body, String contentType) {
@@ -47,20 +62,7 @@ public class HttpMultipartEncoder {
     final Collection<HttpPart> parts = body.getParts();
 
     for (HttpPart part : parts) {
-      final InternetHeaders internetHeaders = new InternetHeaders();
-      for (String headerName : part.getHeaderNames()) {
-        final Collection<String> headerValues = part.getHeaders(headerName);
-        for (String headerValue : headerValues) {
-          internetHeaders.addHeader(headerName, headerValue);
-        }
-      }
-      if (internetHeaders.getHeader(CONTENT_DISPOSITION) == null) {
-        String partType = contentTypeSubType.equals(FORM_DATA) ? FORM_DATA : ATTACHMENT;
-        internetHeaders.addHeader(CONTENT_DISPOSITION, getContentDisposition(part, partType));
-      }
-      if (internetHeaders.getHeader(CONTENT_TYPE) == null && part.getContentType() != null) {
-        internetHeaders.addHeader(CONTENT_TYPE, part.getContentType());
-      }
+      final InternetHeaders internetHeaders = getPartHeaders(part, contentTypeSubType);
       try {
         final byte[] partContent = IOUtils.toByteArray(part.getInputStream());
         mimeMultipartContent.addBodyPart(new MimeBodyPart(internetHeaders, partContent));
@@ -71,6 +73,108 @@ public class HttpMultipartEncoder {
     return mimeMultipartContent;
   }
 
+  /**
+   * Encodes a multipart entity as a stream, which reads the content of each part only once it's reached. Unlike
+   * {@link #createMultipartContent(MultipartHttpEntity, String)}, the content of the parts is never held in memory.
+   *
+   * @param multipartEntity the entity to encode
+   * @param contentType the multipart content type of the entity, which holds the boundary of the parts. See
+   *        {@link #withBoundary(String)}
+   * @return a stream with the encoded entity
+   */
+  public static InputStream createMultipartStream(MultipartHttpEntity multipartEntity, String contentType) {
+    String contentTypeSubType = getContentTypeSubType(contentType);
+    String delimiter = DASHES + getBoundary(contentType);
+    List<Supplier<InputStream>> sections = new ArrayList<>();
+
+    for (HttpPart part : multipartEntity.getParts()) {
+      StringBuilder partHead = new StringBuilder(delimiter).append(CRLF);
+      Enumeration<String> headerLines = getPartHeaders(part, contentTypeSubType).getAllHeaderLines();
+      while (headerLines.hasMoreElements()) {
+        partHead.append(headerLines.nextElement()).append(CRLF);
+      }
+      partHead.append(CRLF);
+
+      byte[] partHeadBytes = partHead.toString().getBytes(ISO_8859_1);
+      sections.add(() -> new ByteArrayInputStream(partHeadBytes));
+      sections.add(() -> {
+        try {
+          return part.getInputStream();
+        } catch (IOException e) {
+          throw new MuleRuntimeException(createStaticMessage(format("Could not read HTTP part %s", part.getName())), e);
+        }
+      });
+      sections.add(() -> new ByteArrayInputStream(CRLF.getBytes(ISO_8859_1)));
+    }
+    byte[] closeDelimiter = (delimiter + DASHES + CRLF).getBytes(ISO_8859_1);
+    sections.add(() -> new ByteArrayInputStream(closeDelimiter));
+
+    // each section is only opened once the previous one has been fully read
+    Iterator<Supplier<InputStream>> iterator = sections.iterator();
+    return new SequenceInputStream(new Enumeration<InputStream>() {
+
+      @Override
+      public boolean hasMoreElements() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public InputStream nextElement() {
+        return iterator.next().get();
+      }
+    });
+  }
+
+  private static InternetHeaders getPartHeaders(HttpPart part, String contentTypeSubType) {
+    final InternetHeaders internetHeaders = new InternetHeaders();
+    for (String headerName : part.getHeaderNames()) {
+      final Collection<String> headerValues = part.getHeaders(headerName);
+      for (String headerValue : headerValues) {
+        internetHeaders.addHeader(headerName, headerValue);
+      }
+    }
+    if (internetHeaders.getHeader(CONTENT_DISPOSITION) == null) {
+      String partType = contentTypeSubType.equals(FORM_DATA) ? FORM_DATA : ATTACHMENT;
+      internetHeaders.addHeader(CONTENT_DISPOSITION, getContentDisposition(part, partType));
+    }
+    if (internetHeaders.getHeader(CONTENT_TYPE) == null && part.getContentType() != null) {
+      internetHeaders.addHeader(CONTENT_TYPE, part.getContentType());
+    }
+    return internetHeaders;
+  }
+
+  /**
+   * Adds a generated boundary to a multipart content type which has none, as the encoded parts must be delimited by it.
+   *
+   * @param contentType the multipart content type
+   * @return {@code contentType} if it already has a boundary, or a copy of it with a new one otherwise
+   */
+  public static String withBoundary(String contentType) {
+    try {
+      ContentType contentTypeValue = new ContentType(contentType);
+      if (contentTypeValue.getParameter(BOUNDARY) != null) {
+        return contentType;
+      }
+      contentTypeValue.setParameter(BOUNDARY, getUUID());
+      return contentTypeValue.toString();
+    } catch (ParseException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private static String getBoundary(String contentType) {
+    String boundary;
+    try {
+      boundary = new ContentType(contentType).getParameter(BOUNDARY);
+    } catch (ParseException e) {
+      throw new MuleRuntimeException(e);
+    }
+    if (boundary == null) {
+      throw new MuleRuntimeException(createStaticMessage(format("Multipart content type '%s' has no boundary", contentType)));
+    }
+    return boundary;
+  }
+
   /**
    * Extracts the subtype from a content type
    *
@@ -117,9 +221,13 @@ public class HttpMultipartEncoder {
       String name = partAttributes.getName();
       byte[] data;
       try {
-        data = (byte[]) objectToByteArray.transform(payload.getValue());
         String fileName = partAttributes.getFileName();
         String contentType = payload.getDataType().getMediaType().toRfcString();
+        if (payload.getValue() instanceof CursorStreamProvider) {
+          // keep repeatable streams as they are, so they can be encoded without loading them
+          return new HttpPart(name, fileName, (CursorStreamProvider) payload.getValue(), contentType, partAttributes.getSize());
+        }
+        data = (byte[]) objectToByteArray.transform(payload.getValue());
         int size = toIntExact(partAttributes.getSize());
         if (fileName != null) {
           return new HttpPart(name, fileName, data, contentType, size);
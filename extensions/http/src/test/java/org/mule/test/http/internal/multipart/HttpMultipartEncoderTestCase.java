@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.http.internal.multipart;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.mule.extension.http.internal.multipart.HttpMultipartEncoder.createMultipartStream;
+import static org.mule.extension.http.internal.multipart.HttpMultipartEncoder.withBoundary;
+
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.service.http.api.domain.entity.multipart.HttpPart;
+import org.mule.service.http.api.domain.entity.multipart.MultipartHttpEntity;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.InputStream;
+
+import javax.mail.internet.ContentType;
+
+import org.junit.Test;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("HTTP Connector")
+@Stories("Multipart")
+public class HttpMultipartEncoderTestCase extends AbstractMuleTestCase {
+
+  private static final String CONTENT_TYPE_WITH_BOUNDARY = "multipart/form-data; boundary=bound";
+
+  @Test
+  public void existingBoundaryIsKept() {
+    assertThat(withBoundary(CONTENT_TYPE_WITH_BOUNDARY), is(CONTENT_TYPE_WITH_BOUNDARY));
+  }
+
+  @Test
+  public void missingBoundaryIsGenerated() throws Exception {
+    String contentType = withBoundary("multipart/form-data");
+
+    assertThat(contentType, startsWith("multipart/form-data"));
+    assertThat(new ContentType(contentType).getParameter("boundary"), is(not(nullValue())));
+  }
+
+  @Test
+  public void partsAreDelimitedByBoundary() throws Exception {
+    HttpPart part = new HttpPart("field", "value".getBytes(ISO_8859_1), "text/plain", 5);
+    MultipartHttpEntity entity = new MultipartHttpEntity(singletonList(part));
+
+    try (InputStream encoded = createMultipartStream(entity, CONTENT_TYPE_WITH_BOUNDARY)) {
+      String content = new String(IOUtils.toByteArray(encoded), ISO_8859_1);
+      assertThat(content, startsWith("--bound\r\n"));
+      assertThat(content.endsWith("\r\nvalue\r\n--bound--\r\n"), is(true));
+    }
+  }
+}
@@ -8,10 +8,12 @@ package org.mule.extension.ws.internal.connection;
 
 import org.mule.extension.ws.api.SoapVersion;
 import org.mule.extension.ws.api.security.SecurityStrategy;
+import org.mule.extension.ws.internal.introspection.WsdlModelCache;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.connection.PoolingConnectionProvider;
+import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.extension.api.annotation.param.NullSafe;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
@@ -26,7 +28,7 @@ import javax.inject.Inject;
  *
  * @since 4.0
  */
-public class WscConnectionProvider implements PoolingConnectionProvider<WscConnection> {
+public class WscConnectionProvider implements PoolingConnectionProvider<WscConnection>, Disposable {
 
   @Inject
   private HttpService httpService;
@@ -113,4 +115,14 @@ public class WscConnectionProvider implements PoolingConnectionProvider<WscConne
   public ConnectionValidationResult validate(WscConnection client) {
     return client.validateConnection();
   }
+
+  /**
+   * Discards the cached model of the WSDL, so a new configuration of the same web service downloads and parses it again.
+   */
+  @Override
+  public void dispose() {
+    if (wsdlLocation != null) {
+      WsdlModelCache.getInstance().invalidate(wsdlLocation);
+    }
+  }
 }
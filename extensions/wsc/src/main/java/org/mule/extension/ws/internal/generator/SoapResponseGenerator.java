@@ -9,7 +9,6 @@ package org.mule.extension.ws.internal.generator;
 import static java.util.Collections.emptyMap;
 import static org.mule.extension.ws.internal.connection.WscClient.MULE_ATTACHMENTS_KEY;
 import static org.mule.extension.ws.internal.connection.WscClient.MULE_HEADERS_KEY;
-import static org.mule.extension.ws.internal.util.TransformationUtils.xmlStreamReaderToDocument;
 import static org.mule.runtime.core.message.DefaultMultiPartPayload.BODY_ATTRIBUTES;
 import org.mule.extension.ws.api.WscAttributes;
 import org.mule.extension.ws.api.WscMultipartPayload;
@@ -17,7 +16,6 @@ import org.mule.extension.ws.api.exception.BadResponseException;
 import org.mule.extension.ws.internal.ConsumeOperation;
 import org.mule.extension.ws.internal.connection.WscConnection;
 import org.mule.extension.ws.internal.introspection.WsdlIntrospecter;
-import org.mule.extension.ws.internal.util.WscTransformationException;
 import org.mule.metadata.api.TypeLoader;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.extension.api.runtime.operation.Result;
@@ -30,8 +28,6 @@ import java.util.Map;
 import javax.xml.stream.XMLStreamReader;
 
 import org.apache.cxf.message.Exchange;
-import org.w3c.dom.Document;
-
 /**
  * Class used to generate the output of the {@link ConsumeOperation} using the CXF response.
  *
@@ -57,11 +53,11 @@ public final class SoapResponseGenerator {
                                                 String operation,
                                                 Object[] response,
                                                 Exchange exchange) {
-    Document document = unwrapResponse(response);
+    XMLStreamReader reader = unwrapResponse(response);
     WsdlIntrospecter introspecter = connection.getWsdlIntrospecter();
     TypeLoader loader = connection.getTypeLoader();
 
-    String result = connection.getResponseEnricher().enrich(document, introspecter, loader, operation, exchange);
+    String result = connection.getResponseEnricher().enrich(reader, introspecter, loader, operation, exchange);
 
     WscAttributes attributes = processAttributes(exchange);
     List<Message> receivedAttachments = (List<Message>) exchange.get(MULE_ATTACHMENTS_KEY);
@@ -84,23 +80,18 @@ public final class SoapResponseGenerator {
   }
 
   /**
-   * Unwraps the CXF {@link XMLStreamReader} response into a dom {@link Document}.
+   * Unwraps the CXF {@link XMLStreamReader} response.
    *
    * @param response the CXF received response.
    */
-  private Document unwrapResponse(Object[] response) {
+  private XMLStreamReader unwrapResponse(Object[] response) {
     if (response.length == 0) {
       throw new BadResponseException("no elements were received in the SOAP response.");
     }
     if (response.length != 1) {
       throw new BadResponseException("the obtained response contains more than one element, only one was expected");
     }
-    XMLStreamReader reader = (XMLStreamReader) response[0];
-    try {
-      return xmlStreamReaderToDocument(reader);
-    } catch (WscTransformationException e) {
-      throw new BadResponseException("Error transforming the XML web service response to be processed", e);
-    }
+    return (XMLStreamReader) response[0];
   }
 
   private WscAttributes processAttributes(Exchange exchange) {
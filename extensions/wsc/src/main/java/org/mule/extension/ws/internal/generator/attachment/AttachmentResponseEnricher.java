@@ -7,40 +7,73 @@
 package org.mule.extension.ws.internal.generator.attachment;
 
 import static java.lang.String.format;
+import static javax.xml.stream.XMLOutputFactory.IS_REPAIRING_NAMESPACES;
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.COMMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.ENTITY_REFERENCE;
+import static javax.xml.stream.XMLStreamConstants.PROCESSING_INSTRUCTION;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.mule.extension.ws.internal.connection.WscClient.MULE_ATTACHMENTS_KEY;
 import static org.mule.extension.ws.internal.util.WscMetadataTypeUtils.getAttachmentFields;
+import static org.mule.metadata.api.utils.MetadataTypeUtils.getLocalPart;
 import org.mule.extension.ws.api.WscMultipartPayload;
+import org.mule.extension.ws.api.exception.BadResponseException;
 import org.mule.extension.ws.api.exception.InvalidWsdlException;
 import org.mule.extension.ws.internal.ConsumeOperation;
 import org.mule.extension.ws.internal.introspection.OutputTypeIntrospecterDelegate;
 import org.mule.extension.ws.internal.introspection.WsdlIntrospecter;
 import org.mule.metadata.api.TypeLoader;
 import org.mule.metadata.api.model.MetadataType;
-import org.mule.metadata.api.model.ObjectFieldType;
-import org.mule.runtime.module.xml.util.XMLUtils;
+import org.mule.runtime.api.message.Message;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import javax.wsdl.Part;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.apache.cxf.message.Exchange;
-import org.w3c.dom.Document;
 
 /**
  * Abstract implementation for a response enricher that removes a node for each sent attachment to the obtained SOAP
  * response and moving all the attachment data to the attachments returned as a {@link WscMultipartPayload} in the
  * {@link ConsumeOperation}.
+ * <p>
+ * The response is processed in a single pass over the CXF {@link XMLStreamReader}, without building an intermediate
+ * document.
  *
  * @since 4.0
  */
 public abstract class AttachmentResponseEnricher {
 
+  private static final XMLOutputFactory OUTPUT_FACTORY = createOutputFactory();
+
+  private static XMLOutputFactory createOutputFactory() {
+    XMLOutputFactory factory = XMLOutputFactory.newInstance();
+    // Namespaces declared in the SOAP envelope and used in the body need to be declared again in the output
+    factory.setProperty(IS_REPAIRING_NAMESPACES, true);
+    return factory;
+  }
+
   /**
-   * {@inheritDoc}
-   * <p>
    * Modifies the SOAP response to avoid attachment content in the response body and make decouple the attachment handling so
    * the user can have a better experience.
+   *
+   * @param response the reader of the SOAP response body, positioned at the body content.
+   * @return the XML of the response body without the attachment nodes.
    */
-  public String enrich(Document response, WsdlIntrospecter introspecter, TypeLoader loader, String operation, Exchange exchange) {
+  public String enrich(XMLStreamReader response, WsdlIntrospecter introspecter, TypeLoader loader, String operation,
+                       Exchange exchange) {
     Part outputPart = introspecter.getBodyPart(operation, new OutputTypeIntrospecterDelegate())
         .orElseThrow(() -> new InvalidWsdlException(
                                                     format("Cannot find output body part for operation [%s] in the configured WSDL",
@@ -52,15 +85,104 @@ public abstract class AttachmentResponseEnricher {
                                                     format("Cannot found output part [%s] for operation [%s] in the configured WSDL",
                                                            part, operation)));
 
-    List<ObjectFieldType> attachmentParams = getAttachmentFields(outputBodyType);
-    if (!attachmentParams.isEmpty()) {
-      processResponseAttachments(response, attachmentParams, exchange);
+    Set<String> attachmentNames = new HashSet<>();
+    getAttachmentFields(outputBodyType).forEach(a -> attachmentNames.add(getLocalPart(a)));
+
+    StringWriter result = new StringWriter();
+    List<Message> attachments = new ArrayList<>();
+    try {
+      XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(result);
+      copy(response, writer, attachmentNames, attachments);
+      writer.close();
+    } catch (XMLStreamException e) {
+      throw new BadResponseException("Error transforming the XML web service response to be processed", e);
+    }
+
+    if (!attachments.isEmpty()) {
+      exchange.put(MULE_ATTACHMENTS_KEY, attachments);
     }
-    return XMLUtils.toXml(response);
+    return result.toString();
+  }
+
+  /**
+   * Copies the element the reader is positioned at, handing the first direct child node of each attachment to
+   * {@link #processResponseAttachment(String, XMLStreamReader)} instead of copying it.
+   */
+  private void copy(XMLStreamReader reader, XMLStreamWriter writer, Set<String> attachmentNames, List<Message> attachments)
+      throws XMLStreamException {
+    while (reader.getEventType() != START_ELEMENT) {
+      reader.next();
+    }
+
+    int depth = 0;
+    while (true) {
+      switch (reader.getEventType()) {
+        case START_ELEMENT:
+          if (depth == 1 && attachmentNames.remove(reader.getLocalName())) {
+            processResponseAttachment(reader.getLocalName(), reader).ifPresent(attachments::add);
+            break;
+          }
+          depth++;
+          writeStartElement(reader, writer);
+          break;
+        case END_ELEMENT:
+          writer.writeEndElement();
+          if (--depth == 0) {
+            // Anything after the body content belongs to the envelope
+            return;
+          }
+          break;
+        case CHARACTERS:
+        case SPACE:
+          writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          break;
+        case CDATA:
+          writer.writeCData(reader.getText());
+          break;
+        case COMMENT:
+          writer.writeComment(reader.getText());
+          break;
+        case PROCESSING_INSTRUCTION:
+          writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+          break;
+        case ENTITY_REFERENCE:
+          writer.writeEntityRef(reader.getLocalName());
+          break;
+        default:
+          break;
+      }
+      reader.next();
+    }
+  }
+
+  private void writeStartElement(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+    writer.writeStartElement(nullToEmpty(reader.getPrefix()), reader.getLocalName(), nullToEmpty(reader.getNamespaceURI()));
+    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+      String prefix = reader.getNamespacePrefix(i);
+      if (prefix == null || prefix.isEmpty()) {
+        writer.writeDefaultNamespace(nullToEmpty(reader.getNamespaceURI(i)));
+      } else {
+        writer.writeNamespace(prefix, nullToEmpty(reader.getNamespaceURI(i)));
+      }
+    }
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      writer.writeAttribute(nullToEmpty(reader.getAttributePrefix(i)), nullToEmpty(reader.getAttributeNamespace(i)),
+                            reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+    }
+  }
+
+  private String nullToEmpty(String value) {
+    return value == null ? "" : value;
   }
 
   /**
-   * Processes the attachments nodes in the response.
+   * Processes an attachment node in the response. Implementations must consume the node, leaving the reader positioned at its
+   * {@code END_ELEMENT}.
+   *
+   * @param name   the name of the attachment.
+   * @param reader the reader positioned at the start of the attachment node.
+   * @return the attachment to return in the operation output, if its content is carried in the node.
    */
-  protected abstract void processResponseAttachments(Document response, List<ObjectFieldType> attachments, Exchange exchange);
+  protected abstract Optional<Message> processResponseAttachment(String name, XMLStreamReader reader)
+      throws XMLStreamException;
 }
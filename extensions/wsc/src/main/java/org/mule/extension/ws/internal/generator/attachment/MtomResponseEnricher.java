@@ -6,15 +6,16 @@
  */
 package org.mule.extension.ws.internal.generator.attachment;
 
-import static org.mule.metadata.api.utils.MetadataTypeUtils.getLocalPart;
+import static java.util.Optional.empty;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
 import org.mule.extension.ws.internal.interceptor.OutputMtomSoapAttachmentsInterceptor;
-import org.mule.metadata.api.model.ObjectFieldType;
+import org.mule.runtime.api.message.Message;
 
-import java.util.List;
+import java.util.Optional;
 
-import org.apache.cxf.message.Exchange;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * {@link AttachmentResponseEnricher} implementation for clients that works with MTOM.
@@ -26,15 +27,20 @@ public final class MtomResponseEnricher extends AttachmentResponseEnricher {
   /**
    * {@inheritDoc}
    * <p>
-   * Removes the attachments nodes from the response that have been already processed by the
+   * Skips the attachments nodes from the response that have been already processed by the
    * {@link OutputMtomSoapAttachmentsInterceptor}
    */
   @Override
-  protected void processResponseAttachments(Document response, List<ObjectFieldType> attachments, Exchange exchange) {
-    attachments.forEach(a -> {
-      String tagName = getLocalPart(a);
-      Node attachmentNode = response.getDocumentElement().getElementsByTagName(tagName).item(0);
-      response.getDocumentElement().removeChild(attachmentNode);
-    });
+  protected Optional<Message> processResponseAttachment(String name, XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == START_ELEMENT) {
+        depth++;
+      } else if (event == END_ELEMENT) {
+        depth--;
+      }
+    }
+    return empty();
   }
 }
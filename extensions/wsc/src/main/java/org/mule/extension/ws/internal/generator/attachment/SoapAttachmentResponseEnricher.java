@@ -7,20 +7,17 @@
 package org.mule.extension.ws.internal.generator.attachment;
 
 import static java.lang.String.format;
-import static org.mule.extension.ws.internal.connection.WscClient.MULE_ATTACHMENTS_KEY;
+import static java.util.Optional.of;
 import org.mule.extension.ws.api.exception.WscEncodingException;
-import org.mule.metadata.api.model.ObjectFieldType;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.message.PartAttributes;
 import org.mule.runtime.core.transformer.codec.Base64Decoder;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Optional;
 
-import org.apache.cxf.message.Exchange;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * {@link AttachmentResponseEnricher} implementation for SOAP with attachments.
@@ -35,20 +32,13 @@ public final class SoapAttachmentResponseEnricher extends AttachmentResponseEnri
   /**
    * {@inheritDoc}
    * <p>
-   * Extracts the base64 encoded content from the attachment nodes, decodes them and then remove all the nodes to
-   * clean the response body.
+   * Extracts the base64 encoded content from the attachment node and decodes it, the node is not included in the response
+   * body.
    */
   @Override
-  protected void processResponseAttachments(Document response, List<ObjectFieldType> attachments, Exchange exchange) {
-    List<Message> parts = new ArrayList<>();
-    attachments.forEach(a -> {
-      String tagName = a.getKey().getName().getLocalPart();
-      Node attachmentNode = response.getDocumentElement().getElementsByTagName(tagName).item(0);
-      String decodedAttachment = decodeAttachment(tagName, attachmentNode.getTextContent());
-      parts.add(Message.builder().payload(decodedAttachment).attributes(new PartAttributes(tagName)).build());
-      response.getDocumentElement().removeChild(attachmentNode);
-    });
-    exchange.put(MULE_ATTACHMENTS_KEY, parts);
+  protected Optional<Message> processResponseAttachment(String name, XMLStreamReader reader) throws XMLStreamException {
+    String decodedAttachment = decodeAttachment(name, reader.getElementText());
+    return of(Message.builder().payload(decodedAttachment).attributes(new PartAttributes(name)).build());
   }
 
   /**
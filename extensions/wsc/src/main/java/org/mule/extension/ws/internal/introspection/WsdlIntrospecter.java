@@ -61,14 +61,17 @@ public class WsdlIntrospecter {
   private static final String DOCUMENT_STYLE = "document";
   private static final String RPC_STYLE = "rpc";
 
-  private static final WsdlSchemasCollector schemaCollector = new WsdlSchemasCollector();
+  private static final WsdlModelCache modelCache = WsdlModelCache.getInstance();
 
+  private final WsdlModelCache.WsdlModel model;
   private final Definition definition;
   private final Service service;
   private final Port port;
 
   public WsdlIntrospecter(String wsdlLocation, String serviceName, String portName) {
-    this.definition = parseWsdl(wsdlLocation);
+    validateBlankString(wsdlLocation, "wsdl Location");
+    this.model = modelCache.get(wsdlLocation, this::parseWsdl);
+    this.definition = model.getDefinition();
     this.service = findService(serviceName);
     this.port = findPort(portName);
   }
@@ -151,7 +154,7 @@ public class WsdlIntrospecter {
   }
 
   public SchemaCollector getSchemas() {
-    return schemaCollector.collect(definition);
+    return model.getSchemas();
   }
 
   public Service getService() {
@@ -228,8 +231,6 @@ public class WsdlIntrospecter {
    */
   private Definition parseWsdl(final String wsdlLocation) {
     try {
-      validateBlankString(wsdlLocation, "wsdl Location");
-
       WSDLFactory factory = WSDLFactory.newInstance();
       ExtensionRegistry registry = initExtensionRegistry(factory);
       WSDLReader wsdlReader = factory.newWSDLReader();
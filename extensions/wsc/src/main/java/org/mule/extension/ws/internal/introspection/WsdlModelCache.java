@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ws.internal.introspection;
+
+import static java.lang.String.format;
+import static org.mule.runtime.core.util.StringUtils.toHexString;
+import org.mule.extension.ws.api.exception.InvalidWsdlException;
+import org.mule.metadata.xml.SchemaCollector;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import javax.wsdl.Definition;
+
+/**
+ * Keeps the parsed {@link Definition} and the collected schemas of each WSDL so new connections to the same web service do not
+ * need to download and parse them again.
+ * <p/>
+ * Entries are keyed by WSDL location. For WSDLs on the local file system a hash of the file content is also kept and the entry
+ * is parsed again when the file changes. Remote WSDLs are cached until they are invalidated with {@link #invalidate(String)},
+ * which happens when a connection provider that uses them is disposed.
+ * <p/>
+ * The cache lives in the extension's classloader, so it is shared by all the connections of the same artifact.
+ *
+ * @since 4.0
+ */
+public final class WsdlModelCache {
+
+  private static final WsdlModelCache INSTANCE = new WsdlModelCache();
+
+  private static final String NO_HASH = "";
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  private final Cache<String, WsdlModel> models = CacheBuilder.newBuilder().build();
+
+  private WsdlModelCache() {}
+
+  public static WsdlModelCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the model of a WSDL, parsing it only if there is no valid cached model for it. Concurrent requests for the same
+   * location wait for a single parse, without blocking the requests for other locations.
+   *
+   * @param wsdlLocation the location of the WSDL file
+   * @param parser function used to parse the WSDL when needed
+   * @return the model of the WSDL
+   */
+  WsdlModel get(String wsdlLocation, Function<String, Definition> parser) {
+    String contentHash = getContentHash(wsdlLocation);
+    WsdlModel model = load(wsdlLocation, contentHash, parser);
+    if (!model.contentHash.equals(contentHash)) {
+      // the file changed since it was parsed
+      models.asMap().remove(wsdlLocation, model);
+      model = load(wsdlLocation, contentHash, parser);
+    }
+    return model;
+  }
+
+  private WsdlModel load(String wsdlLocation, String contentHash, Function<String, Definition> parser) {
+    try {
+      return models.get(wsdlLocation, () -> {
+        Definition definition = parser.apply(wsdlLocation);
+        return new WsdlModel(definition, WsdlSchemasCollector.collectSources(definition), contentHash);
+      });
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new InvalidWsdlException(format("Cannot parse the wsdl file [%s]", wsdlLocation), e.getCause());
+    }
+  }
+
+  /**
+   * Discards the cached model of a WSDL, so it is downloaded and parsed again by the next connection that uses it.
+   *
+   * @param wsdlLocation the location of the WSDL file
+   */
+  public void invalidate(String wsdlLocation) {
+    models.invalidate(wsdlLocation);
+  }
+
+  private String getContentHash(String wsdlLocation) {
+    File file = getLocalFile(wsdlLocation);
+    if (file == null || !file.isFile()) {
+      return NO_HASH;
+    }
+
+    try (InputStream content = new FileInputStream(file)) {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = content.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+      return toHexString(digest.digest());
+    } catch (IOException | NoSuchAlgorithmException e) {
+      throw new InvalidWsdlException(format("Cannot read the wsdl file [%s]", wsdlLocation), e);
+    }
+  }
+
+  private File getLocalFile(String wsdlLocation) {
+    if (wsdlLocation == null) {
+      return null;
+    }
+    try {
+      URI uri = new URI(wsdlLocation);
+      if (uri.getScheme() == null) {
+        return new File(wsdlLocation);
+      }
+      return "file".equals(uri.getScheme()) ? new File(uri) : null;
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      // Not a valid URI, most likely a windows path
+      return new File(wsdlLocation);
+    }
+  }
+
+  /**
+   * The cached model of a WSDL. The {@link Definition} is shared by all the connections so it must be treated as read only.
+   */
+  static final class WsdlModel {
+
+    private final Definition definition;
+    private final List<WsdlSchemasCollector.SchemaSource> schemas;
+    private final String contentHash;
+
+    private WsdlModel(Definition definition, List<WsdlSchemasCollector.SchemaSource> schemas, String contentHash) {
+      this.definition = definition;
+      this.schemas = schemas;
+      this.contentHash = contentHash;
+    }
+
+    Definition getDefinition() {
+      return definition;
+    }
+
+    /**
+     * @return a new {@link SchemaCollector} with the schemas of the WSDL, as the collected schemas can only be read once.
+     */
+    SchemaCollector getSchemas() {
+      return WsdlSchemasCollector.toCollector(schemas);
+    }
+  }
+}
@@ -7,6 +7,7 @@
 package org.mule.extension.ws.internal.introspection;
 
 import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
 import static org.mule.extension.ws.internal.util.TransformationUtils.nodeToString;
 import org.mule.extension.ws.api.exception.InvalidWsdlException;
 import org.mule.extension.ws.internal.util.WscTransformationException;
@@ -32,37 +33,55 @@ import javax.wsdl.extensions.schema.SchemaImport;
 @SuppressWarnings("unchecked")
 final class WsdlSchemasCollector {
 
-  SchemaCollector collect(Definition wsdlDefinition) {
-    SchemaCollector collector = SchemaCollector.getInstance();
+  /**
+   * Collects the schemas of a WSDL definition in a form that can be kept and used to build many {@link SchemaCollector}s.
+   *
+   * @param wsdlDefinition the WSDL definition
+   * @return the schemas in the order they were found
+   */
+  static List<SchemaSource> collectSources(Definition wsdlDefinition) {
+    List<SchemaSource> sources = new ArrayList<>();
 
-    collectTypes(wsdlDefinition.getTypes(), collector);
+    collectTypes(wsdlDefinition.getTypes(), sources);
 
     wsdlDefinition.getImports().values().forEach(wsdlImport -> {
       Definition definition = ((Import) wsdlImport).getDefinition();
-      collectTypes(definition.getTypes(), collector);
+      collectTypes(definition.getTypes(), sources);
     });
 
+    return unmodifiableList(sources);
+  }
+
+  static SchemaCollector toCollector(List<SchemaSource> sources) {
+    SchemaCollector collector = SchemaCollector.getInstance();
+    sources.forEach(source -> {
+      if (source.content != null) {
+        collector.addSchema(source.uri, source.content);
+      } else {
+        collector.addSchema(source.uri);
+      }
+    });
     return collector;
   }
 
-  private void collectTypes(Types types, SchemaCollector collector) {
+  private static void collectTypes(Types types, List<SchemaSource> sources) {
     if (types != null) {
       types.getExtensibilityElements().forEach(element -> {
         if (element instanceof Schema) {
           Schema schema = (Schema) element;
           String schemaUri = schema.getDocumentBaseURI();
           try {
-            collector.addSchema(schemaUri, nodeToString(schema.getElement()));
+            sources.add(new SchemaSource(schemaUri, nodeToString(schema.getElement())));
           } catch (WscTransformationException e) {
             throw new InvalidWsdlException(format("Cannot collect schema [%s], error while processing content", schemaUri), e);
           }
-          getSchemaImportsUrls(schema).forEach(collector::addSchema);
+          getSchemaImportsUrls(schema).forEach(url -> sources.add(new SchemaSource(url, null)));
         }
       });
     }
   }
 
-  private List<String> getSchemaImportsUrls(Schema schema) {
+  private static List<String> getSchemaImportsUrls(Schema schema) {
     List<String> schemas = new ArrayList<>();
     Collection imports = schema.getImports().values();
     imports.forEach(i -> {
@@ -71,4 +90,18 @@ final class WsdlSchemasCollector {
     });
     return schemas;
   }
+
+  /**
+   * A schema found in a WSDL, either embedded with its content or imported by URL.
+   */
+  static final class SchemaSource {
+
+    private final String uri;
+    private final String content;
+
+    SchemaSource(String uri, String content) {
+      this.uri = uri;
+      this.content = content;
+    }
+  }
 }
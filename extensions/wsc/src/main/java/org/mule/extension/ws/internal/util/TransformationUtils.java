@@ -8,7 +8,6 @@ package org.mule.extension.ws.internal.util;
 
 import org.mule.extension.ws.internal.WebServiceConsumer;
 import org.mule.runtime.core.util.xmlsecurity.XMLSecureFactories;
-import org.mule.runtime.module.xml.stax.StaxSource;
 
 import java.io.ByteArrayInputStream;
 import java.io.StringReader;
@@ -18,9 +17,7 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
@@ -37,19 +34,6 @@ import org.xml.sax.InputSource;
  */
 public class TransformationUtils {
 
-  public static Document xmlStreamReaderToDocument(XMLStreamReader xmlStreamReader) throws WscTransformationException {
-    StaxSource staxSource = new StaxSource(xmlStreamReader);
-    DOMResult writer = new DOMResult();
-    TransformerFactory idTransformer = new SaxonTransformerFactory();
-    try {
-      Transformer transformer = idTransformer.newTransformer();
-      transformer.transform(staxSource, writer);
-    } catch (TransformerException e) {
-      throw new WscTransformationException("Error transforming XML Stream Reader to String", e);
-    }
-    return (Document) writer.getNode();
-  }
-
   public static Element stringToDomElement(String xml) throws WscTransformationException {
     try {
       DocumentBuilder db = XMLSecureFactories.createDefault().getDocumentBuilderFactory().newDocumentBuilder();
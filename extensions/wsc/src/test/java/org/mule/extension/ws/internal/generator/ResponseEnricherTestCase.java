@@ -9,14 +9,15 @@ package org.mule.extension.ws.internal.generator;
 import static org.mule.extension.ws.WscTestUtils.DOWNLOAD_ATTACHMENT;
 import static org.mule.extension.ws.WscTestUtils.assertSimilarXml;
 import static org.mule.extension.ws.WscTestUtils.getResponseResource;
-import static org.mule.extension.ws.internal.util.TransformationUtils.stringToDocument;
+import static org.mule.extension.ws.internal.util.TransformationUtils.stringToXmlStreamReader;
 import org.mule.extension.ws.WscUnitTestCase;
 import org.mule.extension.ws.internal.generator.attachment.AttachmentResponseEnricher;
 
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.ExchangeImpl;
 import org.junit.Test;
-import org.w3c.dom.Document;
 import ru.yandex.qatools.allure.annotations.Description;
 
 abstract class ResponseEnricherTestCase extends WscUnitTestCase {
@@ -25,9 +26,9 @@ abstract class ResponseEnricherTestCase extends WscUnitTestCase {
   @Description("Enrich a response that contains attachments")
   public void enrich() throws Exception {
     ExchangeImpl exchange = new ExchangeImpl();
-    Document doc = stringToDocument(getResponse());
+    XMLStreamReader reader = stringToXmlStreamReader(getResponse());
     AttachmentResponseEnricher enricher = getEnricher();
-    String result = enricher.enrich(doc, introspecter, loader, DOWNLOAD_ATTACHMENT, exchange);
+    String result = enricher.enrich(reader, introspecter, loader, DOWNLOAD_ATTACHMENT, exchange);
     assertSimilarXml(getResponseResource(DOWNLOAD_ATTACHMENT), result);
     assertAttachment(exchange);
   }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ws.internal.introspection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import org.mule.extension.ws.api.exception.InvalidWsdlException;
+import org.mule.runtime.api.util.Reference;
+import org.mule.runtime.core.util.FileUtils;
+import org.mule.runtime.core.util.IOUtils;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+
+import javax.wsdl.Service;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WsdlModelCacheTestCase {
+
+  private static final String SERVICE = "TestService";
+  private static final String PORT = "TestPort";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final WsdlModelCache cache = WsdlModelCache.getInstance();
+  private File wsdlFile;
+
+  @Before
+  public void setUp() throws Exception {
+    wsdlFile = temporaryFolder.newFile("service.wsdl");
+    try (InputStream wsdl = Thread.currentThread().getContextClassLoader().getResourceAsStream("wsdl/simple-service.wsdl")) {
+      FileUtils.writeStringToFile(wsdlFile, IOUtils.toString(wsdl));
+    }
+  }
+
+  @After
+  public void tearDown() {
+    cache.invalidate(wsdlFile.getPath());
+  }
+
+  @Test
+  public void definitionIsSharedBetweenIntrospecters() {
+    Service service = getService();
+    assertThat(getService(), is(sameInstance(service)));
+  }
+
+  @Test
+  public void invalidatedDefinitionIsParsedAgain() {
+    Service service = getService();
+    cache.invalidate(wsdlFile.getPath());
+    assertThat(getService(), is(not(sameInstance(service))));
+  }
+
+  @Test
+  public void changedFileIsParsedAgain() throws Exception {
+    Service service = getService();
+    FileUtils.writeStringToFile(wsdlFile, "\n", true);
+    assertThat(getService(), is(not(sameInstance(service))));
+  }
+
+  @Test
+  public void schemasCanBeReadByEachIntrospecter() {
+    assertThat(newIntrospecter().getSchemas().collect().size(), is(1));
+    assertThat(newIntrospecter().getSchemas().collect().size(), is(1));
+  }
+
+  @Test
+  public void slowParseDoesNotBlockOtherWsdls() throws Exception {
+    String slowLocation = "http://localhost/slow.wsdl";
+    CountDownLatch parseStarted = new CountDownLatch(1);
+    CountDownLatch parseReleased = new CountDownLatch(1);
+    Reference<Throwable> failure = new Reference<>();
+    Thread slowParse = new Thread(() -> {
+      try {
+        cache.get(slowLocation, location -> {
+          parseStarted.countDown();
+          try {
+            parseReleased.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          throw new InvalidWsdlException("expected failure");
+        });
+      } catch (Throwable t) {
+        failure.set(t);
+      }
+    });
+    slowParse.start();
+    try {
+      parseStarted.await();
+      assertThat(getService().getQName().getLocalPart(), is(SERVICE));
+    } finally {
+      parseReleased.countDown();
+      slowParse.join();
+      cache.invalidate(slowLocation);
+    }
+    assertThat(failure.get(), instanceOf(InvalidWsdlException.class));
+  }
+
+  private Service getService() {
+    return newIntrospecter().getService();
+  }
+
+  private WsdlIntrospecter newIntrospecter() {
+    return new WsdlIntrospecter(wsdlFile.getPath(), SERVICE, PORT);
+  }
+}
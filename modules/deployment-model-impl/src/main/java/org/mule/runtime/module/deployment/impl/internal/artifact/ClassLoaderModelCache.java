@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.impl.internal.artifact;
+
+import static java.lang.Boolean.getBoolean;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.stream.Collectors.toList;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getExecutionFolder;
+import static org.mule.runtime.core.util.StringUtils.toHexString;
+import static org.mule.runtime.module.reboot.MuleContainerBootstrapUtils.isStandalone;
+import org.mule.runtime.module.artifact.descriptor.BundleDependency;
+import org.mule.runtime.module.artifact.descriptor.BundleDescriptor;
+import org.mule.runtime.module.artifact.descriptor.BundleScope;
+import org.mule.runtime.module.artifact.descriptor.ClassLoaderModel;
+import org.mule.runtime.module.artifact.descriptor.ClassLoaderModel.ClassLoaderModelBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the {@link ClassLoaderModel} resolved for each artifact, so unchanged artifacts do not need to resolve
+ * their dependencies again when the container is restarted.
+ * <p/>
+ * Entries are keyed by a hash of the artifact location, its POM model, the loader attributes and the size and modification
+ * time of the POMs and jars in the artifact's embedded repository. Each entry also records the size and modification time of
+ * the jars it references and of their POMs, and it is discarded when any of them is missing or has changed.
+ * <p/>
+ * Keys start with a hash of the artifact location, so storing a model removes the entries previously stored for the same
+ * artifact. Entries of artifacts that no longer exist are removed at the same time.
+ * <p/>
+ * The cache is stored in the container's execution folder, so it is only enabled when running in standalone mode. It can be
+ * disabled by setting the {@value #DISABLE_CLASSLOADER_MODEL_CACHE_PROPERTY} system property.
+ *
+ * @since 4.0
+ */
+public class ClassLoaderModelCache {
+
+  public static final String DISABLE_CLASSLOADER_MODEL_CACHE_PROPERTY = "mule.classLoaderModel.cache.disable";
+
+  private static final String CACHE_FOLDER = "classloader-models";
+  private static final String CACHE_FILE_SUFFIX = ".properties";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+  private static final String JAR_FILE_SUFFIX = ".jar";
+  private static final String POM_FILE_SUFFIX = ".pom";
+  private static final String REPOSITORY_FOLDER = "repository";
+  private static final String KEY_SEPARATOR = "-";
+  private static final String ARTIFACT_KEY = "artifact";
+  private static final String FINGERPRINT = ".fingerprint";
+  private static final String URL_KEY = "url.";
+  private static final String EXPORTED_PACKAGE_KEY = "exportedPackage.";
+  private static final String EXPORTED_RESOURCE_KEY = "exportedResource.";
+  private static final String DEPENDENCY_KEY = "dependency.";
+  private static final String GROUP_ID = ".groupId";
+  private static final String ARTIFACT_ID = ".artifactId";
+  private static final String VERSION = ".version";
+  private static final String TYPE = ".type";
+  private static final String CLASSIFIER = ".classifier";
+  private static final String SCOPE = ".scope";
+  private static final String BUNDLE_URL = ".bundleUrl";
+
+  private static final Logger logger = LoggerFactory.getLogger(ClassLoaderModelCache.class);
+
+  private final File cacheFolder;
+
+  /**
+   * Creates a cache on the container's execution folder.
+   */
+  public ClassLoaderModelCache() {
+    this(new File(getExecutionFolder(), CACHE_FOLDER));
+  }
+
+  /**
+   * Creates a cache on a given folder.
+   *
+   * @param cacheFolder folder where the cached models are stored. Non null.
+   */
+  public ClassLoaderModelCache(File cacheFolder) {
+    this.cacheFolder = cacheFolder;
+  }
+
+  /**
+   * @return true if the models must be cached, false otherwise.
+   */
+  public static boolean isClassLoaderModelCacheEnabled() {
+    return isStandalone() && !getBoolean(DISABLE_CLASSLOADER_MODEL_CACHE_PROPERTY);
+  }
+
+  /**
+   * Calculates the key for an artifact's model.
+   *
+   * @param artifactFile artifact which model is resolved
+   * @param model the artifact's POM model
+   * @param attributes the attributes used to resolve the model
+   * @return a key that changes whenever any of the inputs used to resolve the model changes.
+   */
+  public String getKey(File artifactFile, Model model, Map<String, Object> attributes) {
+    try {
+      MessageDigest digest = newDigest();
+      digest.update(artifactFile.getAbsolutePath().getBytes(UTF_8));
+      ByteArrayOutputStream modelContent = new ByteArrayOutputStream();
+      new MavenXpp3Writer().write(modelContent, model);
+      digest.update(modelContent.toByteArray());
+      // Sorted to get the same key no matter the attributes map implementation
+      digest.update(new TreeMap<>(attributes).toString().getBytes(UTF_8));
+      // Parent and dependency POMs and SNAPSHOT jars bundled with the artifact change without changing its own POM
+      for (File file : getEmbeddedFiles(artifactFile)) {
+        digest.update(file.getAbsolutePath().getBytes(UTF_8));
+        digest.update(getFingerprint(file).getBytes(UTF_8));
+      }
+      return getArtifactKey(artifactFile) + KEY_SEPARATOR + toHexString(digest.digest());
+    } catch (NoSuchAlgorithmException | IOException e) {
+      throw new IllegalStateException("Cannot calculate classloader model key for " + artifactFile.getAbsolutePath(), e);
+    }
+  }
+
+  /**
+   * Looks up a previously resolved model.
+   *
+   * @param key key of the model obtained with {@link #getKey(File, Model, Map)}
+   * @return the cached model if there is a valid one, empty otherwise.
+   */
+  public Optional<ClassLoaderModel> get(String key) {
+    File cacheFile = getCacheFile(key);
+    if (!cacheFile.exists()) {
+      return empty();
+    }
+
+    Properties properties = new Properties();
+    try (InputStream inputStream = new FileInputStream(cacheFile)) {
+      properties.load(inputStream);
+      return readModel(properties);
+    } catch (Exception e) {
+      logger.warn("Discarding cached classloader model " + cacheFile.getAbsolutePath(), e);
+      cacheFile.delete();
+      return empty();
+    }
+  }
+
+  /**
+   * Stores a resolved model. Failures are logged but not propagated as the cache is just an optimization.
+   *
+   * @param key key of the model obtained with {@link #getKey(File, Model, Map)}
+   * @param classLoaderModel model to store
+   */
+  public void put(String key, ClassLoaderModel classLoaderModel) {
+    put(key, null, classLoaderModel);
+  }
+
+  /**
+   * Stores a resolved model, removing the entries previously stored for the same artifact and the entries of artifacts that no
+   * longer exist. Failures are logged but not propagated as the cache is just an optimization.
+   *
+   * @param key key of the model obtained with {@link #getKey(File, Model, Map)}
+   * @param artifactFile artifact which model is stored. When null, entries of missing artifacts are not removed.
+   * @param classLoaderModel model to store
+   */
+  public void put(String key, File artifactFile, ClassLoaderModel classLoaderModel) {
+    if (!cacheFolder.exists() && !cacheFolder.mkdirs() && !cacheFolder.exists()) {
+      logger.warn("Cannot create classloader model cache folder " + cacheFolder.getAbsolutePath());
+      return;
+    }
+
+    File cacheFile = getCacheFile(key);
+    File tempFile = new File(cacheFolder, key + TEMP_FILE_SUFFIX + Thread.currentThread().getId());
+    try (OutputStream outputStream = new FileOutputStream(tempFile)) {
+      Properties properties = writeModel(classLoaderModel);
+      if (artifactFile != null) {
+        properties.setProperty(ARTIFACT_KEY, artifactFile.getAbsolutePath());
+      }
+      properties.store(outputStream, null);
+    } catch (IOException | URISyntaxException e) {
+      logger.warn("Cannot store classloader model in " + cacheFile.getAbsolutePath(), e);
+      tempFile.delete();
+      return;
+    }
+
+    // Replaces the entry in one step so concurrent readers never see a partial file
+    cacheFile.delete();
+    if (!tempFile.renameTo(cacheFile)) {
+      tempFile.delete();
+    }
+
+    prune(key);
+  }
+
+  private void prune(String key) {
+    String artifactPrefix = key.substring(0, key.indexOf(KEY_SEPARATOR) + 1);
+    File[] cacheFiles = cacheFolder.listFiles((dir, name) -> name.endsWith(CACHE_FILE_SUFFIX));
+    if (cacheFiles == null) {
+      return;
+    }
+
+    for (File cacheFile : cacheFiles) {
+      String name = cacheFile.getName();
+      if (name.equals(key + CACHE_FILE_SUFFIX)) {
+        continue;
+      }
+      if (name.startsWith(artifactPrefix) || isOrphan(cacheFile)) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Removing stale cached classloader model " + cacheFile.getAbsolutePath());
+        }
+        cacheFile.delete();
+      }
+    }
+  }
+
+  private boolean isOrphan(File cacheFile) {
+    Properties properties = new Properties();
+    try (InputStream inputStream = new FileInputStream(cacheFile)) {
+      properties.load(inputStream);
+    } catch (IOException e) {
+      // Removed concurrently or unreadable, get will discard it in the latter case
+      return false;
+    }
+    String artifactPath = properties.getProperty(ARTIFACT_KEY);
+    return artifactPath != null && !new File(artifactPath).exists();
+  }
+
+  private File getCacheFile(String key) {
+    return new File(cacheFolder, key + CACHE_FILE_SUFFIX);
+  }
+
+  private String getArtifactKey(File artifactFile) throws NoSuchAlgorithmException {
+    MessageDigest digest = newDigest();
+    digest.update(artifactFile.getAbsolutePath().getBytes(UTF_8));
+    return toHexString(digest.digest());
+  }
+
+  private MessageDigest newDigest() throws NoSuchAlgorithmException {
+    return MessageDigest.getInstance("SHA-1");
+  }
+
+  private List<File> getEmbeddedFiles(File artifactFile) throws IOException {
+    if (artifactFile.isFile()) {
+      return singletonList(artifactFile);
+    }
+
+    File repositoryFolder = new File(artifactFile, REPOSITORY_FOLDER);
+    if (!repositoryFolder.isDirectory()) {
+      return emptyList();
+    }
+    try (Stream<Path> paths = Files.walk(repositoryFolder.toPath())) {
+      return paths.map(Path::toFile).filter(file -> file.isFile() && isResolvedFile(file.getName())).sorted().collect(toList());
+    }
+  }
+
+  private boolean isResolvedFile(String name) {
+    return name.endsWith(JAR_FILE_SUFFIX) || name.endsWith(POM_FILE_SUFFIX);
+  }
+
+  private Properties writeModel(ClassLoaderModel classLoaderModel) throws URISyntaxException {
+    Properties properties = new Properties();
+    int index = 0;
+    for (URL url : classLoaderModel.getUrls()) {
+      writeFingerprint(properties, URL_KEY + index, url);
+      properties.setProperty(URL_KEY + index++, url.toString());
+    }
+    index = 0;
+    for (String exportedPackage : classLoaderModel.getExportedPackages()) {
+      properties.setProperty(EXPORTED_PACKAGE_KEY + index++, exportedPackage);
+    }
+    index = 0;
+    for (String exportedResource : classLoaderModel.getExportedResources()) {
+      properties.setProperty(EXPORTED_RESOURCE_KEY + index++, exportedResource);
+    }
+    index = 0;
+    for (BundleDependency dependency : classLoaderModel.getDependencies()) {
+      String prefix = DEPENDENCY_KEY + index++;
+      BundleDescriptor descriptor = dependency.getDescriptor();
+      properties.setProperty(prefix + GROUP_ID, descriptor.getGroupId());
+      properties.setProperty(prefix + ARTIFACT_ID, descriptor.getArtifactId());
+      properties.setProperty(prefix + VERSION, descriptor.getVersion());
+      properties.setProperty(prefix + TYPE, descriptor.getType());
+      descriptor.getClassifier().ifPresent(classifier -> properties.setProperty(prefix + CLASSIFIER, classifier));
+      if (dependency.getScope() != null) {
+        properties.setProperty(prefix + SCOPE, dependency.getScope().name());
+      }
+      if (dependency.getBundleUrl() != null) {
+        properties.setProperty(prefix + BUNDLE_URL, dependency.getBundleUrl().toString());
+        writeFingerprint(properties, prefix + BUNDLE_URL, dependency.getBundleUrl());
+      }
+    }
+    return properties;
+  }
+
+  private Optional<ClassLoaderModel> readModel(Properties properties) throws IOException, URISyntaxException {
+    ClassLoaderModelBuilder builder = new ClassLoaderModelBuilder();
+
+    for (int i = 0; properties.containsKey(URL_KEY + i); i++) {
+      URL url = new URL(properties.getProperty(URL_KEY + i));
+      if (!isUnchanged(properties, URL_KEY + i, url)) {
+        return empty();
+      }
+      builder.containing(url);
+    }
+
+    builder.exportingPackages(readValues(properties, EXPORTED_PACKAGE_KEY));
+    builder.exportingResources(readValues(properties, EXPORTED_RESOURCE_KEY));
+
+    Set<BundleDependency> dependencies = new HashSet<>();
+    for (int i = 0; properties.containsKey(DEPENDENCY_KEY + i + GROUP_ID); i++) {
+      String prefix = DEPENDENCY_KEY + i;
+      BundleDescriptor.Builder descriptorBuilder = new BundleDescriptor.Builder()
+          .setGroupId(properties.getProperty(prefix + GROUP_ID))
+          .setArtifactId(properties.getProperty(prefix + ARTIFACT_ID))
+          .setVersion(properties.getProperty(prefix + VERSION))
+          .setType(properties.getProperty(prefix + TYPE));
+      if (properties.containsKey(prefix + CLASSIFIER)) {
+        descriptorBuilder.setClassifier(properties.getProperty(prefix + CLASSIFIER));
+      }
+
+      BundleDependency.Builder dependencyBuilder = new BundleDependency.Builder().setDescriptor(descriptorBuilder.build());
+      if (properties.containsKey(prefix + SCOPE)) {
+        dependencyBuilder.setScope(BundleScope.valueOf(properties.getProperty(prefix + SCOPE)));
+      }
+      if (properties.containsKey(prefix + BUNDLE_URL)) {
+        URL bundleUrl = new URL(properties.getProperty(prefix + BUNDLE_URL));
+        if (!isUnchanged(properties, prefix + BUNDLE_URL, bundleUrl)) {
+          return empty();
+        }
+        dependencyBuilder.setBundleUrl(bundleUrl);
+      }
+      dependencies.add(dependencyBuilder.build());
+    }
+    builder.dependingOn(dependencies);
+
+    return of(builder.build());
+  }
+
+  private Set<String> readValues(Properties properties, String keyPrefix) {
+    Set<String> values = new HashSet<>();
+    for (int i = 0; properties.containsKey(keyPrefix + i); i++) {
+      values.add(properties.getProperty(keyPrefix + i));
+    }
+    return values;
+  }
+
+  private void writeFingerprint(Properties properties, String key, URL url) throws URISyntaxException {
+    File jarFile = getJarFile(url);
+    if (jarFile != null) {
+      properties.setProperty(key + FINGERPRINT, getJarFingerprint(jarFile));
+    }
+  }
+
+  private boolean isUnchanged(Properties properties, String key, URL url) throws URISyntaxException {
+    File jarFile = getJarFile(url);
+    if (jarFile == null) {
+      return true;
+    }
+    return jarFile.exists() && getJarFingerprint(jarFile).equals(properties.getProperty(key + FINGERPRINT));
+  }
+
+  private File getJarFile(URL url) throws URISyntaxException {
+    // Only resolved files are checked, artifact folders may be optional
+    if (!"file".equals(url.getProtocol()) || !url.getPath().endsWith(JAR_FILE_SUFFIX)) {
+      return null;
+    }
+    return new File(url.toURI());
+  }
+
+  private String getJarFingerprint(File jarFile) {
+    // The POM next to the jar is the one used to resolve its transitive dependencies
+    String name = jarFile.getName();
+    String baseName = name.substring(0, name.length() - JAR_FILE_SUFFIX.length());
+    File pomFile = new File(jarFile.getParentFile(), baseName + POM_FILE_SUFFIX);
+    return getFingerprint(jarFile) + "," + getFingerprint(pomFile);
+  }
+
+  private String getFingerprint(File file) {
+    return file.exists() ? file.length() + ":" + file.lastModified() : "";
+  }
+}
@@ -28,6 +28,7 @@ import static org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescrip
 import static org.mule.runtime.deployment.model.api.plugin.MavenClassLoaderConstants.EXPORTED_PACKAGES;
 import static org.mule.runtime.deployment.model.api.plugin.MavenClassLoaderConstants.EXPORTED_RESOURCES;
 import static org.mule.runtime.deployment.model.api.plugin.MavenClassLoaderConstants.MAVEN;
+import static org.mule.runtime.module.deployment.impl.internal.artifact.ClassLoaderModelCache.isClassLoaderModelCacheEnabled;
 import static org.mule.runtime.module.deployment.impl.internal.artifact.MavenUtils.getMavenLocalRepository;
 import static org.mule.runtime.module.deployment.impl.internal.plugin.MavenUtils.getPomModelFromJar;
 import static org.mule.runtime.module.deployment.impl.internal.plugin.MavenUtils.getPomUrlFromJar;
@@ -53,6 +54,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -119,6 +121,8 @@ public abstract class MavenClassLoaderModelLoader implements ClassLoaderModelLoa
   private static final String REPOSITORY_DIRECTORY_NAME = "repository";
   protected final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+  private final ClassLoaderModelCache classLoaderModelCache = new ClassLoaderModelCache();
+
   @Override
   public String getId() {
     return MAVEN;
@@ -134,6 +138,9 @@ public abstract class MavenClassLoaderModelLoader implements ClassLoaderModelLoa
    * <p/>
    * Finally, it will also tell the resulting {@link ClassLoaderModel} which packages and/or resources has to export, consuming
    * the attributes from the {@link MuleArtifactLoaderDescriptor#getAttributes()} map.
+   * <p/>
+   * Resolved models are kept in a {@link ClassLoaderModelCache} so unchanged artifacts are not resolved again when the
+   * container restarts.
    *
    * @param artifactFile {@link File} where the current plugin to work with.
    * @param attributes a set of attributes to work with, where the current implementation of this class will look for
@@ -145,6 +152,19 @@ public abstract class MavenClassLoaderModelLoader implements ClassLoaderModelLoa
   public final ClassLoaderModel load(File artifactFile, Map<String, Object> attributes)
       throws InvalidDescriptorLoaderException {
     final Model model = getPomModel(artifactFile);
+
+    String cacheKey = null;
+    if (isClassLoaderModelCacheEnabled()) {
+      cacheKey = classLoaderModelCache.getKey(artifactFile, model, getCacheAttributes(attributes));
+      Optional<ClassLoaderModel> cachedClassLoaderModel = classLoaderModelCache.get(cacheKey);
+      if (cachedClassLoaderModel.isPresent()) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Using cached classloader model for " + artifactFile.getAbsolutePath());
+        }
+        return cachedClassLoaderModel.get();
+      }
+    }
+
     final ClassLoaderModelBuilder classLoaderModelBuilder = new ClassLoaderModelBuilder();
     classLoaderModelBuilder
         .exportingPackages(new HashSet<>(getAttribute(attributes, EXPORTED_PACKAGES)))
@@ -155,7 +175,20 @@ public abstract class MavenClassLoaderModelLoader implements ClassLoaderModelLoa
     dependencyResult.getRoot().accept(nlg);
     loadUrls(artifactFile, classLoaderModelBuilder, dependencyResult, nlg);
     loadDependencies(classLoaderModelBuilder, dependencyResult, nlg);
-    return classLoaderModelBuilder.build();
+    final ClassLoaderModel classLoaderModel = classLoaderModelBuilder.build();
+
+    if (cacheKey != null) {
+      classLoaderModelCache.put(cacheKey, artifactFile, classLoaderModel);
+    }
+    return classLoaderModel;
+  }
+
+  private Map<String, Object> getCacheAttributes(Map<String, Object> attributes) {
+    // Resolution also depends on the loader type and settings that are not part of the attributes
+    Map<String, Object> cacheAttributes = new HashMap<>(attributes);
+    cacheAttributes.put(getClass().getName(), enabledTestDependencies());
+    cacheAttributes.put(MULE_REMOTE_REPOSITORIES_PROPERTY, System.getProperty(MULE_REMOTE_REPOSITORIES_PROPERTY, ""));
+    return cacheAttributes;
   }
 
   /**
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.deployment.impl.internal.artifact;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mule.runtime.module.artifact.descriptor.BundleScope.COMPILE;
+import org.mule.runtime.module.artifact.descriptor.BundleDependency;
+import org.mule.runtime.module.artifact.descriptor.BundleDescriptor;
+import org.mule.runtime.module.artifact.descriptor.ClassLoaderModel;
+import org.mule.runtime.module.artifact.descriptor.ClassLoaderModel.ClassLoaderModelBuilder;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import org.apache.maven.model.Model;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class ClassLoaderModelCacheTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File cacheFolder;
+  private ClassLoaderModelCache cache;
+  private File artifactFolder;
+  private Model model;
+
+  @Before
+  public void setUp() throws Exception {
+    cacheFolder = temporaryFolder.newFolder("cache");
+    cache = new ClassLoaderModelCache(cacheFolder);
+    artifactFolder = temporaryFolder.newFolder("artifact");
+    model = new Model();
+    model.setGroupId("org.foo");
+    model.setArtifactId("bar");
+    model.setVersion("1.0");
+  }
+
+  @Test
+  public void returnsStoredModel() throws Exception {
+    URL jarUrl = temporaryFolder.newFile("dependency.jar").toURI().toURL();
+    BundleDependency dependency = new BundleDependency.Builder().setDescriptor(new BundleDescriptor.Builder()
+        .setGroupId("org.foo").setArtifactId("dependency").setVersion("1.0").setClassifier("mule-plugin").build())
+        .setScope(COMPILE).setBundleUrl(jarUrl).build();
+    ClassLoaderModel classLoaderModel = new ClassLoaderModelBuilder().containing(jarUrl)
+        .exportingPackages(singleton("org.foo")).exportingResources(singleton("META-INF/foo.txt"))
+        .dependingOn(singleton(dependency)).build();
+
+    String key = cache.getKey(artifactFolder, model, emptyMap());
+    cache.put(key, classLoaderModel);
+
+    Optional<ClassLoaderModel> cachedModel = cache.get(key);
+    assertThat(cachedModel.isPresent(), is(true));
+    assertThat(cachedModel.get().getUrls(), arrayContaining(jarUrl));
+    assertThat(cachedModel.get().getExportedPackages(), contains("org.foo"));
+    assertThat(cachedModel.get().getExportedResources(), contains("META-INF/foo.txt"));
+    BundleDependency cachedDependency = cachedModel.get().getDependencies().iterator().next();
+    assertThat(cachedDependency.getDescriptor(), equalTo(dependency.getDescriptor()));
+    assertThat(cachedDependency.getScope(), is(COMPILE));
+    assertThat(cachedDependency.getBundleUrl(), equalTo(jarUrl));
+  }
+
+  @Test
+  public void discardsModelWithMissingFiles() throws Exception {
+    File jarFile = temporaryFolder.newFile("dependency.jar");
+    ClassLoaderModel classLoaderModel = new ClassLoaderModelBuilder().containing(jarFile.toURI().toURL()).build();
+
+    String key = cache.getKey(artifactFolder, model, emptyMap());
+    cache.put(key, classLoaderModel);
+    jarFile.delete();
+
+    assertThat(cache.get(key).isPresent(), is(false));
+  }
+
+  @Test
+  public void discardsModelWithChangedJar() throws Exception {
+    File jarFile = temporaryFolder.newFile("dependency-1.0-SNAPSHOT.jar");
+    ClassLoaderModel classLoaderModel = new ClassLoaderModelBuilder().containing(jarFile.toURI().toURL()).build();
+
+    String key = cache.getKey(artifactFolder, model, emptyMap());
+    cache.put(key, classLoaderModel);
+    write(jarFile, "new content");
+
+    assertThat(cache.get(key).isPresent(), is(false));
+  }
+
+  @Test
+  public void discardsModelWithChangedDependencyPom() throws Exception {
+    File jarFile = temporaryFolder.newFile("dependency-1.0-SNAPSHOT.jar");
+    File pomFile = temporaryFolder.newFile("dependency-1.0-SNAPSHOT.pom");
+    ClassLoaderModel classLoaderModel = new ClassLoaderModelBuilder().containing(jarFile.toURI().toURL()).build();
+
+    String key = cache.getKey(artifactFolder, model, emptyMap());
+    cache.put(key, classLoaderModel);
+    assertThat(cache.get(key).isPresent(), is(true));
+    write(pomFile, "<project/>");
+
+    assertThat(cache.get(key).isPresent(), is(false));
+  }
+
+  @Test
+  public void keyChangesWithModel() throws Exception {
+    String key = cache.getKey(artifactFolder, model, emptyMap());
+    model.setVersion("2.0");
+
+    assertThat(cache.getKey(artifactFolder, model, emptyMap()), not(equalTo(key)));
+  }
+
+  @Test
+  public void keyChangesWithEmbeddedPom() throws Exception {
+    File parentPom = createEmbeddedPom();
+    String key = cache.getKey(artifactFolder, model, emptyMap());
+    write(parentPom, "<project><version>1.1</version></project>");
+
+    assertThat(cache.getKey(artifactFolder, model, emptyMap()), not(equalTo(key)));
+  }
+
+  @Test
+  public void removesSupersededEntries() throws Exception {
+    File parentPom = createEmbeddedPom();
+    String previousKey = cache.getKey(artifactFolder, model, emptyMap());
+    cache.put(previousKey, artifactFolder, new ClassLoaderModelBuilder().build());
+    write(parentPom, "<project><version>1.1</version></project>");
+
+    String key = cache.getKey(artifactFolder, model, emptyMap());
+    cache.put(key, artifactFolder, new ClassLoaderModelBuilder().build());
+
+    assertThat(cache.get(previousKey).isPresent(), is(false));
+    assertThat(cache.get(key).isPresent(), is(true));
+    assertThat(cacheFolder.listFiles(), arrayWithSize(1));
+  }
+
+  @Test
+  public void removesEntriesOfMissingArtifacts() throws Exception {
+    File removedArtifactFolder = temporaryFolder.newFolder("removed");
+    String removedKey = cache.getKey(removedArtifactFolder, model, emptyMap());
+    cache.put(removedKey, removedArtifactFolder, new ClassLoaderModelBuilder().build());
+    removedArtifactFolder.delete();
+
+    String key = cache.getKey(artifactFolder, model, emptyMap());
+    cache.put(key, artifactFolder, new ClassLoaderModelBuilder().build());
+
+    assertThat(cache.get(removedKey).isPresent(), is(false));
+    assertThat(cache.get(key).isPresent(), is(true));
+  }
+
+  private File createEmbeddedPom() throws IOException {
+    File parentFolder = new File(artifactFolder, "repository/org/foo/parent/1.0");
+    parentFolder.mkdirs();
+    File parentPom = new File(parentFolder, "parent-1.0.pom");
+    write(parentPom, "<project/>");
+    return parentPom;
+  }
+
+  private void write(File file, String content) throws IOException {
+    Files.write(file.toPath(), content.getBytes(UTF_8));
+  }
+}
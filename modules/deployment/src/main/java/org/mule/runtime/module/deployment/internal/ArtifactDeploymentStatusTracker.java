@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.module.deployment.internal;
 
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.time.TimeSupplier;
 import org.mule.runtime.module.deployment.api.DeploymentListener;
 
 import java.util.Collections;
@@ -26,22 +28,125 @@ public class ArtifactDeploymentStatusTracker implements DeploymentListener {
     DEPLOYED
   }
 
+  /**
+   * Phases of an artifact deployment, in the order they are notified.
+   */
+  public static enum DeploymentPhase {
+    // From the deployment start until the artifact's mule context is created
+    CREATE,
+    // Configuration of the artifact's mule context
+    CONFIGURE,
+    // Initialisation of the artifact's mule context
+    INITIALISE,
+    // From the initialisation of the artifact's mule context until the deployment finishes
+    START
+  }
+
   protected Map<String, DeploymentState> deploymentStates = new ConcurrentHashMap<String, DeploymentState>();
+  protected Map<String, DeploymentTimes> deploymentTimes = new ConcurrentHashMap<String, DeploymentTimes>();
+
+  private final TimeSupplier timeSupplier;
+
+  public ArtifactDeploymentStatusTracker() {
+    this(new TimeSupplier());
+  }
+
+  /**
+   * @param timeSupplier provides the time at which each deployment phase ends
+   */
+  public ArtifactDeploymentStatusTracker(TimeSupplier timeSupplier) {
+    this.timeSupplier = timeSupplier;
+  }
 
   public Map<String, DeploymentState> getDeploymentStates() {
     return Collections.unmodifiableMap(deploymentStates);
   }
 
+  public Map<String, DeploymentTimes> getDeploymentTimes() {
+    return Collections.unmodifiableMap(deploymentTimes);
+  }
+
   public void onDeploymentStart(String artifactName) {
     deploymentStates.put(artifactName, DeploymentState.DEPLOYING);
+    deploymentTimes.put(artifactName, new DeploymentTimes(timeSupplier.get()));
   }
 
   public void onDeploymentSuccess(String artifactName) {
     deploymentStates.put(artifactName, DeploymentState.DEPLOYED);
+    markPhaseEnd(artifactName, DeploymentPhase.START);
   }
 
   public void onDeploymentFailure(String artifactName, Throwable failureCause) {
     deploymentStates.put(artifactName, DeploymentState.FAILED);
+    markPhaseEnd(artifactName, DeploymentPhase.START);
+  }
+
+  @Override
+  public void onMuleContextCreated(String artifactName, MuleContext context) {
+    markPhaseEnd(artifactName, DeploymentPhase.CREATE);
+  }
+
+  @Override
+  public void onMuleContextConfigured(String artifactName, MuleContext context) {
+    markPhaseEnd(artifactName, DeploymentPhase.CONFIGURE);
+  }
+
+  @Override
+  public void onMuleContextInitialised(String artifactName, MuleContext context) {
+    markPhaseEnd(artifactName, DeploymentPhase.INITIALISE);
+  }
+
+  private void markPhaseEnd(String artifactName, DeploymentPhase phase) {
+    DeploymentTimes times = deploymentTimes.get(artifactName);
+    if (times != null) {
+      times.markPhaseEnd(phase, timeSupplier.get());
+    }
+  }
+
+  /**
+   * Keeps the time spent on each {@link DeploymentPhase} of a given artifact deployment.
+   */
+  public static class DeploymentTimes {
+
+    private final long startTime;
+    private final long[] phaseEndTimes = new long[DeploymentPhase.values().length];
+
+    DeploymentTimes(long startTime) {
+      this.startTime = startTime;
+    }
+
+    synchronized void markPhaseEnd(DeploymentPhase phase, long time) {
+      phaseEndTimes[phase.ordinal()] = time;
+    }
+
+    /**
+     * @param phase deployment phase to check
+     * @return the milliseconds spent on the given phase or -1 if the phase was not completed.
+     */
+    public synchronized long getPhaseDuration(DeploymentPhase phase) {
+      long end = phaseEndTimes[phase.ordinal()];
+      if (end == 0) {
+        return -1;
+      }
+
+      // Phases that were not notified are accounted as part of the following one
+      long begin = startTime;
+      for (int i = phase.ordinal() - 1; i >= 0; i--) {
+        if (phaseEndTimes[i] != 0) {
+          begin = phaseEndTimes[i];
+          break;
+        }
+      }
+      return end - begin;
+    }
+
+    /**
+     * @return the milliseconds spent on the whole deployment or -1 if the deployment is still in progress.
+     */
+    public synchronized long getTotalDuration() {
+      long end = phaseEndTimes[DeploymentPhase.START.ordinal()];
+      return end == 0 ? -1 : end - startTime;
+    }
   }
 
 }
@@ -7,6 +7,12 @@
 
 package org.mule.runtime.module.deployment.internal;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.Runtime.getRuntime;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import org.mule.runtime.core.util.concurrent.NamedThreadFactory;
 import org.mule.runtime.deployment.model.api.application.Application;
 import org.mule.runtime.deployment.model.api.domain.Domain;
 import org.mule.runtime.module.deployment.internal.util.ObservableList;
@@ -16,18 +22,33 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Provides parallel deployment of Mule applications.
+ * Provides parallel deployment of Mule domains and applications.
+ * <p/>
+ * Artifacts are deployed following the domain to application dependency graph: every domain is a root node and every
+ * application depends on the domain it belongs to. As an application's domain is only known once its descriptor has been
+ * loaded, the graph is processed level by level: all the domains are deployed concurrently and, once they are all done, all
+ * the applications are deployed concurrently. Independent nodes within each level share a bounded worker pool which is reused
+ * across deployment cycles.
  *
  * @since 3.8.2
  */
 public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatcher {
 
+  /**
+   * System property used to configure the maximum number of artifacts deployed concurrently.
+   */
+  public static final String PARALLEL_DEPLOYMENT_THREADS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "deployment.parallel.threads";
+
+  protected static final int DEFAULT_PARALLEL_DEPLOYMENT_THREADS = max(2, getRuntime().availableProcessors());
+
+  private static final int POOL_THREADS_KEEP_ALIVE_SECONDS = 5;
+  private static final int POOL_TERMINATION_TIMEOUT_SECONDS = 5;
+
   private final ThreadPoolExecutor threadPoolExecutor;
 
   public ParallelDeploymentDirectoryWatcher(ArchiveDeployer<Domain> domainArchiveDeployer,
@@ -35,76 +56,146 @@ public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatch
                                             ObservableList<Domain> domains, ObservableList<Application> applications,
                                             ReentrantLock deploymentLock) {
     super(domainArchiveDeployer, applicationArchiveDeployer, domains, applications, deploymentLock);
-    this.threadPoolExecutor =
-        new ThreadPoolExecutor(0, 20, 5, TimeUnit.SECONDS, new SynchronousQueue(), new ThreadPoolExecutor.CallerRunsPolicy());
+
+    final int threads = getDeploymentThreads();
+    this.threadPoolExecutor = new ThreadPoolExecutor(threads, threads, POOL_THREADS_KEEP_ALIVE_SECONDS, SECONDS,
+                                                     new LinkedBlockingQueue<>(),
+                                                     new NamedThreadFactory("Mule.artifact.deployer"));
+    // Threads are only needed while a deployment cycle is running
+    this.threadPoolExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  private static int getDeploymentThreads() {
+    int threads = getInteger(PARALLEL_DEPLOYMENT_THREADS_PROPERTY, DEFAULT_PARALLEL_DEPLOYMENT_THREADS);
+    if (threads < 1) {
+      throw new IllegalArgumentException("Property '" + PARALLEL_DEPLOYMENT_THREADS_PROPERTY
+          + "' must be greater than zero but was " + threads);
+    }
+    return threads;
   }
 
   @Override
-  protected void deployPackedApps(String[] zips) {
-    if (zips.length == 0) {
-      return;
+  public void stop() {
+    try {
+      super.stop();
+    } finally {
+      // Running deployments are not interrupted, as that could leave the artifacts half deployed
+      threadPoolExecutor.shutdown();
+      try {
+        if (!threadPoolExecutor.awaitTermination(POOL_TERMINATION_TIMEOUT_SECONDS, SECONDS)) {
+          logger.warn("Artifact deployments were still running {} seconds after stopping the directory watcher",
+                      POOL_TERMINATION_TIMEOUT_SECONDS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
     }
+  }
 
+  @Override
+  protected void deployPackedDomains(String[] zips) {
     List<Callable<Object>> tasks = new ArrayList<>(zips.length);
     for (final String zip : zips) {
-      tasks.add(new Callable<Object>() {
+      tasks.add(() -> {
+        try {
+          domainArchiveDeployer.deployPackagedArtifact(zip);
+        } catch (Exception e) {
+          logger.error("Error deploying domain '{}'", zip, e);
+        }
+        return null;
+      });
+    }
 
-        @Override
-        public Object call() throws Exception {
+    waitForTasksToFinish(tasks);
+  }
+
+  @Override
+  protected void deployExplodedDomains(String[] domains) {
+    List<Callable<Object>> tasks = new ArrayList<>(domains.length);
+    for (final String addedDomain : domains) {
+      if (domainArchiveDeployer.isUpdatedZombieArtifact(addedDomain)) {
+        tasks.add(() -> {
           try {
-            applicationArchiveDeployer.deployPackagedArtifact(zip);
+            domainArchiveDeployer.deployExplodedArtifact(addedDomain);
           } catch (Exception e) {
-            // Ignore and continue
+            logger.error("Error deploying domain '{}'", addedDomain, e);
           }
           return null;
+        });
+      }
+    }
+
+    waitForTasksToFinish(tasks);
+  }
+
+  @Override
+  protected void deployPackedApps(String[] zips) {
+    List<Callable<Object>> tasks = new ArrayList<>(zips.length);
+    for (final String zip : zips) {
+      tasks.add(() -> {
+        try {
+          applicationArchiveDeployer.deployPackagedArtifact(zip);
+        } catch (Exception e) {
+          logger.error("Error deploying application '{}'", zip, e);
         }
+        return null;
       });
     }
 
     waitForTasksToFinish(tasks);
   }
 
-
   @Override
   protected void deployExplodedApps(String[] apps) {
     List<Callable<Object>> tasks = new ArrayList<>(apps.length);
-
     for (final String addedApp : apps) {
       if (applicationArchiveDeployer.isUpdatedZombieArtifact(addedApp)) {
-        tasks.add(new Callable<Object>() {
-
-          @Override
-          public Object call() throws Exception {
-            try {
-              applicationArchiveDeployer.deployExplodedArtifact(addedApp);
-            } catch (Exception e) {
-              // Ignore and continue
-            }
-            return null;
+        tasks.add(() -> {
+          try {
+            applicationArchiveDeployer.deployExplodedArtifact(addedApp);
+          } catch (Exception e) {
+            logger.error("Error deploying application '{}'", addedApp, e);
           }
+          return null;
         });
       }
     }
 
-    if (!tasks.isEmpty()) {
-      waitForTasksToFinish(tasks);
-    }
+    waitForTasksToFinish(tasks);
   }
 
+  /**
+   * Runs all the tasks of a dependency level, blocking until all of them are finished so the next level can rely on them.
+   * <p/>
+   * A single task is executed in the calling thread as there is nothing to parallelize.
+   *
+   * @param tasks deployment tasks that do not depend on each other
+   */
   private void waitForTasksToFinish(List<Callable<Object>> tasks) {
+    if (tasks.isEmpty()) {
+      return;
+    }
+
     try {
+      if (tasks.size() == 1) {
+        tasks.get(0).call();
+        return;
+      }
+
       final List<Future<Object>> futures = threadPoolExecutor.invokeAll(tasks);
 
       for (Future<Object> future : futures) {
         try {
           future.get();
         } catch (ExecutionException e) {
-          // Ignore and continue with the next one
+          // Continue with the next one, the level is finished only when all of them are done
+          logger.error("Error running deployment task", e.getCause());
         }
       }
-
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      logger.error("Error running deployment task", e);
     }
   }
 }
@@ -7,6 +7,8 @@
 package org.mule.runtime.module.deployment.internal;
 
 import org.mule.runtime.core.util.SimpleLoggingTable;
+import org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentPhase;
+import org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentTimes;
 import org.mule.runtime.module.deployment.api.DeploymentService;
 import org.mule.runtime.module.deployment.api.StartupListener;
 import org.mule.runtime.deployment.model.api.application.Application;
@@ -14,13 +16,15 @@ import org.mule.runtime.deployment.model.api.application.Application;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Prints application status summary table on Mule startup.
+ * Prints application status summary table on Mule startup, followed by the time spent on each deployment phase of every
+ * artifact.
  */
 public class StartupSummaryDeploymentListener implements StartupListener {
 
@@ -29,9 +33,13 @@ public class StartupSummaryDeploymentListener implements StartupListener {
   private static final String APPLICATION_LABEL = "APPLICATION";
   private static final String DOMAIN_OWNER_LABEL = "DOMAIN";
   private static final String STATUS_LABEL = "STATUS";
+  private static final String ARTIFACT_LABEL = "ARTIFACT";
+  private static final String TOTAL_TIME_LABEL = "TOTAL (ms)";
+  private static final String NO_TIME = "-";
   private static final int ARTIFACT_NAME_LABEL_LENGTH = 45;
   private static final int STATUS_LABEL_LENGTH = 18;
   private static final int DOMAIN_OWNER_LABEL_LENGTH = 30;
+  private static final int TIME_LABEL_LENGTH = 16;
 
   private static final String UNKNOWN_ARTIFACT_NAME = "UNKNOWN";
 
@@ -95,6 +103,39 @@ public class StartupSummaryDeploymentListener implements StartupListener {
       message = String.format("%n%s", domainTable);
     }
 
+    Map<String, DeploymentTimes> deploymentTimes = new LinkedHashMap<>();
+    deploymentTimes.putAll(tracker.getDomainDeploymentStatusTracker().getDeploymentTimes());
+    deploymentTimes.putAll(tracker.getApplicationDeploymentStatusTracker().getDeploymentTimes());
+    if (!deploymentTimes.isEmpty()) {
+      message = String.format("%s%n%s", message, createDeploymentTimesTable(deploymentTimes));
+    }
+
     logger.info(message);
   }
+
+  private SimpleLoggingTable createDeploymentTimesTable(Map<String, DeploymentTimes> deploymentTimes) {
+    SimpleLoggingTable timesTable = new SimpleLoggingTable();
+    timesTable.addColumn(ARTIFACT_LABEL, ARTIFACT_NAME_LABEL_LENGTH);
+    for (DeploymentPhase phase : DeploymentPhase.values()) {
+      timesTable.addColumn(phase.name() + " (ms)", TIME_LABEL_LENGTH);
+    }
+    timesTable.addColumn(TOTAL_TIME_LABEL, TIME_LABEL_LENGTH);
+
+    for (Map.Entry<String, DeploymentTimes> entry : deploymentTimes.entrySet()) {
+      DeploymentTimes times = entry.getValue();
+      String[] data = new String[DeploymentPhase.values().length + 2];
+      data[0] = entry.getKey();
+      for (DeploymentPhase phase : DeploymentPhase.values()) {
+        data[phase.ordinal() + 1] = formatTime(times.getPhaseDuration(phase));
+      }
+      data[data.length - 1] = formatTime(times.getTotalDuration());
+      timesTable.addDataRow(data);
+    }
+
+    return timesTable;
+  }
+
+  private String formatTime(long time) {
+    return time < 0 ? NO_TIME : Long.toString(time);
+  }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentPhase.CONFIGURE;
+import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentPhase.CREATE;
+import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentPhase.INITIALISE;
+import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentPhase.START;
+import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentState.DEPLOYED;
+import static org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentState.DEPLOYING;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.ConfigurationBuilder;
+import org.mule.runtime.core.api.context.MuleContextBuilder;
+import org.mule.runtime.core.context.DefaultMuleContextFactory;
+import org.mule.runtime.module.deployment.internal.ArtifactDeploymentStatusTracker.DeploymentTimes;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.util.TestTimeSupplier;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+public class ArtifactDeploymentStatusTrackerTestCase extends AbstractMuleTestCase {
+
+  private static final String APP_NAME = "foo";
+  private static final long PHASE_TIME = 50;
+
+  private final TestTimeSupplier timeSupplier = new TestTimeSupplier(0);
+  private final ArtifactDeploymentStatusTracker tracker = new ArtifactDeploymentStatusTracker(timeSupplier);
+  private final MuleContext muleContext = mock(MuleContext.class);
+
+  @Test
+  public void tracksDeploymentPhases() throws Exception {
+    ConfigurationBuilder configurationBuilder = mock(ConfigurationBuilder.class);
+    doAnswer(spendPhaseTime()).when(configurationBuilder).configure(any(MuleContext.class));
+    doAnswer(spendPhaseTime()).when(muleContext).initialise();
+    MuleContextBuilder muleContextBuilder = mock(MuleContextBuilder.class);
+    when(muleContextBuilder.buildMuleContext()).thenReturn(muleContext);
+
+    // The context factory notifies the phases in the same order as when deploying an artifact
+    DefaultMuleContextFactory muleContextFactory = new DefaultMuleContextFactory();
+    muleContextFactory.addListener(new MuleContextDeploymentListener(APP_NAME, tracker));
+
+    tracker.onDeploymentStart(APP_NAME);
+    muleContextFactory.createMuleContext(Collections.singletonList(configurationBuilder), muleContextBuilder);
+    tracker.onDeploymentSuccess(APP_NAME);
+
+    assertThat(tracker.getDeploymentStates().get(APP_NAME), equalTo(DEPLOYED));
+
+    DeploymentTimes times = tracker.getDeploymentTimes().get(APP_NAME);
+    assertThat(times.getPhaseDuration(CREATE), equalTo(0L));
+    assertThat(times.getPhaseDuration(CONFIGURE), equalTo(PHASE_TIME));
+    assertThat(times.getPhaseDuration(INITIALISE), equalTo(PHASE_TIME));
+    assertThat(times.getPhaseDuration(START), equalTo(0L));
+    assertThat(times.getTotalDuration(), equalTo(2 * PHASE_TIME));
+  }
+
+  @Test
+  public void deploymentInProgressHasNoTotalTime() throws Exception {
+    tracker.onDeploymentStart(APP_NAME);
+    tracker.onMuleContextCreated(APP_NAME, muleContext);
+
+    assertThat(tracker.getDeploymentStates().get(APP_NAME), equalTo(DEPLOYING));
+
+    DeploymentTimes times = tracker.getDeploymentTimes().get(APP_NAME);
+    assertThat(times.getPhaseDuration(CREATE), equalTo(0L));
+    assertThat(times.getPhaseDuration(INITIALISE), equalTo(-1L));
+    assertThat(times.getTotalDuration(), equalTo(-1L));
+  }
+
+  private Answer<Void> spendPhaseTime() {
+    return invocation -> {
+      timeSupplier.move(PHASE_TIME, MILLISECONDS);
+      return null;
+    };
+  }
+}
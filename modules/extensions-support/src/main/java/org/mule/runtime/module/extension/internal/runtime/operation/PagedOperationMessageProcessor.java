@@ -6,11 +6,18 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.operation;
 
+import static java.lang.Integer.getInteger;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_PAGING_PREFETCH_DEPTH;
+import static org.mule.runtime.core.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
 import static reactor.core.publisher.Mono.error;
 import static reactor.core.publisher.Mono.just;
 
+import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.extension.ExtensionManager;
 import org.mule.runtime.core.api.processor.InterceptingMessageProcessor;
@@ -31,11 +38,17 @@ import reactor.core.publisher.Mono;
 
 /**
  * A specialization of {@link OperationMessageProcessor} which also implements {@link InterceptingMessageProcessor}.
+ * <p>
+ * When the {@link org.mule.runtime.core.api.config.MuleProperties#MULE_PAGING_PREFETCH_DEPTH} system property is set to a
+ * positive value, the following pages are fetched in an IO scheduler while the current page is consumed.
  *
  * @since 4.0
  */
 public class PagedOperationMessageProcessor extends OperationMessageProcessor {
 
+  private final int prefetchDepth = getInteger(MULE_PAGING_PREFETCH_DEPTH, 0);
+  private Scheduler prefetchScheduler;
+
   public PagedOperationMessageProcessor(ExtensionModel extensionModel,
                                         OperationModel operationModel,
                                         ConfigurationProvider configurationProvider,
@@ -60,7 +73,8 @@ public class PagedOperationMessageProcessor extends OperationMessageProcessor {
 
       Producer<?> producer =
           new PagingProviderProducer(pagingProvider, (ConfigurationInstance) operationContext.getConfiguration().get(),
-                                     connectionManager);
+                                     connectionManager, prefetchScheduler,
+                                     prefetchScheduler != null ? prefetchDepth : 0);
       Consumer<?> consumer = new ListConsumer(producer);
 
       return just(returnDelegate.asReturnValue(new ConsumerIterator<>(consumer), operationContext));
@@ -68,4 +82,25 @@ public class PagedOperationMessageProcessor extends OperationMessageProcessor {
       return error(e);
     }
   }
+
+  @Override
+  public void doStart() throws MuleException {
+    super.doStart();
+    if (prefetchDepth > 0) {
+      prefetchScheduler =
+          muleContext.getSchedulerService().ioScheduler(config().withName(getPrefix(muleContext) + "paging.prefetch"));
+    }
+  }
+
+  @Override
+  public void doStop() throws MuleException {
+    try {
+      super.doStop();
+    } finally {
+      if (prefetchScheduler != null) {
+        prefetchScheduler.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+        prefetchScheduler = null;
+      }
+    }
+  }
 }
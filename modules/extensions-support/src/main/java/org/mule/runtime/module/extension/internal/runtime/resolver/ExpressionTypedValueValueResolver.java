@@ -37,7 +37,7 @@ public class ExpressionTypedValueValueResolver<T> extends ExpressionValueResolve
   public TypedValue<T> resolve(Event event) throws MuleException {
     initEvaluator();
 
-    TypedValue typedValue = evaluator.resolveTypedValue(event, Event.builder(event));
+    TypedValue typedValue = evaluator.resolveTypedValue(event);
     if (isInstance(expectedClass, typedValue.getValue())) {
       return typedValue;
     } else {
@@ -13,6 +13,7 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.util.AttributeEvaluator;
 
 import java.util.function.BiConsumer;
@@ -22,6 +23,9 @@ import java.util.function.BiConsumer;
  * <p>
  * It resolves the expressions by making use of the {@link AttributeEvaluator} so that it's compatible with simple
  * expressions and templates alike
+ * <p>
+ * The expression is classified when the resolver is initialised. Plain values and constant expressions with an immutable
+ * result are not dynamic, so the {@link ResolverSet}s that contain them don't need to be resolved for every event.
  *
  * @param <T>
  * @since 4.0
@@ -31,10 +35,15 @@ public class ExpressionValueResolver<T> implements ValueResolver<T> {
   final AttributeEvaluator evaluator;
   private final MuleContext muleContext;
   private boolean evaluatorInitialized = false;
+  private volatile boolean dynamic = true;
   private BiConsumer<AttributeEvaluator, MuleContext> evaluatorInitialiser = (evaluator, context) -> {
     synchronized (context) {
       if (!evaluatorInitialized) {
-        evaluator.initialize(context.getExpressionManager());
+        ExtendedExpressionManager expressionManager = context.getExpressionManager();
+        evaluator.initialize(expressionManager);
+        // Mutable results of constant expressions would be shared by every event once cached by the resolver sets
+        dynamic = evaluator.isParseExpression()
+            || (evaluator.isExpression() && !expressionManager.isImmutableConstant(evaluator.getRawValue()));
         evaluatorInitialiser = (e, c) -> {
         };
         evaluatorInitialized = true;
@@ -52,7 +61,7 @@ public class ExpressionValueResolver<T> implements ValueResolver<T> {
   @Override
   public T resolve(Event event) throws MuleException {
     initEvaluator();
-    TypedValue typedValue = evaluator.resolveTypedValue(event, Event.builder(event));
+    TypedValue typedValue = evaluator.resolveTypedValue(event);
 
     Object value = typedValue.getValue();
 
@@ -68,10 +77,17 @@ public class ExpressionValueResolver<T> implements ValueResolver<T> {
   }
 
   /**
-   * @return {@code true}
+   * @return {@code false} if the value is not an expression or the expression is constant with an immutable result,
+   *         {@code true} otherwise. If the {@link ExtendedExpressionManager} is not available yet, {@code true}
    */
   @Override
   public boolean isDynamic() {
-    return true;
+    if (!evaluatorInitialized) {
+      if (muleContext.getExpressionManager() == null) {
+        return true;
+      }
+      initEvaluator();
+    }
+    return dynamic;
   }
 }
@@ -41,10 +41,10 @@ public class TypeSafeExpressionValueResolver<T> implements ValueResolver<T> {
   }
 
   /**
-   * @return {@code true}
+   * @return whether the expression is dynamic
    */
   @Override
   public boolean isDynamic() {
-    return true;
+    return delegate.isDynamic();
   }
 }
@@ -7,7 +7,9 @@
 
 package org.mule.runtime.module.extension.internal.runtime.streaming;
 
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -17,11 +19,21 @@ import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
 import org.mule.runtime.extension.api.runtime.ConfigurationInstance;
 
 import java.io.IOException;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
  * Implementation of {@link Producer} that uses an instance of {@link PagingProvider} to get its results.
+ * <p>
+ * When a prefetch depth greater than zero is given, the following pages are fetched in the given {@link Executor} while the
+ * current one is being consumed, so that the consumer doesn't wait for a round trip between pages. Up to {@code prefetchDepth}
+ * pages are kept in memory besides the one being consumed. Pages are still fetched one at a time and in order, and the
+ * {@link PagingProvider} is never accessed concurrently.
  *
  * @param <T> the type of the elements returned by the {@link PagingProvider}.
  * @since 3.5.0
@@ -31,18 +43,90 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
   private PagingProvider<Object, T> delegate;
   private final ConfigurationInstance config;
   private final ConnectionManager connectionManager;
+  private final Executor prefetchExecutor;
+  private final int prefetchDepth;
+  private final Queue<CompletableFuture<List<T>>> prefetchedPages = new LinkedList<>();
+  private CompletableFuture<List<T>> lastPrefetchedPage;
+  private volatile boolean closed = false;
 
   public PagingProviderProducer(PagingProvider<Object, T> delegate, ConfigurationInstance config, ConnectionManager manager) {
+    this(delegate, config, manager, null, 0);
+  }
+
+  /**
+   * @param delegate the {@link PagingProvider} to get the pages from
+   * @param config the configuration to obtain the connections for
+   * @param manager the {@link ConnectionManager} to obtain the connections from
+   * @param prefetchExecutor the {@link Executor} in which the following pages are fetched. May be {@code null} if
+   *        {@code prefetchDepth} is zero
+   * @param prefetchDepth the maximum amount of pages to fetch ahead of the consumer. Zero disables prefetching
+   */
+  public PagingProviderProducer(PagingProvider<Object, T> delegate, ConfigurationInstance config, ConnectionManager manager,
+                                Executor prefetchExecutor, int prefetchDepth) {
+    checkArgument(prefetchDepth >= 0, "prefetchDepth cannot be negative");
+    checkArgument(prefetchDepth == 0 || prefetchExecutor != null, "prefetchExecutor cannot be null when prefetching");
     this.delegate = new PagingProviderWrapper(delegate);
     this.config = config;
     this.connectionManager = manager;
+    this.prefetchExecutor = prefetchExecutor;
+    this.prefetchDepth = prefetchDepth;
   }
 
   /**
-   * Asks the delegate for the next page
+   * Asks the delegate for the next page, or waits for it if it is being prefetched
    */
   @Override
   public List<T> produce() {
+    if (prefetchDepth == 0) {
+      return fetchPage();
+    }
+
+    prefetch();
+    List<T> page = await(prefetchedPages.poll());
+    prefetch();
+    return page;
+  }
+
+  /**
+   * Schedules the fetching of the following pages until there are {@link #prefetchDepth} pages ahead of the consumer. Each page
+   * is fetched once the previous one is obtained, so the order of the pages is kept. Once an empty page is found no more pages
+   * are fetched.
+   */
+  private void prefetch() {
+    while (prefetchedPages.size() < prefetchDepth && !closed) {
+      if (lastPrefetchedPage == null) {
+        lastPrefetchedPage = supplyAsync(this::fetchPage, prefetchExecutor);
+      } else {
+        lastPrefetchedPage =
+            lastPrefetchedPage.thenApplyAsync(previousPage -> previousPage == null || previousPage.isEmpty()
+                ? previousPage
+                : fetchPage(), prefetchExecutor);
+      }
+      prefetchedPages.add(lastPrefetchedPage);
+    }
+  }
+
+  private List<T> await(CompletableFuture<List<T>> page) {
+    if (page == null) {
+      return null;
+    }
+    try {
+      return page.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MuleRuntimeException(createStaticMessage("Interrupted while waiting for the next page"), e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new MuleRuntimeException(createStaticMessage("Could not obtain the next page"), e.getCause());
+    }
+  }
+
+  private List<T> fetchPage() {
+    if (closed) {
+      return null;
+    }
     return performWithConnection(connection -> delegate.getPage(connection));
   }
 
@@ -55,31 +139,46 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
   }
 
   /**
-   * Finds a connection and applies the {@link Function} passed as parameter.
+   * Finds a connection and applies the {@link Function} passed as parameter. The delegate is only accessed by one thread at a
+   * time, even if pages are being prefetched.
    *
    * @param function a function that receives a connection as input and returns a value.
    * @param <R> the return type of the function
    * @return
    */
   private <R> R performWithConnection(Function<Object, R> function) {
-    ConnectionHandler connectionHandler = null;
-    try {
-      connectionHandler = connectionManager.getConnection(config.getValue());
-      return function.apply(connectionHandler.getConnection());
-    } catch (ConnectionException e) {
-      throw new MuleRuntimeException(createStaticMessage("Could not obtain a connection for the configuration"), e);
-    } finally {
-      if (connectionHandler != null) {
-        connectionHandler.release();
+    synchronized (delegate) {
+      ConnectionHandler connectionHandler = null;
+      try {
+        connectionHandler = connectionManager.getConnection(config.getValue());
+        return function.apply(connectionHandler.getConnection());
+      } catch (ConnectionException e) {
+        throw new MuleRuntimeException(createStaticMessage("Could not obtain a connection for the configuration"), e);
+      } finally {
+        if (connectionHandler != null) {
+          connectionHandler.release();
+        }
       }
     }
   }
 
   /**
-   * Closes the delegate
+   * Closes the delegate. If a page is being prefetched, waits for it to be obtained so its connection is released before the
+   * delegate is closed. Pages that were not fetched yet are discarded.
    */
   @Override
   public void close() throws IOException {
+    closed = true;
+    if (lastPrefetchedPage != null) {
+      try {
+        lastPrefetchedPage.handle((page, e) -> page).get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        // the failure was already reported to the consumer, or the page was never consumed
+      }
+      prefetchedPages.clear();
+    }
     this.delegate.close();
   }
 }
@@ -8,6 +8,10 @@ package org.mule.runtime.module.extension.internal.runtime.resolver;
 
 import static org.apache.commons.lang.StringUtils.EMPTY;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
@@ -25,6 +29,8 @@ import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
+import java.util.List;
+
 public class TypeSafeExpressionValueResolverTestCase extends AbstractMuleContextTestCase {
 
   private static final String HELLO_WORLD = "Hello World!";
@@ -69,6 +75,37 @@ public class TypeSafeExpressionValueResolverTestCase extends AbstractMuleContext
         .resolve(eventBuilder().message(InternalMessage.of(HELLO_WORLD)).build()), "true", times(1));
   }
 
+  @Test
+  public void constantIsNotDynamic() throws Exception {
+    assertThat(getResolver("Hello World!", String.class).isDynamic(), is(false));
+    assertThat(getResolver("#['Hello World!']", String.class).isDynamic(), is(false));
+  }
+
+  @Test
+  public void constantWithMutableResultIsDynamic() throws Exception {
+    assertThat(getResolver("#[[1, 2]]", List.class).isDynamic(), is(true));
+  }
+
+  @Test
+  public void constantListModifiedByOperationIsNotShared() throws Exception {
+    ValueResolver<List> resolver = getResolver("#[[1, 2]]", List.class);
+
+    List firstValue = resolver.resolve(eventBuilder().message(InternalMessage.of(HELLO_WORLD)).build());
+    // What an operation receiving the list as a parameter may do with it
+    firstValue.add(3);
+
+    List secondValue = resolver.resolve(eventBuilder().message(InternalMessage.of(HELLO_WORLD)).build());
+    assertThat(secondValue, is(not(sameInstance(firstValue))));
+    assertThat(secondValue, hasSize(2));
+  }
+
+  @Test
+  public void eventDependentExpressionIsDynamic() throws Exception {
+    assertThat(getResolver("#[payload]", String.class).isDynamic(), is(true));
+    assertThat(getResolver("#[mel:'Hello World!']", String.class).isDynamic(), is(true));
+    assertThat(getResolver("Hello #[mel:payload]", String.class).isDynamic(), is(true));
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void nullExpression() throws Exception {
     getResolver(null, String.class);
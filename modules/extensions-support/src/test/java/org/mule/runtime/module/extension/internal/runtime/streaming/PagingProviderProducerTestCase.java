@@ -6,12 +6,16 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.streaming;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mule.runtime.api.connection.ConnectionException;
@@ -25,7 +29,11 @@ import org.mule.tck.size.SmallTest;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -39,6 +47,8 @@ public class PagingProviderProducerTestCase {
   private ConnectionManager connectionManager = mock(ConnectionManager.class);
   private PagingProvider<Object, String> delegate = mock(PagingProvider.class);
   private ConfigurationInstance config = mock(ConfigurationInstance.class);
+  private ConnectionHandler handler = mock(ConnectionHandler.class);
+  private ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor();
 
   @InjectMocks
   private PagingProviderProducer<String> producer = new PagingProviderProducer<>(delegate, config, connectionManager);
@@ -46,11 +56,15 @@ public class PagingProviderProducerTestCase {
   @Before
   public void setUp() throws ConnectionException {
     when(config.getValue()).thenReturn("config");
-    ConnectionHandler handler = mock(ConnectionHandler.class);
     when(handler.getConnection()).thenReturn(new Object());
     when(connectionManager.getConnection(anyObject())).thenReturn(handler);
   }
 
+  @After
+  public void tearDown() {
+    prefetchExecutor.shutdownNow();
+  }
+
   @Test
   public void produce() throws Exception {
     List<String> page = new ArrayList<>();
@@ -77,4 +91,46 @@ public class PagingProviderProducerTestCase {
     producer.close();
 
   }
+
+  @Test
+  public void prefetchedPagesKeepOrder() throws Exception {
+    List<String> firstPage = asList("a", "b");
+    List<String> secondPage = asList("c");
+    when(delegate.getPage(anyObject())).thenReturn(firstPage, secondPage, emptyList());
+
+    PagingProviderProducer<String> prefetchingProducer =
+        new PagingProviderProducer<>(delegate, config, connectionManager, prefetchExecutor, 2);
+    assertThat(prefetchingProducer.produce(), sameInstance(firstPage));
+    assertThat(prefetchingProducer.produce(), sameInstance(secondPage));
+    assertThat(prefetchingProducer.produce().isEmpty(), is(true));
+    assertThat(prefetchingProducer.produce().isEmpty(), is(true));
+
+    verify(delegate, times(3)).getPage(anyObject());
+    verify(handler, times(3)).release();
+  }
+
+  @Test
+  public void closeWhilePrefetching() throws Exception {
+    AtomicInteger acquired = new AtomicInteger();
+    AtomicInteger released = new AtomicInteger();
+    when(connectionManager.getConnection(anyObject())).thenAnswer(invocation -> {
+      acquired.incrementAndGet();
+      return handler;
+    });
+    doAnswer(invocation -> released.incrementAndGet()).when(handler).release();
+    when(delegate.getPage(anyObject())).thenReturn(asList("a"));
+
+    PagingProviderProducer<String> prefetchingProducer =
+        new PagingProviderProducer<>(delegate, config, connectionManager, prefetchExecutor, 3);
+    prefetchingProducer.produce();
+    prefetchingProducer.close();
+
+    verify(delegate).close();
+    assertThat(released.get(), is(acquired.get()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativePrefetchDepth() {
+    new PagingProviderProducer<>(delegate, config, connectionManager, prefetchExecutor, -1);
+  }
 }
@@ -6,6 +6,8 @@
  */
 package org.mule.service.http.api.domain.entity.multipart;
 
+import org.mule.runtime.api.streaming.CursorStreamProvider;
+
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -17,16 +19,20 @@ import java.util.Map;
 
 /**
  * Default implementation of a {@link Part}.
+ * <p>
+ * Its content is either held in memory or provided by a {@link CursorStreamProvider}, in which case each invocation of
+ * {@link #getInputStream()} opens a new cursor. The resources of such a provider are released by whomever created it.
  */
 public class HttpPart implements Part {
 
   public static final int NO_SIZE = -1;
 
   private final byte[] content;
+  private final CursorStreamProvider contentProvider;
   private final String contentType;
   private final String partName;
   private final String fileName;
-  private final int size;
+  private final long size;
   private Map<String, Object> headers = new HashMap<>();
 
   public HttpPart(String partName, byte[] content, String contentType, int size) {
@@ -34,9 +40,19 @@ public class HttpPart implements Part {
   }
 
   public HttpPart(String partName, String fileName, byte[] content, String contentType, int size) {
+    this(partName, fileName, content, null, contentType, size);
+  }
+
+  public HttpPart(String partName, String fileName, CursorStreamProvider content, String contentType, long size) {
+    this(partName, fileName, null, content, contentType, size);
+  }
+
+  private HttpPart(String partName, String fileName, byte[] content, CursorStreamProvider contentProvider, String contentType,
+                   long size) {
     this.partName = partName;
     this.fileName = fileName;
     this.content = content;
+    this.contentProvider = contentProvider;
     this.contentType = contentType;
     this.size = size;
   }
@@ -87,7 +103,14 @@ public class HttpPart implements Part {
 
   @Override
   public InputStream getInputStream() throws IOException {
-    return new ByteArrayInputStream(content);
+    return contentProvider != null ? contentProvider.openCursor() : new ByteArrayInputStream(content);
+  }
+
+  /**
+   * @return whether the content of this part is provided by a stream rather than held in memory
+   */
+  public boolean isStreamed() {
+    return contentProvider != null;
   }
 
   @Override
@@ -33,12 +33,12 @@ import java.util.Optional;
  */
 public class LazyMetadataService implements MetadataService {
 
-  private final LazyMuleArtifactContext lazyMuleArtifactContext;
+  private final LazyComponentInitializer lazyComponentInitializer;
   private final MetadataService metadataService;
 
-  public LazyMetadataService(LazyMuleArtifactContext lazyMuleArtifactContext, MetadataService metadataService) {
+  public LazyMetadataService(LazyComponentInitializer lazyComponentInitializer, MetadataService metadataService) {
 
-    this.lazyMuleArtifactContext = lazyMuleArtifactContext;
+    this.lazyComponentInitializer = lazyComponentInitializer;
     this.metadataService = metadataService;
   }
 
@@ -116,7 +116,7 @@ public class LazyMetadataService implements MetadataService {
 
   private Optional<MetadataResult<?>> initializeComponent(Location location) {
     try {
-      lazyMuleArtifactContext.initializeComponent(location);
+      lazyComponentInitializer.initializeComponent(location);
     } catch (NoSuchComponentModelException e) {
       return Optional.of(failure(newFailure(e).withFailureCode(COMPONENT_NOT_FOUND).onComponent()));
     } catch (Exception e) {
@@ -11,14 +11,10 @@ import static java.util.Collections.emptyList;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_CONNECTIVITY_TESTING_SERVICE;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_METADATA_SERVICE;
-import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
-import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
 import org.mule.runtime.api.app.declaration.ArtifactDeclaration;
 import org.mule.runtime.api.component.location.Location;
-import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
-import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.metadata.MetadataService;
 import org.mule.runtime.config.spring.dsl.model.ApplicationModel;
 import org.mule.runtime.config.spring.dsl.model.ComponentModel;
@@ -80,29 +76,6 @@ public class LazyMuleArtifactContext extends MuleArtifactContext implements Lazy
     applyLifecycle(super.createApplicationComponents(beanFactory, applicationModel, mustBeRoot));
   }
 
-  private void applyLifecycle(List<String> createdComponentModels) {
-    if (muleContext.isInitialised()) {
-      for (String createdComponentModelName : createdComponentModels) {
-        Object object = muleContext.getRegistry().get(createdComponentModelName);
-        try {
-          initialiseIfNeeded(object, true, muleContext);
-        } catch (InitialisationException e) {
-          throw new RuntimeException(e);
-        }
-      }
-    }
-    if (muleContext.isStarted()) {
-      for (String createdComponentModelName : createdComponentModels) {
-        Object object = muleContext.getRegistry().get(createdComponentModelName);
-        try {
-          startIfNeeded(object);
-        } catch (MuleException e) {
-          throw new RuntimeException(e);
-        }
-      }
-    }
-  }
-
   /**
    * During a lazy intialization of an artifact the components should not be created.
    */
@@ -9,6 +9,7 @@ package org.mule.runtime.config.spring;
 import static java.lang.String.format;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.stream.Collectors.joining;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.core.api.extension.ExtensionManager;
 import org.mule.runtime.core.api.registry.ServiceRegistry;
@@ -17,11 +18,16 @@ import org.mule.runtime.api.dsl.DslResolvingContext;
 import org.mule.runtime.extension.api.resources.GeneratedResource;
 import org.mule.runtime.extension.api.dsl.syntax.resources.spi.SchemaResourceFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,13 +41,19 @@ import org.xml.sax.SAXException;
  * implementation for the XSDs.
  *
  * <p>If not found, it will go over the {@link ExtensionManager} and see if there is any <module>s that map to
- * it, and if it does, it will generate an XSD on the fly through {@link SchemaResourceFactory}.
+ * it, and if it does, it will generate an XSD on the fly through {@link SchemaResourceFactory}. Generated XSDs are cached
+ * across artifacts, keyed by the version of the extension and of every other extension available to the artifact, since
+ * those define the types the XSD can reference.
  *
  * @since 4.0
  */
 public class ModuleDelegatingEntityResolver implements EntityResolver {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ModuleDelegatingEntityResolver.class);
+  private static final int MAX_CACHED_SCHEMAS = 256;
+
+  private static final Cache<String, byte[]> generatedSchemas =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SCHEMAS).build();
 
   private final Optional<ExtensionManager> extensionManager;
   private final EntityResolver entityResolver;
@@ -112,6 +124,18 @@ public class ModuleDelegatingEntityResolver implements EntityResolver {
    * @return the bytes that represent the schema for the {@code extensionModel}
    */
   private InputStream getSchema(ExtensionModel extensionModel) {
+    String key = extensionModel.getName() + ":" + extensionModel.getVersion() + "@" + getVersionKey();
+    try {
+      return new ByteArrayInputStream(generatedSchemas.get(key, () -> generateSchema(extensionModel)));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private byte[] generateSchema(ExtensionModel extensionModel) {
     Optional<GeneratedResource> generatedResource =
         schemaResourceFactory.get().generateResource(extensionModel,
                                                      DslResolvingContext.getDefault(extensionManager.get().getExtensions()));
@@ -119,6 +143,17 @@ public class ModuleDelegatingEntityResolver implements EntityResolver {
       throw new IllegalStateException(format("There were no schema generators available when trying to work with the extension '%s'",
                                              extensionModel.getName()));
     }
-    return new ByteArrayInputStream(generatedResource.get().getContent());
+    return generatedResource.get().getContent();
+  }
+
+  /**
+   * @return a key that identifies the versions of the extensions whose schemas this resolver generates
+   */
+  public String getVersionKey() {
+    return extensionManager.map(manager -> manager.getExtensions().stream()
+        .map(extension -> extension.getName() + ":" + extension.getVersion())
+        .sorted()
+        .collect(joining(",")))
+        .orElse("");
   }
 }
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.config.spring;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
 import static java.util.Optional.of;
@@ -17,11 +19,18 @@ import static org.mule.runtime.config.spring.dsl.model.ApplicationModel.CONFIGUR
 import static org.mule.runtime.config.spring.dsl.model.ApplicationModel.MULE_IDENTIFIER;
 import static org.mule.runtime.config.spring.dsl.spring.BeanDefinitionFactory.SPRING_SINGLETON_OBJECT;
 import static org.mule.runtime.config.spring.parsers.generic.AutoIdUtils.uniqueValue;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STARTUP_PROFILING;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_CONNECTIVITY_TESTING_SERVICE;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_METADATA_SERVICE;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONFIGURATION;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONTEXT;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STARTUP_PROFILER;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.exception.ErrorTypeLocatorFactory.createDefaultErrorTypeLocator;
+import static org.mule.runtime.core.internal.profiling.StartupProfiler.BEAN_CREATION_PHASE;
+import static org.mule.runtime.core.internal.profiling.StartupProfiler.MODEL_BUILD_PHASE;
+import static org.mule.runtime.core.internal.profiling.StartupProfiler.PARSE_PHASE;
 import static org.springframework.beans.factory.support.BeanDefinitionBuilder.genericBeanDefinition;
 import static org.springframework.context.annotation.AnnotationConfigUtils.AUTOWIRED_ANNOTATION_PROCESSOR_BEAN_NAME;
 import static org.springframework.context.annotation.AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME;
@@ -29,7 +38,9 @@ import static org.springframework.context.annotation.AnnotationConfigUtils.REQUI
 import org.mule.runtime.api.app.declaration.ArtifactDeclaration;
 import org.mule.runtime.api.component.ComponentIdentifier;
 import org.mule.runtime.api.component.location.Location;
+import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.meta.model.XmlDslModel;
 import org.mule.runtime.api.metadata.MetadataService;
 import org.mule.runtime.config.spring.dsl.api.xml.StaticXmlNamespaceInfo;
@@ -50,6 +61,7 @@ import org.mule.runtime.config.spring.processors.DiscardedOptionalBeanPostProces
 import org.mule.runtime.config.spring.processors.LifecycleStatePostProcessor;
 import org.mule.runtime.config.spring.processors.MuleInjectorProcessor;
 import org.mule.runtime.config.spring.processors.PostRegistrationActionsPostProcessor;
+import org.mule.runtime.config.spring.processors.StartupProfilerPostProcessor;
 import org.mule.runtime.config.spring.util.LaxInstantiationStrategyWrapper;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.connectivity.ConnectivityTestingService;
@@ -63,6 +75,7 @@ import org.mule.runtime.core.config.ConfigResource;
 import org.mule.runtime.core.config.bootstrap.ArtifactType;
 import org.mule.runtime.core.exception.ErrorTypeLocator;
 import org.mule.runtime.core.exception.ErrorTypeRepository;
+import org.mule.runtime.core.internal.profiling.StartupProfiler;
 import org.mule.runtime.core.registry.MuleRegistryHelper;
 import org.mule.runtime.core.registry.SpiServiceRegistry;
 import org.mule.runtime.core.util.IOUtils;
@@ -126,6 +139,7 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
   private ArtifactType artifactType;
   private List<ComponentIdentifier> componentNotSupportedByNewParsers = new ArrayList<>();
   private SpringConfigurationComponentLocator componentLocator = new SpringConfigurationComponentLocator();
+  private final StartupProfiler startupProfiler = getBoolean(MULE_STARTUP_PROFILING) ? new StartupProfiler() : null;
 
   /**
    * Parses configuration files creating a spring ApplicationContext which is used as a parent registry using the SpringRegistry
@@ -204,17 +218,27 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
       ArtifactConfig.Builder applicationConfigBuilder = new ArtifactConfig.Builder();
       applicationConfigBuilder.setApplicationProperties(this.artifactProperties);
       for (Resource springResource : artifactConfigResources) {
+        long parseStart = nanoTime();
         Document document =
             xmlConfigurationDocumentLoader.loadDocument(ofNullable(muleContext.getExtensionManager()),
                                                         springResource.getFilename(),
                                                         springResource.getInputStream());
         ConfigLine mainConfigLine = xmlApplicationParser.parse(document.getDocumentElement()).get();
         applicationConfigBuilder.addConfigFile(new ConfigFile(getFilename(springResource), asList(mainConfigLine)));
+        if (startupProfiler != null) {
+          long parseTime = nanoTime() - parseStart;
+          startupProfiler.recordPhase(PARSE_PHASE, parseTime);
+          startupProfiler.recordComponent(PARSE_PHASE, getFilename(springResource), parseTime);
+        }
       }
       applicationConfigBuilder.setApplicationName(muleContext.getConfiguration().getId());
+      long modelBuildStart = nanoTime();
       applicationModel = new ApplicationModel(applicationConfigBuilder.build(), artifactDeclaration,
                                               ofNullable(muleContext.getExtensionManager()),
                                               of(componentBuildingDefinitionRegistry));
+      if (startupProfiler != null) {
+        startupProfiler.recordPhase(MODEL_BUILD_PHASE, nanoTime() - modelBuildStart);
+      }
     } catch (Exception e) {
       throw new MuleRuntimeException(e);
     }
@@ -243,6 +267,20 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
                           new ComponentLocatorCreatePostProcessor(componentLocator));
 
     beanFactory.registerSingleton(OBJECT_MULE_CONTEXT, muleContext);
+
+    if (startupProfiler != null) {
+      addBeanPostProcessors(beanFactory, new StartupProfilerPostProcessor(startupProfiler));
+      beanFactory.registerSingleton(OBJECT_STARTUP_PROFILER, startupProfiler);
+    }
+  }
+
+  @Override
+  protected void finishBeanFactoryInitialization(ConfigurableListableBeanFactory beanFactory) {
+    long start = nanoTime();
+    super.finishBeanFactoryInitialization(beanFactory);
+    if (startupProfiler != null) {
+      startupProfiler.recordPhase(BEAN_CREATION_PHASE, nanoTime() - start);
+    }
   }
 
   private void registerEditors(ConfigurableListableBeanFactory beanFactory) {
@@ -348,6 +386,34 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
     return createdComponentModels;
   }
 
+  /**
+   * Applies to the given components the lifecycle phases that the {@link MuleContext} already went through.
+   *
+   * @param createdComponentModels the names of the created components
+   */
+  protected void applyLifecycle(List<String> createdComponentModels) {
+    if (muleContext.isInitialised()) {
+      for (String createdComponentModelName : createdComponentModels) {
+        Object object = muleContext.getRegistry().get(createdComponentModelName);
+        try {
+          initialiseIfNeeded(object, true, muleContext);
+        } catch (InitialisationException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    }
+    if (muleContext.isStarted()) {
+      for (String createdComponentModelName : createdComponentModels) {
+        Object object = muleContext.getRegistry().get(createdComponentModelName);
+        try {
+          startIfNeeded(object);
+        } catch (MuleException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    }
+  }
+
   protected String getOldParsingMechanismComponentIdentifiers() {
     return join(componentNotSupportedByNewParsers.toArray(), ",");
   }
@@ -474,6 +540,14 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
     return muleContext;
   }
 
+  /**
+   * @return the {@link StartupProfiler} of this context, or {@code null} if startup profiling was not enabled when it was
+   *         created
+   */
+  public StartupProfiler getStartupProfiler() {
+    return startupProfiler;
+  }
+
   protected OptionalObjectsController getOptionalObjectsController() {
     return optionalObjectsController;
   }
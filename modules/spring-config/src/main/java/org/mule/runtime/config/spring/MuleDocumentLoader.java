@@ -16,15 +16,20 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.LinkedHashMap;
+import java.util.Optional;
 import java.util.Stack;
 
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.validation.Schema;
 
 import org.apache.commons.io.IOUtils;
 import org.springframework.beans.factory.xml.DefaultDocumentLoader;
 import org.springframework.beans.factory.xml.DocumentLoader;
+import org.springframework.util.xml.XmlValidationModeDetector;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.UserDataHandler;
@@ -59,13 +64,33 @@ final public class MuleDocumentLoader implements DocumentLoader {
 
   private final DocumentLoader defaultLoader = new DefaultDocumentLoader();
   private final XmlMetadataAnnotationsFactory metadataFactory;
+  private final XmlGrammarPool grammarPool;
+  private final String grammarVersionKey;
 
   public MuleDocumentLoader(XmlMetadataAnnotationsFactory metadataFactory) {
     this.metadataFactory = metadataFactory;
+    this.grammarPool = null;
+    this.grammarVersionKey = null;
   }
 
   public MuleDocumentLoader() {
     this.metadataFactory = new DefaultXmlMetadataFactory();
+    this.grammarPool = null;
+    this.grammarVersionKey = null;
+  }
+
+  /**
+   * Creates a loader that, when validating against XSDs, takes the compiled schemas from {@code grammarPool} instead of
+   * resolving and compiling them on each parse.
+   *
+   * @param grammarPool the pool of compiled schemas
+   * @param grammarVersionKey identifies the versions of the schemas resolved by the {@link EntityResolver} used to load the
+   *        documents. See {@link XmlGrammarPool#getSchema(byte[], EntityResolver, String)}
+   */
+  public MuleDocumentLoader(XmlGrammarPool grammarPool, String grammarVersionKey) {
+    this.metadataFactory = new DefaultXmlMetadataFactory();
+    this.grammarPool = grammarPool;
+    this.grammarVersionKey = grammarVersionKey;
   }
 
   /**
@@ -83,13 +108,33 @@ final public class MuleDocumentLoader implements DocumentLoader {
     InputSource defaultInputSource = new InputSource(new ByteArrayInputStream(output.toByteArray()));
     InputSource enrichInputSource = new InputSource(new ByteArrayInputStream(output.toByteArray()));
 
-    Document doc = defaultLoader.loadDocument(defaultInputSource, entityResolver, errorHandler, validationMode, namespaceAware);
+    Optional<Schema> schema = Optional.empty();
+    if (grammarPool != null && validationMode == XmlValidationModeDetector.VALIDATION_XSD) {
+      schema = grammarPool.getSchema(output.toByteArray(), entityResolver, grammarVersionKey);
+    }
+
+    Document doc = schema.isPresent()
+        ? loadDocument(defaultInputSource, schema.get(), entityResolver, errorHandler, namespaceAware)
+        : defaultLoader.loadDocument(defaultInputSource, entityResolver, errorHandler, validationMode, namespaceAware);
 
     createSaxAnnotator(doc).parse(enrichInputSource);
 
     return doc;
   }
 
+  private Document loadDocument(InputSource inputSource, Schema schema, EntityResolver entityResolver, ErrorHandler errorHandler,
+                                boolean namespaceAware)
+      throws Exception {
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    factory.setNamespaceAware(namespaceAware);
+    factory.setSchema(schema);
+
+    DocumentBuilder builder = factory.newDocumentBuilder();
+    builder.setEntityResolver(entityResolver);
+    builder.setErrorHandler(errorHandler);
+    return builder.parse(inputSource);
+  }
+
   protected XMLReader createSaxAnnotator(Document doc) throws ParserConfigurationException, SAXException {
     SAXParserFactory saxParserFactory = XMLSecureFactories.createDefault().getSAXParserFactory();
     SAXParser saxParser = saxParserFactory.newSAXParser();
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring;
+
+import static org.mule.runtime.api.component.location.Location.builder;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_CONNECTIVITY_TESTING_SERVICE;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_METADATA_SERVICE;
+import static org.mule.runtime.config.spring.dsl.spring.ComponentModelHelper.isFlow;
+import static org.mule.runtime.config.spring.dsl.spring.ComponentModelHelper.isMessageSource;
+import static org.mule.runtime.config.spring.dsl.spring.ComponentModelHelper.isSubflow;
+import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
+import org.mule.runtime.api.app.declaration.ArtifactDeclaration;
+import org.mule.runtime.api.component.location.Location;
+import org.mule.runtime.api.metadata.MetadataService;
+import org.mule.runtime.config.spring.dsl.model.ApplicationModel;
+import org.mule.runtime.config.spring.dsl.model.ComponentModel;
+import org.mule.runtime.config.spring.dsl.model.MinimalApplicationModelGenerator;
+import org.mule.runtime.config.spring.util.LaxInstantiationStrategyWrapper;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.connectivity.ConnectivityTestingService;
+import org.mule.runtime.core.config.ConfigResource;
+import org.mule.runtime.core.config.bootstrap.ArtifactType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.support.BeanDefinitionReader;
+import org.springframework.beans.factory.support.CglibSubclassingInstantiationStrategy;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.ContextAnnotationAutowireCandidateResolver;
+
+/**
+ * Implementation of {@link MuleArtifactContext} for running artifacts, that defers the creation of the flows that can only be
+ * reached from other flows.
+ * <p/>
+ * Flows with a message source are created eagerly along with every other global component, since they have to be running to
+ * receive messages. Flows and sub-flows without a message source are created, together with the components they depend on, the
+ * first time they are looked up by name, either through this context or while Spring resolves a reference to them. This happens
+ * when a {@code flow-ref} referencing them is created or, for dynamic references, when the first message reaches the
+ * {@code flow-ref}.
+ * <p/>
+ * Once the context is refreshed, lookups by type which allow eager initialization also create the deferred flows that may
+ * match the requested type. Lifecycle lookups don't allow it, so they leave the deferred flows alone.
+ * <p/>
+ * Unlike {@link LazyMuleArtifactContext}, the components that already exist are never unregistered, so the metadata and
+ * connectivity testing services can be used on the running artifact. They only create the deferred flow that holds the
+ * requested component, if any.
+ *
+ * @since 4.0
+ */
+public class OnDemandMuleArtifactContext extends MuleArtifactContext implements LazyComponentInitializer {
+
+  private final Map<String, ComponentModel> onDemandComponents = new ConcurrentHashMap<>();
+  private volatile boolean refreshed = false;
+  private ConnectivityTestingService connectivityTestingService;
+  private MetadataService metadataService;
+
+  /**
+   * Parses configuration files creating a spring ApplicationContext which is used as a parent registry using the SpringRegistry
+   * registry implementation to wraps the spring ApplicationContext
+   *
+   * @param muleContext the {@link MuleContext} that own this context
+   * @param artifactDeclaration the mule configuration defined programmatically
+   * @param optionalObjectsController the {@link OptionalObjectsController} to use. Cannot be {@code null} @see
+   *        org.mule.runtime.config.spring.SpringRegistry
+   * @since 4.0
+   */
+  public OnDemandMuleArtifactContext(MuleContext muleContext, ConfigResource[] artifactConfigResources,
+                                     ArtifactDeclaration artifactDeclaration, OptionalObjectsController optionalObjectsController,
+                                     Map<String, String> artifactProperties, ArtifactType artifactType)
+      throws BeansException {
+    super(muleContext, artifactConfigResources, artifactDeclaration, optionalObjectsController, artifactProperties,
+          artifactType);
+  }
+
+  @Override
+  protected DefaultListableBeanFactory createBeanFactory() {
+    DefaultListableBeanFactory beanFactory = new OnDemandBeanFactory(getInternalParentBeanFactory());
+    beanFactory.setAutowireCandidateResolver(new ContextAnnotationAutowireCandidateResolver());
+    beanFactory.setInstantiationStrategy(new LaxInstantiationStrategyWrapper(new CglibSubclassingInstantiationStrategy(),
+                                                                             getOptionalObjectsController()));
+    return beanFactory;
+  }
+
+  @Override
+  protected void finishRefresh() {
+    super.finishRefresh();
+    refreshed = true;
+  }
+
+  /**
+   * Creates every global component except for the flows and sub-flows without a message source.
+   * <p/>
+   * If the configuration has components that are not supported by the new parsing mechanism, every component is created eagerly.
+   */
+  @Override
+  protected void createInitialApplicationComponents(DefaultListableBeanFactory beanFactory,
+                                                    BeanDefinitionReader beanDefinitionReader) {
+    if (!useNewParsingMechanism) {
+      logger.info("Creating all flows eagerly since there are components that were not yet migrated to the new parsing mechanism: "
+          + getOldParsingMechanismComponentIdentifiers());
+      beanDefinitionReader.loadBeanDefinitions(getConfigResources());
+      return;
+    }
+
+    applicationModel.executeOnEveryMuleComponentTree(componentModel -> {
+      if (componentModel.isRoot() && componentModel.getNameAttribute() != null && isOnDemandComponent(componentModel)) {
+        componentModel.setEnabled(false);
+        onDemandComponents.put(componentModel.getNameAttribute(), componentModel);
+      }
+    });
+    try {
+      createApplicationComponents(beanFactory, applicationModel, true);
+    } finally {
+      applicationModel.executeOnEveryMuleComponentTree(componentModel -> componentModel.setEnabled(true));
+    }
+  }
+
+  private boolean isOnDemandComponent(ComponentModel componentModel) {
+    if (isSubflow(componentModel)) {
+      return true;
+    }
+    if (!isFlow(componentModel)) {
+      return false;
+    }
+    for (ComponentModel innerComponent : componentModel.getInnerComponents()) {
+      if (isMessageSource(innerComponent)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Creates the deferred flow that holds the component at the given location, if it was not created yet. The components that
+   * already exist are kept as they are.
+   */
+  @Override
+  public void initializeComponent(Location location) {
+    String globalName = location.getGlobalName();
+    if (globalName != null && onDemandComponents.containsKey(globalName)) {
+      initializeOnDemandComponent(globalName);
+    }
+  }
+
+  @Override
+  public ConnectivityTestingService getConnectivityTestingService() {
+    if (connectivityTestingService == null) {
+      connectivityTestingService =
+          new LazyConnectivityTestingService(this, muleContext.getRegistry().get(OBJECT_CONNECTIVITY_TESTING_SERVICE));
+    }
+    return connectivityTestingService;
+  }
+
+  @Override
+  public MetadataService getMetadataService() {
+    if (metadataService == null) {
+      metadataService = new LazyMetadataService(this, muleContext.getRegistry().get(OBJECT_METADATA_SERVICE));
+    }
+    return metadataService;
+  }
+
+  private void initializeOnDemandComponents(Class<?> type) {
+    onDemandComponents.forEach((name, componentModel) -> {
+      Class<?> componentType = componentModel.getType();
+      if (componentType == null || FactoryBean.class.isAssignableFrom(componentType) || type.isAssignableFrom(componentType)) {
+        initializeOnDemandComponent(name);
+      }
+    });
+  }
+
+  /**
+   * Creates a deferred flow and the components it requires that were not created yet. Unlike
+   * {@link LazyMuleArtifactContext#initializeComponent(Location)}, the components that already exist are kept as they are.
+   * <p/>
+   * The bean definitions are registered before the lifecycle is applied, so that a deferred flow referenced while creating
+   * this one triggers its own initialization over a consistent {@link ApplicationModel}.
+   */
+  private synchronized void initializeOnDemandComponent(String name) {
+    if (!onDemandComponents.containsKey(name)) {
+      return;
+    }
+
+    List<String> createdComponentNames = new ArrayList<>();
+    withContextClassLoader(muleContext.getExecutionClassLoader(), () -> {
+      DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) getBeanFactory();
+      try {
+        ApplicationModel minimalApplicationModel =
+            new MinimalApplicationModelGenerator(applicationModel, componentBuildingDefinitionRegistry)
+                .getMinimalModel(builder().globalName(name).build());
+        minimalApplicationModel.executeOnEveryMuleComponentTree(componentModel -> {
+          if (componentModel.isRoot() && componentModel.getNameAttribute() != null
+              && beanFactory.containsBeanDefinition(componentModel.getNameAttribute())) {
+            componentModel.setEnabled(false);
+          }
+        });
+        createdComponentNames.addAll(createApplicationComponents(beanFactory, minimalApplicationModel, true));
+      } finally {
+        applicationModel.executeOnEveryMuleComponentTree(componentModel -> componentModel.setEnabled(true));
+      }
+      onDemandComponents.keySet().removeAll(createdComponentNames);
+      onDemandComponents.remove(name);
+    });
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Created on demand components " + createdComponentNames + " for " + name);
+    }
+    applyLifecycle(createdComponentNames);
+  }
+
+  /**
+   * {@link DefaultListableBeanFactory} which creates the deferred flows before they are retrieved, so that it happens for every
+   * lookup by name, including the references that Spring resolves while creating other beans.
+   */
+  private class OnDemandBeanFactory extends DefaultListableBeanFactory {
+
+    private OnDemandBeanFactory(BeanFactory parentBeanFactory) {
+      super(parentBeanFactory);
+    }
+
+    @Override
+    protected <T> T doGetBean(String name, Class<T> requiredType, Object[] args, boolean typeCheckOnly)
+        throws BeansException {
+      String beanName = transformedBeanName(name);
+      if (onDemandComponents.containsKey(beanName)) {
+        initializeOnDemandComponent(beanName);
+      }
+      return super.doGetBean(name, requiredType, args, typeCheckOnly);
+    }
+
+    @Override
+    public String[] getBeanNamesForType(Class<?> type, boolean includeNonSingletons, boolean allowEagerInit) {
+      if (refreshed && allowEagerInit && type != null && !onDemandComponents.isEmpty()) {
+        initializeOnDemandComponents(type);
+      }
+      return super.getBeanNamesForType(type, includeNonSingletons, allowEagerInit);
+    }
+  }
+}
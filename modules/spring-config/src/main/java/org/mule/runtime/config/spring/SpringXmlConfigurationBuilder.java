@@ -6,8 +6,10 @@
  */
 package org.mule.runtime.config.spring;
 
+import static java.lang.Boolean.getBoolean;
 import static java.util.Collections.emptyMap;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_ON_DEMAND_FLOW_INITIALIZATION;
 import static org.mule.runtime.core.config.bootstrap.ArtifactType.APP;
 import org.mule.runtime.api.app.declaration.ArtifactDeclaration;
 import org.mule.runtime.api.i18n.I18nMessageFactory;
@@ -145,6 +147,10 @@ public class SpringXmlConfigurationBuilder extends AbstractResourceConfiguration
       return new LazyMuleArtifactContext(muleContext, artifactConfigResources, artifactDeclaration, optionalObjectsController,
                                          getArtifactProperties(), artifactType);
     }
+    if (APP.equals(artifactType) && getBoolean(MULE_ON_DEMAND_FLOW_INITIALIZATION)) {
+      return new OnDemandMuleArtifactContext(muleContext, artifactConfigResources, artifactDeclaration,
+                                             optionalObjectsController, getArtifactProperties(), artifactType);
+    }
     return new MuleArtifactContext(muleContext, artifactConfigResources, artifactDeclaration, optionalObjectsController,
                                    getArtifactProperties(), artifactType);
   }
@@ -28,6 +28,8 @@ import org.xml.sax.SAXParseException;
  * <p/>
  * If when loading the configuration one, or more, {@link ErrorHandler#error(SAXParseException)} are call, at the end of
  * {@link #loadDocument(Optional, String, InputStream)} will throw an exception containing all the errors.
+ * <p/>
+ * The compiled XSDs used for validation are taken from the {@link XmlGrammarPool} shared by the container.
  *
  * @see {@link #loadDocument(Optional, String, InputStream)}
  *
@@ -99,10 +101,9 @@ public class XmlConfigurationDocumentLoader {
     final XmlGathererErrorHandler errorHandler = xmlGathererErrorHandlerFactory.create();
     Document document;
     try {
-      document = new MuleDocumentLoader()
-          .loadDocument(new InputSource(inputStream),
-                        new ModuleDelegatingEntityResolver(extensionManager), errorHandler,
-                        VALIDATION_XSD, true);
+      ModuleDelegatingEntityResolver entityResolver = new ModuleDelegatingEntityResolver(extensionManager);
+      document = new MuleDocumentLoader(XmlGrammarPool.getInstance(), entityResolver.getVersionKey())
+          .loadDocument(new InputSource(inputStream), entityResolver, errorHandler, VALIDATION_XSD, true);
     } catch (Exception e) {
       throw new MuleRuntimeException(e);
     }
@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring;
+
+import static java.lang.String.format;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static javax.xml.XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI;
+import static javax.xml.XMLConstants.W3C_XML_SCHEMA_NS_URI;
+import static org.mule.runtime.core.util.StringUtils.toHexString;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.core.util.xmlsecurity.XMLSecureFactories;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.ls.LSInput;
+import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.Attributes;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Container level pool of compiled XML schemas used to validate the configuration files of the deployed artifacts.
+ * <p/>
+ * Compiling the Mule and extension XSDs is one of the most expensive steps of parsing a configuration file, and artifacts
+ * deployed in the same container usually reference the same set of schemas. The compiled {@link Schema}s are immutable and
+ * thread safe, so they are shared across every parse that references the same schema locations.
+ * <p/>
+ * A {@link Schema} is keyed by the namespaces and locations declared in the {@code xsi:schemaLocation} of the root element of
+ * the configuration, a digest of the XSDs those locations resolve to, and a key provided by the caller that identifies the
+ * versions of the extensions that provide the schemas they import. Two artifacts that resolve different XSDs for the same
+ * location get different {@link Schema}s.
+ * <p/>
+ * Configurations that declare schema locations on elements other than the root are not validated against a pooled
+ * {@link Schema}, since those locations are only known while parsing.
+ * <p/>
+ * When a {@link Schema} cannot be compiled, for example because one of the locations can't be resolved, no {@link Schema} is
+ * returned so the caller can fall back to validating while parsing, which reports the problems to the user.
+ *
+ * @since 4.0
+ */
+public class XmlGrammarPool {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(XmlGrammarPool.class);
+
+  private static final String SCHEMA_LOCATION_ATTRIBUTE = "schemaLocation";
+  private static final String NO_NAMESPACE_SCHEMA_LOCATION_ATTRIBUTE = "noNamespaceSchemaLocation";
+  private static final String XMLNS_PREFIX = "xmlns:";
+  private static final int MAX_POOLED_SCHEMAS = 128;
+
+  private static final XmlGrammarPool INSTANCE = new XmlGrammarPool();
+
+  private final Cache<String, Schema> schemas = CacheBuilder.newBuilder().maximumSize(MAX_POOLED_SCHEMAS).build();
+
+  /**
+   * @return the instance of the pool shared by the whole container
+   */
+  public static XmlGrammarPool getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the compiled {@link Schema} for the schema locations declared in a configuration file, compiling it if it wasn't
+   * pooled already.
+   *
+   * @param document the content of the configuration file
+   * @param entityResolver the resolver used to load the XSDs, and the ones they import in case the schema has to be compiled
+   * @param versionKey identifies the versions of the schemas that {@code entityResolver} resolves
+   * @return the {@link Schema} to validate the configuration with, or {@link Optional#empty()} if it couldn't be compiled or
+   *         the configuration declares schema locations on elements other than the root
+   */
+  public Optional<Schema> getSchema(byte[] document, EntityResolver entityResolver, String versionKey) {
+    SchemaLocationsHandler handler = getSchemaLocations(document);
+    Map<String, String> schemaLocations = handler.schemaLocations;
+    if (schemaLocations.isEmpty() || handler.nestedSchemaLocations) {
+      return empty();
+    }
+
+    try {
+      Map<String, byte[]> schemaSources = resolveSchemas(schemaLocations, entityResolver);
+      String key = versionKey + schemaLocations + digest(schemaSources);
+      return of(schemas.get(key, () -> compileSchema(schemaSources, entityResolver)));
+    } catch (Exception e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(format("Could not compile the schema for locations %s, validating while parsing instead", schemaLocations),
+                     e);
+      }
+      return empty();
+    }
+  }
+
+  /**
+   * Discards every pooled {@link Schema}.
+   */
+  public void clear() {
+    schemas.invalidateAll();
+  }
+
+  /**
+   * Reads the XSDs of the root schema locations, so the key reflects what this artifact resolves rather than just the location.
+   */
+  private Map<String, byte[]> resolveSchemas(Map<String, String> schemaLocations, EntityResolver entityResolver)
+      throws Exception {
+    Map<String, byte[]> schemaSources = new LinkedHashMap<>();
+    for (Map.Entry<String, String> schemaLocation : schemaLocations.entrySet()) {
+      InputSource inputSource = entityResolver.resolveEntity(null, schemaLocation.getValue());
+      if (inputSource == null || inputSource.getByteStream() == null) {
+        throw new IllegalStateException(format("Could not resolve schema '%s' for namespace '%s'", schemaLocation.getValue(),
+                                               schemaLocation.getKey()));
+      }
+      try (InputStream byteStream = inputSource.getByteStream()) {
+        schemaSources.put(schemaLocation.getValue(), IOUtils.toByteArray(byteStream));
+      }
+    }
+    return schemaSources;
+  }
+
+  private String digest(Map<String, byte[]> schemaSources) throws Exception {
+    MessageDigest digest = MessageDigest.getInstance("SHA-1");
+    for (byte[] schemaSource : schemaSources.values()) {
+      digest.update(schemaSource);
+    }
+    return toHexString(digest.digest());
+  }
+
+  private Schema compileSchema(Map<String, byte[]> schemaSources, EntityResolver entityResolver) throws Exception {
+    List<Source> sources = new ArrayList<>();
+    for (Map.Entry<String, byte[]> schemaSource : schemaSources.entrySet()) {
+      sources.add(new StreamSource(new ByteArrayInputStream(schemaSource.getValue()), schemaSource.getKey()));
+    }
+
+    SchemaFactory schemaFactory = SchemaFactory.newInstance(W3C_XML_SCHEMA_NS_URI);
+    schemaFactory.setResourceResolver(new EntityResolverResourceResolver(entityResolver));
+    schemaFactory.setErrorHandler(new FailingErrorHandler());
+    return schemaFactory.newSchema(sources.toArray(new Source[sources.size()]));
+  }
+
+  /**
+   * Reads the {@code xsi:schemaLocation} of the root element, and checks whether any other element declares schema locations.
+   */
+  private SchemaLocationsHandler getSchemaLocations(byte[] document) {
+    SchemaLocationsHandler handler = new SchemaLocationsHandler();
+    try {
+      XMLSecureFactories.createDefault().getSAXParserFactory().newSAXParser()
+          .parse(new ByteArrayInputStream(document), handler);
+    } catch (NestedSchemaLocationFoundException e) {
+      // the rest of the document doesn't change the outcome
+    } catch (Exception e) {
+      // the document is parsed again later, which reports the problem
+    }
+    return handler;
+  }
+
+  private static class NestedSchemaLocationFoundException extends SAXException {
+
+    private static final long serialVersionUID = 6224627604549520472L;
+  }
+
+  private static class SchemaLocationsHandler extends DefaultHandler {
+
+    private final Map<String, String> schemaLocations = new TreeMap<>();
+    private boolean rootProcessed = false;
+    private boolean nestedSchemaLocations = false;
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+      if (rootProcessed) {
+        checkNestedSchemaLocations(attributes);
+        return;
+      }
+      rootProcessed = true;
+
+      String schemaLocationName = null;
+      for (int i = 0; i < attributes.getLength(); i++) {
+        String name = attributes.getQName(i);
+        if (name.startsWith(XMLNS_PREFIX) && W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(attributes.getValue(i))) {
+          schemaLocationName = name.substring(XMLNS_PREFIX.length()) + ":" + SCHEMA_LOCATION_ATTRIBUTE;
+        } else if (name.endsWith(":" + NO_NAMESPACE_SCHEMA_LOCATION_ATTRIBUTE)) {
+          // only namespaced schemas are pooled, this one is left to the parser as nested locations are
+          nestedSchemaLocations = true;
+        }
+      }
+
+      String schemaLocation = schemaLocationName != null ? attributes.getValue(schemaLocationName) : null;
+      if (schemaLocation != null) {
+        String[] tokens = schemaLocation.trim().split("\\s+");
+        for (int i = 0; i + 1 < tokens.length; i += 2) {
+          schemaLocations.put(tokens[i], tokens[i + 1]);
+        }
+      }
+    }
+
+    /**
+     * The {@code xsi} prefix may be redeclared on any element, so any prefixed schema location attribute is considered one.
+     */
+    private void checkNestedSchemaLocations(Attributes attributes) throws SAXException {
+      for (int i = 0; i < attributes.getLength(); i++) {
+        String name = attributes.getQName(i);
+        if (name.endsWith(":" + SCHEMA_LOCATION_ATTRIBUTE) || name.endsWith(":" + NO_NAMESPACE_SCHEMA_LOCATION_ATTRIBUTE)) {
+          nestedSchemaLocations = true;
+          throw new NestedSchemaLocationFoundException();
+        }
+      }
+    }
+  }
+
+  private static class FailingErrorHandler implements ErrorHandler {
+
+    @Override
+    public void warning(SAXParseException exception) {
+      // warnings don't prevent the schema from being used
+    }
+
+    @Override
+    public void error(SAXParseException exception) throws SAXException {
+      throw exception;
+    }
+
+    @Override
+    public void fatalError(SAXParseException exception) throws SAXException {
+      throw exception;
+    }
+  }
+
+  /**
+   * Resolves the XSDs imported or included while compiling a schema through the same {@link EntityResolver} used when
+   * validating while parsing.
+   */
+  private static class EntityResolverResourceResolver implements LSResourceResolver {
+
+    private final EntityResolver entityResolver;
+
+    private EntityResolverResourceResolver(EntityResolver entityResolver) {
+      this.entityResolver = entityResolver;
+    }
+
+    @Override
+    public LSInput resolveResource(String type, String namespaceURI, String publicId, String systemId, String baseURI) {
+      if (systemId == null) {
+        return null;
+      }
+      try {
+        String resolvedSystemId = baseURI != null ? new URI(baseURI).resolve(systemId).toString() : systemId;
+        InputSource inputSource = entityResolver.resolveEntity(publicId, resolvedSystemId);
+        return inputSource != null ? new InputSourceLSInput(inputSource, publicId, resolvedSystemId, baseURI) : null;
+      } catch (Exception e) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug(format("Could not resolve schema '%s'", systemId), e);
+        }
+        return null;
+      }
+    }
+  }
+
+  private static class InputSourceLSInput implements LSInput {
+
+    private InputStream byteStream;
+    private Reader characterStream;
+    private String stringData;
+    private String systemId;
+    private String publicId;
+    private String baseURI;
+    private String encoding;
+    private boolean certifiedText;
+
+    private InputSourceLSInput(InputSource inputSource, String publicId, String systemId, String baseURI) {
+      this.byteStream = inputSource.getByteStream();
+      this.characterStream = inputSource.getCharacterStream();
+      this.encoding = inputSource.getEncoding();
+      this.publicId = inputSource.getPublicId() != null ? inputSource.getPublicId() : publicId;
+      this.systemId = inputSource.getSystemId() != null ? inputSource.getSystemId() : systemId;
+      this.baseURI = baseURI;
+    }
+
+    @Override
+    public Reader getCharacterStream() {
+      return characterStream;
+    }
+
+    @Override
+    public void setCharacterStream(Reader characterStream) {
+      this.characterStream = characterStream;
+    }
+
+    @Override
+    public InputStream getByteStream() {
+      return byteStream;
+    }
+
+    @Override
+    public void setByteStream(InputStream byteStream) {
+      this.byteStream = byteStream;
+    }
+
+    @Override
+    public String getStringData() {
+      return stringData;
+    }
+
+    @Override
+    public void setStringData(String stringData) {
+      this.stringData = stringData;
+    }
+
+    @Override
+    public String getSystemId() {
+      return systemId;
+    }
+
+    @Override
+    public void setSystemId(String systemId) {
+      this.systemId = systemId;
+    }
+
+    @Override
+    public String getPublicId() {
+      return publicId;
+    }
+
+    @Override
+    public void setPublicId(String publicId) {
+      this.publicId = publicId;
+    }
+
+    @Override
+    public String getBaseURI() {
+      return baseURI;
+    }
+
+    @Override
+    public void setBaseURI(String baseURI) {
+      this.baseURI = baseURI;
+    }
+
+    @Override
+    public String getEncoding() {
+      return encoding;
+    }
+
+    @Override
+    public void setEncoding(String encoding) {
+      this.encoding = encoding;
+    }
+
+    @Override
+    public boolean getCertifiedText() {
+      return certifiedText;
+    }
+
+    @Override
+    public void setCertifiedText(boolean certifiedText) {
+      this.certifiedText = certifiedText;
+    }
+  }
+}
@@ -170,6 +170,9 @@ import org.mule.runtime.core.routing.requestreply.SimpleAsyncRequestReplyRequest
 import org.mule.runtime.core.source.StartableCompositeMessageSource;
 import org.mule.runtime.core.source.scheduler.SchedulerMessageSource;
 import org.mule.runtime.core.source.scheduler.schedule.FixedFrequencyScheduler;
+import org.mule.runtime.core.source.scheduler.watermark.MaxValueWatermark;
+import org.mule.runtime.core.source.scheduler.watermark.ProcessedIdsWatermark;
+import org.mule.runtime.core.source.scheduler.watermark.Watermark;
 import org.mule.runtime.core.streaming.bytes.CursorStreamProviderFactory;
 import org.mule.runtime.core.transaction.TransactionType;
 import org.mule.runtime.core.transaction.lookup.GenericTransactionManagerLookupFactory;
@@ -487,6 +490,10 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
             .withSetterParameterDefinition("maxRetries", fromSimpleParameter("maxRetries").withDefaultValue(5).build())
             .withSetterParameterDefinition("millisBetweenRetries", fromSimpleParameter("millisBetweenRetries").build())
             .withSetterParameterDefinition("secondsBetweenRetries", fromSimpleParameter("secondsBetweenRetries").build())
+            .withSetterParameterDefinition("backoffMultiplier", fromSimpleParameter("backoffMultiplier").build())
+            .withSetterParameterDefinition("maxMillisBetweenRetries", fromSimpleParameter("maxMillisBetweenRetries").build())
+            .withSetterParameterDefinition("jitterFactor", fromSimpleParameter("jitterFactor").build())
+            .withSetterParameterDefinition("maxInFlightRetries", fromSimpleParameter("maxInFlightRetries").build())
             .withSetterParameterDefinition("failureExpression", fromSimpleParameter("failureExpression").build())
             .withSetterParameterDefinition("ackExpression", fromSimpleParameter("ackExpression").build())
             .withSetterParameterDefinition("synchronous", fromSimpleParameter("synchronous").withDefaultValue(false).build())
@@ -497,6 +504,8 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .withSetterParameterDefinition("batchSize", fromSimpleParameter("batchSize").build())
         .withSetterParameterDefinition("rootMessageVariableName", fromSimpleParameter("rootMessageVariableName").build())
         .withSetterParameterDefinition("counterVariableName", fromSimpleParameter("counterVariableName").build())
+        .withSetterParameterDefinition("maxConcurrency", fromSimpleParameter("maxConcurrency").withDefaultValue(1).build())
+        .withSetterParameterDefinition("preserveOrder", fromSimpleParameter("preserveOrder").withDefaultValue(true).build())
         .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
         .build());
     componentBuildingDefinitions
@@ -560,7 +569,23 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .withTypeDefinition(fromType(SchedulerMessageSource.class))
         .withObjectFactoryType(SchedulingMessageSourceFactoryBean.class)
         .withSetterParameterDefinition("frequency", fromSimpleParameter("frequency").build())
-        .withSetterParameterDefinition("scheduler", fromChildConfiguration(PeriodicScheduler.class).build()).build());
+        .withSetterParameterDefinition("scheduler", fromChildConfiguration(PeriodicScheduler.class).build())
+        .withSetterParameterDefinition("watermark", fromChildConfiguration(Watermark.class).build()).build());
+
+    componentBuildingDefinitions.add(baseDefinition.copy().withIdentifier("max-value-watermark")
+        .withTypeDefinition(fromType(MaxValueWatermark.class))
+        .withSetterParameterDefinition("variableName", fromSimpleParameter("variableName").build())
+        .withSetterParameterDefinition("selector", fromSimpleParameter("selector").build())
+        .withSetterParameterDefinition("defaultValue", fromSimpleParameter("defaultValue").build())
+        .withSetterParameterDefinition("objectStore", fromSimpleReferenceParameter("objectStore-ref").build()).build());
+
+    componentBuildingDefinitions.add(baseDefinition.copy().withIdentifier("processed-ids-watermark")
+        .withTypeDefinition(fromType(ProcessedIdsWatermark.class))
+        .withSetterParameterDefinition("variableName", fromSimpleParameter("variableName").build())
+        .withSetterParameterDefinition("selector", fromSimpleParameter("selector").build())
+        .withSetterParameterDefinition("expectedInsertions", fromSimpleParameter("expectedInsertions").build())
+        .withSetterParameterDefinition("falsePositiveProbability", fromSimpleParameter("falsePositiveProbability").build())
+        .withSetterParameterDefinition("objectStore", fromSimpleReferenceParameter("objectStore-ref").build()).build());
 
     componentBuildingDefinitions.add(baseDefinition.copy().withIdentifier("fixed-frequency-scheduler")
         .withTypeDefinition(fromType(FixedFrequencyScheduler.class))
@@ -11,6 +11,7 @@ import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.source.polling.PeriodicScheduler;
 import org.mule.runtime.core.source.scheduler.SchedulerMessageSource;
 import org.mule.runtime.core.source.scheduler.schedule.FixedFrequencyScheduler;
+import org.mule.runtime.core.source.scheduler.watermark.Watermark;
 import org.mule.runtime.dsl.api.component.AbstractAnnotatedObjectFactory;
 
 public class SchedulingMessageSourceFactoryBean extends AbstractAnnotatedObjectFactory<SchedulerMessageSource>
@@ -18,6 +19,7 @@ public class SchedulingMessageSourceFactoryBean extends AbstractAnnotatedObjectF
 
   protected PeriodicScheduler scheduler;
   protected Long frequency;
+  protected Watermark watermark;
   private MuleContext muleContext;
 
   private FixedFrequencyScheduler defaultScheduler() {
@@ -34,11 +36,17 @@ public class SchedulingMessageSourceFactoryBean extends AbstractAnnotatedObjectF
     this.scheduler = scheduler;
   }
 
+  public void setWatermark(Watermark watermark) {
+    this.watermark = watermark;
+  }
+
 
   @Override
   public SchedulerMessageSource doGetObject() throws Exception {
     scheduler = scheduler == null ? defaultScheduler() : scheduler;
-    return new SchedulerMessageSource(muleContext, scheduler);
+    SchedulerMessageSource messageSource = new SchedulerMessageSource(muleContext, scheduler);
+    messageSource.setWatermark(watermark);
+    return messageSource;
   }
 
   @Override
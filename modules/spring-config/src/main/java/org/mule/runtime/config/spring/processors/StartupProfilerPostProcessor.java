@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring.processors;
+
+import static java.lang.System.nanoTime;
+import static org.mule.runtime.config.spring.MuleArtifactContext.INNER_BEAN_PREFIX;
+import static org.mule.runtime.core.internal.profiling.StartupProfiler.BEAN_CREATION_PHASE;
+import org.mule.runtime.core.internal.profiling.StartupProfiler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
+
+/**
+ * Bean post processor that records in a {@link StartupProfiler} the time it takes to create each bean, from its instantiation
+ * until all the post processors have been applied to it.
+ * <p/>
+ * The time of a bean includes the creation of the beans it depends on. Inner beans are not recorded on their own since they are
+ * part of the bean that contains them.
+ *
+ * @since 4.0
+ */
+public class StartupProfilerPostProcessor extends InstantiationAwareBeanPostProcessorAdapter {
+
+  private final StartupProfiler startupProfiler;
+  private final Map<String, Long> creationStarts = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance that records the bean creation times on {@code startupProfiler}
+   *
+   * @param startupProfiler the profiler in which the times are recorded
+   */
+  public StartupProfilerPostProcessor(StartupProfiler startupProfiler) {
+    this.startupProfiler = startupProfiler;
+  }
+
+  @Override
+  public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+    if (beanName != null && !beanName.startsWith(INNER_BEAN_PREFIX)) {
+      creationStarts.putIfAbsent(beanName, nanoTime());
+    }
+    return null;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+    Long start = beanName != null ? creationStarts.remove(beanName) : null;
+    if (start != null) {
+      startupProfiler.recordComponent(BEAN_CREATION_PHASE, beanName, nanoTime() - start);
+    }
+    return bean;
+  }
+}
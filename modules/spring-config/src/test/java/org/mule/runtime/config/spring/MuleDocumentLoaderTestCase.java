@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.empty;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.util.xml.XmlValidationModeDetector.VALIDATION_XSD;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.xml.validation.Schema;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+
+public class MuleDocumentLoaderTestCase extends AbstractMuleTestCase {
+
+  private static final String VERSION_KEY = "test:1.0.0";
+
+  private final RecordingGrammarPool grammarPool = new RecordingGrammarPool();
+  private final RecordingErrorHandler errorHandler = new RecordingErrorHandler();
+  private final MuleDocumentLoader documentLoader = new MuleDocumentLoader(grammarPool, VERSION_KEY);
+
+  @Test
+  public void validConfigIsValidatedWithPooledSchema() throws Exception {
+    Document document = loadDocument(getConfig("mule-config.xml"));
+
+    assertThat(grammarPool.pooledSchemaUsed, is(true));
+    assertThat(document.getDocumentElement().getNodeName(), is("mule"));
+    assertThat(errorHandler.errors, hasSize(0));
+  }
+
+  @Test
+  public void invalidConfigIsReportedWithPooledSchema() throws Exception {
+    Document document = loadDocument(getConfig("mule-config-malformed.xml"));
+
+    assertThat(grammarPool.pooledSchemaUsed, is(true));
+    assertThat(document.getDocumentElement().getNodeName(), is("mule"));
+    assertThat(errorHandler.errors, hasSize(1));
+    assertThat(errorHandler.errors.get(0).getLineNumber(), is(6));
+    assertThat(errorHandler.errors.get(0).getColumnNumber(), is(12));
+  }
+
+  @Test
+  public void configWithNestedSchemaLocationsIsValidatedWhileParsing() throws Exception {
+    InputStream config = new ByteArrayInputStream(("<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\""
+        + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+        + " xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/core\""
+        + " http://www.mulesoft.org/schema/mule/core/current/mule.xsd\">"
+        + "<flow name=\"flow\" xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/core\""
+        + " http://www.mulesoft.org/schema/mule/core/current/mule.xsd\"/>"
+        + "</mule>").getBytes(UTF_8));
+
+    loadDocument(config);
+
+    assertThat(grammarPool.pooledSchemaUsed, is(false));
+    assertThat(errorHandler.errors, not(hasSize(0)));
+  }
+
+  private Document loadDocument(InputStream config) throws Exception {
+    return documentLoader.loadDocument(new InputSource(config), new ModuleDelegatingEntityResolver(empty()), errorHandler,
+                                       VALIDATION_XSD, true);
+  }
+
+  private InputStream getConfig(String name) {
+    return Thread.currentThread().getContextClassLoader().getResourceAsStream(name);
+  }
+
+  private static class RecordingGrammarPool extends XmlGrammarPool {
+
+    private boolean pooledSchemaUsed;
+
+    @Override
+    public Optional<Schema> getSchema(byte[] document, EntityResolver entityResolver, String versionKey) {
+      Optional<Schema> schema = super.getSchema(document, entityResolver, versionKey);
+      pooledSchemaUsed = schema.isPresent();
+      return schema;
+    }
+  }
+
+  private static class RecordingErrorHandler implements ErrorHandler {
+
+    private final List<SAXParseException> errors = new ArrayList<>();
+
+    @Override
+    public void warning(SAXParseException exception) {
+      // warnings are not relevant for these tests
+    }
+
+    @Override
+    public void error(SAXParseException exception) {
+      errors.add(exception);
+    }
+
+    @Override
+    public void fatalError(SAXParseException exception) throws SAXParseException {
+      throw exception;
+    }
+  }
+}
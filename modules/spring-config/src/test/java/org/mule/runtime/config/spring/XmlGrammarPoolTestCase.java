@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.empty;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+import javax.xml.validation.Schema;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.InputSource;
+
+public class XmlGrammarPoolTestCase extends AbstractMuleTestCase {
+
+  private static final String VERSION_KEY = "test:1.0.0";
+  private static final String TEST_DOCUMENT = "<test:root xmlns:test=\"http://www.mulesoft.org/schema/mule/test\""
+      + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+      + " xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/test test.xsd\"/>";
+  private static final String TEST_SCHEMA = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\""
+      + " targetNamespace=\"http://www.mulesoft.org/schema/mule/test\" elementFormDefault=\"qualified\">"
+      + "<xs:element name=\"root\"/>%s</xs:schema>";
+
+  private final XmlGrammarPool grammarPool = new XmlGrammarPool();
+  private ModuleDelegatingEntityResolver entityResolver;
+
+  @Before
+  public void before() {
+    entityResolver = new ModuleDelegatingEntityResolver(empty());
+  }
+
+  @Test
+  public void schemaIsCompiledOnce() throws IOException {
+    byte[] document = getConfig("mule-config.xml");
+
+    Optional<Schema> schema = grammarPool.getSchema(document, entityResolver, VERSION_KEY);
+    assertThat(schema.isPresent(), is(true));
+    assertThat(grammarPool.getSchema(document, entityResolver, VERSION_KEY).get(), is(sameInstance(schema.get())));
+  }
+
+  @Test
+  public void differentVersionsUseDifferentSchemas() throws IOException {
+    byte[] document = getConfig("mule-config.xml");
+
+    Schema schema = grammarPool.getSchema(document, entityResolver, VERSION_KEY).get();
+    assertThat(grammarPool.getSchema(document, entityResolver, "test:2.0.0").get(), is(not(sameInstance(schema))));
+  }
+
+  @Test
+  public void differentSchemaContentsUseDifferentSchemas() {
+    byte[] document = TEST_DOCUMENT.getBytes(UTF_8);
+
+    Schema schema = grammarPool.getSchema(document, schemaResolver(""), VERSION_KEY).get();
+    assertThat(grammarPool.getSchema(document, schemaResolver(""), VERSION_KEY).get(), is(sameInstance(schema)));
+    assertThat(grammarPool.getSchema(document, schemaResolver("<xs:element name=\"other\"/>"), VERSION_KEY).get(),
+               is(not(sameInstance(schema))));
+  }
+
+  @Test
+  public void noSchemaWithNestedSchemaLocations() {
+    byte[] document = ("<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\""
+        + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+        + " xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/core"
+        + " http://www.mulesoft.org/schema/mule/core/current/mule.xsd\">"
+        + "<flow name=\"flow\" xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/test test.xsd\"/>"
+        + "</mule>").getBytes(UTF_8);
+
+    assertThat(grammarPool.getSchema(document, entityResolver, VERSION_KEY).isPresent(), is(false));
+  }
+
+  @Test
+  public void noSchemaWithoutSchemaLocation() {
+    byte[] document = "<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\"/>".getBytes(UTF_8);
+
+    assertThat(grammarPool.getSchema(document, entityResolver, VERSION_KEY).isPresent(), is(false));
+  }
+
+  @Test
+  public void noSchemaWhenLocationCannotBeResolved() {
+    byte[] document = ("<mule xmlns=\"http://www.mulesoft.org/schema/mule/unknown\""
+        + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+        + " xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/unknown unknown.xsd\"/>").getBytes(UTF_8);
+
+    assertThat(grammarPool.getSchema(document, entityResolver, VERSION_KEY).isPresent(), is(false));
+  }
+
+  private EntityResolver schemaResolver(String extraElements) {
+    return (publicId, systemId) -> new InputSource(new ByteArrayInputStream(format(TEST_SCHEMA, extraElements).getBytes(UTF_8)));
+  }
+
+  private byte[] getConfig(String name) throws IOException {
+    return IOUtils.toByteArray(Thread.currentThread().getContextClassLoader().getResourceAsStream(name));
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.services.http.impl.service.server.grizzly;
+
+import static java.lang.String.format;
+import org.mule.runtime.core.internal.streaming.bytes.CursorStreamProviderAdapter;
+import org.mule.service.http.api.domain.entity.multipart.HttpPart;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link HttpPart} which content is buffered by a {@link CursorStreamProviderAdapter}.
+ * <p>
+ * Once {@link #release()} is invoked the buffer is released as soon as every stream opened through {@link #getInputStream()} has
+ * been closed, so the content can still be read by whomever holds one of those streams after the response has been sent.
+ *
+ * @since 4.0
+ */
+class BufferedHttpPart extends HttpPart {
+
+  private final CursorStreamProviderAdapter buffer;
+  private int openStreams;
+  private boolean releaseRequested;
+  private boolean released;
+
+  BufferedHttpPart(String partName, String fileName, CursorStreamProviderAdapter buffer, String contentType, long size) {
+    super(partName, fileName, buffer, contentType, size);
+    this.buffer = buffer;
+  }
+
+  @Override
+  public synchronized InputStream getInputStream() throws IOException {
+    if (released) {
+      throw new IOException(format("The content of part '%s' has already been released", getName()));
+    }
+    InputStream cursor = super.getInputStream();
+    openStreams++;
+    return new FilterInputStream(cursor) {
+
+      private final AtomicBoolean closed = new AtomicBoolean(false);
+
+      @Override
+      public void close() throws IOException {
+        if (closed.compareAndSet(false, true)) {
+          try {
+            super.close();
+          } finally {
+            streamClosed();
+          }
+        }
+      }
+    };
+  }
+
+  private synchronized void streamClosed() {
+    openStreams--;
+    releaseIfUnused();
+  }
+
+  /**
+   * Releases the buffer of this part once no stream of its content remains open.
+   */
+  synchronized void release() {
+    releaseRequested = true;
+    releaseIfUnused();
+  }
+
+  private void releaseIfUnused() {
+    if (releaseRequested && openStreams == 0 && !released) {
+      released = true;
+      buffer.close();
+      buffer.releaseResources();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.services.http.impl.service.server.grizzly;
+
+import org.mule.runtime.core.internal.streaming.bytes.CursorStreamProviderAdapter;
+import org.mule.service.http.api.domain.entity.multipart.HttpPart;
+import org.mule.service.http.api.domain.entity.multipart.MultipartHttpEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * {@link MultipartHttpEntity} which content of each part is buffered by a {@link CursorStreamProviderAdapter}, which may hold it
+ * in a local file. Those buffers are released through {@link #release()} once the entity is no longer needed, and each of them
+ * only once the streams opened for the content of its part have been closed.
+ *
+ * @since 4.0
+ */
+public class BufferedMultipartHttpEntity extends MultipartHttpEntity {
+
+  private final Collection<BufferedHttpPart> bufferedParts;
+
+  BufferedMultipartHttpEntity(Collection<BufferedHttpPart> parts) {
+    super(new ArrayList<HttpPart>(parts));
+    this.bufferedParts = parts;
+  }
+
+  /**
+   * Releases the buffers of the parts. The content of a part can still be read through the streams already opened for it, and
+   * its buffer is released once they are all closed.
+   */
+  public void release() {
+    for (BufferedHttpPart part : bufferedParts) {
+      part.release();
+    }
+  }
+
+  static void release(Collection<CursorStreamProviderAdapter> buffers) {
+    for (CursorStreamProviderAdapter buffer : buffers) {
+      buffer.close();
+      buffer.releaseResources();
+    }
+  }
+}
@@ -16,13 +16,12 @@ import org.mule.service.http.api.domain.ParameterMap;
 import org.mule.service.http.api.domain.entity.EmptyHttpEntity;
 import org.mule.service.http.api.domain.entity.HttpEntity;
 import org.mule.service.http.api.domain.entity.InputStreamHttpEntity;
-import org.mule.service.http.api.domain.entity.multipart.HttpPart;
-import org.mule.service.http.api.domain.entity.multipart.MultipartHttpEntity;
 import org.mule.service.http.api.domain.message.BaseHttpMessage;
 import org.mule.service.http.api.domain.message.request.HttpRequest;
 
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.glassfish.grizzly.filterchain.FilterChainContext;
 import org.glassfish.grizzly.http.HttpContent;
@@ -35,6 +34,7 @@ public class GrizzlyHttpRequestAdapter extends BaseHttpMessage implements HttpRe
   private final HttpRequestPacket requestPacket;
   private final InputStream requestContent;
   private final FilterChainContext filterChainContext;
+  private final ScheduledExecutorService bufferExecutorService;
   private final int contentLength;
   private final boolean isTransferEncodingChunked;
   private HttpProtocol protocol;
@@ -45,8 +45,10 @@ public class GrizzlyHttpRequestAdapter extends BaseHttpMessage implements HttpRe
   private ParameterMap headers;
   private ParameterMap queryParams;
 
-  public GrizzlyHttpRequestAdapter(FilterChainContext filterChainContext, HttpContent httpContent) {
+  public GrizzlyHttpRequestAdapter(FilterChainContext filterChainContext, HttpContent httpContent,
+                                   ScheduledExecutorService bufferExecutorService) {
     this.filterChainContext = filterChainContext;
+    this.bufferExecutorService = bufferExecutorService;
     this.requestPacket = (HttpRequestPacket) httpContent.getHttpHeader();
     isTransferEncodingChunked = httpContent.getHttpHeader().isChunked();
     int contentLengthAsInt = 0;
@@ -129,8 +131,7 @@ public class GrizzlyHttpRequestAdapter extends BaseHttpMessage implements HttpRe
       if (this.body == null) {
         final String contentTypeValue = getHeaderValueIgnoreCase(CONTENT_TYPE);
         if (contentTypeValue != null && contentTypeValue.contains("multipart")) {
-          final Collection<HttpPart> parts = HttpParser.parseMultipartContent(requestContent, contentTypeValue);
-          this.body = new MultipartHttpEntity(parts);
+          this.body = HttpParser.parseMultipartContent(requestContent, contentTypeValue, bufferExecutorService);
         } else {
           if (isTransferEncodingChunked) {
             this.body = new InputStreamHttpEntity(requestContent);
@@ -147,6 +148,15 @@ public class GrizzlyHttpRequestAdapter extends BaseHttpMessage implements HttpRe
     }
   }
 
+  /**
+   * Releases the resources held by the entity of this request, once it's no longer needed.
+   */
+  public void releaseEntity() {
+    if (body instanceof BufferedMultipartHttpEntity) {
+      ((BufferedMultipartHttpEntity) body).release();
+    }
+  }
+
   @Override
   public ParameterMap getQueryParams() {
     if (queryParams == null) {
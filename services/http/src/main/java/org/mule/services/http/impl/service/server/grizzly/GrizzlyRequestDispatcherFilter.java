@@ -6,13 +6,18 @@
  */
 package org.mule.services.http.impl.service.server.grizzly;
 
+import static java.util.Optional.empty;
+import static org.glassfish.grizzly.http.Method.HEAD;
 import static org.glassfish.grizzly.http.util.HttpStatus.CONINTUE_100;
 import static org.glassfish.grizzly.http.util.HttpStatus.EXPECTATION_FAILED_417;
 import static org.mule.service.http.api.HttpConstants.Protocols.HTTP;
 import static org.mule.service.http.api.HttpConstants.Protocols.HTTPS;
+import static org.mule.service.http.api.HttpHeaders.Names.CONTENT_LENGTH;
 import static org.mule.service.http.api.HttpHeaders.Names.EXPECT;
+import static org.mule.service.http.api.HttpHeaders.Names.TRANSFER_ENCODING;
 import static org.mule.service.http.api.HttpHeaders.Values.CONTINUE;
 import static org.mule.services.http.impl.service.server.grizzly.MuleSslFilter.SSL_SESSION_ATTRIBUTE_KEY;
+import org.mule.runtime.core.streaming.bytes.FileRegion;
 import org.mule.service.http.api.domain.entity.InputStreamHttpEntity;
 import org.mule.service.http.api.domain.message.response.HttpResponse;
 import org.mule.service.http.api.server.RequestHandler;
@@ -22,6 +27,8 @@ import org.mule.services.http.impl.service.server.RequestHandlerProvider;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.net.ssl.SSLSession;
 
@@ -38,9 +45,12 @@ import org.glassfish.grizzly.http.HttpResponsePacket;
 public class GrizzlyRequestDispatcherFilter extends BaseFilter {
 
   private final RequestHandlerProvider requestHandlerProvider;
+  private final ScheduledExecutorService bufferExecutorService;
 
-  GrizzlyRequestDispatcherFilter(final RequestHandlerProvider requestHandlerProvider) {
+  GrizzlyRequestDispatcherFilter(final RequestHandlerProvider requestHandlerProvider,
+                                 final ScheduledExecutorService bufferExecutorService) {
     this.requestHandlerProvider = requestHandlerProvider;
+    this.bufferExecutorService = bufferExecutorService;
   }
 
   @Override
@@ -68,13 +78,20 @@ public class GrizzlyRequestDispatcherFilter extends BaseFilter {
         }
       }
 
-      final GrizzlyHttpRequestAdapter httpRequest = new GrizzlyHttpRequestAdapter(ctx, httpContent);
+      final GrizzlyHttpRequestAdapter httpRequest = new GrizzlyHttpRequestAdapter(ctx, httpContent, bufferExecutorService);
       DefaultHttpRequestContext requestContext = createRequestContext(ctx, scheme, httpRequest);
       final RequestHandler requestHandler = requestHandlerProvider.getRequestHandler(ip, port, httpRequest);
-      requestHandler.handleRequest(requestContext, (httpResponse, responseStatusCallback) -> {
+      requestHandler.handleRequest(requestContext, (httpResponse, statusCallback) -> {
+        final ResponseStatusCallback responseStatusCallback = releasingEntity(httpRequest, statusCallback);
         try {
           if (httpResponse.getEntity() instanceof InputStreamHttpEntity) {
-            new ResponseStreamingCompletionHandler(ctx, request, httpResponse, responseStatusCallback).start();
+            Optional<FileRegion> fileRegion = getFileRegion(scheme, request, httpResponse);
+            if (fileRegion.isPresent()) {
+              new ResponseFileTransferCompletionHandler(ctx, request, httpResponse, fileRegion.get(), responseStatusCallback)
+                  .start();
+            } else {
+              new ResponseStreamingCompletionHandler(ctx, request, httpResponse, responseStatusCallback).start();
+            }
           } else {
             new ResponseCompletionHandler(ctx, request, httpResponse, responseStatusCallback).start();
           }
@@ -88,6 +105,46 @@ public class GrizzlyRequestDispatcherFilter extends BaseFilter {
     }
   }
 
+  /**
+   * Resolves the region of a local file which holds the body of the response, so that it can be sent straight from the file. This
+   * is only possible on plain connections, for responses which carry a body, are not chunked and declare the size of the region
+   * as their {@code Content-Length}.
+   */
+  private Optional<FileRegion> getFileRegion(String scheme, HttpRequestPacket request, HttpResponse httpResponse)
+      throws IOException {
+    if (!HTTP.getScheme().equals(scheme) || HEAD.equals(request.getMethod())
+        || httpResponse.getHeaderValueIgnoreCase(TRANSFER_ENCODING) != null) {
+      return empty();
+    }
+    String contentLength = httpResponse.getHeaderValueIgnoreCase(CONTENT_LENGTH);
+    if (contentLength == null) {
+      return empty();
+    }
+    Optional<FileRegion> fileRegion = FileRegion.from(((InputStreamHttpEntity) httpResponse.getEntity()).getInputStream());
+    return fileRegion.filter(region -> region.getLength() > 0 && contentLength.equals(String.valueOf(region.getLength())));
+  }
+
+  /**
+   * Releases the entity of the request once its response has been sent, or has failed to be sent. The content of the parts that
+   * are still being read is kept until their streams are closed.
+   */
+  private ResponseStatusCallback releasingEntity(GrizzlyHttpRequestAdapter httpRequest, ResponseStatusCallback callback) {
+    return new ResponseStatusCallback() {
+
+      @Override
+      public void responseSendFailure(Throwable throwable) {
+        httpRequest.releaseEntity();
+        callback.responseSendFailure(throwable);
+      }
+
+      @Override
+      public void responseSendSuccessfully() {
+        httpRequest.releaseEntity();
+        callback.responseSendSuccessfully();
+      }
+    };
+  }
+
   private DefaultHttpRequestContext createRequestContext(FilterChainContext ctx, String scheme,
                                                          GrizzlyHttpRequestAdapter httpRequest) {
     DefaultClientConnection clientConnection;
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 
 import org.glassfish.grizzly.filterchain.FilterChainBuilder;
@@ -60,12 +61,12 @@ public class GrizzlyServerManager implements HttpServerManager {
   private Map<ServerAddress, IdleExecutor> idleExecutorPerServerAddressMap = new ConcurrentHashMap<>();
   private boolean transportStarted;
 
-  public GrizzlyServerManager(ExecutorService selectorPool, ExecutorService workerPool,
+  public GrizzlyServerManager(ExecutorService selectorPool, ScheduledExecutorService workerPool,
                               ExecutorService idleTimeoutExecutorService, HttpListenerRegistry httpListenerRegistry,
                               TcpServerSocketProperties serverSocketProperties)
       throws IOException {
     this.httpListenerRegistry = httpListenerRegistry;
-    requestHandlerFilter = new GrizzlyRequestDispatcherFilter(httpListenerRegistry);
+    requestHandlerFilter = new GrizzlyRequestDispatcherFilter(httpListenerRegistry, workerPool);
     sslFilterDelegate = new GrizzlyAddressDelegateFilter<>();
     httpServerFilterDelegate = new GrizzlyAddressDelegateFilter<>();
 
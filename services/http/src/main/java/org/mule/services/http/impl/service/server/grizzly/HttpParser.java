@@ -6,33 +6,42 @@
  */
 package org.mule.services.http.impl.service.server.grizzly;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static org.apache.commons.io.output.NullOutputStream.NULL_OUTPUT_STREAM;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.util.StringUtils.WHITE_SPACE;
-import static org.mule.service.http.api.HttpHeaders.Names.CONTENT_DISPOSITION;
-
-import org.mule.service.http.api.domain.entity.multipart.HttpPart;
+import static org.mule.services.http.impl.service.server.grizzly.MultipartParser.NO_LIMIT;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.internal.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.internal.streaming.bytes.CursorStreamProviderAdapter;
+import org.mule.runtime.core.internal.streaming.bytes.FileStoreCursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.SimpleByteBufferManager;
+import org.mule.runtime.core.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.services.http.impl.service.server.grizzly.MultipartParser.MultipartPart;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collection;
-import java.util.Enumeration;
+import java.util.ArrayList;
 import java.util.List;
-
-import javax.mail.BodyPart;
-import javax.mail.Header;
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMultipart;
-import javax.mail.util.ByteArrayDataSource;
+import java.util.Map.Entry;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.commons.io.IOUtils;
 
-import com.google.common.collect.Lists;
-
 public class HttpParser {
 
   private static final String SPACE_ENTITY = "%20";
   private static final String PLUS_SIGN = "\\+";
-  private static final String CONTENT_DISPOSITION_PART_HEADER = CONTENT_DISPOSITION;
-  private static final String NAME_ATTRIBUTE = "name";
+
+  // Defines the maximum size in bytes accepted for the content of each part of a multipart request, unlimited by default
+  public static final String MAXIMUM_PART_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "http.multipart.maxPartSize";
+  // Defines the maximum size in bytes of the content of each part of a multipart request to be held in memory
+  public static final String MAXIMUM_IN_MEMORY_PART_SIZE_PROPERTY_KEY =
+      SYSTEM_PROPERTY_PREFIX + "http.multipart.maxInMemoryPartSize";
+  private static final int DEFAULT_MAXIMUM_IN_MEMORY_PART_SIZE = 512 * 1024;
+  private static final ByteBufferManager BUFFER_MANAGER = new SimpleByteBufferManager();
 
   public static String extractPath(String uri) {
     String path = uri;
@@ -43,48 +52,52 @@ public class HttpParser {
     return path;
   }
 
-  public static Collection<HttpPart> parseMultipartContent(InputStream content, String contentType) throws IOException {
-    MimeMultipart mimeMultipart = null;
-    List<HttpPart> parts = Lists.newArrayList();
-
-    try {
-      mimeMultipart = new MimeMultipart(new ByteArrayDataSource(content, contentType));
-    } catch (MessagingException e) {
-      throw new IOException(e);
-    }
+  /**
+   * Parses a multipart body as it is read. The content of each part is buffered in memory up to the size given by
+   * {@link #MAXIMUM_IN_MEMORY_PART_SIZE_PROPERTY_KEY}, and in a local file beyond that, so that the body is never fully held in
+   * memory. Parts bigger than {@link #MAXIMUM_PART_SIZE_PROPERTY_KEY} are rejected.
+   *
+   * @param content the multipart body
+   * @param contentType the content type of the body, which holds the boundary of the parts
+   * @param executorService the executor used by the buffers to delete their files once released
+   * @return an entity with the parsed parts, which must be released once no longer needed
+   * @throws IOException if the body could not be read, is not a valid multipart body or has a part which is too big
+   */
+  public static BufferedMultipartHttpEntity parseMultipartContent(InputStream content, String contentType,
+                                                                  ScheduledExecutorService executorService)
+      throws IOException {
+    MultipartParser parser = new MultipartParser(content, MultipartParser.getBoundary(contentType),
+                                                 getLong(MAXIMUM_PART_SIZE_PROPERTY_KEY, NO_LIMIT));
+    FileStoreCursorStreamConfig bufferConfig =
+        new FileStoreCursorStreamConfig(new DataSize(getInteger(MAXIMUM_IN_MEMORY_PART_SIZE_PROPERTY_KEY,
+                                                                DEFAULT_MAXIMUM_IN_MEMORY_PART_SIZE),
+                                                     BYTE));
+    List<BufferedHttpPart> parts = new ArrayList<>();
+    List<CursorStreamProviderAdapter> buffers = new ArrayList<>();
 
     try {
-      int partCount = mimeMultipart.getCount();
-
-      for (int i = 0; i < partCount; i++) {
-        BodyPart part = mimeMultipart.getBodyPart(i);
-
-        String filename = part.getFileName();
-        String partName = filename;
-        String[] contentDispositions = part.getHeader(CONTENT_DISPOSITION_PART_HEADER);
-        if (contentDispositions != null) {
-          String contentDisposition = contentDispositions[0];
-          if (contentDisposition.contains(NAME_ATTRIBUTE)) {
-            partName = contentDisposition.substring(contentDisposition.indexOf(NAME_ATTRIBUTE) + NAME_ATTRIBUTE.length() + 2);
-            partName = partName.substring(0, partName.indexOf("\""));
-          }
+      for (MultipartPart part = parser.nextPart(); part != null; part = parser.nextPart()) {
+        CursorStreamProviderAdapter buffer =
+            new FileStoreCursorStreamProvider(part.getInputStream(), bufferConfig, null, BUFFER_MANAGER, executorService);
+        buffers.add(buffer);
+        // the part must be fully buffered before the body can be read any further
+        try (InputStream cursor = buffer.openCursor()) {
+          IOUtils.copyLarge(cursor, NULL_OUTPUT_STREAM);
         }
-        HttpPart httpPart =
-            new HttpPart(partName, filename, IOUtils.toByteArray(part.getInputStream()), part.getContentType(), part.getSize());
-
-        Enumeration<Header> headers = part.getAllHeaders();
 
-        while (headers.hasMoreElements()) {
-          Header header = headers.nextElement();
-          httpPart.addHeader(header.getName(), header.getValue());
+        BufferedHttpPart httpPart =
+            new BufferedHttpPart(part.getName(), part.getFileName(), buffer, part.getContentType(), part.getSize());
+        for (Entry<String, String> header : part.getHeaders()) {
+          httpPart.addHeader(header.getKey(), header.getValue());
         }
         parts.add(httpPart);
       }
-    } catch (MessagingException e) {
-      throw new IOException(e);
+    } catch (IOException | RuntimeException e) {
+      BufferedMultipartHttpEntity.release(buffers);
+      throw e;
     }
 
-    return parts;
+    return new BufferedMultipartHttpEntity(parts);
   }
 
   /**
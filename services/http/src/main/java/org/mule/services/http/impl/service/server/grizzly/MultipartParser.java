@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.services.http.impl.service.server.grizzly;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.mule.service.http.api.HttpHeaders.Names.CONTENT_DISPOSITION;
+import static org.mule.service.http.api.HttpHeaders.Names.CONTENT_TYPE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import javax.mail.internet.ContentDisposition;
+import javax.mail.internet.ContentType;
+import javax.mail.internet.ParseException;
+
+/**
+ * Incremental parser of multipart bodies, as defined by RFC 2046.
+ * <p>
+ * Parts are exposed one at a time by {@link #nextPart()} as soon as their headers have been read, and their content is read
+ * straight from the body as the stream of the part is consumed, so the body is never held in memory. The content of a part which
+ * is not fully consumed is skipped when moving to the next one.
+ * <p>
+ * Instances of this class are not thread safe.
+ *
+ * @since 4.0
+ */
+public class MultipartParser {
+
+  public static final int NO_LIMIT = -1;
+
+  private static final String BOUNDARY_PARAMETER = "boundary";
+  private static final String NAME_PARAMETER = "name";
+  private static final String FILENAME_PARAMETER = "filename";
+  private static final String DEFAULT_CONTENT_TYPE = "text/plain";
+  private static final int BUFFER_SIZE = 8 * 1024;
+  private static final int MAX_HEADER_SECTION_SIZE = 16 * 1024;
+  private static final int CR = '\r';
+  private static final int LF = '\n';
+  private static final int DASH = '-';
+  // the first boundary may not be preceded by a line break
+  private static final int LINE_BREAK_LENGTH = 2;
+
+  private final InputStream content;
+  private final byte[] delimiter;
+  private final long maxPartSize;
+  private final byte[] buffer;
+  private int head;
+  private int tail;
+
+  private PartInputStream currentPart;
+  private boolean finished;
+
+  /**
+   * Creates a new instance
+   *
+   * @param content the multipart body
+   * @param boundary the boundary which delimits the parts of the body
+   * @param maxPartSize the maximum amount of bytes of the content of each part, or {@link #NO_LIMIT}
+   */
+  public MultipartParser(InputStream content, String boundary, long maxPartSize) {
+    this.content = content;
+    this.delimiter = ("\r\n--" + boundary).getBytes(ISO_8859_1);
+    this.maxPartSize = maxPartSize;
+    this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 2)];
+  }
+
+  /**
+   * Extracts the boundary from the content type of a multipart body
+   *
+   * @param contentType the content type of the body
+   * @return the boundary which delimits its parts
+   * @throws IOException if the content type is not valid or has no boundary
+   */
+  public static String getBoundary(String contentType) throws IOException {
+    String boundary;
+    try {
+      boundary = new ContentType(contentType).getParameter(BOUNDARY_PARAMETER);
+    } catch (ParseException e) {
+      throw new IOException(e);
+    }
+    if (boundary == null || boundary.isEmpty()) {
+      throw new IOException(format("Multipart content type '%s' has no boundary", contentType));
+    }
+    return boundary;
+  }
+
+  /**
+   * Reads the headers of the next part, skipping whatever content of the current one has not been consumed yet
+   *
+   * @return the next part, or {@code null} if the closing boundary has been reached
+   * @throws IOException if the body could not be read or is not a valid multipart body
+   */
+  public MultipartPart nextPart() throws IOException {
+    if (finished) {
+      return null;
+    }
+
+    if (currentPart == null) {
+      // skip the preamble
+      drain(new PartInputStream(null, LINE_BREAK_LENGTH, NO_LIMIT));
+    } else {
+      drain(currentPart);
+    }
+
+    int first = readByte();
+    int second = readByte();
+    if (first == DASH && second == DASH) {
+      finished = true;
+      currentPart = null;
+      return null;
+    }
+    while (first == ' ' || first == '\t') {
+      first = second;
+      second = readByte();
+    }
+    if (first != CR || second != LF) {
+      throw new IOException(first == -1 || second == -1 ? "Unexpected end of multipart content"
+          : "Malformed multipart content, a boundary is not followed by a line break");
+    }
+
+    List<Entry<String, String>> headers = readHeaders();
+    MultipartPart part = new MultipartPart(headers);
+    currentPart = new PartInputStream(part.getName(), 0, maxPartSize);
+    part.content = currentPart;
+    return part;
+  }
+
+  private List<Entry<String, String>> readHeaders() throws IOException {
+    List<Entry<String, String>> headers = new ArrayList<>();
+    ByteArrayOutputStream line = new ByteArrayOutputStream();
+    int headerSectionSize = 0;
+
+    while (true) {
+      line.reset();
+      int b;
+      while ((b = readByte()) != LF) {
+        if (b == -1) {
+          throw new IOException("Unexpected end of multipart content");
+        }
+        if (++headerSectionSize > MAX_HEADER_SECTION_SIZE) {
+          throw new IOException(format("Multipart part headers exceed the maximum size of %d bytes", MAX_HEADER_SECTION_SIZE));
+        }
+        line.write(b);
+      }
+
+      String header = new String(line.toByteArray(), ISO_8859_1);
+      if (header.endsWith("\r")) {
+        header = header.substring(0, header.length() - 1);
+      }
+      if (header.isEmpty()) {
+        return headers;
+      }
+
+      if ((header.charAt(0) == ' ' || header.charAt(0) == '\t') && !headers.isEmpty()) {
+        // folded header
+        Entry<String, String> previous = headers.get(headers.size() - 1);
+        previous.setValue(previous.getValue() + " " + header.trim());
+      } else {
+        int separator = header.indexOf(':');
+        if (separator <= 0) {
+          throw new IOException(format("Malformed multipart part header '%s'", header));
+        }
+        headers.add(new SimpleEntry<>(header.substring(0, separator).trim(), header.substring(separator + 1).trim()));
+      }
+    }
+  }
+
+  private void drain(InputStream stream) throws IOException {
+    byte[] scratch = new byte[BUFFER_SIZE];
+    while (stream.read(scratch) != -1) {
+      // discard
+    }
+  }
+
+  private int readByte() throws IOException {
+    if (head == tail && fill() == -1) {
+      return -1;
+    }
+    return buffer[head++] & 0xFF;
+  }
+
+  private int fill() throws IOException {
+    if (head > 0) {
+      System.arraycopy(buffer, head, buffer, 0, tail - head);
+      tail -= head;
+      head = 0;
+    }
+    int read = content.read(buffer, tail, buffer.length - tail);
+    if (read > 0) {
+      tail += read;
+    }
+    return read;
+  }
+
+  private int indexOfDelimiter(int delimiterOffset) {
+    int last = tail - (delimiter.length - delimiterOffset);
+    byte first = delimiter[delimiterOffset];
+    for (int i = head; i <= last; i++) {
+      if (buffer[i] != first) {
+        continue;
+      }
+      int j = 1;
+      while (j < delimiter.length - delimiterOffset && buffer[i + j] == delimiter[delimiterOffset + j]) {
+        j++;
+      }
+      if (j == delimiter.length - delimiterOffset) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The content of a part, which ends right before the delimiter that follows it.
+   */
+  private final class PartInputStream extends InputStream {
+
+    private final String partName;
+    private final int delimiterOffset;
+    private final long maxSize;
+    private long size;
+    private boolean ended;
+
+    private PartInputStream(String partName, int delimiterOffset, long maxSize) {
+      this.partName = partName;
+      this.delimiterOffset = delimiterOffset;
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (ended) {
+        return -1;
+      }
+      if (len == 0) {
+        return 0;
+      }
+
+      int available = availableContent();
+      while (available == 0 && !ended) {
+        if (fill() == -1) {
+          throw new IOException("Unexpected end of multipart content");
+        }
+        available = availableContent();
+      }
+      if (ended) {
+        return -1;
+      }
+
+      int count = Math.min(len, available);
+      System.arraycopy(buffer, head, b, off, count);
+      head += count;
+      size += count;
+      if (maxSize != NO_LIMIT && size > maxSize) {
+        throw new IOException(format("Multipart part '%s' exceeds the maximum size of %d bytes", partName, maxSize));
+      }
+      return count;
+    }
+
+    /**
+     * @return the amount of buffered bytes which are known to belong to the part. Consumes the delimiter once reached
+     */
+    private int availableContent() {
+      int index = indexOfDelimiter(delimiterOffset);
+      if (index == head) {
+        head += delimiter.length - delimiterOffset;
+        ended = true;
+        return 0;
+      } else if (index > head) {
+        return index - head;
+      }
+      // the end of the buffer may be the beginning of the delimiter
+      return Math.max(0, tail - head - (delimiter.length - delimiterOffset - 1));
+    }
+
+    @Override
+    public int available() {
+      return ended ? 0 : availableContent();
+    }
+
+    /**
+     * Does not close the body, the rest of the part is skipped when moving to the next one.
+     */
+    @Override
+    public void close() {}
+  }
+
+  /**
+   * A part of a multipart body, whose content is read from the body.
+   */
+  public static final class MultipartPart {
+
+    private final List<Entry<String, String>> headers;
+    private final String name;
+    private final String fileName;
+    private final String contentType;
+    private PartInputStream content;
+
+    private MultipartPart(List<Entry<String, String>> headers) {
+      this.headers = headers;
+      String contentTypeHeader = getHeader(CONTENT_TYPE);
+      this.contentType = contentTypeHeader != null ? contentTypeHeader : DEFAULT_CONTENT_TYPE;
+
+      String partName = null;
+      String partFileName = null;
+      String contentDisposition = getHeader(CONTENT_DISPOSITION);
+      try {
+        if (contentDisposition != null) {
+          ContentDisposition disposition = new ContentDisposition(contentDisposition);
+          partName = disposition.getParameter(NAME_PARAMETER);
+          partFileName = disposition.getParameter(FILENAME_PARAMETER);
+        }
+        if (partFileName == null && contentTypeHeader != null) {
+          partFileName = new ContentType(contentTypeHeader).getParameter(NAME_PARAMETER);
+        }
+      } catch (ParseException e) {
+        // lenient with invalid headers, as the parts are still readable
+      }
+      this.fileName = partFileName;
+      this.name = partName != null ? partName : partFileName;
+    }
+
+    private String getHeader(String headerName) {
+      for (Entry<String, String> header : headers) {
+        if (header.getKey().equalsIgnoreCase(headerName)) {
+          return header.getValue();
+        }
+      }
+      return null;
+    }
+
+    /**
+     * @return the headers of the part, in the order in which they were received
+     */
+    public List<Entry<String, String>> getHeaders() {
+      return headers;
+    }
+
+    /**
+     * @return the name of the part, or its file name if it has none
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return the name of the file sent in the part, or {@code null}
+     */
+    public String getFileName() {
+      return fileName;
+    }
+
+    /**
+     * @return the content type of the part
+     */
+    public String getContentType() {
+      return contentType;
+    }
+
+    /**
+     * @return the content of the part. It can only be read until the next part is requested
+     */
+    public InputStream getInputStream() {
+      return content;
+    }
+
+    /**
+     * @return the amount of bytes of content read so far
+     */
+    public long getSize() {
+      return content.size;
+    }
+  }
+}
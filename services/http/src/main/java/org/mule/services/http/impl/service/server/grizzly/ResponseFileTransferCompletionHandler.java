@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.services.http.impl.service.server.grizzly;
+
+import static org.glassfish.grizzly.http.HttpServerFilter.RESPONSE_COMPLETE_EVENT;
+import static org.slf4j.LoggerFactory.getLogger;
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.streaming.bytes.FileRegion;
+import org.mule.service.http.api.domain.entity.InputStreamHttpEntity;
+import org.mule.service.http.api.domain.message.response.HttpResponse;
+import org.mule.service.http.api.server.async.ResponseStatusCallback;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.glassfish.grizzly.FileTransfer;
+import org.glassfish.grizzly.WriteResult;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.http.HttpContent;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.http.HttpResponsePacket;
+import org.slf4j.Logger;
+
+/**
+ * {@link org.glassfish.grizzly.CompletionHandler}, responsible for asynchronous http response transferring when the response body
+ * is an input stream which reads a local file.
+ * <p>
+ * The file is written as a {@link FileTransfer}, which the transport sends with {@link java.nio.channels.FileChannel#transferTo}
+ * so the operating system moves its bytes straight into the socket. This requires a plain connection and a response with a
+ * {@code Content-Length}, since the bytes can neither be encrypted nor framed in chunks.
+ */
+public class ResponseFileTransferCompletionHandler extends BaseResponseCompletionHandler {
+
+  private static final Logger LOGGER = getLogger(ResponseFileTransferCompletionHandler.class);
+
+  private final FilterChainContext ctx;
+  private final HttpResponsePacket httpResponsePacket;
+  private final InputStream inputStream;
+  private final FileRegion fileRegion;
+  private final ResponseStatusCallback responseStatusCallback;
+
+  private volatile boolean headersSent;
+
+  public ResponseFileTransferCompletionHandler(final FilterChainContext ctx, final HttpRequestPacket request,
+                                               final HttpResponse httpResponse, final FileRegion fileRegion,
+                                               ResponseStatusCallback responseStatusCallback) {
+    Preconditions.checkArgument((httpResponse.getEntity() instanceof InputStreamHttpEntity),
+                                "http response must have an input stream entity");
+    this.ctx = ctx;
+    httpResponsePacket = buildHttpResponsePacket(request, httpResponse);
+    httpResponsePacket.setChunked(false);
+    httpResponsePacket.setContentLengthLong(fileRegion.getLength());
+    inputStream = ((InputStreamHttpEntity) httpResponse.getEntity()).getInputStream();
+    this.fileRegion = fileRegion;
+    this.responseStatusCallback = responseStatusCallback;
+  }
+
+  public void start() throws IOException {
+    ctx.write(HttpContent.builder(httpResponsePacket).build(), this);
+  }
+
+  /**
+   * Method gets called, when the headers or the file were successfully sent.
+   *
+   * @param result the result
+   */
+  @Override
+  public void completed(WriteResult result) {
+    if (!headersSent) {
+      headersSent = true;
+      ctx.write(new FileTransfer(fileRegion.getPath().toFile(), fileRegion.getPosition(), fileRegion.getLength()), this);
+    } else {
+      // As with any response which is not chunked, the #completed method is not called after writing the trailer
+      ctx.write(httpResponsePacket.httpTrailerBuilder().build());
+      doComplete();
+    }
+  }
+
+  private void doComplete() {
+    close();
+    responseStatusCallback.responseSendSuccessfully();
+    ctx.notifyDownstream(RESPONSE_COMPLETE_EVENT);
+    resume();
+  }
+
+  /**
+   * The method will be called, when file transferring was canceled
+   */
+  @Override
+  public void cancelled() {
+    super.cancelled();
+    close();
+    responseStatusCallback.responseSendFailure(new DefaultMuleException(CoreMessages
+        .createStaticMessage("Http response sending task was cancelled")));
+    resume();
+  }
+
+  /**
+   * The method will be called, if file transferring was failed.
+   *
+   * @param throwable the cause
+   */
+  @Override
+  public void failed(Throwable throwable) {
+    super.failed(throwable);
+    close();
+    resume();
+  }
+
+  /**
+   * Close the input stream, which releases the file it reads.
+   */
+  private void close() {
+    try {
+      inputStream.close();
+    } catch (IOException e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Could not close the stream of the transferred file " + fileRegion.getPath(), e);
+      }
+    }
+  }
+
+  /**
+   * Resume the HttpRequestPacket processing
+   */
+  private void resume() {
+    ctx.resume(ctx.getStopAction());
+  }
+}
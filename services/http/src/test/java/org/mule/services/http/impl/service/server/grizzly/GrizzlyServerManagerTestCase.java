@@ -6,7 +6,9 @@
  */
 package org.mule.services.http.impl.service.server.grizzly;
 
+import static java.lang.Runtime.getRuntime;
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
@@ -27,6 +29,7 @@ import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.Socket;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.junit.After;
 import org.junit.Before;
@@ -39,13 +42,13 @@ public class GrizzlyServerManagerTestCase extends AbstractMuleContextTestCase {
   public DynamicPort listenerPort = new DynamicPort("listener.port");
 
   private ExecutorService selectorPool;
-  private ExecutorService workerPool;
+  private ScheduledExecutorService workerPool;
   private ExecutorService idleTimeoutExecutorService;
 
   @Before
   public void before() {
     selectorPool = newCachedThreadPool();
-    workerPool = newCachedThreadPool();
+    workerPool = newScheduledThreadPool(getRuntime().availableProcessors());
     idleTimeoutExecutorService = newCachedThreadPool();
   }
 
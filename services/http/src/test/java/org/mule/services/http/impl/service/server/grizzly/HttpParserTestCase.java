@@ -6,17 +6,38 @@
  */
 package org.mule.services.http.impl.service.server.grizzly;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mule.services.http.impl.service.server.grizzly.HttpParser.normalizePathWithSpacesOrEncodedSpaces;
+import static org.mule.services.http.impl.service.server.grizzly.HttpParser.parseMultipartContent;
+import org.mule.runtime.core.util.StringUtils;
+import org.mule.service.http.api.domain.entity.multipart.HttpPart;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
 import org.junit.Test;
 
 @SmallTest
 public class HttpParserTestCase extends AbstractMuleTestCase {
 
+  private final ScheduledExecutorService executorService = newSingleThreadScheduledExecutor();
+
+  @After
+  public void after() {
+    executorService.shutdownNow();
+  }
+
   @Test
   public void normalizePath() {
     String expectedNormalizedPath = " some path";
@@ -27,4 +48,83 @@ public class HttpParserTestCase extends AbstractMuleTestCase {
     assertThat(normalizePathWithSpacesOrEncodedSpaces("+some%20path"), is(expectedNormalizedPath));
   }
 
+  @Test
+  public void parseMultipartContentBuffersParts() throws Exception {
+    // bigger than the default in memory part size, so it's buffered in a file
+    String fileContent = StringUtils.repeat("0123456789", 100 * 1024);
+    String body = "--boundary\r\n"
+        + "Content-Disposition: form-data; name=\"field\"\r\n\r\n"
+        + "value\r\n"
+        + "--boundary\r\n"
+        + "Content-Disposition: form-data; name=\"file\"; filename=\"file.txt\"\r\n"
+        + "Content-Type: application/octet-stream\r\n\r\n"
+        + fileContent + "\r\n"
+        + "--boundary--\r\n";
+
+    BufferedMultipartHttpEntity entity =
+        parseMultipartContent(new ByteArrayInputStream(body.getBytes(ISO_8859_1)), "multipart/form-data; boundary=boundary",
+                              executorService);
+    try {
+      assertThat(entity.getParts().size(), is(2));
+      Iterator<HttpPart> parts = entity.getParts().iterator();
+
+      HttpPart field = parts.next();
+      assertThat(field.getName(), is("field"));
+      assertThat(field.getContentType(), is("text/plain"));
+      assertThat(field.getHeader("Content-Disposition"), is("form-data; name=\"field\""));
+      assertThat(toString(field), is("value"));
+
+      HttpPart file = parts.next();
+      assertThat(file.getName(), is("file"));
+      assertThat(file.getFileName(), is("file.txt"));
+      assertThat(file.getSize(), is((long) fileContent.length()));
+      // the content can be read more than once
+      assertThat(toString(file), is(fileContent));
+      assertThat(toString(file), is(fileContent));
+    } finally {
+      entity.release();
+    }
+  }
+
+  @Test
+  public void partContentIsReadableUntilClosedAfterRelease() throws Exception {
+    String body = "--boundary\r\n"
+        + "Content-Disposition: form-data; name=\"read\"\r\n\r\n"
+        + "first\r\n"
+        + "--boundary\r\n"
+        + "Content-Disposition: form-data; name=\"unread\"\r\n\r\n"
+        + "second\r\n"
+        + "--boundary--\r\n";
+
+    BufferedMultipartHttpEntity entity =
+        parseMultipartContent(new ByteArrayInputStream(body.getBytes(ISO_8859_1)), "multipart/form-data; boundary=boundary",
+                              executorService);
+    Iterator<HttpPart> parts = entity.getParts().iterator();
+    HttpPart read = parts.next();
+    HttpPart unread = parts.next();
+    InputStream content = read.getInputStream();
+
+    // as when the response is sent before the content is consumed
+    entity.release();
+    assertReleased(unread);
+
+    assertThat(IOUtils.toString(content, ISO_8859_1), is("first"));
+    content.close();
+    assertReleased(read);
+  }
+
+  private void assertReleased(HttpPart part) {
+    try {
+      part.getInputStream();
+      fail("The content of the part should have been released");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  private String toString(HttpPart part) throws Exception {
+    try (InputStream content = part.getInputStream()) {
+      return IOUtils.toString(content, ISO_8859_1);
+    }
+  }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.services.http.impl.service.server.grizzly;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.services.http.impl.service.server.grizzly.MultipartParser.NO_LIMIT;
+import static org.mule.services.http.impl.service.server.grizzly.MultipartParser.getBoundary;
+import org.mule.services.http.impl.service.server.grizzly.MultipartParser.MultipartPart;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+@SmallTest
+public class MultipartParserTestCase extends AbstractMuleTestCase {
+
+  private static final String BOUNDARY = "simple boundary";
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  @Test
+  public void partsAreParsed() throws Exception {
+    MultipartParser parser = parserOf("This is the preamble.\r\n"
+        + "--simple boundary\r\n"
+        + "Content-Disposition: form-data; name=\"field\"\r\n"
+        + "\r\n"
+        + "value\r\n"
+        + "--simple boundary  \r\n"
+        + "Content-Disposition: form-data; name=\"file\"; filename=\"file.txt\"\r\n"
+        + "Content-Type: application/octet-stream\r\n"
+        + "X-Custom: folded\r\n"
+        + " header\r\n"
+        + "\r\n"
+        + "line 1\r\nline 2\r\n"
+        + "--simple boundary--\r\n"
+        + "This is the epilogue.");
+
+    MultipartPart field = parser.nextPart();
+    assertThat(field.getName(), is("field"));
+    assertThat(field.getFileName(), is(nullValue()));
+    assertThat(field.getContentType(), is("text/plain"));
+    assertThat(IOUtils.toString(field.getInputStream(), ISO_8859_1), is("value"));
+    assertThat(field.getSize(), is(5L));
+
+    MultipartPart file = parser.nextPart();
+    assertThat(file.getName(), is("file"));
+    assertThat(file.getFileName(), is("file.txt"));
+    assertThat(file.getContentType(), is("application/octet-stream"));
+    assertThat(file.getHeaders().size(), is(3));
+    assertThat(file.getHeaders().get(2).getValue(), is("folded header"));
+    assertThat(IOUtils.toString(file.getInputStream(), ISO_8859_1), is("line 1\r\nline 2"));
+
+    assertThat(parser.nextPart(), is(nullValue()));
+    assertThat(parser.nextPart(), is(nullValue()));
+  }
+
+  @Test
+  public void unreadContentIsSkipped() throws Exception {
+    MultipartParser parser = parserOf("--simple boundary\r\n\r\nfirst\r\n--simple boundary\r\n\r\nsecond\r\n--simple boundary--");
+
+    parser.nextPart();
+    assertThat(IOUtils.toString(parser.nextPart().getInputStream(), ISO_8859_1), is("second"));
+    assertThat(parser.nextPart(), is(nullValue()));
+  }
+
+  @Test
+  public void largeContentIsStreamed() throws Exception {
+    // fragments of the delimiter spread across the reads of the body
+    StringBuilder builder = new StringBuilder();
+    while (builder.length() < 100 * 1024) {
+      builder.append("content\r\n--simple").append(builder.length()).append("\r\n-");
+    }
+    String content = builder.toString();
+    MultipartParser parser = parserOf("--simple boundary\r\n\r\n" + content + "\r\n--simple boundary--", 7);
+
+    MultipartPart part = parser.nextPart();
+    assertThat(IOUtils.toString(part.getInputStream(), ISO_8859_1), is(content));
+    assertThat(part.getSize(), is((long) content.length()));
+    assertThat(parser.nextPart(), is(nullValue()));
+  }
+
+  @Test
+  public void partExceedingMaxSizeFails() throws Exception {
+    MultipartParser parser =
+        new MultipartParser(streamOf("--simple boundary\r\n\r\n0123456789\r\n--simple boundary--", 0), BOUNDARY, 5);
+
+    expectedException.expect(IOException.class);
+    IOUtils.toString(parser.nextPart().getInputStream(), ISO_8859_1);
+  }
+
+  @Test
+  public void missingCloseDelimiterFails() throws Exception {
+    MultipartParser parser = parserOf("--simple boundary\r\n\r\nvalue");
+
+    expectedException.expect(IOException.class);
+    parser.nextPart();
+    parser.nextPart();
+  }
+
+  @Test
+  public void boundaryIsTakenFromContentType() throws Exception {
+    assertThat(getBoundary("multipart/form-data; boundary=\"simple boundary\""), is(BOUNDARY));
+  }
+
+  @Test
+  public void missingBoundaryFails() throws Exception {
+    expectedException.expect(IOException.class);
+    getBoundary("multipart/form-data");
+  }
+
+  private MultipartParser parserOf(String body) {
+    return parserOf(body, 0);
+  }
+
+  private MultipartParser parserOf(String body, int maxRead) {
+    return new MultipartParser(streamOf(body, maxRead), BOUNDARY, NO_LIMIT);
+  }
+
+  /**
+   * @param maxRead the maximum amount of bytes returned by each read, or 0 for no limit
+   */
+  private InputStream streamOf(String body, int maxRead) {
+    return new ByteArrayInputStream(body.getBytes(ISO_8859_1)) {
+
+      @Override
+      public synchronized int read(byte[] b, int off, int len) {
+        return super.read(b, off, maxRead > 0 ? Math.min(len, maxRead) : len);
+      }
+    };
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.services.http.impl.service.server.grizzly;
+
+import static org.mockito.Mockito.mock;
+import org.mule.runtime.core.streaming.bytes.FileRegion;
+import org.mule.service.http.api.domain.entity.InputStreamHttpEntity;
+import org.mule.service.http.api.domain.message.response.HttpResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class ResponseFileTransferCompletionHandlerTestCase extends BaseResponseCompletionHandlerTestCase {
+
+  private ResponseFileTransferCompletionHandler handler;
+
+  @Override
+  public void setUp() {
+    super.setUp();
+    InputStream mockStream = mock(InputStream.class);
+    try {
+      File file = File.createTempFile("response", ".txt");
+      file.deleteOnExit();
+      handler = new ResponseFileTransferCompletionHandler(ctx,
+                                                          request,
+                                                          HttpResponse.builder()
+                                                              .setEntity(new InputStreamHttpEntity(mockStream)).build(),
+                                                          FileRegion.of(file.toPath()),
+                                                          callback);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  protected BaseResponseCompletionHandler getHandler() {
+    return handler;
+  }
+}
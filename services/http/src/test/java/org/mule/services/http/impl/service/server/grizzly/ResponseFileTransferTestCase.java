@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.services.http.impl.service.server.grizzly;
+
+import static java.lang.Runtime.getRuntime;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.service.http.api.HttpConstants.HttpStatus.OK;
+import static org.mule.service.http.api.HttpHeaders.Names.CONTENT_LENGTH;
+import org.mule.runtime.core.streaming.bytes.FileContentStream;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.service.http.api.domain.entity.InputStreamHttpEntity;
+import org.mule.service.http.api.domain.message.response.HttpResponse;
+import org.mule.service.http.api.server.HttpServer;
+import org.mule.service.http.api.server.async.ResponseStatusCallback;
+import org.mule.service.http.api.tcp.TcpServerSocketProperties;
+import org.mule.services.http.impl.service.server.DefaultServerAddress;
+import org.mule.services.http.impl.service.server.HttpListenerRegistry;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.junit4.rule.DynamicPort;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResponseFileTransferTestCase extends AbstractMuleContextTestCase {
+
+  private static final String CONTENT = "Content sent straight from the file";
+
+  @Rule
+  public DynamicPort listenerPort = new DynamicPort("listener.port");
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ExecutorService selectorPool;
+  private ScheduledExecutorService workerPool;
+  private ExecutorService idleTimeoutExecutorService;
+  private GrizzlyServerManager serverManager;
+  private HttpServer server;
+
+  @Before
+  public void before() throws IOException {
+    selectorPool = newCachedThreadPool();
+    workerPool = newScheduledThreadPool(getRuntime().availableProcessors());
+    idleTimeoutExecutorService = newCachedThreadPool();
+
+    TcpServerSocketProperties socketProperties = mock(TcpServerSocketProperties.class);
+    when(socketProperties.getSendTcpNoDelay()).thenReturn(true);
+    when(socketProperties.getReuseAddress()).thenReturn(true);
+    when(socketProperties.getReceiveBacklog()).thenReturn(50);
+    serverManager = new GrizzlyServerManager(selectorPool, workerPool, idleTimeoutExecutorService, new HttpListenerRegistry(),
+                                             socketProperties);
+    server = serverManager.createServerFor(new DefaultServerAddress("0.0.0.0", listenerPort.getNumber()),
+                                           () -> muleContext.getSchedulerService().ioScheduler(), true,
+                                           (int) SECONDS.toMillis(DEFAULT_TEST_TIMEOUT_SECS));
+  }
+
+  @After
+  public void after() {
+    server.stop();
+    serverManager.dispose();
+    selectorPool.shutdown();
+    workerPool.shutdown();
+    idleTimeoutExecutorService.shutdown();
+  }
+
+  @Test
+  public void fileIsSentWithoutReadingTheStream() throws Exception {
+    File file = temporaryFolder.newFile();
+    Files.write(file.toPath(), CONTENT.getBytes(ISO_8859_1));
+    TrackingFileStream stream = new TrackingFileStream(file);
+    ResponseStatusCallback responseStatusCallback = mock(ResponseStatusCallback.class);
+    server.addRequestHandler("/file", (requestContext, responseCallback) -> responseCallback
+        .responseReady(HttpResponse.builder().setStatusCode(OK.getStatusCode())
+            .addHeader(CONTENT_LENGTH, String.valueOf(file.length())).setEntity(new InputStreamHttpEntity(stream)).build(),
+                       responseStatusCallback));
+    server.start();
+
+    String response = request("/file");
+
+    assertThat(response, startsWith("HTTP/1.1 200"));
+    assertThat(response, containsString(CONTENT_LENGTH + ": " + file.length()));
+    assertThat(response, not(containsString("chunked")));
+    assertThat(response, endsWith("\r\n\r\n" + CONTENT));
+    verify(responseStatusCallback, timeout(1000)).responseSendSuccessfully();
+    assertThat(stream.hasBeenRead(), is(false));
+    assertThat(stream.closed, is(true));
+  }
+
+  private String request(String path) throws IOException {
+    try (Socket clientSocket = new Socket("localhost", listenerPort.getNumber())) {
+      clientSocket.setSoTimeout((int) SECONDS.toMillis(DEFAULT_TEST_TIMEOUT_SECS));
+      OutputStream outputStream = clientSocket.getOutputStream();
+      outputStream.write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n").getBytes(ISO_8859_1));
+      outputStream.flush();
+      return new String(IOUtils.toByteArray(clientSocket.getInputStream()), ISO_8859_1);
+    }
+  }
+
+  private static class TrackingFileStream extends FileInputStream implements FileContentStream {
+
+    private final Path path;
+    private volatile boolean read = false;
+    private volatile boolean closed = false;
+
+    private TrackingFileStream(File file) throws IOException {
+      super(file);
+      this.path = file.toPath();
+    }
+
+    @Override
+    public int read() throws IOException {
+      read = true;
+      return super.read();
+    }
+
+    @Override
+    public int read(byte[] b) throws IOException {
+      read = true;
+      return super.read(b);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      read = true;
+      return super.read(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      closed = true;
+      super.close();
+    }
+
+    @Override
+    public Path getPath() {
+      return path;
+    }
+
+    @Override
+    public boolean hasBeenRead() {
+      return read;
+    }
+  }
+}
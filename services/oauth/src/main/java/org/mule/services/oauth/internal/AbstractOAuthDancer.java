@@ -6,11 +6,18 @@
  */
 package org.mule.services.oauth.internal;
 
+import static java.lang.Long.parseLong;
+import static java.lang.Math.min;
 import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.MediaType.ANY;
 import static org.mule.runtime.api.metadata.MediaType.parse;
+import static org.mule.runtime.oauth.api.state.ResourceOwnerOAuthContext.DEFAULT_RESOURCE_OWNER_ID;
 import static org.mule.service.http.api.HttpConstants.HttpStatus.BAD_REQUEST;
 import static org.mule.service.http.api.HttpConstants.Method.POST;
 import static org.mule.service.http.api.HttpHeaders.Names.AUTHORIZATION;
@@ -18,6 +25,7 @@ import static org.mule.service.http.api.HttpHeaders.Names.CONTENT_TYPE;
 import static org.mule.service.http.api.HttpHeaders.Values.APPLICATION_X_WWW_FORM_URLENCODED;
 import static org.mule.service.http.api.utils.HttpEncoderDecoderUtils.decodeUrlEncodedBody;
 import static org.mule.service.http.api.utils.HttpEncoderDecoderUtils.encodeString;
+import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.el.ExpressionEvaluator;
@@ -50,18 +58,43 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 
+import org.slf4j.Logger;
+
 /**
  * Base implementations with behavior common to all grant-types.
+ * <p>
+ * The contexts of the resource owners are kept in memory in front of the {@code tokensStore}, so getting the access token does
+ * not need to retrieve the context from the store on each request. Tokens with a known {@code expires_in} are refreshed when
+ * they are about to expire, and concurrent refreshes for the same resource owner are done with a single call to the token url.
  *
  * @since 4.0
  */
 public abstract class AbstractOAuthDancer implements Startable, Stoppable {
 
+  private static final Logger LOGGER = getLogger(AbstractOAuthDancer.class);
+
   private static final int TOKEN_REQUEST_TIMEOUT_MILLIS = 60000;
 
+  /**
+   * Tokens are refreshed when less than this fraction of their lifetime is left...
+   */
+  private static final double PROACTIVE_REFRESH_LIFETIME_FRACTION = 0.1;
+  /**
+   * ... or when less than this time is left, whatever happens first.
+   */
+  private static final long MAX_PROACTIVE_REFRESH_MILLIS = 60000;
+  /**
+   * Time to wait before trying again a refresh that failed before the token expired, doubled on each consecutive failure up to
+   * {@link #MAX_PROACTIVE_REFRESH_MILLIS}.
+   */
+  private static final long PROACTIVE_REFRESH_RETRY_MILLIS = 1000;
+
   protected final String clientId;
   protected final String clientSecret;
   protected final String tokenUrl;
@@ -78,6 +111,15 @@ public abstract class AbstractOAuthDancer implements Startable, Stoppable {
   private final HttpClient httpClient;
   private final ExpressionEvaluator expressionEvaluator;
 
+  private final ConcurrentMap<String, ResourceOwnerOAuthContext> contextsCache = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, TokenExpiration> tokenExpirations = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, CompletableFuture<Void>> refreshesInFlight = new ConcurrentHashMap<>();
+
+  private final AtomicLong refreshCount = new AtomicLong();
+  private final AtomicLong refreshFailureCount = new AtomicLong();
+  private final AtomicLong totalRefreshNanos = new AtomicLong();
+  private final AtomicLong maxRefreshNanos = new AtomicLong();
+
   protected AbstractOAuthDancer(String clientId, String clientSecret, String tokenUrl, Charset encoding, String scopes,
                                 String responseAccessTokenExpr, String responseRefreshTokenExpr, String responseExpiresInExpr,
                                 Map<String, String> customParametersExtractorsExprs, LockFactory lockProvider,
@@ -116,8 +158,126 @@ public abstract class AbstractOAuthDancer implements Startable, Stoppable {
           + "Verify that you have authenticated before trying to execute an operation to the API.")));
     }
 
-    // TODO MULE-11858 proactively refresh if the token has already expired based on its 'expiresIn' parameter
-    return completedFuture(accessToken);
+    final String resourceOwnerId = toResourceOwnerId(resourceOwner);
+    final TokenExpiration expiration = tokenExpirations.get(resourceOwnerId);
+    if (expiration == null || !expiration.shouldRefresh()) {
+      return completedFuture(accessToken);
+    }
+
+    // While the token is still valid only one request pays for the refresh, the rest keep using the current token.
+    if (!expiration.isExpired() && refreshesInFlight.containsKey(resourceOwnerId)) {
+      return completedFuture(accessToken);
+    }
+
+    if (!canRefreshToken(getContextForResourceOwner(resourceOwner))) {
+      return completedFuture(accessToken);
+    }
+
+    return refreshToken(resourceOwner).handle((result, exception) -> {
+      if (exception != null) {
+        // The token url will be called again in reaction to the authorization failure, if any
+        LOGGER.warn("Could not refresh the access token before its expiration for resource owner '{}'", resourceOwnerId,
+                    exception);
+        // The current token keeps being used until the refresh is retried, instead of calling the token url on every request
+        expiration.postponeRefresh();
+        return accessToken;
+      }
+      return getContextForResourceOwner(resourceOwner).getAccessToken();
+    });
+  }
+
+  /**
+   * Performs the refresh of the access token, making sure that only one call to the token url is in progress for each resource
+   * owner. Callers that request a refresh while there is one in progress get the future of the one in progress.
+   *
+   * @param resourceOwner The resource owner to get the token for.
+   * @return a completable future that is complete when the token has been refreshed.
+   */
+  public CompletableFuture<Void> refreshToken(String resourceOwner) {
+    final String resourceOwnerId = toResourceOwnerId(resourceOwner);
+    final CompletableFuture<Void> refresh = new CompletableFuture<>();
+    final CompletableFuture<Void> refreshInFlight = refreshesInFlight.putIfAbsent(resourceOwnerId, refresh);
+    if (refreshInFlight != null) {
+      return refreshInFlight;
+    }
+
+    // The context may have been refreshed by another node sharing the store, so it is read from there before refreshing
+    contextsCache.remove(resourceOwnerId);
+    final long startNanos = nanoTime();
+    try {
+      doRefreshToken(resourceOwner).whenComplete((result, exception) -> completeRefresh(resourceOwnerId, refresh, startNanos,
+                                                                                        exception));
+    } catch (RuntimeException e) {
+      completeRefresh(resourceOwnerId, refresh, startNanos, e);
+      throw e;
+    }
+    return refresh;
+  }
+
+  private void completeRefresh(String resourceOwnerId, CompletableFuture<Void> refresh, long startNanos, Throwable exception) {
+    final long elapsedNanos = nanoTime() - startNanos;
+    refreshCount.incrementAndGet();
+    totalRefreshNanos.addAndGet(elapsedNanos);
+    maxRefreshNanos.accumulateAndGet(elapsedNanos, Math::max);
+
+    refreshesInFlight.remove(resourceOwnerId, refresh);
+    if (exception != null) {
+      refreshFailureCount.incrementAndGet();
+      refresh.completeExceptionally(exception);
+    } else {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Refreshed access token for resource owner '{}' in {} ms", resourceOwnerId,
+                     NANOSECONDS.toMillis(elapsedNanos));
+      }
+      refresh.complete(null);
+    }
+  }
+
+  /**
+   * Calls the token url to refresh the access token. Callers must go through {@link #refreshToken(String)} so concurrent
+   * refreshes are deduplicated.
+   *
+   * @param resourceOwner The resource owner to get the token for.
+   * @return a completable future that is complete when the token has been refreshed.
+   */
+  protected abstract CompletableFuture<Void> doRefreshToken(String resourceOwner);
+
+  /**
+   * @param resourceOwnerOAuthContext the context of the resource owner which token is about to expire.
+   * @return whether the token of a resource owner may be refreshed before it expires.
+   */
+  protected boolean canRefreshToken(ResourceOwnerOAuthContext resourceOwnerOAuthContext) {
+    return true;
+  }
+
+  /**
+   * @return the number of calls to the token url made to refresh tokens, including the failed ones.
+   */
+  public long getRefreshCount() {
+    return refreshCount.get();
+  }
+
+  /**
+   * @return the number of calls to the token url made to refresh tokens that failed.
+   */
+  public long getRefreshFailureCount() {
+    return refreshFailureCount.get();
+  }
+
+  /**
+   * @return the average time in milliseconds taken by the calls to the token url made to refresh tokens, or 0 if no refresh was
+   *         done yet.
+   */
+  public long getAverageRefreshLatencyMillis() {
+    final long count = refreshCount.get();
+    return count == 0 ? 0 : NANOSECONDS.toMillis(totalRefreshNanos.get() / count);
+  }
+
+  /**
+   * @return the maximum time in milliseconds taken by a call to the token url made to refresh a token.
+   */
+  public long getMaxRefreshLatencyMillis() {
+    return NANOSECONDS.toMillis(maxRefreshNanos.get());
   }
 
   protected TokenResponse invokeTokenUrl(String tokenUrl, Map<String, String> tokenRequestFormToSend, String authorization,
@@ -239,7 +399,13 @@ public abstract class AbstractOAuthDancer implements Startable, Stoppable {
    * @return oauth state
    */
   protected ResourceOwnerOAuthContext getContextForResourceOwner(final String resourceOwnerId) {
-    ResourceOwnerOAuthContext resourceOwnerOAuthContext = null;
+    // The store is still checked so contexts invalidated through it are not used
+    ResourceOwnerOAuthContext resourceOwnerOAuthContext = contextsCache.get(toResourceOwnerId(resourceOwnerId));
+    if (resourceOwnerOAuthContext != null && tokensStore.containsKey(resourceOwnerId)) {
+      return resourceOwnerOAuthContext;
+    }
+
+    resourceOwnerOAuthContext = null;
     if (!tokensStore.containsKey(resourceOwnerId)) {
       final Lock lock = lockProvider.createLock(toString() + "-config-oauth-context");
       lock.lock();
@@ -247,6 +413,7 @@ public abstract class AbstractOAuthDancer implements Startable, Stoppable {
         if (!tokensStore.containsKey(resourceOwnerId)) {
           resourceOwnerOAuthContext = new ResourceOwnerOAuthContext(createLockForResourceOwner(resourceOwnerId), resourceOwnerId);
           tokensStore.put(resourceOwnerId, resourceOwnerOAuthContext);
+          tokenExpirations.remove(toResourceOwnerId(resourceOwnerId));
         }
       } finally {
         lock.unlock();
@@ -256,6 +423,7 @@ public abstract class AbstractOAuthDancer implements Startable, Stoppable {
       resourceOwnerOAuthContext = tokensStore.get(resourceOwnerId);
       resourceOwnerOAuthContext.setRefreshUserOAuthContextLock(createLockForResourceOwner(resourceOwnerId));
     }
+    contextsCache.put(toResourceOwnerId(resourceOwnerId), resourceOwnerOAuthContext);
     return resourceOwnerOAuthContext;
   }
 
@@ -273,9 +441,63 @@ public abstract class AbstractOAuthDancer implements Startable, Stoppable {
     resourceOwnerContextLock.lock();
     try {
       tokensStore.put(resourceOwnerOAuthContext.getResourceOwnerId(), resourceOwnerOAuthContext);
+      contextsCache.put(resourceOwnerOAuthContext.getResourceOwnerId(), resourceOwnerOAuthContext);
+      updateTokenExpiration(resourceOwnerOAuthContext);
     } finally {
       resourceOwnerContextLock.unlock();
     }
   }
 
+  private void updateTokenExpiration(ResourceOwnerOAuthContext resourceOwnerOAuthContext) {
+    final String resourceOwnerId = resourceOwnerOAuthContext.getResourceOwnerId();
+    final String expiresIn = resourceOwnerOAuthContext.getExpiresIn();
+    if (expiresIn != null) {
+      try {
+        tokenExpirations.put(resourceOwnerId, new TokenExpiration(SECONDS.toMillis(parseLong(expiresIn.trim()))));
+        return;
+      } catch (NumberFormatException e) {
+        // Handled below
+      }
+    }
+    // The expiration of the token is unknown, so it will only be refreshed after it is rejected
+    tokenExpirations.remove(resourceOwnerId);
+  }
+
+  private String toResourceOwnerId(String resourceOwner) {
+    return resourceOwner == null ? DEFAULT_RESOURCE_OWNER_ID : resourceOwner;
+  }
+
+  /**
+   * Keeps the moments at which a token has to be refreshed and at which it expires, relative to when it was obtained.
+   */
+  private static final class TokenExpiration {
+
+    private volatile long refreshAtMillis;
+    private final long expiresAtMillis;
+    private int failedRefreshes;
+
+    private TokenExpiration(long lifetimeMillis) {
+      final long now = currentTimeMillis();
+      this.expiresAtMillis = now + lifetimeMillis;
+      this.refreshAtMillis =
+          expiresAtMillis - min((long) (lifetimeMillis * PROACTIVE_REFRESH_LIFETIME_FRACTION), MAX_PROACTIVE_REFRESH_MILLIS);
+    }
+
+    private boolean shouldRefresh() {
+      return currentTimeMillis() >= refreshAtMillis;
+    }
+
+    /**
+     * Delays the next refresh after a failed one, backing off exponentially on consecutive failures.
+     */
+    private synchronized void postponeRefresh() {
+      final long retryDelayMillis = min(PROACTIVE_REFRESH_RETRY_MILLIS << min(failedRefreshes, 16), MAX_PROACTIVE_REFRESH_MILLIS);
+      failedRefreshes++;
+      refreshAtMillis = currentTimeMillis() + retryDelayMillis;
+    }
+
+    private boolean isExpired() {
+      return currentTimeMillis() >= expiresAtMillis;
+    }
+  }
 }
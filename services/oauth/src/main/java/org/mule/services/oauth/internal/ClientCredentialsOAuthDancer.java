@@ -77,7 +77,7 @@ public class ClientCredentialsOAuthDancer extends AbstractOAuthDancer implements
   }
 
   @Override
-  public CompletableFuture<Void> refreshToken(String resourceOwner) {
+  protected CompletableFuture<Void> doRefreshToken(String resourceOwner) {
     final Map<String, String> formData = new HashMap<>();
 
     formData.put(GRANT_TYPE_PARAMETER, GRANT_TYPE_CLIENT_CREDENTIALS);
@@ -397,7 +397,12 @@ public class DefaultAuthorizationCodeOAuthDancer extends AbstractOAuthDancer imp
   }
 
   @Override
-  public CompletableFuture<Void> refreshToken(String resourceOwner) {
+  protected boolean canRefreshToken(ResourceOwnerOAuthContext resourceOwnerOAuthContext) {
+    return resourceOwnerOAuthContext.getRefreshToken() != null;
+  }
+
+  @Override
+  protected CompletableFuture<Void> doRefreshToken(String resourceOwner) {
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Executing refresh token for user " + resourceOwner);
     }
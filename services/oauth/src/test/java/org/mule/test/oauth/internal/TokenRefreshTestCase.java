@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.oauth.internal;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.oauth.api.state.ResourceOwnerOAuthContext.DEFAULT_RESOURCE_OWNER_ID;
+
+import org.mule.runtime.api.el.ExpressionEvaluator;
+import org.mule.runtime.api.lock.LockFactory;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
+import org.mule.runtime.oauth.api.OAuthService;
+import org.mule.runtime.oauth.api.builder.OAuthClientCredentialsDancerBuilder;
+import org.mule.service.http.api.HttpService;
+import org.mule.service.http.api.client.HttpClient;
+import org.mule.service.http.api.client.HttpClientFactory;
+import org.mule.service.http.api.domain.entity.InputStreamHttpEntity;
+import org.mule.service.http.api.domain.message.response.HttpResponse;
+import org.mule.services.oauth.internal.AbstractOAuthDancer;
+import org.mule.services.oauth.internal.DefaultOAuthService;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TokenRefreshTestCase extends AbstractMuleContextTestCase {
+
+  private OAuthService service;
+  private HttpClient httpClient;
+  private HttpResponse httpResponse;
+  private AbstractOAuthDancer dancer;
+
+  @Before
+  public void before() throws Exception {
+    final HttpService httpService = mock(HttpService.class);
+    final HttpClientFactory httpClientFactory = mock(HttpClientFactory.class);
+    httpClient = mock(HttpClient.class);
+    when(httpClientFactory.create(any())).thenReturn(httpClient);
+    when(httpService.getClientFactory()).thenReturn(httpClientFactory);
+
+    service = new DefaultOAuthService(httpService, mock(SchedulerService.class));
+
+    httpResponse = mock(HttpResponse.class);
+    final InputStreamHttpEntity httpEntity = mock(InputStreamHttpEntity.class);
+    when(httpEntity.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(new byte[0]));
+    when(httpResponse.getEntity()).thenReturn(httpEntity);
+    when(httpClient.send(any(), anyInt(), anyBoolean(), any())).thenReturn(httpResponse);
+  }
+
+  @After
+  public void after() throws Exception {
+    stopIfNeeded(dancer);
+  }
+
+  @Test
+  public void expiredTokenIsRefreshedBeforeUse() throws Exception {
+    startDancer("0");
+    verify(httpClient, times(1)).send(any(), anyInt(), anyBoolean(), any());
+
+    dancer.accessToken(DEFAULT_RESOURCE_OWNER_ID).get();
+    verify(httpClient, times(2)).send(any(), anyInt(), anyBoolean(), any());
+    assertThat(dancer.getRefreshCount(), is(2L));
+    assertThat(dancer.getRefreshFailureCount(), is(0L));
+  }
+
+  @Test
+  public void validTokenIsNotRefreshed() throws Exception {
+    startDancer("3600");
+
+    dancer.accessToken(DEFAULT_RESOURCE_OWNER_ID).get();
+    verify(httpClient, times(1)).send(any(), anyInt(), anyBoolean(), any());
+  }
+
+  @Test
+  public void failedRefreshIsNotRetriedOnEveryUse() throws Exception {
+    startDancer("0");
+    doThrow(new IOException("expected failure")).when(httpClient).send(any(), anyInt(), anyBoolean(), any());
+
+    dancer.accessToken(DEFAULT_RESOURCE_OWNER_ID).get();
+    dancer.accessToken(DEFAULT_RESOURCE_OWNER_ID).get();
+    verify(httpClient, times(2)).send(any(), anyInt(), anyBoolean(), any());
+    assertThat(dancer.getRefreshFailureCount(), is(1L));
+  }
+
+  @Test
+  public void concurrentRefreshesCallTokenUrlOnce() throws Exception {
+    startDancer("3600");
+
+    final CountDownLatch sendStarted = new CountDownLatch(1);
+    final CountDownLatch sendReleased = new CountDownLatch(1);
+    when(httpClient.send(any(), anyInt(), anyBoolean(), any())).thenAnswer(invocation -> {
+      sendStarted.countDown();
+      sendReleased.await();
+      return httpResponse;
+    });
+
+    final Thread refresher = new Thread(() -> dancer.refreshToken(DEFAULT_RESOURCE_OWNER_ID));
+    refresher.start();
+    assertThat(sendStarted.await(RECEIVE_TIMEOUT, MILLISECONDS), is(true));
+
+    final CompletableFuture<Void> concurrentRefresh = dancer.refreshToken(DEFAULT_RESOURCE_OWNER_ID);
+    assertThat(concurrentRefresh.isDone(), is(false));
+
+    sendReleased.countDown();
+    refresher.join(RECEIVE_TIMEOUT);
+    concurrentRefresh.get();
+
+    verify(httpClient, times(2)).send(any(), anyInt(), anyBoolean(), any());
+    assertThat(dancer.getRefreshCount(), is(2L));
+  }
+
+  private void startDancer(String expiresIn) throws Exception {
+    final OAuthClientCredentialsDancerBuilder builder =
+        service.clientCredentialsGrantTypeDancerBuilder(muleContext.getRegistry().lookupObject(LockFactory.class),
+                                                        new HashMap<>(), mock(ExpressionEvaluator.class));
+
+    builder.clientCredentials("clientId", "clientSecret");
+    builder.tokenUrl("http://host/token");
+    builder.responseExpiresInExpr(expiresIn);
+
+    dancer = (AbstractOAuthDancer) builder.build();
+    initialiseIfNeeded(dancer);
+    startIfNeeded(dancer);
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.config.spring;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.component.location.Location.builder;
+import static org.mule.runtime.config.spring.SpringRegistry.SPRING_APPLICATION_CONTEXT;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_ON_DEMAND_FLOW_INITIALIZATION;
+import org.mule.runtime.config.spring.OnDemandMuleArtifactContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.test.AbstractIntegrationTestCase;
+
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+public class OnDemandFlowInitializationTestCase extends AbstractIntegrationTestCase {
+
+  @Rule
+  public SystemProperty onDemandFlowInitialization = new SystemProperty(MULE_ON_DEMAND_FLOW_INITIALIZATION, "true");
+
+  @Override
+  protected String getConfigFile() {
+    return "org/mule/test/config/spring/on-demand-flow-initialization-config.xml";
+  }
+
+  @Test
+  public void flowWithoutSourceIsCreatedOnFirstLookup() throws Exception {
+    assertThat(isCreated("withSource"), is(true));
+    assertThat(isCreated("withoutSource"), is(false));
+
+    assertThat(flowRunner("withoutSource").run().getMessage().getPayload().getValue(), is("withoutSource"));
+    assertThat(isCreated("withoutSource"), is(true));
+    assertThat(getFlow("withoutSource").getLifecycleState().isStarted(), is(true));
+  }
+
+  @Test
+  public void deferredFlowReferencingDeferredFlow() throws Exception {
+    assertThat(isCreated("referencing"), is(false));
+    assertThat(isCreated("referenced"), is(false));
+
+    assertThat(flowRunner("referencing").run().getMessage().getPayload().getValue(), is("referenced"));
+    assertThat(isCreated("referenced"), is(true));
+    assertThat(getFlow("referenced").getLifecycleState().isStarted(), is(true));
+  }
+
+  @Test
+  public void typedLookupsCreateDeferredFlows() throws Exception {
+    assertThat(getArtifactContext().getBean("withoutSource", Flow.class).getLifecycleState().isStarted(), is(true));
+
+    List<String> flowNames =
+        muleContext.getRegistry().lookupObjects(FlowConstruct.class).stream().map(FlowConstruct::getName).collect(toList());
+    assertThat(flowNames, hasItem("lookedUpByType"));
+    assertThat(getFlow("lookedUpByType").getLifecycleState().isStarted(), is(true));
+  }
+
+  @Test
+  public void metadataAndConnectivityCallsKeepRunningComponents() throws Exception {
+    Flow withSource = getFlow("withSource");
+    OnDemandMuleArtifactContext artifactContext = getArtifactContext();
+
+    artifactContext.getMetadataService()
+        .getMetadataKeys(builder().globalName("withSource").addProcessorsPart().addIndexPart(0).build());
+    testConnection(artifactContext, "withSource");
+    assertThat(getFlow("withSource"), is(sameInstance(withSource)));
+    assertThat(withSource.getLifecycleState().isStarted(), is(true));
+
+    artifactContext.getMetadataService()
+        .getMetadataKeys(builder().globalName("withoutSource").addProcessorsPart().addIndexPart(0).build());
+    assertThat(isCreated("withoutSource"), is(true));
+    assertThat(getFlow("withoutSource").getLifecycleState().isStarted(), is(true));
+    assertThat(getFlow("withSource"), is(sameInstance(withSource)));
+  }
+
+  private void testConnection(OnDemandMuleArtifactContext artifactContext, String globalName) {
+    try {
+      artifactContext.getConnectivityTestingService().testConnection(builder().globalName(globalName).build());
+    } catch (RuntimeException e) {
+      // flows don't support connectivity testing, only the side effects on the running components matter
+    }
+  }
+
+  private Flow getFlow(String name) {
+    return (Flow) muleContext.getRegistry().lookupFlowConstruct(name);
+  }
+
+  private boolean isCreated(String name) {
+    return getArtifactContext().getBeanFactory().containsSingleton(name);
+  }
+
+  private OnDemandMuleArtifactContext getArtifactContext() {
+    Object artifactContext = muleContext.getRegistry().lookupObject(SPRING_APPLICATION_CONTEXT);
+    assertThat(artifactContext, instanceOf(OnDemandMuleArtifactContext.class));
+    return (OnDemandMuleArtifactContext) artifactContext;
+  }
+}
@@ -20,6 +20,7 @@ import org.mule.runtime.core.api.config.ConfigurationBuilder;
 import org.mule.runtime.core.api.construct.Flow;
 import org.mule.runtime.core.api.context.MuleContextFactory;
 import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.config.DefaultMuleConfiguration;
 import org.mule.runtime.core.config.builders.DefaultsConfigurationBuilder;
 import org.mule.runtime.core.context.DefaultMuleContextFactory;
 
@@ -66,10 +67,21 @@ public class AbstractBenchmark {
 
   public MuleContext createMuleContextWithServices() throws MuleException {
     MuleContextFactory muleContextFactory = new DefaultMuleContextFactory();
+    return muleContextFactory.createMuleContext(createServicesConfigurationBuilders().toArray(new ConfigurationBuilder[] {}));
+  }
+
+  public MuleContext createMuleContextWithServices(String workingDirectory) throws MuleException {
+    DefaultMuleConfiguration configuration = new DefaultMuleConfiguration();
+    configuration.setWorkingDirectory(workingDirectory);
+    DefaultMuleContextFactory muleContextFactory = new DefaultMuleContextFactory();
+    return muleContextFactory.createMuleContext(createServicesConfigurationBuilders(), null, configuration);
+  }
+
+  private List<ConfigurationBuilder> createServicesConfigurationBuilders() {
     List<ConfigurationBuilder> builderList = new ArrayList<>();
     builderList.add(new DefaultsConfigurationBuilder());
     builderList.add(new BasicRuntimeServicesConfigurationBuilder());
-    return muleContextFactory.createMuleContext(builderList.toArray(new ConfigurationBuilder[] {}));
+    return builderList;
   }
 
   public Flow createFlow(MuleContext muleContext) {
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager;
+import org.mule.runtime.core.internal.streaming.bytes.SimpleByteBufferManager;
+
+import java.nio.ByteBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+public class ByteBufferManagerBenchmark extends AbstractBenchmark {
+
+  @Param({"8192", "65536", "1048576"})
+  public int capacity;
+
+  private PoolingByteBufferManager poolingBufferManager;
+  private SimpleByteBufferManager simpleBufferManager;
+
+  @Setup
+  public void setup() {
+    poolingBufferManager = new PoolingByteBufferManager();
+    simpleBufferManager = new SimpleByteBufferManager();
+  }
+
+  @TearDown
+  public void teardown() {
+    poolingBufferManager.dispose();
+  }
+
+  @Benchmark
+  public ByteBuffer poolingAllocateAndDeallocate() {
+    ByteBuffer buffer = poolingBufferManager.allocate(capacity);
+    poolingBufferManager.deallocate(buffer);
+    return buffer;
+  }
+
+  @Benchmark
+  public ByteBuffer simpleAllocateAndDeallocate() {
+    ByteBuffer buffer = simpleBufferManager.allocate(capacity);
+    simpleBufferManager.deallocate(buffer);
+    return buffer;
+  }
+}
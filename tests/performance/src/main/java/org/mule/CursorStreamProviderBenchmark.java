@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.streaming.CursorStream;
+import org.mule.runtime.api.streaming.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
+import org.mule.runtime.core.internal.streaming.bytes.FileStoreCursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.InMemoryCursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager;
+import org.mule.runtime.core.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.runtime.core.streaming.bytes.InMemoryCursorStreamConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+public class CursorStreamProviderBenchmark extends AbstractBenchmark {
+
+  private static final int DATA_SIZE = 1024 * 1024;
+  private static final int CONCURRENT_CURSORS = 4;
+
+  @Param({"8192", "65536"})
+  public int bufferSize;
+
+  private MuleContext muleContext;
+  private Event event;
+  private PoolingByteBufferManager bufferManager;
+  private ScheduledExecutorService executorService;
+  private InMemoryCursorStreamConfig inMemoryConfig;
+  private FileStoreCursorStreamConfig fileStoreConfig;
+  private byte[] data;
+  private byte[] readBuffer;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    event = createEvent(createFlow(muleContext));
+    bufferManager = new PoolingByteBufferManager();
+    executorService = newScheduledThreadPool(2);
+
+    inMemoryConfig = new InMemoryCursorStreamConfig(new DataSize(bufferSize, BYTE), new DataSize(bufferSize, BYTE), null);
+    fileStoreConfig = new FileStoreCursorStreamConfig(new DataSize(bufferSize, BYTE));
+
+    data = new byte[DATA_SIZE];
+    new Random().nextBytes(data);
+    readBuffer = new byte[bufferSize];
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    executorService.shutdownNow();
+    bufferManager.dispose();
+    stopIfNeeded(muleContext.getRegistry().lookupObject(SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public long inMemorySingleCursor() throws IOException {
+    return readSingleCursor(createInMemoryProvider());
+  }
+
+  @Benchmark
+  public long inMemoryConcurrentCursors() throws IOException {
+    return readConcurrentCursors(createInMemoryProvider());
+  }
+
+  @Benchmark
+  public long fileStoreSingleCursor() throws IOException {
+    return readSingleCursor(createFileStoreProvider());
+  }
+
+  @Benchmark
+  public long fileStoreConcurrentCursors() throws IOException {
+    return readConcurrentCursors(createFileStoreProvider());
+  }
+
+  private CursorStreamProvider createInMemoryProvider() {
+    return new InMemoryCursorStreamProvider(new ByteArrayInputStream(data), inMemoryConfig, bufferManager, event);
+  }
+
+  private CursorStreamProvider createFileStoreProvider() {
+    return new FileStoreCursorStreamProvider(new ByteArrayInputStream(data), fileStoreConfig, event, bufferManager,
+                                             executorService);
+  }
+
+  private long readSingleCursor(CursorStreamProvider provider) throws IOException {
+    long count = 0;
+    try (CursorStream cursor = provider.openCursor()) {
+      int read;
+      while ((read = cursor.read(readBuffer)) != -1) {
+        count += read;
+      }
+    } finally {
+      provider.close();
+    }
+    return count;
+  }
+
+  /**
+   * Opens several cursors over the same provider and reads them alternately, so each cursor keeps asking the buffer for a
+   * position that another cursor has already moved away from.
+   */
+  private long readConcurrentCursors(CursorStreamProvider provider) throws IOException {
+    CursorStream[] cursors = new CursorStream[CONCURRENT_CURSORS];
+    long count = 0;
+    try {
+      for (int i = 0; i < cursors.length; i++) {
+        cursors[i] = provider.openCursor();
+      }
+
+      int openCursors = cursors.length;
+      while (openCursors > 0) {
+        openCursors = 0;
+        for (CursorStream cursor : cursors) {
+          int read = cursor.read(readBuffer);
+          if (read != -1) {
+            count += read;
+            openCursors++;
+          }
+        }
+      }
+    } finally {
+      for (CursorStream cursor : cursors) {
+        if (cursor != null) {
+          cursor.close();
+        }
+      }
+      provider.close();
+    }
+    return count;
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
+import static org.mule.runtime.api.metadata.DataType.INPUT_STREAM;
+import static org.mule.runtime.api.metadata.DataType.NUMBER;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.registry.TransformerResolver.RegistryAction.ADDED;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.registry.ResolverException;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.transformer.Converter;
+import org.mule.runtime.core.api.transformer.Transformer;
+import org.mule.runtime.core.transformer.graph.GraphTransformerResolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+public class GraphTransformerResolverBenchmark extends AbstractBenchmark {
+
+  private MuleContext muleContext;
+  private GraphTransformerResolver resolver;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    resolver = new GraphTransformerResolver();
+    for (Converter converter : muleContext.getRegistry().lookupObjects(Converter.class)) {
+      resolver.transformerChange(converter, ADDED);
+    }
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    stopIfNeeded(muleContext.getRegistry().lookupObject(SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public Transformer resolveDirectConverter() throws ResolverException {
+    return resolver.resolve(BYTE_ARRAY, STRING);
+  }
+
+  @Benchmark
+  public Transformer resolveCompositeConverter() throws ResolverException {
+    return resolver.resolve(INPUT_STREAM, NUMBER);
+  }
+
+  @Benchmark
+  public Transformer resolveMissingConverter() throws ResolverException {
+    return resolver.resolve(NUMBER, INPUT_STREAM);
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static java.lang.Class.forName;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.construct.Flow.builder;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.service.http.api.HttpConstants.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.mule.service.http.api.HttpConstants.HttpStatus.OK;
+import static org.mule.service.http.api.HttpConstants.Method.POST;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.module.tls.internal.DefaultTlsContextFactory;
+import org.mule.service.http.api.client.HttpClient;
+import org.mule.service.http.api.client.HttpClientConfiguration;
+import org.mule.service.http.api.domain.entity.ByteArrayHttpEntity;
+import org.mule.service.http.api.domain.entity.HttpEntity;
+import org.mule.service.http.api.domain.entity.InputStreamHttpEntity;
+import org.mule.service.http.api.domain.message.request.HttpRequest;
+import org.mule.service.http.api.domain.message.response.HttpResponse;
+import org.mule.service.http.api.server.HttpServer;
+import org.mule.service.http.api.server.HttpServerConfiguration;
+import org.mule.service.http.api.server.async.HttpResponseReadyCallback;
+import org.mule.service.http.api.server.async.ResponseStatusCallback;
+import org.mule.services.http.impl.service.HttpServiceImplementation;
+import org.mule.tck.junit4.rule.FreePortFinder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeoutException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+/**
+ * End to end benchmark of the HTTP service. A listener on the loopback interface dispatches each request to a flow that echoes
+ * the request body back, and the requests are sent with the HTTP service client.
+ * <p/>
+ * Concurrency is given by the number of JMH threads, e.g. {@code -t 32}, as all of them share the same client. Throughput and
+ * latency percentiles are reported by {@link #requestThroughput()} and {@link #requestLatency()} respectively.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(MILLISECONDS)
+public class HttpBenchmark extends AbstractBenchmark {
+
+  private static final String HOST = "localhost";
+  private static final String PATH = "/echo";
+  private static final int MIN_PORT = 5000;
+  private static final int MAX_PORT = 6020;
+  private static final int RESPONSE_TIMEOUT = 30000;
+  private static final int MAX_CONNECTIONS = 256;
+  private static final String KEY_STORE_PATH = "tls/serverKeystore";
+  private static final String KEY_STORE_PASSWORD = "mulepassword";
+
+  @Param({
+      "org.mule.runtime.core.processor.strategy.DefaultFlowProcessingStrategyFactory",
+      "org.mule.runtime.core.processor.strategy.LegacyDefaultFlowProcessingStrategyFactory",
+      "org.mule.runtime.core.processor.strategy.LegacyAsynchronousProcessingStrategyFactory",
+      "org.mule.runtime.core.processor.strategy.LegacyNonBlockingProcessingStrategyFactory",
+      "org.mule.runtime.core.processor.strategy.LegacySynchronousProcessingStrategyFactory",
+      "org.mule.runtime.core.processor.strategy.SynchronousStreamProcessingStrategyFactory",
+      "org.mule.runtime.core.processor.strategy.SynchronousProcessingStrategyFactory",
+      "org.mule.runtime.core.processor.strategy.ReactorProcessingStrategyFactory",
+      "org.mule.runtime.core.processor.strategy.ProactorProcessingStrategyFactory",
+      "org.mule.runtime.core.processor.strategy.WorkQueueProcessingStrategyFactory"
+  })
+  public String processingStrategyFactory;
+
+  @Param({"1024", "102400"})
+  public int payloadSize;
+
+  @Param({"false", "true"})
+  public boolean streaming;
+
+  @Param({"true", "false"})
+  public boolean persistentConnections;
+
+  @Param({"false", "true"})
+  public boolean tls;
+
+  private MuleContext muleContext;
+  private HttpServiceImplementation httpService;
+  private Flow flow;
+  private HttpServer server;
+  private HttpClient client;
+  private String uri;
+  private byte[] payload;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+
+    flow = builder(FLOW_NAME, muleContext).messageProcessors(singletonList(event -> event))
+        .processingStrategyFactory((ProcessingStrategyFactory) forName(processingStrategyFactory).newInstance()).build();
+    muleContext.getRegistry().registerFlowConstruct(flow);
+
+    SchedulerService schedulerService = muleContext.getRegistry().lookupObject(SchedulerService.class);
+    httpService = new HttpServiceImplementation(schedulerService);
+    httpService.start();
+
+    int port = new FreePortFinder(MIN_PORT, MAX_PORT).find();
+    uri = (tls ? "https" : "http") + "://" + HOST + ":" + port + PATH;
+
+    HttpServerConfiguration.Builder serverConfiguration = new HttpServerConfiguration.Builder().setHost(HOST).setPort(port)
+        .setUsePersistentConnections(persistentConnections).setSchedulerSupplier(() -> schedulerService.ioScheduler());
+    HttpClientConfiguration.Builder clientConfiguration = new HttpClientConfiguration.Builder()
+        .setUsePersistentConnections(persistentConnections).setMaxConnections(MAX_CONNECTIONS).setOwnerName(FLOW_NAME)
+        .setThreadNamePrefix(FLOW_NAME);
+    if (tls) {
+      serverConfiguration.setTlsContextFactory(createServerTlsContextFactory());
+      clientConfiguration.setTlsContextFactory(createClientTlsContextFactory());
+    }
+
+    server = httpService.getServerFactory().create(serverConfiguration.build());
+    server.addRequestHandler(PATH, (requestContext, responseCallback) -> {
+      Object requestPayload;
+      try {
+        requestPayload = readEntity(requestContext.getRequest().getEntity(), streaming);
+      } catch (IOException e) {
+        sendResponse(responseCallback, INTERNAL_SERVER_ERROR.getStatusCode(), new ByteArrayHttpEntity(new byte[0]));
+        return;
+      }
+
+      Mono.just(createEvent(flow, requestPayload)).transform(flow)
+          .subscribe(result -> sendResponse(responseCallback, OK.getStatusCode(), toEntity(result)),
+                     error -> sendResponse(responseCallback, INTERNAL_SERVER_ERROR.getStatusCode(),
+                                           new ByteArrayHttpEntity(new byte[0])));
+    });
+    server.start();
+
+    client = httpService.getClientFactory().create(clientConfiguration.build());
+    client.start();
+
+    payload = new byte[payloadSize];
+    new Random().nextBytes(payload);
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    client.stop();
+    server.stop();
+    server.dispose();
+    httpService.stop();
+    stopIfNeeded(muleContext.getRegistry().lookupObject(SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Throughput)
+  public byte[] requestThroughput() throws IOException, TimeoutException {
+    return request();
+  }
+
+  @Benchmark
+  @BenchmarkMode(SampleTime)
+  public byte[] requestLatency() throws IOException, TimeoutException {
+    return request();
+  }
+
+  private byte[] request() throws IOException, TimeoutException {
+    HttpEntity entity = streaming ? new InputStreamHttpEntity(new ByteArrayInputStream(payload))
+        : new ByteArrayHttpEntity(payload);
+    HttpRequest request = HttpRequest.builder().setUri(uri).setMethod(POST).setEntity(entity).build();
+
+    HttpResponse response = client.send(request, RESPONSE_TIMEOUT, false, null);
+    if (response.getStatusCode() != OK.getStatusCode()) {
+      throw new IllegalStateException("Unexpected response status code " + response.getStatusCode());
+    }
+    return (byte[]) readEntity(response.getEntity(), false);
+  }
+
+  private Object readEntity(HttpEntity entity, boolean keepStream) throws IOException {
+    if (entity instanceof InputStreamHttpEntity) {
+      InputStream inputStream = ((InputStreamHttpEntity) entity).getInputStream();
+      if (keepStream) {
+        return inputStream;
+      }
+      try {
+        return IOUtils.toByteArray(inputStream);
+      } finally {
+        inputStream.close();
+      }
+    } else if (entity instanceof ByteArrayHttpEntity) {
+      return ((ByteArrayHttpEntity) entity).getContent();
+    }
+    return new byte[0];
+  }
+
+  private HttpEntity toEntity(Event result) {
+    Object value = result.getMessage().getPayload().getValue();
+    return value instanceof InputStream ? new InputStreamHttpEntity((InputStream) value) : new ByteArrayHttpEntity((byte[]) value);
+  }
+
+  private void sendResponse(HttpResponseReadyCallback responseCallback, int statusCode, HttpEntity entity) {
+    responseCallback.responseReady(HttpResponse.builder().setStatusCode(statusCode).setEntity(entity).build(),
+                                   new ResponseStatusCallback() {
+
+                                     @Override
+                                     public void responseSendFailure(Throwable throwable) {
+                                       // the requester fails the benchmark when it does not get a response
+                                     }
+
+                                     @Override
+                                     public void responseSendSuccessfully() {
+                                       // nothing to do
+                                     }
+                                   });
+  }
+
+  private TlsContextFactory createServerTlsContextFactory() throws Exception {
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory();
+    tlsContextFactory.setKeyStorePath(KEY_STORE_PATH);
+    tlsContextFactory.setKeyStorePassword(KEY_STORE_PASSWORD);
+    tlsContextFactory.setKeyManagerPassword(KEY_STORE_PASSWORD);
+    tlsContextFactory.initialise();
+    return tlsContextFactory;
+  }
+
+  private TlsContextFactory createClientTlsContextFactory() throws Exception {
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory();
+    tlsContextFactory.setTrustStoreInsecure(true);
+    tlsContextFactory.initialise();
+    return tlsContextFactory;
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static java.lang.Integer.MAX_VALUE;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.util.store.InMemoryObjectStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures {@link InMemoryObjectStore} operations on a store that already holds a number of keys. Larger stores can be
+ * benchmarked by overriding the {@code keys} parameter, e.g. {@code -p keys=1000000}.
+ */
+public class InMemoryObjectStoreBenchmark extends AbstractBenchmark {
+
+  private static final String NEW_KEY = "newKey";
+
+  @Param({"10000", "100000"})
+  public int keys;
+
+  private InMemoryObjectStore<String> objectStore;
+  private int nextKey;
+
+  @Setup
+  public void setup() throws ObjectStoreException {
+    objectStore = new InMemoryObjectStore<>();
+    objectStore.setMaxEntries(keys + 1);
+    objectStore.setEntryTTL(MAX_VALUE);
+    for (int i = 0; i < keys; i++) {
+      objectStore.store(KEY + i, VALUE);
+    }
+  }
+
+  @Benchmark
+  public String storeAndRemove() throws ObjectStoreException {
+    objectStore.store(NEW_KEY, VALUE);
+    return objectStore.remove(NEW_KEY);
+  }
+
+  @Benchmark
+  public String retrieve() throws ObjectStoreException {
+    return objectStore.retrieve(KEY + (nextKey++ % keys));
+  }
+
+  @Benchmark
+  public boolean contains() throws ObjectStoreException {
+    return objectStore.contains(KEY + (nextKey++ % keys));
+  }
+
+  @Benchmark
+  public void expire() {
+    objectStore.expire();
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.nio.file.Files.createTempDirectory;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.util.FileUtils.deleteTree;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.util.store.PartitionedPersistentObjectStore;
+import org.mule.runtime.core.util.store.PersistentObjectStorePartition;
+
+import java.io.File;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures {@link PersistentObjectStorePartition} operations, through {@link PartitionedPersistentObjectStore}, on a partition
+ * that already holds a number of keys. Larger partitions can be benchmarked by overriding the {@code keys} parameter, e.g.
+ * {@code -p keys=1000000}.
+ */
+public class PersistentObjectStoreBenchmark extends AbstractBenchmark {
+
+  private static final String PARTITION = "benchmark";
+  private static final String NEW_KEY = "newKey";
+
+  @Param({"10000", "100000"})
+  public int keys;
+
+  private File workingDirectory;
+  private MuleContext muleContext;
+  private PartitionedPersistentObjectStore<String> objectStore;
+  private int nextKey;
+
+  @Setup
+  public void setup() throws Exception {
+    workingDirectory = createTempDirectory("objectstore-benchmark").toFile();
+    muleContext = createMuleContextWithServices(workingDirectory.getAbsolutePath());
+    objectStore = new PartitionedPersistentObjectStore<>(muleContext);
+    objectStore.open(PARTITION);
+    for (int i = 0; i < keys; i++) {
+      objectStore.store(KEY + i, VALUE, PARTITION);
+    }
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    stopIfNeeded(muleContext.getRegistry().lookupObject(SchedulerService.class));
+    muleContext.dispose();
+    deleteTree(workingDirectory);
+  }
+
+  @Benchmark
+  public String storeAndRemove() throws ObjectStoreException {
+    objectStore.store(NEW_KEY, VALUE, PARTITION);
+    return objectStore.remove(NEW_KEY, PARTITION);
+  }
+
+  @Benchmark
+  public String retrieve() throws ObjectStoreException {
+    return objectStore.retrieve(KEY + (nextKey++ % keys), PARTITION);
+  }
+
+  @Benchmark
+  public boolean contains() throws ObjectStoreException {
+    return objectStore.contains(KEY + (nextKey++ % keys), PARTITION);
+  }
+
+  @Benchmark
+  public void expire() throws ObjectStoreException {
+    objectStore.expire(MAX_VALUE, keys + 1, PARTITION);
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.internal.serialization.CompactSerializationProtocol;
+import org.mule.runtime.core.internal.serialization.JavaExternalSerializerProtocol;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+public class SerializationBenchmark extends AbstractBenchmark {
+
+  private MuleContext muleContext;
+  private SerializationProtocol javaProtocol;
+  private SerializationProtocol compactProtocol;
+  private TypedValue<String> typedValue;
+  private Map<String, Object> variables;
+  private Event event;
+  private byte[] javaTypedValue;
+  private byte[] compactTypedValue;
+  private byte[] javaVariables;
+  private byte[] compactVariables;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    Flow flow = createFlow(muleContext);
+    muleContext.getRegistry().registerFlowConstruct(flow);
+
+    JavaExternalSerializerProtocol java = new JavaExternalSerializerProtocol();
+    java.setMuleContext(muleContext);
+    javaProtocol = java;
+    CompactSerializationProtocol compact = new CompactSerializationProtocol();
+    compact.setMuleContext(muleContext);
+    compactProtocol = compact;
+
+    typedValue = new TypedValue<>(PAYLOAD, DataType.builder().type(String.class).mediaType(APPLICATION_JSON).build());
+    variables = new HashMap<>();
+    for (int i = 0; i < 20; i++) {
+      variables.put(KEY + i, VALUE + i);
+    }
+    event = createEvent(flow);
+
+    javaTypedValue = javaProtocol.serialize(typedValue);
+    compactTypedValue = compactProtocol.serialize(typedValue);
+    javaVariables = javaProtocol.serialize(variables);
+    compactVariables = compactProtocol.serialize(variables);
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    stopIfNeeded(muleContext.getRegistry().lookupObject(SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public byte[] javaSerializeTypedValue() {
+    return javaProtocol.serialize(typedValue);
+  }
+
+  @Benchmark
+  public byte[] compactSerializeTypedValue() {
+    return compactProtocol.serialize(typedValue);
+  }
+
+  @Benchmark
+  public Object javaDeserializeTypedValue() {
+    return javaProtocol.deserialize(javaTypedValue);
+  }
+
+  @Benchmark
+  public Object compactDeserializeTypedValue() {
+    return compactProtocol.deserialize(compactTypedValue);
+  }
+
+  @Benchmark
+  public byte[] javaSerializeVariables() {
+    return javaProtocol.serialize(variables);
+  }
+
+  @Benchmark
+  public byte[] compactSerializeVariables() {
+    return compactProtocol.serialize(variables);
+  }
+
+  @Benchmark
+  public Object javaDeserializeVariables() {
+    return javaProtocol.deserialize(javaVariables);
+  }
+
+  @Benchmark
+  public Object compactDeserializeVariables() {
+    return compactProtocol.deserialize(compactVariables);
+  }
+
+  @Benchmark
+  public byte[] javaSerializeEvent() {
+    return javaProtocol.serialize(event);
+  }
+
+  @Benchmark
+  public byte[] compactSerializeEvent() {
+    return compactProtocol.serialize(event);
+  }
+}
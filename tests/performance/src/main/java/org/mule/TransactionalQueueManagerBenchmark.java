@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static java.nio.file.Files.createTempDirectory;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.util.FileUtils.deleteTree;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
+import org.mule.runtime.core.util.queue.DefaultQueueConfiguration;
+import org.mule.runtime.core.util.queue.Queue;
+import org.mule.runtime.core.util.queue.QueueSession;
+import org.mule.runtime.core.util.queue.TransactionalQueueManager;
+
+import java.io.File;
+import java.io.Serializable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+public class TransactionalQueueManagerBenchmark extends AbstractBenchmark {
+
+  private static final String QUEUE_NAME = "benchmark";
+
+  @Param({"false", "true"})
+  public boolean persistent;
+
+  private File workingDirectory;
+  private MuleContext muleContext;
+  private TransactionalQueueManager queueManager;
+  private QueueSession queueSession;
+  private Queue queue;
+
+  @Setup
+  public void setup() throws Exception {
+    workingDirectory = createTempDirectory("queue-benchmark").toFile();
+    muleContext = createMuleContextWithServices(workingDirectory.getAbsolutePath());
+
+    queueManager = new TransactionalQueueManager();
+    queueManager.setMuleContext(muleContext);
+    queueManager.initialise();
+    queueManager.setDefaultQueueConfiguration(new DefaultQueueConfiguration(0, persistent));
+    queueManager.start();
+
+    queueSession = queueManager.getQueueSession();
+    queue = queueSession.getQueue(QUEUE_NAME);
+  }
+
+  @TearDown
+  public void teardown() throws Exception {
+    queue.dispose();
+    queueManager.stop();
+    queueManager.dispose();
+    stopIfNeeded(muleContext.getRegistry().lookupObject(SchedulerService.class));
+    muleContext.dispose();
+    deleteTree(workingDirectory);
+  }
+
+  @Benchmark
+  public Serializable putAndTake() throws Exception {
+    queue.put(PAYLOAD);
+    return queue.take();
+  }
+
+  @Benchmark
+  public Serializable transactionalPutAndTake() throws Exception {
+    queueSession.begin();
+    queue.put(PAYLOAD);
+    queueSession.commit();
+
+    queueSession.begin();
+    Serializable item = queue.take();
+    queueSession.commit();
+    return item;
+  }
+}
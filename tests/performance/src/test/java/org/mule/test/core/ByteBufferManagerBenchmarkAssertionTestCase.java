@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core;
+
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import org.mule.AbstractBenchmarkAssertionTestCase;
+import org.mule.ByteBufferManagerBenchmark;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+public class ByteBufferManagerBenchmarkAssertionTestCase extends AbstractBenchmarkAssertionTestCase {
+
+  private static final Map<String, String[]> CAPACITY_8K = singletonMap("capacity", new String[] {"8192"});
+
+  @Test
+  public void poolingAllocateAndDeallocate() {
+    assertBenchmark("poolingAllocateAndDeallocate", 1, 1000);
+  }
+
+  @Test
+  public void poolingAllocateAndDeallocateTwentyThreads() {
+    assertBenchmark("poolingAllocateAndDeallocate", 20, 10000);
+  }
+
+  @Test
+  public void simpleAllocateAndDeallocate() {
+    assertBenchmark("simpleAllocateAndDeallocate", 1, 5000);
+  }
+
+  private void assertBenchmark(String testName, int threads, double expectedResult) {
+    runAndAssertBenchmark(ByteBufferManagerBenchmark.class, testName, threads, CAPACITY_8K, NANOSECONDS, false,
+                          runResult -> assertThat(runResult.getPrimaryResult().getScore(), lessThanOrEqualTo(expectedResult)));
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core;
+
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import org.mule.AbstractBenchmarkAssertionTestCase;
+import org.mule.CursorStreamProviderBenchmark;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CursorStreamProviderBenchmarkAssertionTestCase extends AbstractBenchmarkAssertionTestCase {
+
+  private static final Map<String, String[]> BUFFER_SIZE_64K = singletonMap("bufferSize", new String[] {"65536"});
+
+  @Test
+  public void inMemorySingleCursor() {
+    assertBenchmark("inMemorySingleCursor", 2000);
+  }
+
+  @Test
+  public void inMemoryConcurrentCursors() {
+    assertBenchmark("inMemoryConcurrentCursors", 5000);
+  }
+
+  @Test
+  public void fileStoreSingleCursor() {
+    assertBenchmark("fileStoreSingleCursor", 20000);
+  }
+
+  private void assertBenchmark(String testName, double expectedResult) {
+    runAndAssertBenchmark(CursorStreamProviderBenchmark.class, testName, 1, BUFFER_SIZE_64K, MICROSECONDS, false,
+                          runResult -> assertThat(runResult.getPrimaryResult().getScore(), lessThanOrEqualTo(expectedResult)));
+  }
+}
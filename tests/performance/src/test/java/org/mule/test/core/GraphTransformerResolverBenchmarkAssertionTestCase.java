@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import org.mule.AbstractBenchmarkAssertionTestCase;
+import org.mule.GraphTransformerResolverBenchmark;
+
+import org.junit.Test;
+
+public class GraphTransformerResolverBenchmarkAssertionTestCase extends AbstractBenchmarkAssertionTestCase {
+
+  @Test
+  public void resolveDirectConverter() {
+    runAndAssertBenchmark(GraphTransformerResolverBenchmark.class, "resolveDirectConverter", 100, NANOSECONDS);
+  }
+
+  @Test
+  public void resolveCompositeConverter() {
+    runAndAssertBenchmark(GraphTransformerResolverBenchmark.class, "resolveCompositeConverter", 100, NANOSECONDS);
+  }
+
+  @Test
+  public void resolveMissingConverter() {
+    runAndAssertBenchmark(GraphTransformerResolverBenchmark.class, "resolveMissingConverter", 100, NANOSECONDS);
+  }
+
+  @Test
+  public void resolveDirectConverterTwentyThreads() {
+    runAndAssertBenchmark(GraphTransformerResolverBenchmark.class, "resolveDirectConverter", 20, 500, NANOSECONDS);
+  }
+}
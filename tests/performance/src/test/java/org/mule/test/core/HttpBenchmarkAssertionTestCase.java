@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import org.mule.AbstractBenchmarkAssertionTestCase;
+import org.mule.HttpBenchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class HttpBenchmarkAssertionTestCase extends AbstractBenchmarkAssertionTestCase {
+
+  @Test
+  public void requestThroughput() {
+    runAndAssertBenchmark(HttpBenchmark.class, "requestThroughput", 8, params(false), MILLISECONDS, false,
+                          runResult -> assertThat(runResult.getPrimaryResult().getScore(), greaterThanOrEqualTo(5d)));
+  }
+
+  @Test
+  public void requestLatency() {
+    runAndAssertBenchmark(HttpBenchmark.class, "requestLatency", 1, params(false), MILLISECONDS, false,
+                          runResult -> assertThat(runResult.getPrimaryResult().getScore(), lessThanOrEqualTo(2d)));
+  }
+
+  @Test
+  public void requestLatencyWithTls() {
+    runAndAssertBenchmark(HttpBenchmark.class, "requestLatency", 1, params(true), MILLISECONDS, false,
+                          runResult -> assertThat(runResult.getPrimaryResult().getScore(), lessThanOrEqualTo(5d)));
+  }
+
+  private Map<String, String[]> params(boolean tls) {
+    Map<String, String[]> params = new HashMap<>();
+    params.put("processingStrategyFactory",
+               new String[] {"org.mule.runtime.core.processor.strategy.ReactorProcessingStrategyFactory"});
+    params.put("payloadSize", new String[] {"1024"});
+    params.put("streaming", new String[] {"false"});
+    params.put("persistentConnections", new String[] {"true"});
+    params.put("tls", new String[] {Boolean.toString(tls)});
+    return params;
+  }
+}